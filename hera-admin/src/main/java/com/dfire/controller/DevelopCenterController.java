@@ -3,10 +3,12 @@ package com.dfire.controller;
 import com.dfire.common.constants.Constants;
 import com.dfire.common.entity.HeraDebugHistory;
 import com.dfire.common.entity.HeraFile;
+import com.dfire.common.entity.vo.HistoryLogVo;
 import com.dfire.common.entity.model.JsonResponse;
 import com.dfire.common.exception.HeraException;
 import com.dfire.common.service.HeraDebugHistoryService;
 import com.dfire.common.service.HeraFileService;
+import com.dfire.common.service.HeraHistoryLogService;
 import com.dfire.config.HeraGlobalEnv;
 import com.dfire.core.netty.worker.WorkClient;
 import com.dfire.logs.MonitorLog;
@@ -36,6 +38,8 @@ public class DevelopCenterController extends BaseHeraController {
     @Autowired
     private HeraDebugHistoryService debugHistoryService;
     @Autowired
+    private HeraHistoryLogService heraHistoryLogService;
+    @Autowired
     private WorkClient workClient;
 
 
@@ -192,8 +196,18 @@ public class DevelopCenterController extends BaseHeraController {
 
     @RequestMapping(value = "/getLog", method = RequestMethod.GET)
     @ResponseBody
-    public JsonResponse getJobLog(Integer id) {
-        return new JsonResponse(true, debugHistoryService.findLogById(id));
+    public JsonResponse getJobLog(Integer id, Long offset, String source) {
+        HeraDebugHistory history = debugHistoryService.findLogById(id);
+        if (history == null) {
+            return new JsonResponse(true, null);
+        }
+        //运行中的日志从worker本地日志段读取，读取失败时使用数据库中的日志
+        HistoryLogVo logVo = workClient.readSegmentLog(history.getExecuteHost(), HeraHistoryLogService.DEBUG, id, history.getStatus(), offset, source);
+        if (logVo == null) {
+            logVo = heraHistoryLogService.readLog(id, HeraHistoryLogService.DEBUG, history.getLog(), history.getStatus(),
+                    HistoryLogVo.SEGMENT.equals(source) ? null : offset);
+        }
+        return new JsonResponse(true, logVo);
     }
 
 
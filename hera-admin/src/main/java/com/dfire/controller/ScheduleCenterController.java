@@ -10,6 +10,7 @@ import com.dfire.common.entity.model.TableResponse;
 import com.dfire.common.entity.vo.HeraActionVo;
 import com.dfire.common.entity.vo.HeraGroupVo;
 import com.dfire.common.entity.vo.HeraJobVo;
+import com.dfire.common.entity.vo.HistoryLogVo;
 import com.dfire.common.entity.vo.PageHelper;
 import com.dfire.common.enums.*;
 import com.dfire.common.exception.NoPermissionException;
@@ -63,6 +64,8 @@ public class ScheduleCenterController extends BaseHeraController {
     @Autowired
     private HeraJobHistoryService heraJobHistoryService;
     @Autowired
+    private HeraHistoryLogService heraHistoryLogService;
+    @Autowired
     private HeraJobMonitorService heraJobMonitorService;
     @Autowired
     private HeraUserService heraUserService;
@@ -630,8 +633,18 @@ public class ScheduleCenterController extends BaseHeraController {
 
     @RequestMapping(value = "getLog", method = RequestMethod.GET)
     @ResponseBody
-    public JsonResponse getJobLog(Integer id) {
-        return new JsonResponse(true, heraJobHistoryService.findLogById(id));
+    public JsonResponse getJobLog(Integer id, Long offset, String source) {
+        HeraJobHistory history = heraJobHistoryService.findLogById(id);
+        if (history == null) {
+            return new JsonResponse(true, null);
+        }
+        //运行中的日志从worker本地日志段读取，读取失败时使用数据库中的日志
+        HistoryLogVo logVo = workClient.readSegmentLog(history.getExecuteHost(), HeraHistoryLogService.ACTION, id, history.getStatus(), offset, source);
+        if (logVo == null) {
+            logVo = heraHistoryLogService.readLog(id, HeraHistoryLogService.ACTION, history.getLog(), history.getStatus(),
+                    HistoryLogVo.SEGMENT.equals(source) ? null : offset);
+        }
+        return new JsonResponse(true, logVo);
     }
 
 
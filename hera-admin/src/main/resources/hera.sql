@@ -102,6 +102,19 @@ CREATE TABLE `hera_area`
 ) ENGINE = InnoDB
   DEFAULT CHARSET = utf8mb4 COMMENT ='hera任务区域表';
 
+DROP TABLE IF EXISTS `hera_history_log`;
+CREATE TABLE `hera_history_log`
+(
+  `id`         bigint(20)  NOT NULL AUTO_INCREMENT,
+  `history_id` bigint(20)  NOT NULL COMMENT '运行记录id',
+  `type`       varchar(16) NOT NULL COMMENT '运行记录类型(action:调度任务,debug:开发中心)',
+  `content`    mediumtext COMMENT '本次新增的日志',
+  `gmt_create` datetime    DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`id`),
+  KEY `idx_history_id` (`history_id`, `type`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4 COMMENT ='任务运行中的增量日志表，运行结束后合并到运行记录';
+
 DROP TABLE IF EXISTS `hera_debug_history`;
 CREATE TABLE `hera_debug_history`
 (
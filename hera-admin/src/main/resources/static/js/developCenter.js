@@ -638,12 +638,16 @@ layui.use(['layer', 'laytpl', 'form'], function () {
         //日志
         rightNowLogCon.children().removeClass('show-right-now-log');
         rightNowLogCon.prepend('<div class=\"right-now-log show-right-now-log \" id=\"log' + debugId + '\"></div>');
+        let logOffset;
+        let logSource;
         let timer = setInterval(function () {
             $.ajax({
                 url: base_url + "/developCenter/getLog.do",
                 type: "get",
                 data: {
-                    id: debugId
+                    id: debugId,
+                    offset: logOffset,
+                    source: logSource
                 },
                 success: function (result) {
                     if (result.success === false) {
@@ -651,15 +655,21 @@ layui.use(['layer', 'laytpl', 'form'], function () {
                         return ;
                     }
                     var data = result.data;
+                    logOffset = data.offset;
+                    logSource = data.source;
+                    //运行中只返回新增的日志
+                    if (data.append) {
+                        $('#log' + debugId).append(data.log);
+                    } else {
+                        $('#log' + debugId).html(data.log);
+                    }
                     if (data.status !== 'running') {
                         clearInterval(timer);
-                        set('log' + debugId, data.log, true);
+                        set('log' + debugId, $('#log' + debugId).html(), data.status !== 'failed');
                     }
                     if (data.status === 'failed') {
                         $('li[his-id=' + debugId + ']').css('color', 'orangered');
-                        set('log' + debugId, data.log, false);
                     }
-                    $('#log' + debugId).html(data.log);
 
                 }
             })
@@ -788,7 +798,12 @@ layui.use(['layer', 'laytpl', 'form'], function () {
     //封装过期控制代码
     function set(key, value, success) {
         let curTime = new Date().getTime();
-        localStorage.setItem(key, JSON.stringify({data: value, time: curTime, success: success}));
+        try {
+            localStorage.setItem(key, JSON.stringify({data: value, time: curTime, success: success}));
+        } catch (e) {
+            //完整日志可能超出localStorage容量
+            console.log('日志缓存失败:' + e);
+        }
     }
 
     function get(key, exp) {
@@ -1050,6 +1065,8 @@ let TableInit = function (targetId) {
             type: "get",
             data: {
                 id: actionRow.id,
+                offset: actionRow.offset,
+                source: actionRow.source
             },
             success: function (result) {
                 if (result.success === false) {
@@ -1061,9 +1078,16 @@ let TableInit = function (targetId) {
                     window.clearInterval(timerHandler);
                 }
                 let logArea = $('#log_' + actionRow.id);
-                logArea[0].innerHTML = data.log;
+                //运行中只返回新增的日志
+                if (data.append) {
+                    actionRow.log += data.log;
+                } else {
+                    actionRow.log = data.log;
+                }
+                logArea[0].innerHTML = actionRow.log;
                 logArea.scrollTop(logArea.prop("scrollHeight"), 200);
-                actionRow.log = data.log;
+                actionRow.offset = data.offset;
+                actionRow.source = data.source;
                 actionRow.status = data.status;
             }
         })
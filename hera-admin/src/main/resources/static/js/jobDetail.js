@@ -158,6 +158,8 @@ layui.use(['table'], function () {
                 type: "get",
                 data: {
                     id: actionRow.id,
+                    offset: actionRow.offset,
+                    source: actionRow.source
                 },
                 success: function (result) {
                     if (result.success === false) {
@@ -169,9 +171,16 @@ layui.use(['table'], function () {
                         window.clearInterval(timerHandler);
                     }
                     var logArea = $('#log_' + actionRow.id);
-                    logArea[0].innerHTML = data.log;
+                    //运行中只返回新增的日志
+                    if (data.append) {
+                        actionRow.log += data.log;
+                    } else {
+                        actionRow.log = data.log;
+                    }
+                    logArea[0].innerHTML = actionRow.log;
                     logArea.scrollTop(logArea.prop("scrollHeight"), 200);
-                    actionRow.log = data.log;
+                    actionRow.offset = data.offset;
+                    actionRow.source = data.source;
                     actionRow.status = data.status;
                 }
             })
@@ -1422,6 +1422,8 @@ let JobLogTable = function (jobId) {
             type: "get",
             data: {
                 id: actionRow.id,
+                offset: actionRow.offset,
+                source: actionRow.source
             },
             success: function (result) {
                 if (result.success === false) {
@@ -1433,9 +1435,16 @@ let JobLogTable = function (jobId) {
                     window.clearInterval(timerHandler);
                 }
                 let logArea = $('#log_' + actionRow.id);
-                logArea[0].innerHTML = data.log;
+                //运行中只返回新增的日志
+                if (data.append) {
+                    actionRow.log += data.log;
+                } else {
+                    actionRow.log = data.log;
+                }
+                logArea[0].innerHTML = actionRow.log;
                 logArea.scrollTop(logArea.prop("scrollHeight"), 200);
-                actionRow.log = data.log;
+                actionRow.offset = data.offset;
+                actionRow.source = data.source;
                 actionRow.status = data.status;
             }
         })
@@ -0,0 +1,33 @@
+package com.dfire.common.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 多关键字匹配与逐个contains的结果一致
+ */
+public class KeywordMatcherTest {
+
+    private final KeywordMatcher matcher = new KeywordMatcher(new String[]{"error", "failed"},
+            new String[]{"Exception", "No such file or directory", "command not found", "Permission denied"});
+
+    @Test
+    public void matches() {
+        assertTrue(matcher.matches("java.lang.NullPointerException: null"));
+        assertTrue(matcher.matches("[ERROR] task Failed"));
+        assertTrue(matcher.matches("FAILED: SemanticException"));
+        assertTrue(matcher.matches("bash: hive: command not found"));
+        assertTrue(matcher.matches("中文前缀error中文后缀"));
+        assertTrue(matcher.matches("errerror"));
+        //大小写敏感的关键字
+        assertFalse(matcher.matches("exception"));
+        assertFalse(matcher.matches("permission denied"));
+        assertTrue(matcher.matches("EXCEPTION error"));
+        assertFalse(matcher.matches("INFO mapreduce.Job:  map 100% reduce 100%"));
+        assertFalse(matcher.matches("err or"));
+        assertFalse(matcher.matches("e中rror"));
+        assertFalse(matcher.matches(""));
+    }
+}
@@ -0,0 +1,164 @@
+package com.dfire.common.vo;
+
+import com.dfire.common.constants.Constants;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 日志增量刷新与控制台输出的记录
+ */
+public class LogContentTest {
+
+    @Test
+    public void increment() {
+        LogContent logContent = new LogContent(new StringBuffer("开始运行"));
+        assertEquals("", logContent.peekIncrement());
+
+        logContent.append("line1");
+        logContent.append("line2");
+        String increment = "line1" + Constants.LOG_SPLIT + "line2" + Constants.LOG_SPLIT;
+        int start = logContent.getFlushed();
+        assertEquals(increment, logContent.peekIncrement());
+        //未写入成功之前再次取出同样的日志
+        logContent.append("line3");
+        assertEquals(increment + "line3" + Constants.LOG_SPLIT, logContent.peekIncrement());
+
+        logContent.flushedTo(start + increment.length());
+        assertEquals("line3" + Constants.LOG_SPLIT, logContent.peekIncrement());
+        logContent.flushedTo(logContent.getContent().length());
+        assertEquals("", logContent.peekIncrement());
+        //刷新位置不会后退
+        logContent.flushedTo(start);
+        assertEquals("", logContent.peekIncrement());
+        assertEquals("开始运行" + increment + "line3" + Constants.LOG_SPLIT, logContent.getContent());
+    }
+
+    @Test
+    public void tailLog() {
+        LogContent logContent = new LogContent();
+        for (int i = 0; i < 3000; i++) {
+            byte[] bytes = ("line " + i + (i % 2 == 0 ? " Exception" : "")).getBytes(StandardCharsets.UTF_8);
+            logContent.appendConsole(bytes, 0, bytes.length);
+        }
+        logContent.appendHera("结束\n运行");
+        String content = logContent.getContent();
+        assertTrue(content.contains("<b>CONSOLE#</b> line 999" + Constants.LOG_SPLIT));
+        assertTrue(content.contains("<b>CONSOLE#</b> <font style=\"color:red\">line 2998 Exception</font>" + Constants.LOG_SPLIT));
+        assertFalse(content.contains("line 1500"));
+        assertTrue(content.endsWith("<b>CONSOLE#</b> line 2999" + Constants.LOG_SPLIT + "<b>HERA#</b> 结束\n运行" + Constants.LOG_SPLIT));
+    }
+
+    @Test
+    public void render() {
+        List<byte[]> records = new ArrayList<>();
+        LogSink sink = (kind, bytes, off, len) -> {
+            byte[] record = new byte[len + 2];
+            record[0] = kind;
+            System.arraycopy(bytes, off, record, 1, len);
+            record[len + 1] = '\n';
+            records.add(record);
+        };
+        LogContent logContent = new LogContent();
+        logContent.appendHera("开始运行");
+        logContent.setSink(sink);
+        logContent.appendConsole("permission denied");
+        logContent.appendConsole("Permission denied");
+        logContent.append("a\nb");
+        StringBuilder rendered = new StringBuilder();
+        for (byte[] record : records) {
+            rendered.append(LogContent.render(record, 0, record.length));
+        }
+        //写入旁路的原始日志查看时拼接的html与内存中的一致
+        assertEquals(logContent.getContent(), rendered.toString());
+    }
+
+    /**
+     * 原来的readLine + 逐个contains标红 + StringBuffer拼接与按字节记录的对比
+     */
+    @Test
+    public void benchmark() throws IOException {
+        int count = 200000;
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append("19/06/18 10:00:00 INFO mapreduce.Job: Task Id : attempt_").append(i)
+                    .append(i % 100 == 0 ? ", Status : FAILED" : ", Status : SUCCEEDED").append('\n');
+        }
+        byte[] output = sb.toString().getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < 3; i++) {
+            long begin = System.nanoTime();
+            readLines(new ByteArrayInputStream(output));
+            long lineCost = System.nanoTime() - begin;
+
+            begin = System.nanoTime();
+            LogContent logContent = new LogContent();
+            readBytes(new ByteArrayInputStream(output), logContent);
+            long byteCost = System.nanoTime() - begin;
+            assertEquals(1000, logContent.getLines());
+            System.out.println(String.format("lines:%d, readLine:%dms(%d/s), bytes:%dms(%d/s)", count,
+                    lineCost / 1000000, count * 1000000000L / lineCost, byteCost / 1000000, count * 1000000000L / byteCost));
+        }
+    }
+
+    private void readLines(InputStream in) throws IOException {
+        StringBuffer content = new StringBuffer();
+        LinkedList<String> tail = new LinkedList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        int lines = 0;
+        while ((line = reader.readLine()) != null) {
+            String msg = line;
+            if (line.toLowerCase().contains("error") || line.toLowerCase().contains("failed") || line.contains("Exception")
+                    || line.contains("NullPointException") || line.contains("No such file or directory")
+                    || line.contains("command not found") || line.contains("Permission denied")) {
+                msg = "<font style=\"color:red\">" + line + "</font>";
+            }
+            if (lines++ < 1000) {
+                content.append("<b>CONSOLE#</b> ").append(msg).append(Constants.LOG_SPLIT);
+            } else {
+                synchronized (tail) {
+                    tail.add("<b>CONSOLE#</b> " + msg + Constants.LOG_SPLIT);
+                    if (tail.size() >= 1000) {
+                        tail.removeFirst();
+                    }
+                }
+            }
+        }
+    }
+
+    private void readBytes(InputStream in, LogContent logContent) throws IOException {
+        byte[] buffer = new byte[8192];
+        byte[] line = new byte[8192];
+        int lineLength = 0;
+        int n;
+        while ((n = in.read(buffer)) != -1) {
+            int start = 0;
+            for (int i = 0; i < n; i++) {
+                if (buffer[i] == '\n') {
+                    if (lineLength == 0) {
+                        logContent.appendConsole(buffer, start, i - start);
+                    } else {
+                        System.arraycopy(buffer, start, line, lineLength, i - start);
+                        logContent.appendConsole(line, 0, lineLength + i - start);
+                        lineLength = 0;
+                    }
+                    start = i + 1;
+                }
+            }
+            System.arraycopy(buffer, start, line, lineLength, n - start);
+            lineLength += n - start;
+        }
+    }
+}
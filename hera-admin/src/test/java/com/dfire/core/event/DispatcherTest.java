@@ -0,0 +1,185 @@
+package com.dfire.core.event;
+
+import com.dfire.common.enums.TriggerTypeEnum;
+import com.dfire.core.event.handler.AbstractHandler;
+import com.dfire.core.event.handler.JobHandler;
+import com.dfire.core.netty.master.MasterContext;
+import com.dfire.event.ApplicationEvent;
+import com.dfire.event.Events;
+import com.dfire.event.HeraJobMaintenanceEvent;
+import com.dfire.event.HeraJobSuccessEvent;
+import com.dfire.event.HeraScheduleTriggerEvent;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Dispatcher路由索引与全局广播的对比
+ */
+public class DispatcherTest {
+
+    private static final long ACTION_PREFIX = 201906010000000000L;
+
+    private static final int EVENT_NUM = 1000;
+
+    private static class CountHandler extends JobHandler {
+
+        private volatile int handled;
+
+        CountHandler(String actionId, String dependencies, MasterContext masterContext) {
+            super(actionId, dependencies, null, masterContext);
+        }
+
+        @Override
+        public void handleEvent(ApplicationEvent event) {
+            if (event instanceof HeraJobSuccessEvent) {
+                if (getUpstreamActionIds().contains(((HeraJobSuccessEvent) event).getJobId())) {
+                    handled++;
+                }
+            } else if (event instanceof HeraScheduleTriggerEvent) {
+                if (getActionId().equals(((HeraScheduleTriggerEvent) event).getJobId())) {
+                    handled++;
+                }
+            } else {
+                handled++;
+            }
+        }
+    }
+
+    private List<CountHandler> buildHandlers(int size) {
+        MasterContext masterContext = new MasterContext();
+        Random random = new Random(size);
+        List<CountHandler> handlers = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            StringBuilder dependencies = new StringBuilder();
+            if (i > 1) {
+                int depNum = 1 + random.nextInt(3);
+                for (int j = 0; j < depNum; j++) {
+                    if (j > 0) {
+                        dependencies.append(",");
+                    }
+                    dependencies.append(ACTION_PREFIX + 1 + random.nextInt(i - 1));
+                }
+            }
+            handlers.add(new CountHandler(String.valueOf(ACTION_PREFIX + i), dependencies.toString(), masterContext));
+        }
+        return handlers;
+    }
+
+    private int handledCount(List<CountHandler> handlers) {
+        int count = 0;
+        for (CountHandler handler : handlers) {
+            count += handler.handled;
+            handler.handled = 0;
+        }
+        return count;
+    }
+
+    @Test
+    public void route() {
+        List<CountHandler> handlers = buildHandlers(100);
+        Dispatcher dispatcher = new Dispatcher();
+        handlers.forEach(dispatcher::addJobHandler);
+        handlers.forEach(dispatcher::addJobHandler);
+        assertEquals(100, dispatcher.getJobHandlerSize());
+
+        String actionId = String.valueOf(ACTION_PREFIX + 1);
+        int fanOut = 0;
+        for (CountHandler handler : handlers) {
+            if (handler.getUpstreamActionIds().contains(actionId)) {
+                fanOut++;
+            }
+        }
+        dispatcher.forwardEvent(new HeraJobSuccessEvent(actionId, TriggerTypeEnum.SCHEDULE, "1"));
+        assertEquals(fanOut, handledCount(handlers));
+
+        dispatcher.forwardEvent(new HeraScheduleTriggerEvent(String.valueOf(ACTION_PREFIX + 50)));
+        assertEquals(1, handledCount(handlers));
+
+        dispatcher.forwardEvent(new HeraJobMaintenanceEvent(Events.UpdateJob, "50"));
+        assertEquals(1, handledCount(handlers));
+
+        dispatcher.forwardEvent(Events.Initialize);
+        assertEquals(100, handledCount(handlers));
+
+        dispatcher.removeJobHandler(handlers.get(49));
+        dispatcher.forwardEvent(new HeraScheduleTriggerEvent(String.valueOf(ACTION_PREFIX + 50)));
+        assertEquals(0, handledCount(handlers));
+        assertEquals(99, dispatcher.getJobHandlerSize());
+    }
+
+    @Test
+    public void asyncRoute() throws InterruptedException {
+        List<CountHandler> handlers = buildHandlers(100);
+        Dispatcher dispatcher = new Dispatcher(4);
+        handlers.forEach(dispatcher::addJobHandler);
+
+        for (int i = 1; i <= 100; i++) {
+            dispatcher.forwardEvent(new HeraScheduleTriggerEvent(String.valueOf(ACTION_PREFIX + i)));
+        }
+        dispatcher.forwardEvent(Events.Initialize);
+        awaitLanes(dispatcher.getEventBus());
+        assertEquals(200, handledCount(handlers));
+        System.out.println(dispatcher.getEventBus().getLaneMetrics());
+        dispatcher.shutdown();
+    }
+
+    private void awaitLanes(PartitionEventBus eventBus) throws InterruptedException {
+        //lane之间会互相投递，连续两次全部空闲才认为处理完成，超过10秒认为lane卡住
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        int idle = 0;
+        while (idle < 2) {
+            assertTrue("lanes not idle within 10s: " + eventBus.getLaneMetrics(), System.currentTimeMillis() < deadline);
+            TimeUnit.MILLISECONDS.sleep(10);
+            boolean done = true;
+            for (PartitionEventBus.LaneMetric metric : eventBus.getLaneMetrics()) {
+                done &= metric.getSubmitted() == metric.getCompleted();
+            }
+            idle = done ? idle + 1 : 0;
+        }
+    }
+
+    @Test
+    public void benchmark() {
+        for (int size : new int[]{10000, 50000, 100000}) {
+            List<CountHandler> handlers = buildHandlers(size);
+            long begin = System.nanoTime();
+            Dispatcher dispatcher = new Dispatcher();
+            handlers.forEach(dispatcher::addJobHandler);
+            long addCost = System.nanoTime() - begin;
+
+            Random random = new Random(size);
+            List<HeraJobSuccessEvent> events = new ArrayList<>(EVENT_NUM);
+            for (int i = 0; i < EVENT_NUM; i++) {
+                events.add(new HeraJobSuccessEvent(String.valueOf(ACTION_PREFIX + 1 + random.nextInt(size)), TriggerTypeEnum.SCHEDULE, "1"));
+            }
+
+            begin = System.nanoTime();
+            for (HeraJobSuccessEvent event : events) {
+                for (AbstractHandler handler : new ArrayList<>(handlers)) {
+                    if (handler.canHandle(event)) {
+                        handler.handleEvent(event);
+                    }
+                }
+            }
+            long broadcastCost = System.nanoTime() - begin;
+            int broadcastHandled = handledCount(handlers);
+
+            begin = System.nanoTime();
+            for (HeraJobSuccessEvent event : events) {
+                dispatcher.forwardEvent(event);
+            }
+            long routeCost = System.nanoTime() - begin;
+            assertEquals(broadcastHandled, handledCount(handlers));
+
+            System.out.println(String.format("handlers:%d, add:%dms, broadcast:%dms, route:%dms, speedup:%.1fx",
+                    size, addCost / 1000000, broadcastCost / 1000000, routeCost / 1000000, (double) broadcastCost / Math.max(routeCost, 1)));
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.dfire.core.log;
+
+import com.dfire.common.entity.HeraHistoryLog;
+import com.dfire.common.entity.vo.HeraDebugHistoryVo;
+import com.dfire.common.entity.vo.HeraJobHistoryVo;
+import com.dfire.common.entity.vo.HistoryLogVo;
+import com.dfire.common.service.HeraHistoryLogService;
+import com.dfire.common.vo.LogContent;
+import com.dfire.core.job.Job;
+import com.dfire.core.job.JobContext;
+import com.dfire.core.netty.worker.WorkContext;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 只刷新有新增日志的任务，查看中的任务按短间隔刷新，每次批量写入
+ */
+public class LogFlushSchedulerTest {
+
+    private static final long IDLE = 30 * 1000L;
+
+    private final List<List<HeraHistoryLog>> batches = new ArrayList<>();
+
+    private boolean fail;
+
+    private WorkContext workContext;
+
+    private LogFlushScheduler scheduler;
+
+    @Before
+    public void init() {
+        workContext = new WorkContext();
+        workContext.setHeraHistoryLogService(new HeraHistoryLogService() {
+            @Override
+            public void append(Integer historyId, String type, String content) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void appendList(List<HeraHistoryLog> logs) {
+                if (fail) {
+                    throw new IllegalStateException("db down");
+                }
+                batches.add(new ArrayList<>(logs));
+            }
+
+            @Override
+            public HistoryLogVo readLog(Integer historyId, String type, String log, String status, Long offset) {
+                return null;
+            }
+
+            @Override
+            public void deleteLog(Integer historyId, String type) {
+            }
+
+            @Override
+            public void deleteHistoryRecord(Integer beforeDay) {
+            }
+        });
+        scheduler = new LogFlushScheduler(workContext);
+    }
+
+    @Test
+    public void flush() {
+        LogContent[] logs = new LogContent[100];
+        for (int i = 0; i < logs.length; i++) {
+            logs[i] = new LogContent();
+            JobContext jobContext = JobContext.getTempJobContext(JobContext.SCHEDULE_RUN);
+            jobContext.setHeraJobHistory(HeraJobHistoryVo.builder().id(String.valueOf(i)).log(logs[i]).build());
+            workContext.getRunning().put(String.valueOf(i), job(jobContext));
+        }
+        LogContent debugLog = new LogContent();
+        JobContext debugContext = JobContext.getTempJobContext(JobContext.DEBUG_RUN);
+        debugContext.setDebugHistory(HeraDebugHistoryVo.builder().id("1").log(debugLog).build());
+        workContext.getDebugRunning().put("1", job(debugContext));
+
+        long now = System.currentTimeMillis();
+        //没有日志的任务不写入
+        assertEquals(0, scheduler.flush(now));
+        assertEquals(0, batches.size());
+
+        for (LogContent log : logs) {
+            log.append("line");
+        }
+        debugLog.append("debug");
+        //空闲的任务未到刷新间隔
+        assertEquals(0, scheduler.flush(now + 2000));
+
+        //查看中的任务每次刷新
+        scheduler.viewed(HeraHistoryLogService.ACTION, "7", now + 3000);
+        assertEquals(1, scheduler.flush(now + 4000));
+        assertEquals("line<br><br>", batches.get(0).get(0).getContent());
+        assertEquals(Integer.valueOf(7), batches.get(0).get(0).getHistoryId());
+
+        //所有任务的新增日志一次写入
+        assertEquals(100, scheduler.flush(now + IDLE + 1000));
+        assertEquals(2, batches.size());
+        assertEquals(HeraHistoryLogService.DEBUG, batches.get(1).get(99).getType());
+        assertEquals(0, scheduler.flush(now + 2 * IDLE + 2000));
+
+        int flushTimes = 0;
+        int writes = 0;
+        //100个持续输出的任务，1个被查看，每2秒刷新一次，持续一分钟
+        for (long time = now + 3 * IDLE; time < now + 5 * IDLE; time += 2000) {
+            for (LogContent log : logs) {
+                log.append("line");
+            }
+            scheduler.viewed(HeraHistoryLogService.ACTION, "7", time);
+            writes += scheduler.flush(time) > 0 ? 1 : 0;
+            flushTimes++;
+        }
+        System.out.println("ticks:" + flushTimes + ", insert statements:" + writes + ", before:" + flushTimes * logs.length);
+        assertEquals(flushTimes, writes);
+
+        workContext.getRunning().clear();
+        workContext.getDebugRunning().clear();
+        assertEquals(0, scheduler.flush(now + 6 * IDLE));
+    }
+
+    @Test
+    public void retryFailedWrite() {
+        LogContent log = new LogContent();
+        JobContext jobContext = JobContext.getTempJobContext(JobContext.SCHEDULE_RUN);
+        jobContext.setHeraJobHistory(HeraJobHistoryVo.builder().id("1").log(log).build());
+        workContext.getRunning().put("1", job(jobContext));
+
+        long now = System.currentTimeMillis();
+        log.append("line1");
+        fail = true;
+        assertEquals(0, scheduler.flush(now + IDLE + 1000));
+        assertEquals(0, batches.size());
+
+        //写入失败的日志在下次刷新时与新增日志一起写入
+        fail = false;
+        log.append("line2");
+        assertEquals(1, scheduler.flush(now + 2 * IDLE + 2000));
+        assertEquals("line1<br><br>line2<br><br>", batches.get(0).get(0).getContent());
+        assertEquals(0, scheduler.flush(now + 3 * IDLE + 3000));
+    }
+
+    private Job job(JobContext jobContext) {
+        return new Job() {
+            @Override
+            public int run() {
+                return 0;
+            }
+
+            @Override
+            public void cancel() {
+            }
+
+            @Override
+            public boolean isCanceled() {
+                return false;
+            }
+
+            @Override
+            public JobContext getJobContext() {
+                return jobContext;
+            }
+        };
+    }
+}
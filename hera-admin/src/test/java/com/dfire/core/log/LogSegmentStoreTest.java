@@ -0,0 +1,147 @@
+package com.dfire.core.log;
+
+import com.dfire.common.vo.LogContent;
+import com.dfire.common.vo.LogSink;
+import com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+/**
+ * 本地日志段的滚动、跨段读取与清理
+ */
+public class LogSegmentStoreTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    private File root;
+
+    private LogSegmentStore store;
+
+    @Before
+    public void init() throws IOException {
+        root = Files.createTempDirectory("hera-log").toFile();
+        store = new LogSegmentStore(root, SEGMENT_SIZE, 8);
+    }
+
+    @After
+    public void destroy() {
+        store.clean(-1);
+        root.delete();
+    }
+
+    @Test
+    public void appendAndRead() {
+        LogSegmentWriter writer = store.open("action", "1");
+        StringBuilder expect = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            String line = "第" + i + "行日志";
+            writer.append(LogSink.PLAIN, line);
+            expect.append((char) LogSink.PLAIN).append(line).append('\n');
+        }
+        long size = writer.size();
+        assertEquals(expect.toString().getBytes(StandardCharsets.UTF_8).length, size);
+        assertTrue(new File(root, "action-1").list().length > 1);
+
+        //运行中按范围跨段读取，每次结果按行对齐
+        StringBuilder read = new StringBuilder();
+        long offset = 0;
+        int times = 0;
+        while (offset < size) {
+            LogRangeResponse range = store.read("action", "1", offset, 1000);
+            assertTrue(range.getExists());
+            assertEquals(offset, range.getOffset());
+            String content = range.getContent().toStringUtf8();
+            assertTrue(content.endsWith("\n"));
+            read.append(content);
+            offset = range.getNextOffset();
+            times++;
+        }
+        assertEquals(expect.toString(), read.toString());
+        System.out.println("size:" + size + ", segments:" + new File(root, "action-1").list().length + ", reads:" + times);
+
+        //读取末尾时从完整的一行开始
+        LogRangeResponse tail = store.read("action", "1", -1, 100);
+        assertTrue(tail.getOffset() > 0);
+        assertEquals(size, tail.getNextOffset());
+        assertTrue(expect.toString().endsWith(tail.getContent().toStringUtf8()));
+        assertTrue(tail.getContent().toStringUtf8().startsWith("P第"));
+
+        //关闭后最后一个段截断，长度不变
+        writer.close();
+        assertEquals(0, store.getOpenCount());
+        LogRangeResponse closed = store.read("action", "1", 0, Integer.MAX_VALUE / 2);
+        assertEquals(size, closed.getSize());
+        assertEquals(expect.toString(), closed.getContent().toStringUtf8());
+    }
+
+    @Test
+    public void maxSegments() {
+        LogSegmentWriter writer = store.open("debug", "2");
+        String line = new String(new char[1022]).replace('\0', 'a');
+        for (int i = 0; i < 100; i++) {
+            writer.append(LogSink.PLAIN, line);
+        }
+        writer.close();
+        assertEquals(8, new File(root, "debug-2").list().length);
+        //早于最早段的位置从最早的段开始读取
+        LogRangeResponse range = store.read("debug", "2", 0, 1024);
+        assertEquals(100 * 1024 - 8 * SEGMENT_SIZE, range.getOffset());
+        assertEquals("P" + line + "\n", range.getContent().toStringUtf8());
+    }
+
+    @Test
+    public void recoverAndClean() throws IOException {
+        //模拟worker异常退出，最后一个段没有截断
+        File dir = new File(root, "action-3");
+        assertTrue(dir.mkdirs());
+        File segment = LogSegmentStore.segmentFile(dir, 0);
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            file.write("running\n".getBytes());
+            file.setLength(SEGMENT_SIZE);
+        }
+        store = new LogSegmentStore(root, SEGMENT_SIZE, 8);
+        assertEquals("running\n".length(), segment.length());
+        assertEquals("running\n", store.read("action", "3", 0, 100).getContent().toStringUtf8());
+
+        assertFalse(store.read("action", "../3", 0, 100).getExists());
+        assertFalse(store.read("action", "4", 0, 100).getExists());
+
+        //正在写入的日志不清理
+        LogSegmentWriter running = store.open("action", "5");
+        assertEquals(1, store.clean(-1));
+        assertFalse(new File(root, "action-3").exists());
+        assertTrue(new File(root, "action-5").exists());
+        running.close();
+        assertEquals(0, store.clean(60 * 1000));
+    }
+
+    @Test
+    public void sink() {
+        LogContent logContent = new LogContent();
+        logContent.appendHera("开始运行");
+        store = new LogSegmentStore(root, 64 * SEGMENT_SIZE, 8);
+        LogSegmentWriter writer = store.open("action", "6");
+        logContent.setSink(writer);
+        for (int i = 0; i < 3000; i++) {
+            logContent.appendConsole("line " + i);
+        }
+        logContent.setSink(null);
+        writer.close();
+        byte[] raw = store.read("action", "6", 0, Integer.MAX_VALUE / 2).getContent().toByteArray();
+        String all = LogContent.render(raw, 0, raw.length);
+        //超出行数限制的日志也写入了日志段，查看时拼接html
+        assertTrue(all.startsWith("<b>HERA#</b> 开始运行"));
+        assertTrue(all.contains("<b>CONSOLE#</b> line 1500<br><br>"));
+        assertTrue(all.endsWith("<b>CONSOLE#</b> line 2999<br><br>"));
+        assertFalse(logContent.getContent().contains("line 1500<br>"));
+    }
+}
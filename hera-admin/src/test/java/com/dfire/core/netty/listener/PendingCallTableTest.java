@@ -0,0 +1,82 @@
+package com.dfire.core.netty.listener;
+
+import com.dfire.protocol.RpcRequest;
+import com.dfire.protocol.RpcResponse;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * 按rid完成请求与超时处理
+ */
+public class PendingCallTableTest {
+
+    private static final int CALL_NUM = 10000;
+
+    @Test
+    public void completeAndTimeout() throws InterruptedException {
+        PendingCallTable callTable = new PendingCallTable("test");
+        MasterResponseListener listener = listener(1);
+        callTable.register(1, listener, 1, TimeUnit.HOURS);
+        MasterResponseListener timeoutListener = listener(2);
+        callTable.register(2, timeoutListener, 200, TimeUnit.MILLISECONDS);
+        assertEquals(2, callTable.getPendingCount());
+
+        assertTrue(callTable.onResponse(RpcResponse.Response.newBuilder().setRid(1).build()));
+        assertTrue(listener.getReceiveResult());
+        assertEquals(0, listener.getLatch().getCount());
+        //重复的返回不会再通知
+        assertFalse(callTable.onResponse(RpcResponse.Response.newBuilder().setRid(1).build()));
+
+        assertTrue(timeoutListener.getLatch().await(5, TimeUnit.SECONDS));
+        assertFalse(timeoutListener.getReceiveResult());
+        assertEquals(0, callTable.getPendingCount());
+        assertEquals(1, callTable.getCompletedCount());
+        assertEquals(1, callTable.getTimeoutCount());
+        assertEquals(1, callTable.getUnknownCount());
+        System.out.println(callTable);
+        callTable.shutdown();
+    }
+
+    @Test
+    public void benchmark() {
+        List<RpcResponse.Response> responses = new ArrayList<>(CALL_NUM);
+        for (int i = 0; i < CALL_NUM; i++) {
+            responses.add(RpcResponse.Response.newBuilder().setRid(i).build());
+        }
+        List<ResponseListener> listeners = new CopyOnWriteArrayList<>();
+        long begin = System.nanoTime();
+        for (int i = 0; i < CALL_NUM; i++) {
+            listeners.add(listener(i));
+        }
+        for (RpcResponse.Response response : responses) {
+            for (ResponseListener listener : listeners) {
+                listener.onResponse(response);
+            }
+        }
+        long listCost = System.nanoTime() - begin;
+
+        PendingCallTable callTable = new PendingCallTable("test");
+        begin = System.nanoTime();
+        for (int i = 0; i < CALL_NUM; i++) {
+            callTable.register(i, listener(i), 1, TimeUnit.HOURS);
+        }
+        for (RpcResponse.Response response : responses) {
+            assertTrue(callTable.onResponse(response));
+        }
+        long tableCost = System.nanoTime() - begin;
+        assertEquals(0, callTable.getPendingCount());
+        System.out.println(String.format("calls:%d, list:%dms, table:%dms", CALL_NUM, listCost / 1000000, tableCost / 1000000));
+        callTable.shutdown();
+    }
+
+    private MasterResponseListener listener(int rid) {
+        return new MasterResponseListener(RpcRequest.Request.newBuilder().setRid(rid).build(), false, new CountDownLatch(1), null);
+    }
+}
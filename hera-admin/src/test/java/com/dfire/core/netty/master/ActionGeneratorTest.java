@@ -0,0 +1,144 @@
+package com.dfire.core.netty.master;
+
+import com.dfire.common.constants.Constants;
+import com.dfire.common.entity.HeraAction;
+import com.dfire.common.entity.HeraJob;
+import org.apache.commons.lang.StringUtils;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 按依赖层级并行生成版本
+ */
+public class ActionGeneratorTest {
+
+    private static final String CRON_DATE = "2019-06-24";
+
+    private static final String[] CRONS = {"0 0 2 * * ?", "0 30 3 * * ?", "0 0 0/1 * * ?", "0 0/30 * * * ?",
+            "0 0 6 * * ?", "0 10 1 * * ?", "0 0 0/6 * * ?", "0 5 8-20/2 * * ?"};
+
+    private static HeraJob scheduleJob(int id, String cron) {
+        HeraJob heraJob = new HeraJob();
+        heraJob.setId(id);
+        heraJob.setScheduleType(0);
+        heraJob.setCronExpression(cron);
+        heraJob.setAuto(1);
+        heraJob.setScript("echo " + id);
+        return heraJob;
+    }
+
+    private static HeraJob dependJob(int id, String dependencies) {
+        HeraJob heraJob = new HeraJob();
+        heraJob.setId(id);
+        heraJob.setScheduleType(1);
+        heraJob.setDependencies(dependencies);
+        heraJob.setAuto(1);
+        heraJob.setScript("echo " + id);
+        return heraJob;
+    }
+
+    private static Map<Long, String> generate(ActionGenerator generator, List<HeraJob> jobList, Map<Integer, List<HeraAction>> idMap, List<Integer> batches) {
+        Map<Long, String> actions = new HashMap<>();
+        generator.generate(jobList, CRON_DATE, idMap, insertList -> {
+            batches.add(insertList.size());
+            insertList.forEach(action -> actions.put(action.getId(), String.valueOf(action.getDependencies())));
+        });
+        return actions;
+    }
+
+    @Test
+    public void generate() {
+        List<HeraJob> jobList = new ArrayList<>();
+        jobList.add(scheduleJob(1, "0 0 2 * * ?"));
+        jobList.add(scheduleJob(2, "0 0 0/12 * * ?"));
+        jobList.add(dependJob(3, "1,2"));
+        jobList.add(dependJob(4, "3"));
+        //依赖存在环
+        jobList.add(dependJob(5, "6"));
+        jobList.add(dependJob(6, "5"));
+        jobList.add(dependJob(7, "7"));
+        //上游不存在
+        jobList.add(dependJob(8, "99"));
+        jobList.add(dependJob(9, "4,8"));
+
+        ActionGenerator generator = new ActionGenerator(2);
+        Map<Integer, List<HeraAction>> idMap = new HashMap<>();
+        List<Integer> batches = new ArrayList<>();
+        Map<Long, String> actions = generate(generator, jobList, idMap, batches);
+        generator.shutdown();
+
+        assertEquals(5, actions.size());
+        assertEquals("null", actions.get(201906240200000001L));
+        assertEquals("null", actions.get(201906240000000002L));
+        assertEquals("null", actions.get(201906241200000002L));
+        assertEquals("201906240200000001,201906240000000002", actions.get(201906240200000003L));
+        assertEquals("201906240200000003", actions.get(201906240200000004L));
+        //定时任务一层，依赖任务3层：[3,8] [4] [9]
+        assertEquals(Arrays.asList(3, 1, 1, 0), batches);
+        for (int jobId = 5; jobId <= 9; jobId++) {
+            assertTrue(idMap.containsKey(jobId));
+            assertNull(idMap.get(jobId));
+        }
+    }
+
+    @Test
+    public void deepChain() {
+        int depth = 20000;
+        List<HeraJob> jobList = new ArrayList<>();
+        jobList.add(scheduleJob(1, "0 0 2 * * ?"));
+        for (int id = depth; id > 1; id--) {
+            jobList.add(dependJob(id, String.valueOf(id - 1)));
+        }
+        ActionGenerator generator = new ActionGenerator(2);
+        Map<Long, String> actions = generate(generator, jobList, new HashMap<>(), new ArrayList<>());
+        generator.shutdown();
+        assertEquals(depth, actions.size());
+        assertEquals("201906240200019999", actions.get(201906240200020000L));
+    }
+
+    @Test
+    public void benchmark() {
+        int jobSize = 20000;
+        int scheduleSize = 4000;
+        Random random = new Random(1);
+        List<HeraJob> jobList = new ArrayList<>(jobSize);
+        for (int id = 1; id <= scheduleSize; id++) {
+            jobList.add(scheduleJob(id, CRONS[id % CRONS.length]));
+        }
+        for (int id = scheduleSize + 1; id <= jobSize; id++) {
+            Set<Integer> dependencies = new TreeSet<>();
+            int size = 1 + random.nextInt(3);
+            while (dependencies.size() < size) {
+                dependencies.add(1 + random.nextInt(id - 1));
+            }
+            jobList.add(dependJob(id, StringUtils.join(dependencies, Constants.COMMA)));
+        }
+        Collections.shuffle(jobList, random);
+
+        ActionGenerator sequential = new ActionGenerator(1);
+        ActionGenerator parallel = new ActionGenerator(Constants.AVAILABLE_CORES);
+        //预热
+        generate(sequential, jobList, new HashMap<>(), new ArrayList<>());
+        generate(parallel, jobList, new HashMap<>(), new ArrayList<>());
+
+        long start = System.nanoTime();
+        Map<Long, String> expected = generate(sequential, jobList, new HashMap<>(), new ArrayList<>());
+        long sequentialCost = System.nanoTime() - start;
+
+        List<Integer> batches = new ArrayList<>();
+        start = System.nanoTime();
+        Map<Long, String> actions = generate(parallel, jobList, new HashMap<>(), batches);
+        long parallelCost = System.nanoTime() - start;
+        sequential.shutdown();
+        parallel.shutdown();
+
+        assertEquals(expected, actions);
+        System.out.println(jobSize + " jobs, " + actions.size() + " actions, " + (batches.size() - 1) + " levels, 1 thread:"
+                + sequentialCost / 1000000 + "ms, " + Constants.AVAILABLE_CORES + " threads:" + parallelCost / 1000000 + "ms");
+    }
+}
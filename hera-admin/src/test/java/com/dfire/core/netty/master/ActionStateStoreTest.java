@@ -0,0 +1,205 @@
+package com.dfire.core.netty.master;
+
+import com.dfire.common.entity.HeraAction;
+import com.dfire.common.entity.HeraJob;
+import com.dfire.common.enums.StatusEnum;
+import com.dfire.common.service.HeraJobActionService;
+import com.dfire.common.vo.JobStatus;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.BeanUtils;
+
+import java.io.File;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 版本状态修改只写内存和预写日志，定时批量写入数据库
+ */
+public class ActionStateStoreTest {
+
+    private static final int ACTION_SIZE = 1000;
+
+    private final Map<Long, HeraAction> table = new ConcurrentHashMap<>();
+
+    private final AtomicInteger reads = new AtomicInteger();
+
+    private final AtomicInteger writes = new AtomicInteger();
+
+    private File journalDir;
+
+    private HeraJobActionService db;
+
+    @Before
+    public void init() throws Exception {
+        journalDir = Files.createTempDirectory("action-journal").toFile();
+        for (long id = 1; id <= ACTION_SIZE; id++) {
+            table.put(id, HeraAction.builder().id(id).jobId((int) id).status(StatusEnum.WAIT.toString())
+                    .dependencies("1,2").readyDependency("{}").script("echo " + id).gmtModified(new Date(0)).build());
+        }
+        db = (HeraJobActionService) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{HeraJobActionService.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "findById":
+                    reads.incrementAndGet();
+                    HeraAction row = table.get(Long.parseLong((String) args[0]));
+                    return row == null ? null : copy(row);
+                case "getAfterAction":
+                    reads.incrementAndGet();
+                    List<HeraAction> rows = new ArrayList<>();
+                    table.values().forEach(action -> rows.add(copy(action)));
+                    return rows;
+                case "batchUpdateState":
+                    writes.incrementAndGet();
+                    for (Object o : (List<?>) args[0]) {
+                        HeraAction state = (HeraAction) o;
+                        HeraAction stored = table.get(state.getId());
+                        stored.setStatus(state.getStatus());
+                        stored.setReadyDependency(state.getReadyDependency());
+                        stored.setHistoryId(state.getHistoryId());
+                        stored.setGmtModified(state.getGmtModified());
+                    }
+                    return null;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    private static HeraAction copy(HeraAction action) {
+        HeraAction copy = new HeraAction();
+        BeanUtils.copyProperties(action, copy);
+        return copy;
+    }
+
+    @After
+    public void clean() {
+        File[] files = journalDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        journalDir.delete();
+    }
+
+    @Test
+    public void writeBehind() {
+        HeraJob heraJob = new HeraJob();
+        heraJob.setScript("echo");
+        ActionStateStore store = new ActionStateStore(db, null, journalDir, jobId -> heraJob);
+        store.getAfterAction(0L);
+        reads.set(0);
+
+        //每个版本：收到两个上游成功、进入运行、运行成功
+        for (long id = 1; id <= ACTION_SIZE; id++) {
+            String actionId = String.valueOf(id);
+            assertEquals(1, store.addReadyDependency(actionId, "1"));
+            assertEquals(0, store.addReadyDependency(actionId, "2"));
+            JobStatus jobStatus = store.findJobStatus(actionId);
+            assertEquals(2, jobStatus.getReadyDependency().size());
+            jobStatus.setStatus(StatusEnum.RUNNING);
+            jobStatus.setHistoryId(String.valueOf(id * 10));
+            store.updateStatus(jobStatus);
+            HeraAction heraAction = store.findById(actionId);
+            assertEquals("echo", heraAction.getScript());
+            heraAction.setStatus(StatusEnum.SUCCESS.toString());
+            store.updateStatus(heraAction);
+        }
+        assertEquals(0, reads.get());
+        assertEquals(0, writes.get());
+        assertEquals(StatusEnum.WAIT.toString(), table.get(1L).getStatus());
+        assertEquals(ACTION_SIZE, store.getDirtyCount());
+
+        assertEquals(ACTION_SIZE, store.flush());
+        assertEquals(2, writes.get());
+        assertEquals(StatusEnum.SUCCESS.toString(), table.get(7L).getStatus());
+        assertEquals("70", table.get(7L).getHistoryId());
+        assertTrue(table.get(7L).getReadyDependency().contains("\"2\""));
+        assertEquals(0, store.flush());
+        String[] journals = journalDir.list();
+        assertNotNull(journals);
+        assertEquals(0, journals.length);
+        System.out.println("state changes:" + ACTION_SIZE * 4 + ", db reads:" + reads.get() + ", db writes:" + writes.get()
+                + ", before:" + ACTION_SIZE * 10);
+    }
+
+    @Test
+    public void fanIn() throws Exception {
+        int upstreamSize = 60;
+        StringBuilder dependencies = new StringBuilder();
+        for (int i = 1; i <= upstreamSize; i++) {
+            dependencies.append(i == 1 ? "" : ",").append(2019062200000000L + i);
+        }
+        table.get(1L).setDependencies(dependencies.toString());
+        ActionStateStore store = new ActionStateStore(db, null, journalDir);
+        store.getAfterAction(0L);
+        reads.set(0);
+
+        //4个线程并发记录上游成功，部分上游重复成功
+        AtomicInteger ready = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int offset = t;
+            Thread thread = new Thread(() -> {
+                for (int i = 1 + offset; i <= upstreamSize; i += 2) {
+                    if (store.addReadyDependency("1", String.valueOf(2019062200000000L + i)) == 0) {
+                        ready.incrementAndGet();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(ready.get() >= 1);
+        assertEquals(0, store.addReadyDependency("1", "2019062200000001"));
+        assertEquals(upstreamSize, store.findJobStatus("1").getReadyDependency().size());
+        assertEquals(0, reads.get());
+        assertEquals(0, writes.get());
+        assertEquals(1, store.flush());
+        assertEquals(1, writes.get());
+        System.out.println("fan-in:" + upstreamSize + ", db statements:" + (reads.get() + writes.get()) + ", before:" + upstreamSize * 3);
+    }
+
+    @Test
+    public void recover() {
+        ActionStateStore store = new ActionStateStore(db, null, journalDir);
+        store.getAfterAction(0L);
+        store.addReadyDependency("3", "1");
+        store.updateStatus(HeraAction.builder().id(3L).status(StatusEnum.RUNNING.toString()).build());
+        store.updateStatus(HeraAction.builder().id(4L).status(StatusEnum.FAILED.toString()).build());
+        //只有依赖就绪的记录
+        store.addReadyDependency("5", "2");
+        //未写入数据库时进程退出
+        assertEquals(StatusEnum.WAIT.toString(), table.get(3L).getStatus());
+
+        //数据库中已经被更新的版本不覆盖
+        table.get(4L).setStatus(StatusEnum.SUCCESS.toString());
+        table.get(4L).setGmtModified(new Date(System.currentTimeMillis() + 60 * 1000));
+
+        ActionStateStore restarted = new ActionStateStore(db, null, journalDir);
+        restarted.start(60 * 1000);
+        restarted.shutdown();
+        assertEquals(StatusEnum.RUNNING.toString(), table.get(3L).getStatus());
+        assertTrue(table.get(3L).getReadyDependency().contains("\"1\""));
+        assertEquals(StatusEnum.SUCCESS.toString(), table.get(4L).getStatus());
+        assertTrue(table.get(5L).getReadyDependency().contains("\"2\""));
+        assertEquals(StatusEnum.WAIT.toString(), table.get(5L).getStatus());
+        String[] journals = journalDir.list();
+        assertNotNull(journals);
+        assertEquals(0, journals.length);
+    }
+}
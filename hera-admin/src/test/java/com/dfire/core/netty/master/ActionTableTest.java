@@ -0,0 +1,150 @@
+package com.dfire.core.netty.master;
+
+import com.dfire.common.entity.HeraAction;
+import com.dfire.common.enums.StatusEnum;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 版本表的读写与内存占用
+ */
+public class ActionTableTest {
+
+    private static final int ACTION_SIZE = 100000;
+
+    private static final int JOB_SIZE = 20000;
+
+    private static long actionId(int index) {
+        int jobId = index % JOB_SIZE + 1;
+        return (201906210000L + index / JOB_SIZE) * 1000000 + jobId;
+    }
+
+    private static HeraAction action(int index) {
+        long id = actionId(index);
+        int jobId = (int) (id % 1000000);
+        StringBuilder script = new StringBuilder();
+        while (script.length() < 1024) {
+            script.append("insert overwrite table dw.t_").append(jobId).append(" select * from ods.t_").append(jobId).append(";\n");
+        }
+        //从数据库读取的版本，每个版本的字符串都是独立的对象
+        return HeraAction.builder()
+                .id(id)
+                .jobId(jobId)
+                .auto(1)
+                .name("job_" + jobId)
+                .owner("hera")
+                .description("description of job " + jobId)
+                .cronExpression("0 0 " + index % 24 + " 21 06 ? 2019")
+                .configs("{\"run.priority.level\":\"1\",\"roll.back.times\":\"3\",\"roll.back.wait.time\":\"1\",\"qqGroup\":\"" + jobId + "\"}")
+                .resources("[]")
+                .script(script.toString())
+                .dependencies(index % 3 == 0 ? null : actionId(index - 1) + "," + actionId(index + 1))
+                .readyDependency("{}")
+                .status(index % 2 == 0 ? StatusEnum.SUCCESS.toString() : null)
+                .historyId(index % 2 == 0 ? String.valueOf(index) : null)
+                .runType("shell")
+                .hostGroupId(index % 5)
+                .build();
+    }
+
+    @Test
+    public void readWrite() {
+        ActionTable table = new ActionTable();
+        Map<Long, HeraAction> expected = new HashMap<>();
+        Random random = new Random(1);
+        for (int i = 0; i < 50000; i++) {
+            int index = random.nextInt(5000);
+            HeraAction heraAction = action(index);
+            if (random.nextInt(4) == 0) {
+                assertEquals(expected.remove(heraAction.getId()) != null, table.remove(heraAction.getId()));
+            } else {
+                table.put(heraAction);
+                expected.put(heraAction.getId(), heraAction);
+            }
+        }
+        assertEquals(expected.size(), table.size());
+        for (long id : table.ids()) {
+            assertTrue(expected.containsKey(id));
+        }
+        for (HeraAction heraAction : expected.values()) {
+            long id = heraAction.getId();
+            assertTrue(table.contains(id));
+            assertEquals(heraAction.getStatus(), table.getStatus(id));
+            assertEquals(heraAction.getHistoryId(), table.getHistoryId(id));
+            assertEquals(heraAction.getJobId().intValue(), table.getJobId(id));
+            assertEquals(heraAction.getAuto(), table.getAuto(id));
+            assertEquals(heraAction.getHostGroupId(), table.getHostGroupId(id));
+            if (heraAction.getDependencies() == null) {
+                assertNull(table.getDependencies(id));
+            } else {
+                String[] split = heraAction.getDependencies().split(",");
+                assertArrayEquals(new long[]{Long.parseLong(split[0]), Long.parseLong(split[1])}, table.getDependencies(id));
+            }
+        }
+
+        long id = expected.keySet().iterator().next();
+        table.updateState(id, StatusEnum.RUNNING.toString(), "99");
+        assertEquals(StatusEnum.RUNNING.toString(), table.getStatus(id));
+        assertEquals("99", table.getHistoryId(id));
+        table.setStatus(id, null);
+        assertNull(table.getStatus(id));
+
+        ActionTable copy = new ActionTable();
+        copy.copy(table, id);
+        assertEquals(1, copy.size());
+        assertEquals("99", copy.getHistoryId(id));
+
+        int jobId = table.getJobId(id);
+        int versions = 0;
+        for (HeraAction heraAction : expected.values()) {
+            versions += heraAction.getJobId() == jobId ? 1 : 0;
+        }
+        assertEquals(versions, table.removeJob(jobId));
+        assertFalse(table.contains(id));
+        assertEquals(expected.size() - versions, table.size());
+        assertNull(table.getAuto(id));
+    }
+
+    @Test
+    public void heap() throws InterruptedException {
+        long base = usedHeap();
+        Map<Long, HeraAction> map = new ConcurrentHashMap<>(ACTION_SIZE);
+        for (int i = 0; i < ACTION_SIZE; i++) {
+            HeraAction heraAction = action(i);
+            map.put(heraAction.getId(), heraAction);
+        }
+        long mapHeap = usedHeap() - base;
+        assertEquals(ACTION_SIZE, map.size());
+        map = null;
+
+        base = usedHeap();
+        ActionTable table = new ActionTable(ACTION_SIZE);
+        for (int i = 0; i < ACTION_SIZE; i++) {
+            table.put(action(i));
+        }
+        long tableHeap = usedHeap() - base;
+        assertEquals(ACTION_SIZE, table.size());
+        System.out.println(ACTION_SIZE + " actions, ConcurrentHashMap<Long, HeraAction>:" + mapHeap / 1024 / 1024
+                + "MB, ActionTable:" + tableHeap / 1024 / 1024 + "MB");
+        assertTrue(tableHeap * 10 < mapHeap);
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
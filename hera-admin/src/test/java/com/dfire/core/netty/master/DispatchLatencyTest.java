@@ -0,0 +1,53 @@
+package com.dfire.core.netty.master;
+
+import com.dfire.common.entity.vo.HeraHostGroupVo;
+import com.dfire.common.vo.JobElement;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * 分发延迟统计与容量变化时按机器组唤醒
+ */
+public class DispatchLatencyTest {
+
+    @Test
+    public void record() {
+        DispatchLatency latency = new DispatchLatency();
+        for (int i = 0; i < 98; i++) {
+            latency.record(5);
+        }
+        latency.record(800);
+        latency.record(12000);
+        latency.capacityPushed(true);
+        latency.capacityPushed(false);
+        assertEquals(100, latency.getCount());
+        String snapshot = latency.snapshotAndReset();
+        System.out.println(snapshot);
+        assertTrue(snapshot.contains("dispatched:100"));
+        assertTrue(snapshot.contains("p50:<=10ms"));
+        assertTrue(snapshot.contains("p99:<=1000ms"));
+        assertTrue(snapshot.contains("max:12000ms"));
+        assertTrue(snapshot.contains("capacityPush:2,capacityWakeup:1"));
+        assertEquals(0, latency.getCount());
+        assertTrue(latency.snapshotAndReset().contains("dispatched:0"));
+    }
+
+    @Test
+    public void hasWaitingJob() {
+        MasterContext masterContext = new MasterContext();
+        Map<Integer, HeraHostGroupVo> hostGroupCache = new HashMap<>();
+        hostGroupCache.put(1, HeraHostGroupVo.builder().id("1").hosts(Arrays.asList("10.0.0.1", " 10.0.0.2")).build());
+        hostGroupCache.put(2, HeraHostGroupVo.builder().id("2").hosts(Arrays.asList("10.0.0.3")).build());
+        masterContext.setHostGroupCache(hostGroupCache);
+
+        assertFalse(masterContext.hasWaitingJob("10.0.0.2"));
+        masterContext.parkJobElement(JobElement.builder().jobId("1").hostGroupId(1).build());
+        assertTrue(masterContext.hasWaitingJob("10.0.0.2"));
+        assertFalse(masterContext.hasWaitingJob("10.0.0.3"));
+    }
+}
@@ -0,0 +1,212 @@
+package com.dfire.core.netty.master;
+
+import com.dfire.common.enums.TriggerTypeEnum;
+import com.dfire.common.vo.JobElement;
+import com.dfire.config.HeraGlobalEnv;
+import com.dfire.core.netty.HeraChannel;
+import com.dfire.core.route.loadbalance.LoadBalance;
+import com.dfire.protocol.RpcSocketMessage.SocketMessage;
+import io.netty.channel.Channel;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.SocketAddress;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 批量分发：同优先级先进先出，各类型任务轮流分发，5000个排队任务时的分发速率
+ */
+public class DispatchThroughputTest {
+
+    /**
+     * 分发的任务只记录下来，不发送给worker
+     */
+    private final List<JobElement> dispatched = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * hostGroupId -> 剩余可分发的任务数
+     */
+    private final Map<Integer, Integer> capacity = new ConcurrentHashMap<>();
+
+    private Master master(MasterContext masterContext) {
+        new HeraGlobalEnv().setMaxParallelNum(1);
+        Master master = new Master();
+        MasterWorkHolder workHolder = new MasterWorkHolder(new StubChannel());
+        LoadBalance loadBalance = new LoadBalance() {
+            @Override
+            public MasterWorkHolder select(JobElement jobElement, MasterContext context) {
+                Integer remaining = capacity.get(jobElement.getHostGroupId());
+                if (remaining == null || remaining <= 0) {
+                    return null;
+                }
+                capacity.put(jobElement.getHostGroupId(), remaining - 1);
+                return workHolder;
+            }
+
+            @Override
+            public boolean needWarmUp() {
+                return false;
+            }
+        };
+        MasterRunJob runJob = new MasterRunJob(masterContext, master) {
+            @Override
+            public void run(MasterWorkHolder holder, JobElement element) {
+                dispatched.add(element);
+            }
+
+            @Override
+            public boolean isTaskLimit() {
+                return false;
+            }
+        };
+        ReflectionTestUtils.setField(master, "masterContext", masterContext);
+        ReflectionTestUtils.setField(master, "loadBalance", loadBalance);
+        ReflectionTestUtils.setField(master, "masterRunJob", runJob);
+        return master;
+    }
+
+    private static void enqueue(MasterContext masterContext, int id, int hostGroupId, int priorityLevel) {
+        enqueue(masterContext, id, hostGroupId, priorityLevel, TriggerTypeEnum.SCHEDULE);
+    }
+
+    private static void enqueue(MasterContext masterContext, int id, int hostGroupId, Integer priorityLevel, TriggerTypeEnum triggerType) {
+        JobElement jobElement = JobElement.builder()
+                .jobId(String.valueOf(201906260000000000L + id))
+                .hostGroupId(hostGroupId)
+                .priorityLevel(priorityLevel)
+                .triggerType(triggerType)
+                .enqueueTime(System.currentTimeMillis())
+                .build();
+        masterContext.getJobStateIndex().enqueue(jobElement);
+        switch (triggerType) {
+            case MANUAL:
+                masterContext.getManualQueue().add(jobElement);
+                break;
+            case DEBUG:
+                masterContext.getDebugQueue().add(jobElement);
+                break;
+            default:
+                masterContext.getScheduleQueue().add(jobElement);
+                break;
+        }
+    }
+
+    @Test
+    public void fifo() throws InterruptedException {
+        MasterContext masterContext = new MasterContext();
+        Master master = master(masterContext);
+        for (int i = 1; i <= 30; i++) {
+            enqueue(masterContext, i, 1, i % 3);
+        }
+        capacity.put(1, 10);
+        master.scan();
+        assertEquals(10, dispatched.size());
+        assertEquals(20, masterContext.getWaitingSize());
+        //等待队列中的任务保持原来的顺序
+        capacity.put(1, 100);
+        master.scan();
+        assertEquals(30, dispatched.size());
+        assertEquals(0, masterContext.getWaitingSize());
+
+        List<JobElement> expected = new ArrayList<>(dispatched);
+        expected.sort(JobElement.PRIORITY_ORDER);
+        assertEquals(expected, dispatched);
+        for (int i = 1; i < dispatched.size(); i++) {
+            JobElement last = dispatched.get(i - 1), current = dispatched.get(i);
+            if (last.getPriorityLevel().equals(current.getPriorityLevel())) {
+                assertTrue(Long.parseLong(last.getJobId()) < Long.parseLong(current.getJobId()));
+            }
+        }
+    }
+
+    @Test
+    public void fairness() throws InterruptedException {
+        MasterContext masterContext = new MasterContext();
+        Master master = master(masterContext);
+        //机器组已满，调度任务积压在等待队列中
+        capacity.put(1, 0);
+        for (int i = 1; i <= 20; i++) {
+            enqueue(masterContext, i, 1, 3);
+        }
+        master.scan();
+        assertEquals(20, masterContext.getWaitingSize());
+        //开发中心任务没有优先级，手动任务与调度任务优先级相同
+        enqueue(masterContext, 101, 1, null, TriggerTypeEnum.DEBUG);
+        enqueue(masterContext, 102, 1, 3, TriggerTypeEnum.MANUAL);
+        master.scan();
+        assertEquals(22, masterContext.getWaitingSize());
+
+        capacity.put(1, 3);
+        master.scan();
+        assertEquals(3, dispatched.size());
+        Set<TriggerTypeEnum> types = new HashSet<>();
+        dispatched.forEach(jobElement -> types.add(jobElement.getTriggerType()));
+        assertEquals(new HashSet<>(Arrays.asList(TriggerTypeEnum.SCHEDULE, TriggerTypeEnum.MANUAL, TriggerTypeEnum.DEBUG)), types);
+        assertEquals("201906260000000001", dispatched.get(0).getJobId());
+    }
+
+    @Test
+    public void benchmark() throws InterruptedException {
+        int queueSize = 5000;
+        int groupNum = 4;
+        MasterContext masterContext = new MasterContext();
+        Master master = master(masterContext);
+        Random random = new Random(1);
+        for (int i = 1; i <= queueSize; i++) {
+            enqueue(masterContext, i, 1 + i % groupNum, random.nextInt(5));
+        }
+        //最后一个机器组容量不足，多出的任务进入等待队列
+        for (int group = 1; group < groupNum; group++) {
+            capacity.put(group, queueSize);
+        }
+        capacity.put(groupNum, 200);
+
+        long start = System.nanoTime();
+        master.scan();
+        long batchCost = Math.max(System.nanoTime() - start, 1);
+        int batchDispatched = dispatched.size();
+        int waiting = masterContext.getWaitingSize();
+        assertEquals(queueSize, batchDispatched + waiting);
+
+        capacity.put(groupNum, queueSize);
+        start = System.nanoTime();
+        master.scan();
+        long waitingCost = Math.max(System.nanoTime() - start, 1);
+        assertEquals(queueSize, dispatched.size());
+        assertEquals(0, masterContext.getWaitingSize());
+
+        System.out.println(String.format("queued:%d, scan dispatched:%d in %dms (%d jobs/s), parked:%d, waiting queue dispatched in %dms (%d jobs/s)",
+                queueSize, batchDispatched, batchCost / 1000000, batchDispatched * 1000000000L / batchCost,
+                waiting, waitingCost / 1000000, waiting * 1000000000L / waitingCost));
+    }
+
+    private static class StubChannel implements HeraChannel {
+
+        @Override
+        public void writeAndFlush(SocketMessage msg) {
+        }
+
+        @Override
+        public SocketAddress getRemoteAddress() {
+            return null;
+        }
+
+        @Override
+        public SocketAddress getLocalAddress() {
+            return null;
+        }
+
+        @Override
+        public Channel getChannel() {
+            return null;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.dfire.core.netty.master;
+
+import com.dfire.common.entity.HeraJob;
+import com.dfire.common.entity.Judge;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * 增量生成版本时变更任务与下游闭包的计算
+ */
+public class JobDagTest {
+
+    private HeraJob job(int id, String dependencies, long modified) {
+        return HeraJob.builder().id(id).dependencies(dependencies).gmtModified(new Date(modified)).build();
+    }
+
+    private Judge judge(List<HeraJob> jobs) {
+        Judge judge = new Judge();
+        judge.setCount(jobs.size());
+        judge.setMaxId(jobs.stream().mapToInt(HeraJob::getId).max().orElse(0));
+        judge.setLastModified(new Date(jobs.stream().mapToLong(job -> job.getGmtModified().getTime()).max().orElse(0)));
+        return judge;
+    }
+
+    @Test
+    public void changedClosure() {
+        // 1 -> 2 -> 4, 1 -> 3, 5独立
+        List<HeraJob> oldJobs = Arrays.asList(job(1, null, 1), job(2, "1", 1), job(3, "1", 1), job(4, "2,3", 1), job(5, null, 1));
+        JobDag last = new JobDag(oldJobs, judge(oldJobs), "20190605");
+
+        JobDag same = new JobDag(oldJobs, judge(oldJobs), "20190605");
+        assertTrue(same.sameWatermark(last));
+        assertTrue(same.changedJobs(last).isEmpty());
+
+        List<HeraJob> newJobs = Arrays.asList(job(1, null, 1), job(2, "1", 2), job(3, "1", 1), job(4, "2,3", 1), job(6, "5", 2));
+        JobDag jobDag = new JobDag(newJobs, judge(newJobs), "20190605");
+        assertFalse(jobDag.sameWatermark(last));
+        Set<Integer> changed = jobDag.changedJobs(last);
+        assertEquals(new HashSet<>(Arrays.asList(2, 5, 6)), changed);
+        assertEquals(new HashSet<>(Arrays.asList(2, 4, 5, 6)), jobDag.downstreamClosure(changed));
+        assertEquals(new HashSet<>(Arrays.asList(1, 2, 3, 4)), jobDag.downstreamClosure(Collections.singleton(1)));
+    }
+}
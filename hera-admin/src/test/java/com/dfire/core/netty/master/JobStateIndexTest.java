@@ -0,0 +1,123 @@
+package com.dfire.core.netty.master;
+
+import com.dfire.common.enums.TriggerTypeEnum;
+import com.dfire.common.util.ActionUtil;
+import com.dfire.common.vo.JobElement;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 任务排队、运行状态索引
+ */
+public class JobStateIndexTest {
+
+    private static JobElement element(String actionId, TriggerTypeEnum triggerType) {
+        return JobElement.builder().jobId(actionId).triggerType(triggerType).priorityLevel(1).hostGroupId(1).build();
+    }
+
+    @Test
+    public void index() {
+        JobStateIndex index = new JobStateIndex();
+        JobElement schedule = element("201906250100000012", TriggerTypeEnum.SCHEDULE);
+        JobElement repeat = element("201906250200000012", TriggerTypeEnum.SCHEDULE);
+        index.enqueue(schedule);
+        index.enqueue(repeat);
+        assertTrue(index.isQueued(TriggerTypeEnum.SCHEDULE, 12));
+        assertTrue(index.isQueued(TriggerTypeEnum.MANUAL_RECOVER, 12));
+        assertFalse(index.isQueued(TriggerTypeEnum.MANUAL, 12));
+        //后四位相同的任务不再被当作重复任务
+        assertFalse(index.isQueued(TriggerTypeEnum.SCHEDULE, 10012));
+        index.dequeue(schedule);
+        assertTrue(index.isQueued(TriggerTypeEnum.SCHEDULE, 12));
+        index.dequeue(repeat);
+        assertFalse(index.isQueued(TriggerTypeEnum.SCHEDULE, 12));
+        index.dequeue(repeat);
+        assertFalse(index.isQueued(TriggerTypeEnum.SCHEDULE, 12));
+
+        MasterWorkHolder first = new MasterWorkHolder(null);
+        MasterWorkHolder second = new MasterWorkHolder(null);
+        index.run(first, TriggerTypeEnum.SCHEDULE, 12);
+        index.run(second, TriggerTypeEnum.MANUAL_RECOVER, 12);
+        index.run(second, TriggerTypeEnum.MANUAL, 13);
+        assertEquals(2, index.getRunningWorkers(TriggerTypeEnum.SCHEDULE, 12).size());
+        assertTrue(first.getRunning().contains(12));
+        assertTrue(second.getManningRunning().contains(13));
+        assertTrue(index.getRunningWorkers(TriggerTypeEnum.MANUAL, 12).isEmpty());
+
+        index.finish(first, TriggerTypeEnum.SCHEDULE, 12);
+        assertFalse(first.getRunning().contains(12));
+        assertEquals(1, index.getRunningWorkers(TriggerTypeEnum.SCHEDULE, 12).size());
+        index.removeWorker(second);
+        assertTrue(index.getRunningWorkers(TriggerTypeEnum.SCHEDULE, 12).isEmpty());
+        assertTrue(index.getRunningWorkers(TriggerTypeEnum.MANUAL, 13).isEmpty());
+
+        index.run(first, TriggerTypeEnum.SCHEDULE, 14);
+        index.run(second, TriggerTypeEnum.SCHEDULE, 14);
+        index.finishAll(TriggerTypeEnum.SCHEDULE, 14);
+        assertTrue(index.getRunningWorkers(TriggerTypeEnum.SCHEDULE, 14).isEmpty());
+        assertFalse(second.getRunning().contains(14));
+    }
+
+    @Test
+    public void benchmark() {
+        int queueSize = 5000;
+        int workerSize = 50;
+        int checks = 5000;
+        BlockingQueue<JobElement> scheduleQueue = new PriorityBlockingQueue<>(queueSize, JobElement.PRIORITY_ORDER);
+        JobStateIndex index = new JobStateIndex();
+        for (int i = 1; i <= queueSize; i++) {
+            JobElement jobElement = element(String.valueOf(201906250000000000L + i), TriggerTypeEnum.SCHEDULE);
+            index.enqueue(jobElement);
+            scheduleQueue.add(jobElement);
+        }
+        List<MasterWorkHolder> workers = new ArrayList<>(workerSize);
+        for (int i = 0; i < workerSize; i++) {
+            MasterWorkHolder workHolder = new MasterWorkHolder(null);
+            for (int j = 0; j < 20; j++) {
+                index.run(workHolder, TriggerTypeEnum.SCHEDULE, queueSize + i * 20 + j);
+            }
+            workers.add(workHolder);
+        }
+
+        long start = System.nanoTime();
+        int scanExists = 0;
+        for (int i = 0; i < checks; i++) {
+            String actionId = String.valueOf(201906250100000000L + i % (queueSize * 2));
+            Integer jobId = ActionUtil.getJobId(actionId);
+            boolean exists = false;
+            for (JobElement jobElement : new ArrayList<>(scheduleQueue)) {
+                if (ActionUtil.jobEquals(jobElement.getJobId(), actionId)) {
+                    exists = true;
+                }
+            }
+            for (MasterWorkHolder workHolder : workers) {
+                if (workHolder.getRunning().contains(jobId)) {
+                    exists = true;
+                }
+            }
+            scanExists += exists ? 1 : 0;
+        }
+        long scanCost = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        int indexExists = 0;
+        for (int i = 0; i < checks; i++) {
+            Integer jobId = ActionUtil.getJobId(String.valueOf(201906250100000000L + i % (queueSize * 2)));
+            boolean exists = index.isQueued(TriggerTypeEnum.SCHEDULE, jobId) || !index.getRunningWorkers(TriggerTypeEnum.SCHEDULE, jobId).isEmpty();
+            indexExists += exists ? 1 : 0;
+        }
+        long indexCost = System.nanoTime() - start;
+
+        assertEquals(scanExists, indexExists);
+        System.out.println(checks + " checks, queue:" + queueSize + ", workers:" + workerSize + ", scan:" + scanCost / 1000000
+                + "ms, index:" + indexCost / 1000000 + "ms");
+    }
+}
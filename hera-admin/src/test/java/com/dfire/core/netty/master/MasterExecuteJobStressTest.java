@@ -0,0 +1,139 @@
+package com.dfire.core.netty.master;
+
+import com.dfire.config.HeraGlobalEnv;
+import com.dfire.core.netty.HeraChannel;
+import com.dfire.core.netty.master.response.MasterExecuteJob;
+import com.dfire.protocol.JobExecuteKind;
+import com.dfire.protocol.ResponseStatus;
+import com.dfire.protocol.RpcRequest;
+import com.dfire.protocol.RpcResponse;
+import com.dfire.protocol.RpcSocketMessage.SocketMessage;
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * 10000个并发任务分发到模拟的worker，master的线程数不随并发任务数增长
+ */
+public class MasterExecuteJobStressTest {
+
+    private static final int JOB_NUM = 10000;
+
+    private static final int WORKER_NUM = 20;
+
+    @Test
+    public void stress() throws Exception {
+        new HeraGlobalEnv().setTaskTimeout(1);
+        MasterContext masterContext = new MasterContext();
+        MasterHandler handler = new MasterHandler(masterContext);
+        masterContext.setHandler(handler);
+        //模拟master的io线程，EmbeddedChannel只能在一个线程中使用
+        ScheduledExecutorService ioThread = Executors.newSingleThreadScheduledExecutor();
+        EmbeddedChannel channel = ioThread.submit(() -> {
+            EmbeddedChannel embeddedChannel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+            //注册之后再添加，不触发worker注册逻辑
+            embeddedChannel.pipeline().addFirst(handler);
+            return embeddedChannel;
+        }).get();
+        List<MasterWorkHolder> workers = new ArrayList<>(WORKER_NUM);
+        for (int i = 0; i < WORKER_NUM; i++) {
+            workers.add(new MasterWorkHolder(new StubWorkerChannel("10.2.0." + i, channel, ioThread)));
+        }
+
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        threadBean.resetPeakThreadCount();
+        int threadBefore = threadBean.getThreadCount();
+        long begin = System.currentTimeMillis();
+        List<CompletableFuture<RpcResponse.Response>> futures = new ArrayList<>(JOB_NUM);
+        for (int i = 0; i < JOB_NUM; i++) {
+            String actionId = "201906130000" + String.format("%06d", i);
+            futures.add(new MasterExecuteJob().executeJob(masterContext, workers.get(i % WORKER_NUM), JobExecuteKind.ExecuteKind.ScheduleKind, actionId, String.valueOf(i)));
+        }
+        int inFlight = handler.getCallTable().getPendingCount();
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+        long cost = System.currentTimeMillis() - begin;
+        int threadPeak = threadBean.getPeakThreadCount();
+
+        for (CompletableFuture<RpcResponse.Response> future : futures) {
+            assertEquals(ResponseStatus.Status.OK, future.get().getStatusEnum());
+        }
+        for (MasterWorkHolder worker : workers) {
+            assertTrue(worker.getRunning().isEmpty());
+        }
+        assertEquals(0, handler.getCallTable().getPendingCount());
+        assertEquals(JOB_NUM, handler.getCallTable().getCompletedCount());
+        System.out.println(String.format("jobs:%d, workers:%d, max in-flight:%d, cost:%dms, threads before:%d, peak:%d",
+                JOB_NUM, WORKER_NUM, inFlight, cost, threadBefore, threadPeak));
+        //每个任务一个等待线程时峰值会超过任务数
+        assertTrue(threadPeak - threadBefore < 50);
+        ioThread.shutdown();
+        handler.getCallTable().shutdown();
+    }
+
+    /**
+     * 收到任务后随机延迟返回执行成功
+     */
+    private static class StubWorkerChannel implements HeraChannel {
+
+        private final SocketAddress address;
+
+        private final EmbeddedChannel masterChannel;
+
+        private final ScheduledExecutorService ioThread;
+
+        private final Random random = new Random();
+
+        StubWorkerChannel(String host, EmbeddedChannel masterChannel, ScheduledExecutorService ioThread) {
+            this.address = InetSocketAddress.createUnresolved(host, 9887);
+            this.masterChannel = masterChannel;
+            this.ioThread = ioThread;
+        }
+
+        @Override
+        public void writeAndFlush(SocketMessage msg) {
+            int rid;
+            try {
+                rid = RpcRequest.Request.parseFrom(msg.getBody()).getRid();
+            } catch (InvalidProtocolBufferException e) {
+                throw new IllegalStateException(e);
+            }
+            SocketMessage response = SocketMessage.newBuilder()
+                    .setKind(SocketMessage.Kind.RESPONSE)
+                    .setBody(RpcResponse.Response.newBuilder().setRid(rid).setStatusEnum(ResponseStatus.Status.OK).build().toByteString())
+                    .build();
+            ioThread.schedule(() -> masterChannel.writeInbound(response), 500 + random.nextInt(1000), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public SocketAddress getRemoteAddress() {
+            return address;
+        }
+
+        @Override
+        public SocketAddress getLocalAddress() {
+            return address;
+        }
+
+        @Override
+        public Channel getChannel() {
+            return null;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
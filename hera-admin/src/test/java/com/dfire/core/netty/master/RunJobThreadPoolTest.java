@@ -0,0 +1,45 @@
+package com.dfire.core.netty.master;
+
+import com.dfire.common.enums.JobStatus;
+import com.dfire.common.enums.TriggerTypeEnum;
+import com.dfire.common.util.NamedThreadFactory;
+import com.dfire.common.vo.JobElement;
+import org.junit.Test;
+
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * 异步任务在future结束前一直计入运行中的任务，且不占用线程
+ */
+public class RunJobThreadPoolTest {
+
+    @Test
+    public void asyncJob() throws InterruptedException {
+        int num = 100;
+        RunJobThreadPool pool = new RunJobThreadPool(new MasterContext(), 1, 1, 10L, TimeUnit.MINUTES,
+                new LinkedBlockingQueue<>(), new NamedThreadFactory("test-execute-job"), new ThreadPoolExecutor.AbortPolicy());
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        CountDownLatch sent = new CountDownLatch(num);
+        JobElement[] elements = new JobElement[num];
+        for (int i = 0; i < num; i++) {
+            elements[i] = JobElement.builder().jobId(String.valueOf(i)).historyId(String.valueOf(i)).triggerType(TriggerTypeEnum.SCHEDULE).build();
+            pool.executeAsync(() -> {
+                sent.countDown();
+                return result;
+            }, elements[i]);
+        }
+        //只有一个线程，所有任务都已经发送
+        assertTrue(sent.await(5, TimeUnit.SECONDS));
+        assertEquals(num, pool.getTrackedCount());
+
+        result.complete(null);
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(0, pool.getTrackedCount());
+        for (JobElement element : elements) {
+            assertEquals(JobStatus.complete, element.getStatus());
+        }
+    }
+}
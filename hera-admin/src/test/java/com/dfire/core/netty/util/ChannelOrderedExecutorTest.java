@@ -0,0 +1,58 @@
+package com.dfire.core.netty.util;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * 同一个channel的消息顺序处理，积压过多时暂停读取，处理完后恢复
+ */
+public class ChannelOrderedExecutorTest {
+
+    @Test
+    public void order() throws InterruptedException {
+        int channelNum = 50, messageNum = 2000;
+        ChannelOrderedExecutor executor = new ChannelOrderedExecutor("test-handler", 4, 16);
+        List<Channel> channels = new ArrayList<>(channelNum);
+        ConcurrentHashMap<Channel, List<Integer>> received = new ConcurrentHashMap<>();
+        for (int i = 0; i < channelNum; i++) {
+            Channel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+            channels.add(channel);
+            received.put(channel, new ArrayList<>());
+        }
+        CountDownLatch latch = new CountDownLatch(channelNum * messageNum);
+        long begin = System.currentTimeMillis();
+        for (int i = 0; i < messageNum; i++) {
+            for (Channel channel : channels) {
+                int seq = i;
+                executor.execute(channel, () -> {
+                    received.get(channel).add(seq);
+                    latch.countDown();
+                });
+            }
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        System.out.println("messages:" + channelNum * messageNum + ", cost:" + (System.currentTimeMillis() - begin) + "ms, " + executor);
+        for (List<Integer> list : received.values()) {
+            assertEquals(messageNum, list.size());
+            for (int i = 0; i < messageNum; i++) {
+                assertEquals(i, list.get(i).intValue());
+            }
+        }
+        assertEquals(0, executor.getQueueSize());
+        assertFalse(executor.toString().contains("paused:0,"));
+        for (Channel channel : channels) {
+            assertTrue(channel.config().isAutoRead());
+        }
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,125 @@
+package com.dfire.core.netty.util;
+
+import com.dfire.protocol.RpcSocketMessage.SocketMessage;
+import com.google.protobuf.ByteString;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 批量帧与压缩的协商、合并与还原
+ */
+public class RpcFrameCodecTest {
+
+    private SocketMessage message(SocketMessage.Kind kind, String body) {
+        return SocketMessage.newBuilder().setKind(kind).setBody(ByteString.copyFromUtf8(body)).build();
+    }
+
+    /**
+     * 把from写出的帧交给to读取
+     *
+     * @return 传输的帧数
+     */
+    private int transfer(EmbeddedChannel from, EmbeddedChannel to) {
+        from.runPendingTasks();
+        int frames = 0;
+        Object msg;
+        while ((msg = from.readOutbound()) != null) {
+            to.writeInbound(msg);
+            frames++;
+        }
+        return frames;
+    }
+
+    @Test
+    public void oldPeer() {
+        EmbeddedChannel worker = new EmbeddedChannel(new RpcFrameCodec(true, 1024));
+        worker.writeOutbound(message(SocketMessage.Kind.REQUEST, "heart beat"));
+        worker.runPendingTasks();
+        SocketMessage out = (SocketMessage) worker.readOutbound();
+        assertEquals(SocketMessage.Kind.REQUEST, out.getKind());
+        assertEquals(RpcFrameCodec.FEATURE_BATCH | RpcFrameCodec.FEATURE_COMPRESS | RpcFrameCodec.FEATURE_DELTA_HEARTBEAT, out.getFeatures());
+
+        //旧版本master的消息没有features，一直按单条、不压缩发送
+        worker.writeInbound(message(SocketMessage.Kind.REQUEST, "execute"));
+        assertEquals("execute", ((SocketMessage) worker.readInbound()).getBody().toStringUtf8());
+        assertFalse(RpcFrameCodec.peerSupports(worker, RpcFrameCodec.FEATURE_DELTA_HEARTBEAT));
+        StringBuilder large = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            large.append("{\"host\":\"10.0.0.1\",\"running\":[]}");
+        }
+        worker.write(message(SocketMessage.Kind.RESPONSE, "1"));
+        worker.writeAndFlush(message(SocketMessage.Kind.WEB_RESPONSE, large.toString()));
+        worker.runPendingTasks();
+        assertEquals(SocketMessage.Kind.RESPONSE, ((SocketMessage) worker.readOutbound()).getKind());
+        SocketMessage big = (SocketMessage) worker.readOutbound();
+        assertFalse(big.getCompressed());
+        assertEquals(large.toString(), big.getBody().toStringUtf8());
+    }
+
+    @Test
+    public void batchAndCompress() {
+        EmbeddedChannel worker = new EmbeddedChannel(new RpcFrameCodec(true, 1024));
+        EmbeddedChannel master = new EmbeddedChannel(new RpcFrameCodec(true, 1024));
+        //worker先发送心跳，master从中得知worker支持的特性
+        worker.writeAndFlush(message(SocketMessage.Kind.REQUEST, "heart beat"));
+        assertEquals(1, transfer(worker, master));
+        assertEquals("heart beat", ((SocketMessage) master.readInbound()).getBody().toStringUtf8());
+        //master还没有发送过消息，回复一个空的批量帧告知自己的特性
+        assertFalse(RpcFrameCodec.peerSupports(worker, RpcFrameCodec.FEATURE_DELTA_HEARTBEAT));
+        assertEquals(1, transfer(master, worker));
+        assertNull(worker.readInbound());
+        assertTrue(RpcFrameCodec.peerSupports(worker, RpcFrameCodec.FEATURE_DELTA_HEARTBEAT));
+        assertTrue(RpcFrameCodec.peerSupports(master, RpcFrameCodec.FEATURE_DELTA_HEARTBEAT));
+        //worker已经发送过特性，不再回复
+        assertEquals(0, transfer(worker, master));
+
+        StringBuilder large = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            large.append("{\"host\":\"10.0.0.").append(i % 10).append("\",\"running\":[]}");
+        }
+        List<ChannelFuture> futures = new ArrayList<>();
+        int num = 200;
+        for (int i = 0; i < num; i++) {
+            futures.add(master.writeAndFlush(message(SocketMessage.Kind.REQUEST, "execute " + i)));
+        }
+        futures.add(master.writeAndFlush(message(SocketMessage.Kind.WEB_RESPONSE, large.toString())));
+        master.runPendingTasks();
+        List<SocketMessage> frames = new ArrayList<>();
+        Object msg;
+        while ((msg = master.readOutbound()) != null) {
+            frames.add((SocketMessage) msg);
+        }
+        //201条消息合并为两个批量帧
+        assertEquals(2, frames.size());
+        assertEquals(SocketMessage.Kind.BATCH, frames.get(0).getKind());
+        assertTrue(frames.get(1).getMessages(num - 128).getCompressed());
+        for (ChannelFuture future : futures) {
+            assertTrue(future.isSuccess());
+        }
+        System.out.println(String.format("messages:%d, frames:%d, large body:%dB, compressed:%dB", num + 1, frames.size(),
+                large.length(), frames.get(1).getMessages(num - 128).getBody().size()));
+
+        for (SocketMessage frame : frames) {
+            worker.writeInbound(frame);
+        }
+        for (int i = 0; i < num; i++) {
+            assertEquals("execute " + i, ((SocketMessage) worker.readInbound()).getBody().toStringUtf8());
+        }
+        SocketMessage big = (SocketMessage) worker.readInbound();
+        assertFalse(big.getCompressed());
+        assertEquals(large.toString(), big.getBody().toStringUtf8());
+
+        //worker收到master的特性后也开始合并发送
+        worker.writeAndFlush(message(SocketMessage.Kind.RESPONSE, "1"));
+        worker.writeAndFlush(message(SocketMessage.Kind.RESPONSE, "2"));
+        assertEquals(1, transfer(worker, master));
+        assertEquals("1", ((SocketMessage) master.readInbound()).getBody().toStringUtf8());
+        assertEquals("2", ((SocketMessage) master.readInbound()).getBody().toStringUtf8());
+    }
+}
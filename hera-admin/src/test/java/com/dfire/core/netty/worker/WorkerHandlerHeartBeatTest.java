@@ -0,0 +1,80 @@
+package com.dfire.core.netty.worker;
+
+import com.dfire.core.netty.master.MasterWorkHolder;
+import com.dfire.core.netty.worker.request.WorkerHandlerHeartBeat;
+import com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * 增量心跳在master端还原出的运行任务与worker一致
+ */
+public class WorkerHandlerHeartBeatTest {
+
+    @Test
+    public void delta() {
+        WorkerHandlerHeartBeat heartBeat = new WorkerHandlerHeartBeat();
+        MasterWorkHolder workHolder = new MasterWorkHolder(null);
+        Set<String> running = new HashSet<>();
+        Set<String> debugRunning = new HashSet<>();
+        Set<String> manualRunning = new HashSet<>();
+        Random random = new Random(1);
+        for (int i = 0; i < 500; i++) {
+            running.add(String.valueOf(i));
+        }
+        long fullBytes = 0, deltaBytes = 0;
+        int deltaNum = 0;
+        for (int beat = 0; beat < 100; beat++) {
+            for (int i = 0; i < 5; i++) {
+                running.remove(String.valueOf(random.nextInt(1000)));
+                running.add(String.valueOf(random.nextInt(1000)));
+                debugRunning.add(String.valueOf(random.nextInt(100)));
+                manualRunning.remove(String.valueOf(random.nextInt(100)));
+            }
+            boolean full = beat % WorkerHandlerHeartBeat.FULL_SNAPSHOT_INTERVAL == 0;
+            HeartBeatMessage message = heartBeat.buildMessage(running, debugRunning, manualRunning, full);
+            if (full) {
+                fullBytes += message.getSerializedSize();
+            } else {
+                deltaBytes += message.getSerializedSize();
+                deltaNum++;
+            }
+            assertTrue(workHolder.applyHeartBeat(message));
+            assertEquals(running, new HashSet<>(workHolder.getHeartBeatInfo().getRunning()));
+            assertEquals(debugRunning, new HashSet<>(workHolder.getHeartBeatInfo().getDebugRunning()));
+            assertEquals(manualRunning, new HashSet<>(workHolder.getHeartBeatInfo().getManualRunning()));
+        }
+        System.out.println(String.format("running:%d, full avg:%dB, delta avg:%dB", running.size(),
+                fullBytes / (100 - deltaNum), deltaBytes / deltaNum));
+    }
+
+    @Test
+    public void seqGap() {
+        WorkerHandlerHeartBeat heartBeat = new WorkerHandlerHeartBeat();
+        MasterWorkHolder workHolder = new MasterWorkHolder(null);
+        Set<String> running = new HashSet<>();
+        running.add("1");
+        assertTrue(workHolder.applyHeartBeat(heartBeat.buildMessage(running, new HashSet<>(), new HashSet<>(), true)));
+
+        //丢失一次增量心跳
+        running.add("2");
+        heartBeat.buildMessage(running, new HashSet<>(), new HashSet<>(), false);
+        running.remove("1");
+        assertFalse(workHolder.applyHeartBeat(heartBeat.buildMessage(running, new HashSet<>(), new HashSet<>(), false)));
+        assertTrue(workHolder.getHeartBeatInfo().getRunning().contains("1"));
+
+        running.add("3");
+        assertFalse(workHolder.applyHeartBeat(heartBeat.buildMessage(running, new HashSet<>(), new HashSet<>(), false)));
+        assertTrue(workHolder.applyHeartBeat(heartBeat.buildMessage(running, new HashSet<>(), new HashSet<>(), true)));
+        assertEquals(running, new HashSet<>(workHolder.getHeartBeatInfo().getRunning()));
+
+        //旧版本worker的心跳按照全量处理
+        assertTrue(workHolder.applyHeartBeat(HeartBeatMessage.newBuilder().setHost("old").addRunnings("9").build()));
+        assertEquals(1, workHolder.getHeartBeatInfo().getRunning().size());
+    }
+}
@@ -0,0 +1,219 @@
+package com.dfire.core.route.loadbalance;
+
+import com.dfire.common.entity.vo.HeraHostGroupVo;
+import com.dfire.common.vo.JobElement;
+import com.dfire.config.HeraGlobalEnv;
+import com.dfire.core.message.HeartBeatInfo;
+import com.dfire.core.netty.HeraChannel;
+import com.dfire.core.netty.master.MasterContext;
+import com.dfire.core.netty.master.MasterWorkHolder;
+import com.dfire.core.route.loadbalance.impl.RandomLoadBalance;
+import com.dfire.core.route.loadbalance.impl.RoundRobinLoadBalance;
+import com.dfire.core.route.loadbalance.impl.ScoreLoadBalance;
+import com.dfire.protocol.RpcSocketMessage;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * 500台worker、50个机器组下的worker选择
+ */
+public class LoadBalanceTest {
+
+    private static final int WORKER_NUM = 500;
+
+    private static final int GROUP_NUM = 50;
+
+    private static final int SELECT_NUM = 100000;
+
+    private MasterContext masterContext;
+
+    @Before
+    public void init() {
+        HeraGlobalEnv env = new HeraGlobalEnv();
+        env.setMaxMemRate(0.8F);
+        env.setMaxCpuLoadPerCore(1.0F);
+        env.setSystemMemUsed(4000F);
+        env.setPerTaskUseMem(500F);
+
+        masterContext = new MasterContext();
+        Map<Integer, HeraHostGroupVo> hostGroupCache = new HashMap<>(GROUP_NUM);
+        for (int i = 0; i < GROUP_NUM; i++) {
+            hostGroupCache.put(i, HeraHostGroupVo.builder().id(String.valueOf(i)).hosts(new ArrayList<>()).build());
+        }
+        for (int i = 0; i < WORKER_NUM; i++) {
+            String host = "10.1." + i / 256 + "." + i % 256;
+            MasterWorkHolder workHolder = new MasterWorkHolder(new TestChannel(host));
+            workHolder.setHeartBeatInfo(HeartBeatInfo.builder().host(host).memRate(0.5F).cpuLoadPerCore(0.5F).memTotal(64000F)
+                    .running(new ArrayList<>()).manualRunning(new ArrayList<>()).debugRunning(new ArrayList<>()).build());
+            masterContext.getWorkMap().put(new EmbeddedChannel(new ChannelInboundHandlerAdapter()), workHolder);
+            masterContext.indexWorkHolder(workHolder);
+            hostGroupCache.get(i % GROUP_NUM).getHosts().add(host);
+        }
+        masterContext.setHostGroupCache(hostGroupCache);
+    }
+
+    @Test
+    public void select() {
+        JobElement element = JobElement.builder().jobId("1").hostGroupId(3).build();
+        Set<String> selected = new HashSet<>();
+        LoadBalance roundRobin = new RoundRobinLoadBalance();
+        for (int i = 0; i < WORKER_NUM / GROUP_NUM; i++) {
+            selected.add(roundRobin.select(element, masterContext).getHeartBeatInfo().getHost());
+        }
+        assertEquals(masterContext.getHostGroupCache().get(3).getHosts().size(), selected.size());
+
+        MasterWorkHolder random = new RandomLoadBalance().select(element, masterContext);
+        assertTrue(masterContext.getHostGroupCache().get(3).getHosts().contains(random.getHeartBeatInfo().getHost()));
+
+        //断开的worker不会再被选中
+        for (Map.Entry<Channel, MasterWorkHolder> entry : new ArrayList<>(masterContext.getWorkMap().entrySet())) {
+            if (masterContext.getHostGroupCache().get(3).getHosts().contains(entry.getValue().getHeartBeatInfo().getHost())) {
+                masterContext.removeWorkHolder(entry.getKey());
+            }
+        }
+        assertNull(roundRobin.select(element, masterContext));
+        assertNull(new RandomLoadBalance().select(element, masterContext));
+    }
+
+    @Test
+    public void score() {
+        JobElement element = JobElement.builder().jobId("1").hostGroupId(3).build();
+        List<String> hosts = masterContext.getHostGroupCache().get(3).getHosts();
+        for (String host : hosts) {
+            masterContext.getWorkHolder(host).getHeartBeatInfo().setCpuLoadPerCore(0.1F);
+            masterContext.getWorkHolder(host).getHeartBeatInfo().setCores(8);
+        }
+        MasterWorkHolder busy = masterContext.getWorkHolder(hosts.get(5));
+        busy.getHeartBeatInfo().setCpuLoadPerCore(0.6F);
+
+        LoadBalance score = new ScoreLoadBalance();
+        assertFalse(score.needWarmUp());
+        int dispatched = 0;
+        MasterWorkHolder select;
+        while ((select = score.select(element, masterContext)) == busy) {
+            select.dispatched();
+            dispatched++;
+        }
+        //装箱：先分发到剩余资源最少的worker，直到放入任务后余量低于安全余量，0.6 + 2 / 8 <= 0.9
+        assertEquals(2, dispatched);
+        assertNotNull(select);
+        assertNotSame(busy, select);
+
+        //收到新的心跳后重新计算
+        busy.setHeartBeatInfo(busy.getHeartBeatInfo());
+        assertEquals(0, busy.getDispatchedCount());
+        assertSame(busy, score.select(element, masterContext));
+
+        //没有余量的worker不会被选中
+        for (String host : hosts) {
+            masterContext.getWorkHolder(host).getHeartBeatInfo().setCpuLoadPerCore(0.85F);
+        }
+        assertNull(score.select(element, masterContext));
+    }
+
+    @Test
+    public void benchmark() {
+        Random random = new Random(1);
+        List<JobElement> elements = new ArrayList<>(SELECT_NUM);
+        for (int i = 0; i < SELECT_NUM; i++) {
+            elements.add(JobElement.builder().jobId(String.valueOf(i)).hostGroupId(random.nextInt(GROUP_NUM)).build());
+        }
+        Map<Integer, HeraHostGroupVo> hostGroupCache = masterContext.getHostGroupCache();
+        long begin = System.nanoTime();
+        for (JobElement element : elements) {
+            assertNotNull(scanSelect(hostGroupCache.get(element.getHostGroupId())));
+        }
+        long scanCost = System.nanoTime() - begin;
+
+        begin = System.nanoTime();
+        for (JobElement element : elements) {
+            assertNotNull(indexSelect(hostGroupCache.get(element.getHostGroupId())));
+        }
+        long indexCost = System.nanoTime() - begin;
+        System.out.println(String.format("workers:%d, groups:%d, select:%d, scan:%dms, index:%dms, speedup:%.1fx",
+                WORKER_NUM, GROUP_NUM, SELECT_NUM, scanCost / 1000000, indexCost / 1000000, (double) scanCost / Math.max(indexCost, 1)));
+    }
+
+    /**
+     * 建立索引前的选择方式：每个候选host遍历所有worker，不包含容量检查和日志
+     */
+    private MasterWorkHolder scanSelect(HeraHostGroupVo hostGroup) {
+        List<String> hosts = hostGroup.getHosts();
+        int index = hostGroup.getNextPos();
+        int size = hosts.size();
+        for (int i = 0; i < size; i++) {
+            String host = hosts.get(index);
+            for (MasterWorkHolder workHolder : masterContext.getWorkMap().values()) {
+                if (workHolder.getHeartBeatInfo() != null && workHolder.getHeartBeatInfo().getHost().equals(host.trim())) {
+                    hostGroup.setNextPos(++index >= size ? 0 : index);
+                    return workHolder;
+                }
+            }
+            if (++index >= size) {
+                index = 0;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 与RoundRobinLoadBalance相同的按host索引选择，不包含容量检查和日志
+     */
+    private MasterWorkHolder indexSelect(HeraHostGroupVo hostGroup) {
+        List<String> hosts = hostGroup.getHosts();
+        int index = hostGroup.getNextPos();
+        int size = hosts.size();
+        for (int i = 0; i < size; i++) {
+            MasterWorkHolder workHolder = masterContext.getWorkHolder(hosts.get(index));
+            if (workHolder != null) {
+                hostGroup.setNextPos(++index >= size ? 0 : index);
+                return workHolder;
+            }
+            if (++index >= size) {
+                index = 0;
+            }
+        }
+        return null;
+    }
+
+    private static class TestChannel implements HeraChannel {
+
+        private final SocketAddress address;
+
+        TestChannel(String host) {
+            this.address = InetSocketAddress.createUnresolved(host, 9887);
+        }
+
+        @Override
+        public void writeAndFlush(RpcSocketMessage.SocketMessage msg) {
+        }
+
+        @Override
+        public SocketAddress getRemoteAddress() {
+            return address;
+        }
+
+        @Override
+        public SocketAddress getLocalAddress() {
+            return address;
+        }
+
+        @Override
+        public Channel getChannel() {
+            return null;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.dfire.core.schedule;
+
+import com.dfire.core.event.Dispatcher;
+import com.dfire.event.ApplicationEvent;
+import com.dfire.event.HeraScheduleTriggerEvent;
+import org.junit.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * 时间轮调度的批量触发与取消
+ */
+public class ActionTimerWheelTest {
+
+    @Test
+    public void fireAndCancel() throws InterruptedException {
+        int num = 1000;
+        Set<String> fired = ConcurrentHashMap.newKeySet();
+        CountDownLatch latch = new CountDownLatch(num - 1);
+        Dispatcher dispatcher = new Dispatcher() {
+            @Override
+            public void forwardEvent(ApplicationEvent event) {
+                fired.add(((HeraScheduleTriggerEvent) event).getJobId());
+                latch.countDown();
+            }
+        };
+        ActionTimerWheel timerWheel = new ActionTimerWheel(dispatcher);
+        long fireTime = System.currentTimeMillis() + 1000;
+        for (int i = 0; i < num; i++) {
+            assertTrue(timerWheel.schedule(String.valueOf(i), fireTime + i % 2 * 1000));
+        }
+        assertFalse(timerWheel.schedule("0", fireTime));
+        timerWheel.cancel("1");
+        assertEquals(num - 1, timerWheel.size());
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(num - 1, fired.size());
+        assertFalse(fired.contains("1"));
+        assertEquals(0, timerWheel.size());
+        timerWheel.shutdown();
+    }
+}
@@ -1,8 +1,15 @@
 package com.dfire.core.util;
 
+import com.dfire.common.util.ActionUtil;
+import com.dfire.common.util.HeraDateTool;
 import org.junit.Test;
+import org.quartz.CronExpression;
 
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
 import java.util.List;
 
 import static org.junit.Assert.*;
@@ -12,10 +19,105 @@ import static org.junit.Assert.*;
  */
 public class CronParseTest {
 
+    private static final int JOB_SIZE = 20000;
+
+    private static final String CRON_DATE = "2019-06-23";
+
+    private static final String[] CRONS = {"0 0 2 * * ?", "0 30 3 * * ?", "0 0 0/1 * * ?", "0 0/15 * * * ?",
+            "0 0 6 ? * MON-FRI", "0 10 1 1 * ?", "0 0 23 L * ?", "0 5 8-20/2 * * ?"};
+
     @Test
     public void parser() {
         List<String> x = new ArrayList<>();
         CronParse.Parser("0 0 0/1 * * ?", "2018-07-18", x);
         x.forEach(System.out::println);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void actionMinutes() {
+        for (String cron : CRONS) {
+            List<String> ids = new ArrayList<>();
+            List<String> crons = new ArrayList<>();
+            oldCreate(cron, CRON_DATE, 1, ids, crons);
+            long[] actionMinutes = CronParse.actionMinutes(cron, CRON_DATE);
+            assertNotNull(actionMinutes);
+            assertEquals(cron, ids.size(), actionMinutes.length);
+            for (int i = 0; i < actionMinutes.length; i++) {
+                assertEquals(ids.get(i), String.valueOf(actionMinutes[i] * 1000000 + 1));
+                assertEquals(crons.get(i), CronParse.toActionCron(actionMinutes[i]));
+            }
+            assertSame(actionMinutes, CronParse.actionMinutes(" " + cron + " ", CRON_DATE));
+        }
+        assertSame(CronParse.compile("0 0 2 * * ?"), CronParse.compile("0 0 2 * * ?"));
+        assertNull(CronParse.actionMinutes("0 0 25 * * ?", CRON_DATE));
+        assertNull(CronParse.actionMinutes("0 0 2 * * ?", "2019/06/23"));
+        assertEquals(0, CronParse.actionMinutes("0 0 2 1 1 ? 2018", CRON_DATE).length);
+    }
+
+    @Test
+    public void benchmark() throws ParseException {
+        //预热
+        generate(JOB_SIZE, true);
+        generate(JOB_SIZE, false);
+
+        long start = System.nanoTime();
+        int oldActions = generate(JOB_SIZE, true);
+        long oldCost = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        int newActions = generate(JOB_SIZE, false);
+        long newCost = System.nanoTime() - start;
+
+        assertEquals(oldActions, newActions);
+        System.out.println(JOB_SIZE + " jobs, " + newActions + " actions, parse + format:" + oldCost / 1000000
+                + "ms, compiled cron:" + newCost / 1000000 + "ms");
+    }
+
+    private static int generate(int jobSize, boolean old) throws ParseException {
+        int actions = 0;
+        for (int jobId = 1; jobId <= jobSize; jobId++) {
+            String cron = CRONS[jobId % CRONS.length];
+            if (old) {
+                List<String> ids = new ArrayList<>();
+                oldCreate(cron, CRON_DATE, jobId, ids, new ArrayList<>());
+                actions += ids.size();
+            } else {
+                for (long actionMinute : CronParse.actionMinutes(cron, CRON_DATE)) {
+                    Long actionId = actionMinute * 1000000 + jobId;
+                    String actionCron = CronParse.toActionCron(actionMinute);
+                    actions += actionId > 0 && actionCron != null ? 1 : 0;
+                }
+            }
+        }
+        return actions;
+    }
+
+    /**
+     * 修改前每个任务生成版本的方式
+     */
+    private static void oldCreate(String cron, String cronDate, int jobId, List<String> ids, List<String> crons) {
+        try {
+            CronExpression exp = new CronExpression(cron);
+            SimpleDateFormat sdf = new SimpleDateFormat(ActionUtil.DEFAULT_FORMAT);
+            Calendar c = Calendar.getInstance();
+            c.setTime(sdf.parse(cronDate + " 00:00:00"));
+            c.add(Calendar.SECOND, -1);
+            Date dStart = c.getTime();
+            c.add(Calendar.DATE, 1);
+            Date dEnd = c.getTime();
+            List<String> list = new ArrayList<>();
+            Date dd = exp.getNextValidTimeAfter(dStart);
+            while (dd != null && dd.getTime() <= dEnd.getTime()) {
+                list.add(sdf.format(dd));
+                dd = exp.getNextValidTimeAfter(dd);
+            }
+            for (String str : list) {
+                String actionDate = HeraDateTool.StringToDateStr(str, ActionUtil.DEFAULT_FORMAT, ActionUtil.ACTION_MIN);
+                crons.add(HeraDateTool.StringToDateStr(str, ActionUtil.DEFAULT_FORMAT, ActionUtil.ACTION_CRON) + " ?");
+                ids.add(String.valueOf(Long.parseLong(actionDate) * 1000000 + jobId));
+            }
+        } catch (ParseException e) {
+            fail(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.dfire.common.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * 任务运行中的增量日志
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class HeraHistoryLog {
+
+    private Long id;
+
+    private Integer historyId;
+
+    /**
+     * action:调度任务 debug:开发中心
+     */
+    private String type;
+
+    private String content;
+
+    private Date gmtCreate;
+}
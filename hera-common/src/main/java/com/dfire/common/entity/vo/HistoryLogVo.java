@@ -0,0 +1,40 @@
+package com.dfire.common.entity.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 按offset读取的运行日志
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class HistoryLogVo {
+
+    /**
+     * 日志从worker本地日志段读取，offset为字节位置
+     */
+    public static final String SEGMENT = "segment";
+
+    private String log;
+
+    private String status;
+
+    /**
+     * 已经读取到的增量日志id，下次从这里继续读取
+     */
+    private Long offset;
+
+    /**
+     * true:log为增量日志，需要追加 false:log为完整日志
+     */
+    private boolean append;
+
+    /**
+     * 日志来源，页面下次请求时带上，为空表示offset为数据库中的增量日志id
+     */
+    private String source;
+}
@@ -0,0 +1,31 @@
+package com.dfire.common.mapper;
+
+import com.dfire.common.entity.HeraHistoryLog;
+import org.apache.ibatis.annotations.*;
+
+import java.util.List;
+
+public interface HeraHistoryLogMapper {
+
+    @Insert("insert into hera_history_log (history_id,type,content) values (#{historyId},#{type},#{content})")
+    @Options(useGeneratedKeys = true, keyProperty = "id", keyColumn = "id")
+    Integer insert(HeraHistoryLog heraHistoryLog);
+
+    @Insert({"<script> " +
+            " insert into hera_history_log (history_id,type,content) " +
+            "values " +
+            "<foreach collection=\"list\"  separator=\",\" item=\"item\" > " +
+            " (#{item.historyId},#{item.type},#{item.content}) " +
+            " </foreach>" +
+            " </script>"})
+    Integer insertList(@Param("list") List<HeraHistoryLog> logs);
+
+    @Select("select id,content from hera_history_log where history_id = #{historyId} and type = #{type} and id > #{offset} order by id")
+    List<HeraHistoryLog> findByOffset(@Param("historyId") Integer historyId, @Param("type") String type, @Param("offset") Long offset);
+
+    @Delete("delete from hera_history_log where history_id = #{historyId} and type = #{type}")
+    Integer deleteByHistoryId(@Param("historyId") Integer historyId, @Param("type") String type);
+
+    @Delete("delete from hera_history_log where gmt_create < DATE_SUB(CURRENT_DATE(),INTERVAL #{beforeDay} DAY)")
+    Integer deleteHistoryRecord(Integer beforeDay);
+}
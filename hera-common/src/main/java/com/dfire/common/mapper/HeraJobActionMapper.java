@@ -33,6 +33,26 @@ public interface HeraJobActionMapper {
     @Lang(HeraActionBatchUpdateDriver.class)
     int batchUpdate(@Param("list") List<HeraAction> list);
 
+    /**
+     * 批量写入master内存中的版本运行状态，只更新运行过程中会变化的列
+     *
+     * @param list 版本状态
+     * @return 更新条数
+     */
+    @Update({"<script> " +
+            " update hera_action set " +
+            " status = CASE id <foreach collection=\"list\" item=\"item\"> WHEN #{item.id} THEN #{item.status} </foreach> END," +
+            " last_result = CASE id <foreach collection=\"list\" item=\"item\"> WHEN #{item.id} THEN #{item.lastResult} </foreach> END," +
+            " ready_dependency = CASE id <foreach collection=\"list\" item=\"item\"> WHEN #{item.id} THEN #{item.readyDependency} </foreach> END," +
+            " history_id = CASE id <foreach collection=\"list\" item=\"item\"> WHEN #{item.id} THEN #{item.historyId} </foreach> END," +
+            " host = CASE id <foreach collection=\"list\" item=\"item\"> WHEN #{item.id} THEN #{item.host} </foreach> END," +
+            " statistic_start_time = CASE id <foreach collection=\"list\" item=\"item\"> WHEN #{item.id} THEN #{item.statisticStartTime} </foreach> END," +
+            " statistic_end_time = CASE id <foreach collection=\"list\" item=\"item\"> WHEN #{item.id} THEN #{item.statisticEndTime} </foreach> END," +
+            " gmt_modified = CASE id <foreach collection=\"list\" item=\"item\"> WHEN #{item.id} THEN #{item.gmtModified} </foreach> END" +
+            " where id in <foreach collection=\"list\" item=\"item\" separator=\",\" open=\"(\" close=\")\"> #{item.id} </foreach>" +
+            " </script>"})
+    int batchUpdateState(@Param("list") List<HeraAction> list);
+
     @Delete("delete from hera_action where id = #{id}")
     int delete(@Param("id") String id);
 
@@ -48,6 +68,10 @@ public interface HeraJobActionMapper {
     HeraAction findById(HeraAction heraAction);
 
 
+    @Select("select * from hera_action where id in (#{list})")
+    @Lang(HeraListInLangDriver.class)
+    List<HeraAction> findByIds(@Param("list") List<Long> list);
+
     @Select("select * from hera_action where job_id = #{jobId} order by id desc limit 1")
     HeraAction findLatestByJobId(String jobId);
 
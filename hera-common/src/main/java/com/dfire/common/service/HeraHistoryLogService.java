@@ -0,0 +1,54 @@
+package com.dfire.common.service;
+
+import com.dfire.common.entity.HeraHistoryLog;
+import com.dfire.common.entity.vo.HistoryLogVo;
+
+import java.util.List;
+
+/**
+ * 任务运行中的日志只追加新增部分，运行结束后完整日志写入运行记录
+ */
+public interface HeraHistoryLogService {
+
+    String ACTION = "action";
+
+    String DEBUG = "debug";
+
+    /**
+     * 追加一段日志
+     *
+     * @param historyId 运行记录id
+     * @param type      ACTION/DEBUG
+     * @param content   新增的日志
+     */
+    void append(Integer historyId, String type, String content);
+
+    /**
+     * 多个任务的新增日志一次写入
+     *
+     * @param logs 新增的日志
+     */
+    void appendList(List<HeraHistoryLog> logs);
+
+    /**
+     * 读取日志，运行中的任务由运行记录中的日志和增量日志组成
+     *
+     * @param historyId 运行记录id
+     * @param type      ACTION/DEBUG
+     * @param log       运行记录中的日志
+     * @param status    运行记录的状态
+     * @param offset    已经读取到的增量日志id，为空时读取完整日志
+     * @return HistoryLogVo
+     */
+    HistoryLogVo readLog(Integer historyId, String type, String log, String status, Long offset);
+
+    /**
+     * 完整日志写入运行记录之后删除增量日志
+     *
+     * @param historyId 运行记录id
+     * @param type      ACTION/DEBUG
+     */
+    void deleteLog(Integer historyId, String type);
+
+    void deleteHistoryRecord(Integer beforeDay);
+}
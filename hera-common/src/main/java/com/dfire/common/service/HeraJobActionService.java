@@ -59,6 +59,22 @@ public interface HeraJobActionService {
 
     Integer updateStatusAndReadDependency(HeraAction heraAction);
 
+    /**
+     * 记录一个已经完成的依赖版本，同一版本的并发调用需要串行，不能丢失就绪记录
+     *
+     * @param actionId   版本id
+     * @param dependency 完成的依赖版本id
+     * @return 还未完成的依赖数，版本不存在时为-1
+     */
+    int addReadyDependency(String actionId, String dependency);
+
+    /**
+     * 批量更新版本的运行状态列
+     *
+     * @param heraActionList 版本状态
+     */
+    void batchUpdateState(List<HeraAction> heraActionList);
+
 
     List<HeraAction> getAfterAction(Long action);
 
@@ -1,6 +1,7 @@
 package com.dfire.common.service;
 
 import com.dfire.common.entity.HeraJob;
+import com.dfire.common.entity.Judge;
 import com.dfire.common.entity.model.JsonResponse;
 import com.dfire.common.entity.vo.HeraJobTreeNodeVo;
 import com.dfire.graph.JobRelation;
@@ -23,6 +24,13 @@ public interface HeraJobService {
 
     List<HeraJob> getAll();
 
+    /**
+     * 获得hera_job表的水位信息(任务数、最大id、最后修改时间)
+     *
+     * @return Judge
+     */
+    Judge getJudge();
+
     HeraJob findById(int id);
 
     Integer findMustEndMinute(int id);
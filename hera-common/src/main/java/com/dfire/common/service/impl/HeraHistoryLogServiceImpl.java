@@ -0,0 +1,64 @@
+package com.dfire.common.service.impl;
+
+import com.dfire.common.entity.HeraHistoryLog;
+import com.dfire.common.entity.vo.HistoryLogVo;
+import com.dfire.common.enums.StatusEnum;
+import com.dfire.common.mapper.HeraHistoryLogMapper;
+import com.dfire.common.service.HeraHistoryLogService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service("heraHistoryLogService")
+public class HeraHistoryLogServiceImpl implements HeraHistoryLogService {
+
+    @Autowired
+    private HeraHistoryLogMapper heraHistoryLogMapper;
+
+    @Override
+    public void append(Integer historyId, String type, String content) {
+        heraHistoryLogMapper.insert(HeraHistoryLog.builder().historyId(historyId).type(type).content(content).build());
+    }
+
+    @Override
+    public void appendList(List<HeraHistoryLog> logs) {
+        if (logs.isEmpty()) {
+            return;
+        }
+        heraHistoryLogMapper.insertList(logs);
+    }
+
+    @Override
+    public HistoryLogVo readLog(Integer historyId, String type, String log, String status, Long offset) {
+        HistoryLogVo logVo = HistoryLogVo.builder().status(status).offset(offset == null ? 0L : offset).build();
+        //运行结束的任务日志已经完整写入运行记录
+        if (!StatusEnum.RUNNING.toString().equals(status)) {
+            logVo.setLog(log);
+            return logVo;
+        }
+        List<HeraHistoryLog> logs = heraHistoryLogMapper.findByOffset(historyId, type, logVo.getOffset());
+        StringBuilder content = new StringBuilder();
+        if (offset == null) {
+            content.append(log == null ? "" : log);
+        } else {
+            logVo.setAppend(true);
+        }
+        for (HeraHistoryLog historyLog : logs) {
+            content.append(historyLog.getContent());
+            logVo.setOffset(historyLog.getId());
+        }
+        logVo.setLog(content.toString());
+        return logVo;
+    }
+
+    @Override
+    public void deleteLog(Integer historyId, String type) {
+        heraHistoryLogMapper.deleteByHistoryId(historyId, type);
+    }
+
+    @Override
+    public void deleteHistoryRecord(Integer beforeDay) {
+        heraHistoryLogMapper.deleteHistoryRecord(beforeDay);
+    }
+}
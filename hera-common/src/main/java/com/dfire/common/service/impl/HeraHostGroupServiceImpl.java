@@ -61,6 +61,10 @@ public class HeraHostGroupServiceImpl implements HeraHostGroupService {
         List<HeraHostGroup> groupList = this.getAll();
         Map<Integer, HeraHostGroupVo> hostGroupInfoMap = new HashMap<>(groupList.size());
         List<HeraHostRelation> relationList = heraHostRelationService.getAll();
+        //按机器组预先分组，机器名去除空格
+        Map<Integer, List<String>> groupHosts = new HashMap<>(groupList.size());
+        relationList.forEach(heraHostRelation -> groupHosts.computeIfAbsent(heraHostRelation.getHostGroupId(), k -> new ArrayList<>())
+                .add(heraHostRelation.getHost().trim()));
         groupList.forEach(heraHostGroup -> {
             if(heraHostGroup.getEffective() == 1) {
                 HeraHostGroupVo vo = HeraHostGroupVo.builder()
@@ -69,13 +73,7 @@ public class HeraHostGroupServiceImpl implements HeraHostGroupService {
                         .nextPos(0)
                         .description(heraHostGroup.getDescription())
                         .build();
-                List<String> hosts = new ArrayList<>();
-                relationList.forEach(heraHostRelation -> {
-                    if(heraHostRelation.getHostGroupId() == (heraHostGroup.getId())) {
-                        hosts.add(heraHostRelation.getHost());
-                    }
-                });
-                vo.setHosts(hosts);
+                vo.setHosts(groupHosts.getOrDefault(heraHostGroup.getId(), new ArrayList<>(0)));
                 hostGroupInfoMap.put(heraHostGroup.getId(), vo);
             }
         });
@@ -7,11 +7,13 @@ import com.dfire.common.entity.vo.HeraActionVo;
 import com.dfire.common.enums.StatusEnum;
 import com.dfire.common.kv.Tuple;
 import com.dfire.common.mapper.HeraJobActionMapper;
+import com.dfire.common.service.HeraHistoryLogService;
 import com.dfire.common.service.HeraJobActionService;
 import com.dfire.common.service.HeraJobHistoryService;
 import com.dfire.common.service.HeraJobService;
 import com.dfire.common.util.ActionUtil;
 import com.dfire.common.util.BeanConvertUtils;
+import com.dfire.common.util.StringUtil;
 import com.dfire.common.vo.GroupTaskVo;
 import com.dfire.common.vo.JobStatus;
 import com.dfire.logs.HeraLog;
@@ -42,16 +44,37 @@ public class HeraJobActionServiceImpl implements HeraJobActionService {
     @Autowired
     private HeraJobHistoryService heraJobHistoryService;
 
+    @Autowired
+    private HeraHistoryLogService heraHistoryLogService;
+
+    /**
+     * 按版本分段的锁，库中readyDependency的读改写需要串行，避免并发的成功事件互相覆盖
+     */
+    private final Object[] readyDependencyLocks = new Object[64];
+
+    {
+        for (int i = 0; i < readyDependencyLocks.length; i++) {
+            readyDependencyLocks[i] = new Object();
+        }
+    }
+
 
     @Override
     public List<HeraAction> batchInsert(List<HeraAction> heraActionList, Long nowAction) {
         ScheduleLog.info("batchInsert-> batch size is :{}", heraActionList.size());
         List<HeraAction> insertList = new ArrayList<>();
+        //一次查出本批次已存在的版本，避免逐条查询
+        List<Long> ids = new ArrayList<>(heraActionList.size());
+        heraActionList.forEach(heraAction -> ids.add(heraAction.getId()));
+        Map<Long, HeraAction> existMap = new HashMap<>(heraActionList.size());
+        if (ids.size() > 0) {
+            heraJobActionMapper.findByIds(ids).forEach(action -> existMap.put(action.getId(), action));
+        }
         for (HeraAction heraAction : heraActionList) {
             //更新时单条更新
             //原因：批量更新时，在极端情况下，数据会有批量数据处理时间的buff
             //     此时如果有其它地方修改了某条数据 会数据库中的数据被批量更新的覆盖
-            if (isNeedUpdateAction(heraAction, nowAction)) {
+            if (isNeedUpdateAction(heraAction, existMap.get(heraAction.getId()), nowAction)) {
                 update(heraAction);
             } else {
                 insertList.add(heraAction);
@@ -66,11 +89,11 @@ public class HeraJobActionServiceImpl implements HeraJobActionService {
     /**
      * 判断是更新该是修改
      *
-     * @param heraAction
+     * @param heraAction 新生成的版本
+     * @param action     数据库中已存在的版本
      * @return
      */
-    private boolean isNeedUpdateAction(HeraAction heraAction, Long nowAction) {
-        HeraAction action = heraJobActionMapper.findById(heraAction);
+    private boolean isNeedUpdateAction(HeraAction heraAction, HeraAction action, Long nowAction) {
         if (action != null) {
             //如果该任务不是在运行中
             if (!StatusEnum.RUNNING.toString().equals(action.getStatus())) {
@@ -96,7 +119,7 @@ public class HeraJobActionServiceImpl implements HeraJobActionService {
 
     @Override
     public int insert(HeraAction heraAction, Long nowAction) {
-        if (isNeedUpdateAction(heraAction, nowAction)) {
+        if (isNeedUpdateAction(heraAction, heraJobActionMapper.findById(heraAction), nowAction)) {
             return heraJobActionMapper.update(heraAction);
         } else {
             return heraJobActionMapper.insert(heraAction);
@@ -182,6 +205,41 @@ public class HeraJobActionServiceImpl implements HeraJobActionService {
         return heraJobActionMapper.updateStatusAndReadDependency(heraAction);
     }
 
+    @Override
+    public int addReadyDependency(String actionId, String dependency) {
+        synchronized (readyDependencyLocks[(actionId.hashCode() & Integer.MAX_VALUE) % readyDependencyLocks.length]) {
+            return addReadyDependencyLocked(actionId, dependency);
+        }
+    }
+
+    private int addReadyDependencyLocked(String actionId, String dependency) {
+        HeraAction heraAction = findById(actionId);
+        if (heraAction == null) {
+            return -1;
+        }
+        Map<String, String> readyDependency = StringUtil.convertStringToMap(heraAction.getReadyDependency());
+        readyDependency.put(dependency, String.valueOf(System.currentTimeMillis()));
+        heraAction.setReadyDependency(StringUtil.convertMapToString(readyDependency));
+        updateStatusAndReadDependency(heraAction);
+        int remaining = 0;
+        if (StringUtils.isNotBlank(heraAction.getDependencies())) {
+            for (String upstream : heraAction.getDependencies().split(Constants.COMMA)) {
+                if (!readyDependency.containsKey(upstream)) {
+                    remaining++;
+                }
+            }
+        }
+        return remaining;
+    }
+
+    @Override
+    public void batchUpdateState(List<HeraAction> heraActionList) {
+        if (heraActionList.isEmpty()) {
+            return;
+        }
+        heraJobActionMapper.batchUpdateState(heraActionList);
+    }
+
     @Override
     public List<HeraAction> getAfterAction(Long action) {
         return heraJobActionMapper.selectAfterAction(action);
@@ -276,6 +334,7 @@ public class HeraJobActionServiceImpl implements HeraJobActionService {
     public void deleteAllHistoryRecord(Integer beforeDay) {
         this.deleteHistoryRecord(beforeDay);
         heraJobHistoryService.deleteHistoryRecord(beforeDay);
+        heraHistoryLogService.deleteHistoryRecord(beforeDay);
     }
 
     private String buildFont(String str, String type) {
@@ -56,6 +56,18 @@ public class HeraJobMemoryServiceImpl extends HeraJobServiceImpl {
         return memoryJob.get(id);
     }
 
+    /**
+     * 每次执行、恢复、重试都会检查，从缓存的任务读取，缓存中没有时再查库
+     */
+    @Override
+    public boolean isRepeat(Integer jobId) {
+        HeraJob heraJob = jobId == null ? null : findMemById(jobId);
+        if (heraJob == null) {
+            return super.isRepeat(jobId);
+        }
+        return heraJob.getRepeatRun() > 0;
+    }
+
     @Override
     public List<HeraJob> findByIds(List<Integer> list) {
         List<HeraJob> res = new ArrayList<>();
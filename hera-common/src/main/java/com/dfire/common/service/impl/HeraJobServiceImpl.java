@@ -4,6 +4,7 @@ import com.dfire.common.constants.Constants;
 import com.dfire.common.entity.HeraGroup;
 import com.dfire.common.entity.HeraJob;
 import com.dfire.common.entity.HeraJobHistory;
+import com.dfire.common.entity.Judge;
 import com.dfire.common.entity.model.JsonResponse;
 import com.dfire.common.entity.vo.HeraJobTreeNodeVo;
 import com.dfire.common.mapper.HeraJobMapper;
@@ -63,6 +64,11 @@ public class HeraJobServiceImpl implements HeraJobService {
         return heraJobMapper.getAll();
     }
 
+    @Override
+    public Judge getJudge() {
+        return heraJobMapper.selectTableInfo();
+    }
+
     @Override
     public HeraJob findById(int id) {
         return heraJobMapper.findById(id);
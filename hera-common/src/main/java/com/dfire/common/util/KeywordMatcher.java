@@ -0,0 +1,152 @@
+package com.dfire.common.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * 多关键字匹配(Aho-Corasick)，一次遍历判断文本中是否包含任意一个关键字
+ * 关键字只支持ascii字符，构建时预先计算完整的状态转移表，匹配过程中不分配内存
+ * 大小写敏感的关键字在忽略大小写匹配成功后再按原文校验
+ */
+public class KeywordMatcher {
+
+    private static final int ALPHABET = 128;
+
+    private static final int MAX_KEYWORDS = 32;
+
+    private final String[] keywords;
+
+    private final boolean[] ignoreCase;
+
+    /**
+     * 状态转移表
+     */
+    private final int[][] next;
+
+    /**
+     * 到达该状态时匹配到的关键字，按位表示
+     */
+    private final int[] output;
+
+    /**
+     * @param ignoreCaseKeywords    忽略大小写的关键字
+     * @param caseSensitiveKeywords 大小写敏感的关键字
+     */
+    public KeywordMatcher(String[] ignoreCaseKeywords, String[] caseSensitiveKeywords) {
+        int size = ignoreCaseKeywords.length + caseSensitiveKeywords.length;
+        if (size > MAX_KEYWORDS) {
+            throw new IllegalArgumentException("keywords must not exceed " + MAX_KEYWORDS);
+        }
+        keywords = new String[size];
+        ignoreCase = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            boolean ignore = i < ignoreCaseKeywords.length;
+            keywords[i] = ignore ? ignoreCaseKeywords[i] : caseSensitiveKeywords[i - ignoreCaseKeywords.length];
+            ignoreCase[i] = ignore;
+        }
+
+        //构建字典树
+        List<int[]> trie = new ArrayList<>();
+        List<Integer> outputs = new ArrayList<>();
+        trie.add(newState());
+        outputs.add(0);
+        for (int i = 0; i < size; i++) {
+            int state = 0;
+            for (char c : keywords[i].toCharArray()) {
+                if (c >= ALPHABET) {
+                    throw new IllegalArgumentException("keyword must be ascii:" + keywords[i]);
+                }
+                int symbol = lower(c);
+                if (trie.get(state)[symbol] < 0) {
+                    trie.get(state)[symbol] = trie.size();
+                    trie.add(newState());
+                    outputs.add(0);
+                }
+                state = trie.get(state)[symbol];
+            }
+            outputs.set(state, outputs.get(state) | (1 << i));
+        }
+
+        //按层计算失败指针，并把失败转移合并到转移表中
+        next = trie.toArray(new int[0][]);
+        output = new int[next.length];
+        int[] fail = new int[next.length];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < ALPHABET; symbol++) {
+            if (next[0][symbol] < 0) {
+                next[0][symbol] = 0;
+            } else {
+                queue.add(next[0][symbol]);
+            }
+        }
+        output[0] = outputs.get(0);
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            output[state] = outputs.get(state) | output[fail[state]];
+            for (int symbol = 0; symbol < ALPHABET; symbol++) {
+                int child = next[state][symbol];
+                if (child < 0) {
+                    next[state][symbol] = next[fail[state]][symbol];
+                } else {
+                    fail[child] = next[fail[state]][symbol];
+                    queue.add(child);
+                }
+            }
+        }
+    }
+
+    private static int[] newState() {
+        int[] state = new int[ALPHABET];
+        Arrays.fill(state, -1);
+        return state;
+    }
+
+    private static int lower(char c) {
+        return c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c;
+    }
+
+    /**
+     * @param text 文本
+     * @return 是否包含任意一个关键字
+     */
+    public boolean matches(CharSequence text) {
+        int state = 0;
+        for (int i = 0, len = text.length(); i < len; i++) {
+            char c = text.charAt(i);
+            if (c >= ALPHABET) {
+                //关键字中没有非ascii字符，匹配从头开始
+                state = 0;
+                continue;
+            }
+            state = next[state][lower(c)];
+            if (output[state] != 0 && verify(output[state], text, i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean verify(int matched, CharSequence text, int end) {
+        for (int i = 0; i < keywords.length; i++) {
+            if ((matched & (1 << i)) == 0) {
+                continue;
+            }
+            if (ignoreCase[i]) {
+                return true;
+            }
+            String keyword = keywords[i];
+            int start = end - keyword.length() + 1;
+            boolean same = true;
+            for (int j = 0; j < keyword.length() && same; j++) {
+                same = text.charAt(start + j) == keyword.charAt(j);
+            }
+            if (same) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
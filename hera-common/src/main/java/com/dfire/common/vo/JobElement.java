@@ -5,6 +5,9 @@ import com.dfire.common.enums.TriggerTypeEnum;
 import lombok.Builder;
 import lombok.Data;
 
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicLong;
+
 
 /**
  * @author: <a href="mailto:lingxiao@2dfire.com">凌霄</a>
@@ -15,6 +18,15 @@ import lombok.Data;
 @Builder
 public class JobElement {
 
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    /**
+     * 任务队列的出队顺序：优先级高的先出，优先级相同时先创建的先出
+     */
+    public static final Comparator<JobElement> PRIORITY_ORDER = Comparator
+            .comparing((JobElement element) -> element.getPriorityLevel() == null ? 0 : element.getPriorityLevel()).reversed()
+            .thenComparingLong(JobElement::getSequence);
+
     /**
      * 版本号id
      */
@@ -36,6 +48,16 @@ public class JobElement {
 
     private Integer costMinute;
 
+    /**
+     * 进入任务队列的时间，用于统计分发延迟
+     */
+    private long enqueueTime;
+
+    /**
+     * 创建顺序，优先级相同的任务按它先进先出
+     */
+    @Builder.Default
+    private long sequence = SEQUENCE.incrementAndGet();
 
 
     public boolean equals(JobElement jobElement) {
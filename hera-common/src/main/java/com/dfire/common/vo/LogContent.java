@@ -2,15 +2,15 @@ package com.dfire.common.vo;
 
 import com.dfire.common.constants.Constants;
 import com.dfire.common.enums.StatusEnum;
-import lombok.Builder;
+import com.dfire.common.util.KeywordMatcher;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 import org.apache.commons.lang.StringUtils;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
-import java.util.LinkedList;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.nio.charset.StandardCharsets;
 
 /**
  * @author: <a href="mailto:lingxiao@2dfire.com">凌霄</a>
@@ -22,8 +22,10 @@ public class LogContent {
 
     private int lines;
 
-    private final String CONSOLE = "<b>CONSOLE#</b> ";
-    private final String HERA = "<b>HERA#</b> ";
+    private static final String CONSOLE = "<b>CONSOLE#</b> ";
+    private static final String HERA = "<b>HERA#</b> ";
+    private static final String RED_BEGIN = "<font style=\"color:red\">";
+    private static final String RED_END = "</font>";
     private StringBuffer content;
 
     private static final int COUNT = 1000;
@@ -37,100 +39,135 @@ public class LogContent {
 
     private static final String ERROR = "error";
 
-    private LinkedList<String> tailLog;
+    /**
+     * 需要标红的控制台输出
+     */
+    private static final KeywordMatcher ERROR_MATCHER = new KeywordMatcher(
+            new String[]{ERROR, StatusEnum.FAILED.toString()},
+            new String[]{"Exception", "No such file or directory", "command not found", "Permission denied"});
 
-    private Lock lock;
+    /**
+     * 超出行数限制后的尾部日志，保存原始字节，输出时才拼接html
+     */
+    @Getter(AccessLevel.NONE)
+    private final TailLog tailLog = new TailLog();
+
+    /**
+     * content中已经刷新到数据库的长度，只在写入数据库成功后前移
+     */
+    private volatile int flushed;
+
+    /**
+     * 日志的旁路输出，超出行数限制的日志也会写入
+     */
+    private volatile LogSink sink;
 
     public LogContent() {
-        this.tailLog = new LinkedList<>();
         this.content = new StringBuffer();
-        this.lock = new ReentrantLock();
     }
 
     public LogContent(StringBuffer content) {
         this.content = content;
-        this.tailLog = new LinkedList<>();
-        this.lock = new ReentrantLock();
+        this.flushed = content.length();
     }
 
-
-    /**
-     * size大小的队列
-     *
-     * @param log
-     */
-    private void queuePushLog(String log) {
-        try {
-            lock.lock();
-            tailLog.add(log);
-            if (tailLog.size() >= TAIL_PRINT_COUNT) {
-                tailLog.removeFirst();
-            }
-        } finally {
-            lock.unlock();
-        }
-    }
-
-    private String tailLog() {
-        if (lines >= COUNT) {
-            StringBuilder sb = new StringBuilder();
-            String[] tailLogs;
-            try {
-                lock.lock();
-                tailLogs = tailLog.toArray(new String[0]);
-            } finally {
-                lock.unlock();
-            }
-            for (String log : tailLogs) {
-                sb.append(log);
-            }
-            return sb.toString();
-        } else {
-            return "";
-        }
-    }
-
-
     public void appendConsole(String log) {
         //空日志不记录
         if (StringUtils.isBlank(log)) {
             return;
         }
         if (lines < COUNT) {
-            content.append(CONSOLE).append(redColorMsg(log)).append(Constants.LOG_SPLIT);
-            appendLimitLog();
+            appendContent(LogSink.CONSOLE, log);
         } else {
-            queuePushLog(CONSOLE + redColorMsg(log) + Constants.LOG_SPLIT);
+            byte[] bytes = log.getBytes(StandardCharsets.UTF_8);
+            tailLog.add(LogSink.CONSOLE, bytes, 0, bytes.length);
+        }
+        LogSink logSink = sink;
+        if (logSink != null) {
+            logSink.append(LogSink.CONSOLE, log);
         }
     }
 
-
-    public void appendHera(String log) {
+    /**
+     * 记录一行控制台输出的原始字节，超出行数限制后不再解码和拼接html
+     *
+     * @param bytes utf-8编码的一行输出，不包含换行符
+     * @param off   开始位置
+     * @param len   长度
+     */
+    public void appendConsole(byte[] bytes, int off, int len) {
+        if (isBlank(bytes, off, len)) {
+            return;
+        }
         if (lines < COUNT) {
-            content.append(HERA).append(log).append(Constants.LOG_SPLIT);
-            appendLimitLog();
+            appendContent(LogSink.CONSOLE, new String(bytes, off, len, StandardCharsets.UTF_8));
         } else {
-            queuePushLog(HERA + log + Constants.LOG_SPLIT);
+            tailLog.add(LogSink.CONSOLE, bytes, off, len);
+        }
+        LogSink logSink = sink;
+        if (logSink != null) {
+            logSink.append(LogSink.CONSOLE, bytes, off, len);
         }
     }
 
+    public void appendHera(String log) {
+        append(LogSink.HERA, log);
+    }
+
     public void append(String log) {
+        append(LogSink.PLAIN, log);
+    }
+
+    private void append(byte kind, String log) {
         if (lines < COUNT) {
-            content.append(log).append(Constants.LOG_SPLIT);
-            appendLimitLog();
+            appendContent(kind, log);
         } else {
-            queuePushLog(log + Constants.LOG_SPLIT);
+            byte[] bytes = log.getBytes(StandardCharsets.UTF_8);
+            tailLog.add(kind, bytes, 0, bytes.length);
+        }
+        LogSink logSink = sink;
+        if (logSink != null) {
+            logSink.append(kind, log);
         }
     }
 
+    /**
+     * 同一行日志整体写入，多个输出线程之间不会交错
+     */
+    private void appendContent(byte kind, String log) {
+        StringBuilder line = render(new StringBuilder(log.length() + 64), kind, log);
+        synchronized (content) {
+            content.append(line);
+            if (++lines == COUNT) {
+                content.append(HERA).append(limitLog);
+                content.append(HERA).append(limitLog);
+                content.append(HERA).append(limitLog);
+            }
+        }
+    }
 
-    private void appendLimitLog() {
-        if (++lines == COUNT) {
-            content.append(HERA).append(limitLog);
-            content.append(HERA).append(limitLog);
-            content.append(HERA).append(limitLog);
+    private static boolean isBlank(byte[] bytes, int off, int len) {
+        for (int i = off, end = off + len; i < end; i++) {
+            if (bytes[i] < 0 || bytes[i] > ' ') {
+                return false;
+            }
         }
+        return true;
+    }
 
+    /**
+     * 设置日志的旁路输出，已经记录的日志先写入
+     *
+     * @param sink 旁路输出，null表示取消
+     */
+    public void setSink(LogSink sink) {
+        if (sink != null) {
+            String exist = getContent();
+            if (exist.length() > 0) {
+                sink.append(LogSink.HTML, exist);
+            }
+        }
+        this.sink = sink;
     }
 
 
@@ -148,31 +185,152 @@ public class LogContent {
     }
 
     public String getContent() {
-        return content.toString() + tailLog();
+        if (lines < COUNT) {
+            return content.toString();
+        }
+        StringBuilder sb = new StringBuilder(content);
+        tailLog.render(sb);
+        return sb.toString();
     }
 
 
+    /**
+     * 取出上次刷新之后新增的日志，超出行数限制后的尾部日志只在任务结束时写入
+     * 不移动刷新位置，写入数据库成功后调用{@link #flushedTo(int)}，失败时下次重新取出
+     *
+     * @return 新增的日志
+     */
+    public String peekIncrement() {
+        int start = flushed;
+        synchronized (content) {
+            int length = content.length();
+            if (length <= start) {
+                return "";
+            }
+            return content.substring(start, length);
+        }
+    }
+
+    /**
+     * 新增的日志已经写入数据库
+     *
+     * @param end 写入的日志在content中的结束位置
+     */
+    public void flushedTo(int end) {
+        if (end > flushed) {
+            flushed = end;
+        }
+    }
+
     public String getMailContent() {
         return getContent();
     }
 
-    private String redColorMsg(String log) {
-        if (log.toLowerCase().contains(ERROR)
-                || log.toLowerCase().contains(StatusEnum.FAILED.toString())
-                || log.contains("Exception")
-                || log.contains("NullPointException")
-                || log.contains("No such file or directory")
-                || log.contains("command not found")
-                || log.contains("Permission denied")) {
-            return "<font style=\"color:red\">" + log + "</font>";
-        } else {
-            return log;
+    /**
+     * 按日志类型拼接html
+     *
+     * @param sb   输出
+     * @param kind 日志类型
+     * @param log  日志
+     * @return sb
+     */
+    private static StringBuilder render(StringBuilder sb, byte kind, String log) {
+        switch (kind) {
+            case LogSink.CONSOLE:
+                sb.append(CONSOLE);
+                if (ERROR_MATCHER.matches(log)) {
+                    sb.append(RED_BEGIN).append(log).append(RED_END);
+                } else {
+                    sb.append(log);
+                }
+                return sb.append(Constants.LOG_SPLIT);
+            case LogSink.HERA:
+                return sb.append(HERA).append(log).append(Constants.LOG_SPLIT);
+            case LogSink.PLAIN:
+                return sb.append(log).append(Constants.LOG_SPLIT);
+            default:
+                return sb.append(log);
         }
     }
 
+    private static void render(StringBuilder sb, byte kind, byte[] bytes, int off, int len) {
+        String log = new String(bytes, off, len, StandardCharsets.UTF_8);
+        if (kind != LogSink.CONSOLE) {
+            log = log.replace('\r', '\n');
+        }
+        render(sb, kind, log);
+    }
+
+    /**
+     * 把{@link LogSink}写入的日志拼接为html，每条日志以类型字节开始、换行结尾
+     *
+     * @param data 日志
+     * @param off  开始位置
+     * @param len  长度
+     * @return html
+     */
+    public static String render(byte[] data, int off, int len) {
+        StringBuilder sb = new StringBuilder(len + (len >> 2));
+        int end = off + len;
+        int start = off;
+        for (int i = off; i < end; i++) {
+            if (data[i] == '\n') {
+                if (i > start) {
+                    render(sb, data[start], data, start + 1, i - start - 1);
+                }
+                start = i + 1;
+            }
+        }
+        if (start < end) {
+            render(sb, data[start], data, start + 1, end - start - 1);
+        }
+        return sb.toString();
+    }
 
     public int getLines() {
         return lines;
     }
 
+    /**
+     * 固定大小的尾部日志，槽位中的字节数组重复使用
+     */
+    private static class TailLog {
+
+        private static final int MIN_SLOT = 128;
+
+        private static final int SHRINK_SLOT = 8192;
+
+        private final byte[] kinds = new byte[TAIL_PRINT_COUNT];
+
+        private final byte[][] data = new byte[TAIL_PRINT_COUNT][];
+
+        private final int[] lengths = new int[TAIL_PRINT_COUNT];
+
+        private int next;
+
+        private int size;
+
+        synchronized void add(byte kind, byte[] bytes, int off, int len) {
+            byte[] slot = data[next];
+            if (slot == null || slot.length < len || (slot.length > SHRINK_SLOT && slot.length > len << 2)) {
+                slot = data[next] = new byte[Math.max(len, MIN_SLOT)];
+            }
+            System.arraycopy(bytes, off, slot, 0, len);
+            kinds[next] = kind;
+            lengths[next] = len;
+            next = (next + 1) % TAIL_PRINT_COUNT;
+            if (size < TAIL_PRINT_COUNT) {
+                size++;
+            }
+        }
+
+        synchronized void render(StringBuilder sb) {
+            int first = (next - size + TAIL_PRINT_COUNT) % TAIL_PRINT_COUNT;
+            for (int i = 0; i < size; i++) {
+                int index = (first + i) % TAIL_PRINT_COUNT;
+                LogContent.render(sb, kinds[index], data[index], 0, lengths[index]);
+            }
+        }
+    }
+
 }
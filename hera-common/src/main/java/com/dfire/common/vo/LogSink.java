@@ -0,0 +1,56 @@
+package com.dfire.common.vo;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 运行日志的旁路输出，接收LogContent记录的每一条日志，不受行数限制
+ * 日志按原始字节和类型写入，查看时再通过{@link LogContent#render(byte[], int, int)}拼接html
+ */
+public interface LogSink {
+
+    /**
+     * 控制台输出
+     */
+    byte CONSOLE = 'C';
+
+    /**
+     * hera输出
+     */
+    byte HERA = 'H';
+
+    /**
+     * 无前缀的输出
+     */
+    byte PLAIN = 'P';
+
+    /**
+     * 已经拼接好的html
+     */
+    byte HTML = 'R';
+
+    /**
+     * 追加一条日志，可能被多个线程同时调用
+     *
+     * @param kind  日志类型
+     * @param bytes utf-8编码的日志，不包含换行符
+     * @param off   开始位置
+     * @param len   长度
+     */
+    void append(byte kind, byte[] bytes, int off, int len);
+
+    /**
+     * 追加一条日志，日志中的换行替换为回车，查看时还原
+     *
+     * @param kind 日志类型
+     * @param log  日志
+     */
+    default void append(byte kind, String log) {
+        byte[] bytes = log.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] == '\n') {
+                bytes[i] = '\r';
+            }
+        }
+        append(kind, bytes, 0, bytes.length);
+    }
+}
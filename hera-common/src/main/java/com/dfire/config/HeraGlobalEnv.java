@@ -37,6 +37,63 @@ public class HeraGlobalEnv {
     @Getter
     private static String loadBalance;
 
+    @Getter
+    private static int eventLaneNum;
+
+    @Getter
+    private static boolean timerWheel;
+
+    @Getter
+    private static int nettyBossThreads = 1;
+
+    @Getter
+    private static int nettyWorkerThreads;
+
+    @Getter
+    private static boolean nettyEpoll = true;
+
+    @Getter
+    private static int masterHandlerThreads;
+
+    @Getter
+    private static int masterHandlerQueueSize = 10000;
+
+    @Getter
+    private static int masterWebThreads;
+
+    @Getter
+    private static boolean rpcBatch = true;
+
+    @Getter
+    private static int rpcCompressThreshold = 4096;
+
+    @Getter
+    private static int logSegmentSize = 16;
+
+    @Getter
+    private static int logMaxSegments = 64;
+
+    @Getter
+    private static int logRetainHours = 72;
+
+    @Getter
+    private static int logFetchMaxBytes = 256 * 1024;
+
+    @Getter
+    private static int logFlushInterval = 2;
+
+    @Getter
+    private static int logIdleFlushInterval = 30;
+
+    @Getter
+    private static int actionFlushInterval = 1000;
+
+    @Getter
+    private static int actionGenerateParallelism;
+
+    @Getter
+    private static int maxRunningNum;
+
     @Getter
     private static String env;
     @Getter
@@ -280,6 +337,101 @@ public class HeraGlobalEnv {
         HeraGlobalEnv.loadBalance = loadBalance;
     }
 
+    @Value("${hera.eventLaneNum:0}")
+    public void setEventLaneNum(int eventLaneNum) {
+        HeraGlobalEnv.eventLaneNum = eventLaneNum;
+    }
+
+    @Value("${hera.timerWheel:false}")
+    public void setTimerWheel(boolean timerWheel) {
+        HeraGlobalEnv.timerWheel = timerWheel;
+    }
+
+    @Value("${hera.nettyBossThreads:1}")
+    public void setNettyBossThreads(int nettyBossThreads) {
+        HeraGlobalEnv.nettyBossThreads = nettyBossThreads;
+    }
+
+    @Value("${hera.nettyWorkerThreads:0}")
+    public void setNettyWorkerThreads(int nettyWorkerThreads) {
+        HeraGlobalEnv.nettyWorkerThreads = nettyWorkerThreads;
+    }
+
+    @Value("${hera.nettyEpoll:true}")
+    public void setNettyEpoll(boolean nettyEpoll) {
+        HeraGlobalEnv.nettyEpoll = nettyEpoll;
+    }
+
+    @Value("${hera.masterHandlerThreads:0}")
+    public void setMasterHandlerThreads(int masterHandlerThreads) {
+        HeraGlobalEnv.masterHandlerThreads = masterHandlerThreads;
+    }
+
+    @Value("${hera.masterHandlerQueueSize:10000}")
+    public void setMasterHandlerQueueSize(int masterHandlerQueueSize) {
+        HeraGlobalEnv.masterHandlerQueueSize = masterHandlerQueueSize;
+    }
+
+    @Value("${hera.masterWebThreads:0}")
+    public void setMasterWebThreads(int masterWebThreads) {
+        HeraGlobalEnv.masterWebThreads = masterWebThreads;
+    }
+
+    @Value("${hera.rpcBatch:true}")
+    public void setRpcBatch(boolean rpcBatch) {
+        HeraGlobalEnv.rpcBatch = rpcBatch;
+    }
+
+    @Value("${hera.rpcCompressThreshold:4096}")
+    public void setRpcCompressThreshold(int rpcCompressThreshold) {
+        HeraGlobalEnv.rpcCompressThreshold = rpcCompressThreshold;
+    }
+
+    @Value("${hera.logSegmentSize:16}")
+    public void setLogSegmentSize(int logSegmentSize) {
+        HeraGlobalEnv.logSegmentSize = logSegmentSize;
+    }
+
+    @Value("${hera.logMaxSegments:64}")
+    public void setLogMaxSegments(int logMaxSegments) {
+        HeraGlobalEnv.logMaxSegments = logMaxSegments;
+    }
+
+    @Value("${hera.logRetainHours:72}")
+    public void setLogRetainHours(int logRetainHours) {
+        HeraGlobalEnv.logRetainHours = logRetainHours;
+    }
+
+    @Value("${hera.logFetchMaxBytes:262144}")
+    public void setLogFetchMaxBytes(int logFetchMaxBytes) {
+        HeraGlobalEnv.logFetchMaxBytes = logFetchMaxBytes;
+    }
+
+    @Value("${hera.logFlushInterval:2}")
+    public void setLogFlushInterval(int logFlushInterval) {
+        HeraGlobalEnv.logFlushInterval = logFlushInterval;
+    }
+
+    @Value("${hera.logIdleFlushInterval:30}")
+    public void setLogIdleFlushInterval(int logIdleFlushInterval) {
+        HeraGlobalEnv.logIdleFlushInterval = logIdleFlushInterval;
+    }
+
+    @Value("${hera.actionFlushInterval:1000}")
+    public void setActionFlushInterval(int actionFlushInterval) {
+        HeraGlobalEnv.actionFlushInterval = actionFlushInterval;
+    }
+
+    @Value("${hera.actionGenerateParallelism:0}")
+    public void setActionGenerateParallelism(int actionGenerateParallelism) {
+        HeraGlobalEnv.actionGenerateParallelism = actionGenerateParallelism;
+    }
+
+    @Value("${hera.maxRunningNum:0}")
+    public void setMaxRunningNum(int maxRunningNum) {
+        HeraGlobalEnv.maxRunningNum = maxRunningNum;
+    }
+
     @Value("${hera.warmUpCheck}")
     public void setWarmUpCheck(int warmUpCheck) {
         HeraGlobalEnv.warmUpCheck = warmUpCheck;
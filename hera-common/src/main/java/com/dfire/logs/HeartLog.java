@@ -47,4 +47,8 @@ public class HeartLog {
         log.warn(format, arguments);
     }
 
+    public static boolean isDebugEnabled() {
+        return log.isDebugEnabled();
+    }
+
 }
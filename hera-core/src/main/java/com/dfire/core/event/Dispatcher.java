@@ -1,24 +1,23 @@
 package com.dfire.core.event;
 
+import com.dfire.common.util.ActionUtil;
 import com.dfire.core.event.base.AbstractObservable;
 import com.dfire.core.event.base.MvcEvent;
 import com.dfire.core.event.handler.AbstractHandler;
 import com.dfire.core.event.handler.JobHandler;
 import com.dfire.core.event.listenter.AbstractListener;
-import com.dfire.event.ApplicationEvent;
-import com.dfire.event.EventType;
+import com.dfire.event.*;
 import com.dfire.logs.ErrorLog;
-import com.google.common.collect.Lists;
 import lombok.Getter;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 /**
  * @author: <a href="mailto:lingxiao@2dfire.com">凌霄</a>
  * @time: Created in 11:00 2018/1/4
- * @desc hera中的任务事件observer, 接受事件，全局广播dispatch
+ * @desc hera中的任务事件observer, 接受事件，按照路由索引分发给能处理该事件的handler，可选按actionId分区异步执行
  */
 public class Dispatcher extends AbstractObservable {
 
@@ -26,21 +25,138 @@ public class Dispatcher extends AbstractObservable {
 
     public static final EventType afterDispatch = new EventType();
 
+    /**
+     * actionId -> 该版本自身的handler
+     */
+    private final Map<String, JobHandler> actionHandlers;
+
+    /**
+     * 上游actionId -> 依赖该版本的handler
+     */
+    private final Map<String, Set<JobHandler>> dependentHandlers;
+
+    /**
+     * jobId -> 该任务所有版本的handler
+     */
+    private final Map<Integer, Set<JobHandler>> jobIdHandlers;
+
+    /**
+     * 异步模式下的事件总线，为空时同步分发
+     */
     @Getter
-    List<AbstractHandler> jobHandlers;
+    private PartitionEventBus eventBus;
 
     public Dispatcher() {
-        jobHandlers = new ArrayList<>();
+        actionHandlers = new ConcurrentHashMap<>();
+        dependentHandlers = new ConcurrentHashMap<>();
+        jobIdHandlers = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * @param laneNum 异步事件lane个数，小于等于0时同步分发
+     */
+    public Dispatcher(int laneNum) {
+        this();
+        if (laneNum > 0) {
+            eventBus = new PartitionEventBus(laneNum);
+        }
+    }
+
+    public void shutdown() {
+        if (eventBus != null) {
+            eventBus.shutdown();
+        }
+    }
+
+    /**
+     * 获得所有handler的快照
+     *
+     * @return List<AbstractHandler>
+     */
+    public List<AbstractHandler> getJobHandlers() {
+        return new ArrayList<>(actionHandlers.values());
+    }
+
+    public int getJobHandlerSize() {
+        return actionHandlers.size();
+    }
+
+    public JobHandler getJobHandler(String actionId) {
+        return actionHandlers.get(actionId);
+    }
+
+    /**
+     * 获得某个任务所有版本的handler
+     *
+     * @param jobId 任务id
+     * @return List<JobHandler>
+     */
+    public List<JobHandler> getJobHandlers(Integer jobId) {
+        Set<JobHandler> handlers = jobIdHandlers.get(jobId);
+        if (handlers == null) {
+            return new ArrayList<>(0);
+        }
+        return new ArrayList<>(handlers);
     }
 
     public void addJobHandler(JobHandler jobHandler) {
-        if (!jobHandlers.contains(jobHandler)) {
-            jobHandlers.add(jobHandler);
+        String actionId = jobHandler.getActionId();
+        if (actionHandlers.putIfAbsent(actionId, jobHandler) != null) {
+            return;
         }
+        jobIdHandlers.computeIfAbsent(ActionUtil.getJobId(actionId), k -> ConcurrentHashMap.newKeySet()).add(jobHandler);
+        indexUpstream(jobHandler, jobHandler.getUpstreamActionIds());
     }
 
     public void removeJobHandler(JobHandler jobHandler) {
-        jobHandlers.remove(jobHandler);
+        String actionId = jobHandler.getActionId();
+        if (!actionHandlers.remove(actionId, jobHandler)) {
+            return;
+        }
+        removeFromIndex(jobIdHandlers, ActionUtil.getJobId(actionId), jobHandler);
+        unIndexUpstream(jobHandler, jobHandler.getUpstreamActionIds());
+    }
+
+    /**
+     * handler的依赖关系变化后，重建成功事件的路由
+     *
+     * @param jobHandler  handler
+     * @param oldUpstream 变化前的上游actionId
+     */
+    public void reindexJobHandler(JobHandler jobHandler, Set<String> oldUpstream) {
+        if (actionHandlers.get(jobHandler.getActionId()) != jobHandler) {
+            return;
+        }
+        unIndexUpstream(jobHandler, oldUpstream);
+        indexUpstream(jobHandler, jobHandler.getUpstreamActionIds());
+    }
+
+    private void indexUpstream(JobHandler jobHandler, Set<String> upstream) {
+        if (upstream == null) {
+            return;
+        }
+        for (String upstreamId : upstream) {
+            dependentHandlers.computeIfAbsent(upstreamId, k -> ConcurrentHashMap.newKeySet()).add(jobHandler);
+        }
+    }
+
+    private void unIndexUpstream(JobHandler jobHandler, Set<String> upstream) {
+        if (upstream == null) {
+            return;
+        }
+        for (String upstreamId : upstream) {
+            removeFromIndex(dependentHandlers, upstreamId, jobHandler);
+        }
+    }
+
+    private <K> void removeFromIndex(Map<K, Set<JobHandler>> index, K key, JobHandler jobHandler) {
+        if (key == null) {
+            return;
+        }
+        index.computeIfPresent(key, (k, handlers) -> {
+            handlers.remove(jobHandler);
+            return handlers.isEmpty() ? null : handlers;
+        });
     }
 
     public void addDispatcherListener(AbstractListener listener) {
@@ -49,8 +165,18 @@ public class Dispatcher extends AbstractObservable {
     }
 
 
+    /**
+     * 异步模式下事件先进入事件所属action的lane，由lane线程完成监听器回调和路由，不阻塞调用线程
+     *
+     * @param event 事件
+     */
     public void forwardEvent(ApplicationEvent event) {
-        dispatch(event);
+        String key;
+        if (eventBus != null && (key = partitionKey(event)) != null) {
+            eventBus.execute(key, () -> dispatch(event));
+        } else {
+            dispatch(event);
+        }
     }
 
     public void forwardEvent(EventType eventType) {
@@ -67,7 +193,73 @@ public class Dispatcher extends AbstractObservable {
     }
 
     /**
-     * 事件广播，每次任务状态变化，触发响应事件，全局广播，自动调度successEvent,触发依赖调度一些依赖更新
+     * 根据事件找到需要处理该事件的handler，未知类型的事件仍然全局广播
+     * 成功事件：依赖该版本的下游handler
+     * 定时触发、漏跑、失败、版本更新事件：版本自身的handler
+     * 任务更新事件：该任务所有版本的handler
+     *
+     * @param event 事件
+     * @return 需要处理该事件的handler
+     */
+    Collection<? extends AbstractHandler> route(ApplicationEvent event) {
+        if (event instanceof HeraJobSuccessEvent) {
+            return snapshot(dependentHandlers.get(((HeraJobSuccessEvent) event).getJobId()));
+        }
+        if (event instanceof HeraScheduleTriggerEvent) {
+            return single(((HeraScheduleTriggerEvent) event).getJobId());
+        }
+        if (event instanceof HeraJobLostEvent) {
+            return single(((HeraJobLostEvent) event).getJobId());
+        }
+        if (event instanceof HeraJobFailedEvent) {
+            return single(((HeraJobFailedEvent) event).getActionId());
+        }
+        if (event instanceof HeraJobMaintenanceEvent) {
+            HeraJobMaintenanceEvent maintenanceEvent = (HeraJobMaintenanceEvent) event;
+            if (maintenanceEvent.getType() == Events.UpdateJob) {
+                return snapshot(jobIdHandlers.get(Integer.parseInt(maintenanceEvent.getId())));
+            }
+            return single(maintenanceEvent.getId());
+        }
+        if (event instanceof HeraDebugSuccessEvent || event instanceof HeraDebugFailEvent) {
+            return Collections.emptyList();
+        }
+        return getJobHandlers();
+    }
+
+    /**
+     * 事件的分区key，即事件所属的actionId（任务更新事件为jobId），没有时返回null
+     */
+    private String partitionKey(ApplicationEvent event) {
+        if (event instanceof HeraJobSuccessEvent) {
+            return ((HeraJobSuccessEvent) event).getJobId();
+        }
+        if (event instanceof HeraScheduleTriggerEvent) {
+            return ((HeraScheduleTriggerEvent) event).getJobId();
+        }
+        if (event instanceof HeraJobLostEvent) {
+            return ((HeraJobLostEvent) event).getJobId();
+        }
+        if (event instanceof HeraJobFailedEvent) {
+            return ((HeraJobFailedEvent) event).getActionId();
+        }
+        if (event instanceof HeraJobMaintenanceEvent) {
+            return ((HeraJobMaintenanceEvent) event).getId();
+        }
+        return null;
+    }
+
+    private Collection<JobHandler> single(String actionId) {
+        JobHandler handler = actionId == null ? null : actionHandlers.get(actionId);
+        return handler == null ? Collections.emptyList() : Collections.singletonList(handler);
+    }
+
+    private Collection<JobHandler> snapshot(Set<JobHandler> handlers) {
+        return handlers == null ? Collections.emptyList() : new ArrayList<>(handlers);
+    }
+
+    /**
+     * 事件分发，每次任务状态变化，触发响应事件，自动调度successEvent只通知依赖该版本的下游，触发依赖调度一些依赖更新
      *
      * @param applicationEvent
      */
@@ -76,17 +268,12 @@ public class Dispatcher extends AbstractObservable {
             MvcEvent mvcEvent = new MvcEvent(this, applicationEvent);
             mvcEvent.setApplicationEvent(applicationEvent);
             if (fireEvent(beforeDispatch, mvcEvent)) {
-                List<AbstractHandler> jobHandlersCopy = Lists.newArrayList(jobHandlers);
-                for (AbstractHandler jobHandler : jobHandlersCopy) {
-                    try {
-                        if (jobHandler.canHandle(applicationEvent)) {
-                            if (!jobHandler.isInitialized()) {
-                                jobHandler.setInitialized(true);
-                            }
-                            jobHandler.handleEvent(applicationEvent);
-                        }
-                    } catch (Exception e) {
-                        ErrorLog.error(((JobHandler) jobHandler).getActionId() + "广播异常", e);
+                for (AbstractHandler jobHandler : route(applicationEvent)) {
+                    if (eventBus != null) {
+                        //按目标action分区，保证同一个action的事件顺序处理
+                        eventBus.execute(((JobHandler) jobHandler).getActionId(), () -> handleEvent(jobHandler, applicationEvent));
+                    } else {
+                        handleEvent(jobHandler, applicationEvent);
                     }
                 }
                 fireEvent(afterDispatch, mvcEvent);
@@ -97,4 +284,17 @@ public class Dispatcher extends AbstractObservable {
 
     }
 
+    private void handleEvent(AbstractHandler jobHandler, ApplicationEvent applicationEvent) {
+        try {
+            if (jobHandler.canHandle(applicationEvent)) {
+                if (!jobHandler.isInitialized()) {
+                    jobHandler.setInitialized(true);
+                }
+                jobHandler.handleEvent(applicationEvent);
+            }
+        } catch (Exception e) {
+            ErrorLog.error(((JobHandler) jobHandler).getActionId() + "广播异常", e);
+        }
+    }
+
 }
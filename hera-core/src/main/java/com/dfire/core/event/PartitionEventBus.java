@@ -0,0 +1,119 @@
+package com.dfire.core.event;
+
+import com.dfire.common.util.NamedThreadFactory;
+import com.dfire.logs.ErrorLog;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 异步分区事件总线，按照actionId把事件分配到固定数量的单线程lane上执行
+ * 同一个action的事件在同一个lane中顺序执行，不同action之间互不阻塞
+ */
+public class PartitionEventBus {
+
+    private final Lane[] lanes;
+
+    public PartitionEventBus(int laneNum) {
+        lanes = new Lane[laneNum];
+        for (int i = 0; i < laneNum; i++) {
+            lanes[i] = new Lane(i);
+        }
+    }
+
+    public int laneOf(String key) {
+        return (key.hashCode() & Integer.MAX_VALUE) % lanes.length;
+    }
+
+    /**
+     * 提交到key对应的lane，lane内按提交顺序执行
+     *
+     * @param key  分区key，一般为目标actionId
+     * @param task 任务
+     */
+    public void execute(String key, Runnable task) {
+        lanes[laneOf(key)].execute(task);
+    }
+
+    public int getLaneNum() {
+        return lanes.length;
+    }
+
+    public List<LaneMetric> getLaneMetrics() {
+        List<LaneMetric> metrics = new ArrayList<>(lanes.length);
+        for (Lane lane : lanes) {
+            metrics.add(lane.metric());
+        }
+        return metrics;
+    }
+
+    public void shutdown() {
+        for (Lane lane : lanes) {
+            lane.executor.shutdown();
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class LaneMetric {
+        private int lane;
+        private int queueDepth;
+        private long submitted;
+        private long completed;
+        private long avgLatencyMillis;
+        private long maxLatencyMillis;
+
+        @Override
+        public String toString() {
+            return "[lane:" + lane + ",queue:" + queueDepth + ",submitted:" + submitted + ",completed:" + completed
+                    + ",avgLatency:" + avgLatencyMillis + "ms,maxLatency:" + maxLatencyMillis + "ms]";
+        }
+    }
+
+    private static class Lane {
+
+        private final int index;
+        private final ThreadPoolExecutor executor;
+        private final LongAdder submitted = new LongAdder();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder totalLatency = new LongAdder();
+        private final AtomicLong maxLatency = new AtomicLong();
+
+        Lane(int index) {
+            this.index = index;
+            this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(), new NamedThreadFactory("event-lane-" + index, true), new ThreadPoolExecutor.AbortPolicy());
+        }
+
+        void execute(Runnable task) {
+            long submitTime = System.nanoTime();
+            submitted.increment();
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    ErrorLog.error("event lane " + index + " execute error", e);
+                } finally {
+                    long latency = System.nanoTime() - submitTime;
+                    totalLatency.add(latency);
+                    maxLatency.accumulateAndGet(latency, Math::max);
+                    completed.increment();
+                }
+            });
+        }
+
+        LaneMetric metric() {
+            long done = completed.sum();
+            long avg = done == 0 ? 0 : totalLatency.sum() / done;
+            return new LaneMetric(index, executor.getQueue().size(), submitted.sum(), done,
+                    TimeUnit.NANOSECONDS.toMillis(avg), TimeUnit.NANOSECONDS.toMillis(maxLatency.get()));
+        }
+    }
+}
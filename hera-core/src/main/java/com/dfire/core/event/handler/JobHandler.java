@@ -1,6 +1,5 @@
 package com.dfire.core.event.handler;
 
-import com.alibaba.fastjson.JSONObject;
 import com.dfire.common.constants.Constants;
 import com.dfire.common.constants.LogConstant;
 import com.dfire.common.entity.HeraAction;
@@ -18,13 +17,13 @@ import com.dfire.common.service.HeraJobHistoryService;
 import com.dfire.common.service.HeraUserService;
 import com.dfire.common.util.ActionUtil;
 import com.dfire.common.util.BeanConvertUtils;
-import com.dfire.common.vo.JobStatus;
 import com.dfire.core.event.Dispatcher;
 import com.dfire.core.job.CancelHadoopJob;
 import com.dfire.core.job.JobContext;
 import com.dfire.core.netty.master.Master;
 import com.dfire.core.netty.master.MasterContext;
 import com.dfire.core.quartz.HeraQuartzJob;
+import com.dfire.core.schedule.ActionTimerWheel;
 import com.dfire.event.*;
 import com.dfire.logs.ErrorLog;
 import com.dfire.logs.ScheduleLog;
@@ -34,8 +33,8 @@ import lombok.Getter;
 import org.apache.commons.lang.StringUtils;
 import org.quartz.*;
 
-import java.util.Date;
-import java.util.Objects;
+import java.text.ParseException;
+import java.util.*;
 
 /**
  * @author: <a href="mailto:lingxiao@2dfire.com">凌霄</a>
@@ -56,6 +55,15 @@ public class JobHandler extends AbstractHandler {
     private Master master;
     private MasterContext masterContext;
     private HeraUserService heraUserService;
+    /**
+     * 上游依赖的actionId，Dispatcher据此建立成功事件的路由
+     */
+    private volatile Set<String> upstreamActionIds;
+
+    public JobHandler(String actionId, String dependencies, Master master, MasterContext masterContext) {
+        this(actionId, master, masterContext);
+        this.upstreamActionIds = toActionIdSet(dependencies);
+    }
 
     public JobHandler(String actionId, Master master, MasterContext masterContext) {
         this.actionId = actionId;
@@ -69,6 +77,27 @@ public class JobHandler extends AbstractHandler {
         registerEventType(Events.Initialize);
     }
 
+    /**
+     * 未在创建时指定依赖的handler，从版本缓存中获取
+     *
+     * @return 上游actionId集合
+     */
+    public Set<String> getUpstreamActionIds() {
+        if (upstreamActionIds == null) {
+            HeraActionVo heraActionVo = cache.getHeraActionVo();
+            upstreamActionIds = heraActionVo == null || heraActionVo.getDependencies() == null
+                    ? Collections.emptySet() : new HashSet<>(heraActionVo.getDependencies());
+        }
+        return upstreamActionIds;
+    }
+
+    private static Set<String> toActionIdSet(String dependencies) {
+        if (StringUtils.isBlank(dependencies)) {
+            return Collections.emptySet();
+        }
+        return new HashSet<>(Arrays.asList(dependencies.split(Constants.COMMA)));
+    }
+
     @Override
     public boolean canHandle(ApplicationEvent event) {
         if (super.canHandle(event)) {
@@ -183,26 +212,14 @@ public class JobHandler extends AbstractHandler {
         if (heraActionVo.getDependencies() == null || !heraActionVo.getDependencies().contains(jobId)) {
             return;
         }
-        JobStatus jobStatus;
-        //必须同步
-        synchronized (this) {
-            jobStatus = heraJobActionService.findJobStatus(actionId);
-            ScheduleLog.info(actionId + "received a success dependency job with actionId = " + jobId);
-            jobStatus.getReadyDependency().put(jobId, String.valueOf(System.currentTimeMillis()));
-            heraJobActionService.updateStatus(jobStatus);
-        }
-        boolean allComplete = true;
-        for (String key : heraActionVo.getDependencies()) {
-            if (jobStatus.getReadyDependency().get(key) == null) {
-                allComplete = false;
-                break;
-            }
-        }
-        if (allComplete) {
+        ScheduleLog.info(actionId + "received a success dependency job with actionId = " + jobId);
+        //依赖就绪的记录由service保证并发安全：内存版本按版本加锁计数，直接读写库时按版本分段加锁
+        int remaining = heraJobActionService.addReadyDependency(actionId, jobId);
+        if (remaining == 0) {
             ScheduleLog.info("JobId:" + actionId + " all dependency jobs is ready,run!");
             startNewJob(heraActionVo, LogConstant.DEPENDENT_READY_LOG);
         } else {
-            ScheduleLog.info(actionId + "some of dependency is not ready, waiting" + JSONObject.toJSONString(jobStatus.getReadyDependency().keySet()));
+            ScheduleLog.info(actionId + " some of dependency is not ready, waiting, remaining:" + remaining);
         }
     }
 
@@ -252,6 +269,14 @@ public class JobHandler extends AbstractHandler {
     private void autoRecovery() {
         cache.refresh();
         HeraActionVo heraActionVo = cache.getHeraActionVo();
+        if (heraActionVo != null) {
+            Set<String> oldUpstream = getUpstreamActionIds();
+            upstreamActionIds = heraActionVo.getDependencies() == null
+                    ? Collections.emptySet() : new HashSet<>(heraActionVo.getDependencies());
+            if (!oldUpstream.equals(upstreamActionIds)) {
+                masterContext.getDispatcher().reindexJobHandler(this, oldUpstream);
+            }
+        }
         //任务被删除
         if (heraActionVo == null) {
             masterContext.getDispatcher().removeJobHandler(this);
@@ -322,6 +347,17 @@ public class JobHandler extends AbstractHandler {
         if (!ActionUtil.isCurrActionVersion(actionId)) {
             return;
         }
+        ActionTimerWheel actionTimerWheel = masterContext.getActionTimerWheel();
+        if (actionTimerWheel != null) {
+            if (!actionTimerWheel.contains(actionId)) {
+                try {
+                    actionTimerWheel.schedule(actionId, heraActionVo.getCronExpression());
+                } catch (ParseException e) {
+                    throw new SchedulerException("cron parse error:" + heraActionVo.getCronExpression(), e);
+                }
+            }
+            return;
+        }
         JobKey jobKey = new JobKey(actionId, Constants.HERA_GROUP);
         if (masterContext.getQuartzSchedulerService().getScheduler().getJobDetail(jobKey) == null) {
             JobDetail jobDetail = JobBuilder.newJob(HeraQuartzJob.class).withIdentity(jobKey).build();
@@ -338,7 +374,7 @@ public class JobHandler extends AbstractHandler {
 
     @Override
     public void destroy() {
-        masterContext.getQuartzSchedulerService().deleteJob(actionId);
+        masterContext.deleteScheduleJob(actionId);
     }
 
     @Override
@@ -12,6 +12,7 @@ import org.apache.commons.lang.ArrayUtils;
 import org.apache.commons.lang.StringUtils;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -226,6 +227,23 @@ public abstract class AbstractJob implements Job {
         }
     }
 
+    /**
+     * 记录一行控制台输出的原始字节
+     *
+     * @param bytes utf-8编码的一行输出，不包含换行符
+     * @param off   开始位置
+     * @param len   长度
+     */
+    protected void logConsole(byte[] bytes, int off, int len) {
+        if (jobContext.getHeraJobHistory() != null) {
+            jobContext.getHeraJobHistory().getLog().appendConsole(bytes, off, len);
+        } else if (jobContext.getDebugHistory() != null) {
+            jobContext.getDebugHistory().getLog().appendConsole(bytes, off, len);
+        } else {
+            HeraLog.info(new String(bytes, off, len, StandardCharsets.UTF_8));
+        }
+    }
+
     protected void log(String log) {
         if (jobContext.getHeraJobHistory() != null) {
             jobContext.getHeraJobHistory().getLog().appendHera(log);
@@ -12,6 +12,7 @@ import com.dfire.logs.TaskLog;
 import java.io.*;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
@@ -214,11 +215,25 @@ public abstract class ProcessJob extends AbstractJob implements Job {
      * @time: Created in 11:01 2018/3/26
      * @desc job输出流日志接收线程
      */
+    /**
+     * 按字节读取进程输出，按换行切分后直接交给日志记录，读取缓冲和跨读取的行缓冲重复使用
+     */
     public class StreamThread extends Thread {
+
+        private static final int BUFFER_SIZE = 8192;
+
+        /**
+         * 单行超过该长度时截断为多行
+         */
+        private static final int MAX_LINE = 64 * 1024;
+
         private InputStream inputStream;
         private String threadName;
         private CountDownLatch latch;
 
+        private byte[] line = new byte[BUFFER_SIZE];
+        private int lineLength;
+
         private StreamThread(InputStream inputStream, String threadName, CountDownLatch latch) {
             this.inputStream = inputStream;
             this.threadName = threadName;
@@ -227,10 +242,29 @@ public abstract class ProcessJob extends AbstractJob implements Job {
 
         @Override
         public void run() {
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, "utf-8"))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    logConsole(line);
+            try (InputStream in = inputStream) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int n;
+                while ((n = in.read(buffer)) != -1) {
+                    int start = 0;
+                    for (int i = 0; i < n; i++) {
+                        if (buffer[i] == '\n') {
+                            if (lineLength == 0) {
+                                emit(buffer, start, i - start);
+                            } else {
+                                appendLine(buffer, start, i - start);
+                                emit(line, 0, lineLength);
+                                lineLength = 0;
+                            }
+                            start = i + 1;
+                        }
+                    }
+                    if (start < n) {
+                        appendLine(buffer, start, n - start);
+                    }
+                }
+                if (lineLength > 0) {
+                    emit(line, 0, lineLength);
                 }
             } catch (Exception e) {
                 exitCode = Constants.LOG_EXIT_CODE;
@@ -240,6 +274,30 @@ public abstract class ProcessJob extends AbstractJob implements Job {
                 latch.countDown();
             }
         }
+
+        private void appendLine(byte[] bytes, int off, int len) {
+            while (len > 0) {
+                if (lineLength == MAX_LINE) {
+                    emit(line, 0, lineLength);
+                    lineLength = 0;
+                }
+                if (lineLength + len > line.length && line.length < MAX_LINE) {
+                    line = Arrays.copyOf(line, Math.min(Math.max(line.length << 1, lineLength + len), MAX_LINE));
+                }
+                int n = Math.min(len, line.length - lineLength);
+                System.arraycopy(bytes, off, line, lineLength, n);
+                lineLength += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        private void emit(byte[] bytes, int off, int len) {
+            if (len > 0 && bytes[off + len - 1] == '\r') {
+                len--;
+            }
+            logConsole(bytes, off, len);
+        }
     }
 
 }
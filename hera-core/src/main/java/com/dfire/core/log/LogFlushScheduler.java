@@ -0,0 +1,182 @@
+package com.dfire.core.log;
+
+import com.dfire.common.entity.HeraHistoryLog;
+import com.dfire.common.service.HeraHistoryLogService;
+import com.dfire.common.vo.LogContent;
+import com.dfire.config.HeraGlobalEnv;
+import com.dfire.core.job.Job;
+import com.dfire.core.job.JobContext;
+import com.dfire.core.netty.worker.WorkContext;
+import com.dfire.logs.ErrorLog;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 运行中任务的日志定时刷新到数据库
+ * 每次只取上次刷新之后新增的日志，没有新增的任务不写入；所有任务的新增日志合并为一条批量insert
+ * 正在被查看的任务每个周期刷新，其它任务按较长的间隔刷新
+ */
+public class LogFlushScheduler implements Runnable {
+
+    /**
+     * 页面读取日志后，该时间内按查看中的间隔刷新
+     */
+    private static final long VIEW_KEEP_MILLIS = TimeUnit.SECONDS.toMillis(60);
+
+    /**
+     * 单条批量insert的最大长度，避免超过max_allowed_packet
+     */
+    private static final int MAX_BATCH_LENGTH = 1024 * 1024;
+
+    private final WorkContext workContext;
+
+    /**
+     * type-id -> 刷新状态
+     */
+    private final Map<String, FlushState> states = new ConcurrentHashMap<>();
+
+    public LogFlushScheduler(WorkContext workContext) {
+        this.workContext = workContext;
+    }
+
+    private static String key(String type, String id) {
+        return type + "-" + id;
+    }
+
+    /**
+     * 页面读取了运行中的日志
+     *
+     * @param type action/debug
+     * @param id   historyId/debugId
+     */
+    public void viewed(String type, String id) {
+        viewed(type, id, System.currentTimeMillis());
+    }
+
+    void viewed(String type, String id, long now) {
+        states.computeIfAbsent(key(type, id), k -> new FlushState()).viewTime = now;
+    }
+
+    @Override
+    public void run() {
+        try {
+            flush(System.currentTimeMillis());
+        } catch (Exception e) {
+            ErrorLog.error("job log flush exception", e);
+        }
+    }
+
+    /**
+     * @param now 当前时间
+     * @return 写入的日志条数
+     */
+    int flush(long now) {
+        long idleMillis = TimeUnit.SECONDS.toMillis(HeraGlobalEnv.getLogIdleFlushInterval());
+        Set<String> alive = new HashSet<>();
+        List<Increment> logs = new ArrayList<>();
+        for (Job job : workContext.getRunning().values()) {
+            collect(job, HeraHistoryLogService.ACTION, now, idleMillis, alive, logs);
+        }
+        for (Job job : workContext.getManualRunning().values()) {
+            collect(job, HeraHistoryLogService.ACTION, now, idleMillis, alive, logs);
+        }
+        for (Job job : workContext.getDebugRunning().values()) {
+            collect(job, HeraHistoryLogService.DEBUG, now, idleMillis, alive, logs);
+        }
+        states.keySet().retainAll(alive);
+
+        int written = 0;
+        int length = 0;
+        List<Increment> batch = new ArrayList<>();
+        for (Increment increment : logs) {
+            if (!batch.isEmpty() && length + increment.log.getContent().length() > MAX_BATCH_LENGTH) {
+                written += write(batch);
+                batch = new ArrayList<>();
+                length = 0;
+            }
+            batch.add(increment);
+            length += increment.log.getContent().length();
+        }
+        if (!batch.isEmpty()) {
+            written += write(batch);
+        }
+        return written;
+    }
+
+    private void collect(Job job, String type, long now, long idleMillis, Set<String> alive, List<Increment> logs) {
+        JobContext jobContext = job.getJobContext();
+        String id = null;
+        try {
+            LogContent logContent;
+            if (HeraHistoryLogService.DEBUG.equals(type)) {
+                id = jobContext.getDebugHistory().getId();
+                logContent = jobContext.getDebugHistory().getLog();
+            } else {
+                id = jobContext.getHeraJobHistory().getId();
+                logContent = jobContext.getHeraJobHistory().getLog();
+            }
+            String key = key(type, id);
+            alive.add(key);
+            FlushState state = states.computeIfAbsent(key, k -> new FlushState());
+            if (now - state.viewTime > VIEW_KEEP_MILLIS && now - state.flushTime < idleMillis) {
+                return;
+            }
+            state.flushTime = now;
+            int start = logContent.getFlushed();
+            String increment = logContent.peekIncrement();
+            if (increment.length() > 0) {
+                logs.add(new Increment(HeraHistoryLog.builder().historyId(Integer.parseInt(id)).type(type).content(increment).build(),
+                        logContent, start + increment.length()));
+            }
+        } catch (Exception e) {
+            ErrorLog.error("log output error![" + type + ", hisId:" + id + "]", e);
+        }
+    }
+
+    /**
+     * 写入成功后才移动刷新位置，失败的日志下次刷新时重新写入
+     */
+    private int write(List<Increment> batch) {
+        List<HeraHistoryLog> logs = new ArrayList<>(batch.size());
+        batch.forEach(increment -> logs.add(increment.log));
+        try {
+            workContext.getHeraHistoryLogService().appendList(logs);
+        } catch (Exception e) {
+            ErrorLog.error("批量写入运行日志失败:" + batch.size(), e);
+            return 0;
+        }
+        batch.forEach(increment -> increment.logContent.flushedTo(increment.end));
+        return batch.size();
+    }
+
+    /**
+     * 待写入的新增日志与它在content中的结束位置
+     */
+    private static class Increment {
+
+        private final HeraHistoryLog log;
+
+        private final LogContent logContent;
+
+        private final int end;
+
+        Increment(HeraHistoryLog log, LogContent logContent, int end) {
+            this.log = log;
+            this.logContent = logContent;
+            this.end = end;
+        }
+    }
+
+    private static class FlushState {
+
+        private volatile long viewTime;
+
+        private long flushTime;
+    }
+}
@@ -0,0 +1,306 @@
+package com.dfire.core.log;
+
+import com.dfire.logs.ErrorLog;
+import com.dfire.logs.HeraLog;
+import com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse;
+import com.google.protobuf.ByteString;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * worker本地的运行日志存储，每次运行一个目录，目录下按起始位置命名的段文件依次保存完整日志
+ * 日志不再受LogContent行数限制，也不占用堆内存和数据库，页面按字节范围读取
+ * <pre>
+ * root/action-1024/00000000000000000000.log
+ *                  00000000000016777216.log
+ * root/debug-512/00000000000000000000.log
+ * </pre>
+ */
+public class LogSegmentStore {
+
+    private static final String SUFFIX = ".log";
+
+    private static final Pattern NAME = Pattern.compile("[a-z]+-\\d+");
+
+    private final File root;
+
+    private final int segmentSize;
+
+    private final int maxSegments;
+
+    /**
+     * 正在写入的日志
+     */
+    private final Map<String, LogSegmentWriter> writers = new ConcurrentHashMap<>();
+
+    public LogSegmentStore(File root, int segmentSize, int maxSegments) {
+        this.root = root;
+        this.segmentSize = segmentSize;
+        this.maxSegments = Math.max(maxSegments, 1);
+        if (!root.exists() && !root.mkdirs()) {
+            ErrorLog.error("创建日志段目录失败:" + root.getAbsolutePath());
+        }
+        recover();
+    }
+
+    static File segmentFile(File dir, long base) {
+        return new File(dir, String.format("%020d", base) + SUFFIX);
+    }
+
+    private static String name(String type, String id) {
+        String name = type + "-" + id;
+        return NAME.matcher(name).matches() ? name : null;
+    }
+
+    /**
+     * 开始记录一次运行的日志，同一次运行重复执行时覆盖之前的日志
+     *
+     * @param type action/debug
+     * @param id   historyId/debugId
+     * @return 日志写入，运行结束时关闭
+     */
+    public LogSegmentWriter open(String type, String id) {
+        String name = name(type, id);
+        if (name == null) {
+            throw new IllegalArgumentException("illegal log name:" + type + "-" + id);
+        }
+        LogSegmentWriter old = writers.remove(name);
+        if (old != null) {
+            old.close();
+        }
+        File dir = new File(root, name);
+        delete(dir);
+        if (!dir.mkdirs()) {
+            ErrorLog.error("创建日志段目录失败:" + dir.getAbsolutePath());
+        }
+        LogSegmentWriter writer = new LogSegmentWriter(this, name, dir, segmentSize, maxSegments);
+        writers.put(name, writer);
+        return writer;
+    }
+
+    void remove(LogSegmentWriter writer) {
+        writers.remove(writer.getName(), writer);
+    }
+
+    /**
+     * 读取[offset, offset + maxBytes)范围内的日志，结果按行对齐
+     * offset小于0时读取末尾的maxBytes字节，offset早于已删除的段时从最早的段开始读取
+     *
+     * @param type     action/debug
+     * @param id       historyId/debugId
+     * @param offset   开始位置
+     * @param maxBytes 最多读取的字节数
+     * @return 日志范围
+     */
+    public LogRangeResponse read(String type, String id, long offset, int maxBytes) {
+        String name = name(type, id);
+        if (name == null) {
+            return LogRangeResponse.newBuilder().setExists(false).build();
+        }
+        File dir = new File(root, name);
+        //先取长度再列出段，长度之内的段一定已经创建
+        LogSegmentWriter writer = writers.get(name);
+        long end = writer == null ? -1 : writer.size();
+        long[] bases = listSegments(dir);
+        if (bases.length == 0) {
+            return LogRangeResponse.newBuilder().setExists(false).build();
+        }
+        if (end < 0) {
+            end = bases[bases.length - 1] + segmentFile(dir, bases[bases.length - 1]).length();
+        }
+        boolean tail = offset < 0;
+        long start = tail ? Math.max(end - maxBytes, 0) : offset;
+        start = Math.min(Math.max(start, bases[0]), end);
+        byte[] data = new byte[(int) Math.min(maxBytes, end - start)];
+        int read = 0;
+        for (int i = 0; i < bases.length && read < data.length; i++) {
+            long position = start + read;
+            long segmentEnd = i + 1 < bases.length ? bases[i + 1] : end;
+            if (position >= segmentEnd) {
+                continue;
+            }
+            int len = (int) Math.min(data.length - read, segmentEnd - position);
+            try (RandomAccessFile file = new RandomAccessFile(segmentFile(dir, bases[i]), "r")) {
+                int n = readFully(file.getChannel(), ByteBuffer.wrap(data, read, len), position - bases[i]);
+                read += n;
+                if (n < len) {
+                    break;
+                }
+            } catch (IOException e) {
+                //读取期间段被滚动删除
+                ErrorLog.warn("读取日志段失败:{}, {}", dir.getAbsolutePath(), e.getMessage());
+                break;
+            }
+        }
+        int from = 0;
+        int to = read;
+        if (tail && start > 0) {
+            from = indexOfNewLine(data, 0, read) + 1;
+        }
+        if (start + read < end) {
+            int last = lastIndexOfNewLine(data, from, read);
+            if (last >= from) {
+                to = last + 1;
+            }
+        }
+        return LogRangeResponse.newBuilder()
+                .setExists(true)
+                .setContent(ByteString.copyFrom(data, from, to - from))
+                .setOffset(start + from)
+                .setNextOffset(start + to)
+                .setSize(end)
+                .build();
+    }
+
+    private static int indexOfNewLine(byte[] data, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (data[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int lastIndexOfNewLine(byte[] data, int from, int to) {
+        for (int i = to - 1; i >= from; i--) {
+            if (data[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static long[] listSegments(File dir) {
+        String[] files = dir.list((d, fileName) -> fileName.endsWith(SUFFIX));
+        if (files == null) {
+            return new long[0];
+        }
+        long[] bases = new long[files.length];
+        int size = 0;
+        for (String file : files) {
+            try {
+                bases[size++] = Long.parseLong(file.substring(0, file.length() - SUFFIX.length()));
+            } catch (NumberFormatException e) {
+                size--;
+            }
+        }
+        bases = Arrays.copyOf(bases, size);
+        Arrays.sort(bases);
+        return bases;
+    }
+
+    /**
+     * 删除运行结束超过保留时间的日志
+     *
+     * @param retainMillis 保留时间
+     * @return 删除的运行数
+     */
+    public int clean(long retainMillis) {
+        File[] dirs = root.listFiles(File::isDirectory);
+        if (dirs == null) {
+            return 0;
+        }
+        long expire = System.currentTimeMillis() - retainMillis;
+        int deleted = 0;
+        for (File dir : dirs) {
+            if (writers.containsKey(dir.getName())) {
+                continue;
+            }
+            long lastModified = dir.lastModified();
+            File[] files = dir.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    lastModified = Math.max(lastModified, file.lastModified());
+                }
+            }
+            if (lastModified < expire) {
+                delete(dir);
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * worker异常退出时最后一个段没有截断，去掉末尾未写入的部分
+     */
+    private void recover() {
+        File[] dirs = root.listFiles(File::isDirectory);
+        if (dirs == null) {
+            return;
+        }
+        for (File dir : dirs) {
+            long[] bases = listSegments(dir);
+            if (bases.length == 0) {
+                continue;
+            }
+            File last = segmentFile(dir, bases[bases.length - 1]);
+            try (RandomAccessFile file = new RandomAccessFile(last, "rw")) {
+                long length = file.length();
+                long valid = validLength(file.getChannel(), length);
+                if (valid < length) {
+                    file.setLength(valid);
+                    HeraLog.info("恢复日志段:{}, {} -> {}", last.getAbsolutePath(), length, valid);
+                }
+            } catch (IOException e) {
+                ErrorLog.error("恢复日志段失败:" + last.getAbsolutePath(), e);
+            }
+        }
+    }
+
+    private static long validLength(FileChannel channel, long length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        long position = length;
+        while (position > 0) {
+            int len = (int) Math.min(buffer.capacity(), position);
+            position -= len;
+            buffer.clear();
+            buffer.limit(len);
+            readFully(channel, buffer, position);
+            for (int i = len - 1; i >= 0; i--) {
+                if (buffer.get(i) != 0) {
+                    return position + i + 1;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static int readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        int total = 0;
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position + total);
+            if (n < 0) {
+                break;
+            }
+            total += n;
+        }
+        return total;
+    }
+
+    private static void delete(File dir) {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (!file.delete()) {
+                    ErrorLog.warn("删除日志段失败:{}", file.getAbsolutePath());
+                }
+            }
+        }
+        if (dir.exists() && !dir.delete()) {
+            ErrorLog.warn("删除日志目录失败:{}", dir.getAbsolutePath());
+        }
+    }
+
+    public int getOpenCount() {
+        return writers.size();
+    }
+}
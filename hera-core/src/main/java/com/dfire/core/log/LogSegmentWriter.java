@@ -0,0 +1,144 @@
+package com.dfire.core.log;
+
+import com.dfire.common.vo.LogSink;
+import com.dfire.logs.ErrorLog;
+import io.netty.util.internal.PlatformDependent;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.LinkedList;
+
+/**
+ * 一次运行的日志写入，只追加
+ * 当前段文件使用mmap写入，写满后滚动到以当前总长度命名的新段，超出最大段数时删除最早的段
+ * 每条日志以类型字节开始、换行结尾，保存原始字节，读取时按换行对齐
+ */
+public class LogSegmentWriter implements LogSink, Closeable {
+
+    private static final byte NEW_LINE = '\n';
+
+    private final LogSegmentStore store;
+
+    private final String name;
+
+    private final File dir;
+
+    private final int segmentSize;
+
+    private final int maxSegments;
+
+    private final LinkedList<Long> segments = new LinkedList<>();
+
+    private MappedByteBuffer buffer;
+
+    private long base;
+
+    private volatile long size;
+
+    private boolean closed;
+
+    LogSegmentWriter(LogSegmentStore store, String name, File dir, int segmentSize, int maxSegments) {
+        this.store = store;
+        this.name = name;
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+    }
+
+    @Override
+    public synchronized void append(byte kind, byte[] bytes, int off, int len) {
+        if (closed) {
+            return;
+        }
+        try {
+            write(kind);
+            write(bytes, off, len);
+            write(NEW_LINE);
+        } catch (IOException e) {
+            ErrorLog.error("写入本地日志段失败，停止写入:" + dir.getAbsolutePath(), e);
+            close();
+        }
+    }
+
+    private void write(byte b) throws IOException {
+        if (buffer == null || !buffer.hasRemaining()) {
+            roll();
+        }
+        buffer.put(b);
+        size++;
+    }
+
+    private void write(byte[] bytes, int off, int len) throws IOException {
+        int end = off + len;
+        while (off < end) {
+            if (buffer == null || !buffer.hasRemaining()) {
+                roll();
+            }
+            int n = Math.min(end - off, buffer.remaining());
+            buffer.put(bytes, off, n);
+            off += n;
+            size += n;
+        }
+    }
+
+    /**
+     * 当前段已经写满，映射新的段
+     */
+    private void roll() throws IOException {
+        unmap();
+        base = size;
+        try (RandomAccessFile file = new RandomAccessFile(LogSegmentStore.segmentFile(dir, base), "rw")) {
+            buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        segments.add(base);
+        while (segments.size() > maxSegments) {
+            File oldest = LogSegmentStore.segmentFile(dir, segments.removeFirst());
+            if (!oldest.delete()) {
+                ErrorLog.warn("删除日志段失败:{}", oldest.getAbsolutePath());
+            }
+        }
+    }
+
+    private void unmap() {
+        if (buffer != null) {
+            PlatformDependent.freeDirectBuffer(buffer);
+            buffer = null;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return 已经写入的总长度
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * 释放映射，最后一个段截断为实际写入的长度
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        boolean mapped = buffer != null;
+        unmap();
+        if (mapped) {
+            try (RandomAccessFile file = new RandomAccessFile(LogSegmentStore.segmentFile(dir, base), "rw")) {
+                file.setLength(size - base);
+            } catch (IOException e) {
+                ErrorLog.error("截断日志段失败:" + dir.getAbsolutePath(), e);
+            }
+        }
+        store.remove(this);
+    }
+}
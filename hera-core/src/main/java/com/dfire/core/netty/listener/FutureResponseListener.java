@@ -0,0 +1,29 @@
+package com.dfire.core.netty.listener;
+
+import com.dfire.core.netty.listener.adapter.ResponseListenerAdapter;
+import com.dfire.protocol.RpcResponse;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 收到response时直接完成future，不需要线程等待
+ * 超时完成为null，与超时未收到返回时的处理一致
+ */
+public class FutureResponseListener extends ResponseListenerAdapter {
+
+    private final CompletableFuture<RpcResponse.Response> future;
+
+    public FutureResponseListener(CompletableFuture<RpcResponse.Response> future) {
+        this.future = future;
+    }
+
+    @Override
+    public void onResponse(RpcResponse.Response response) {
+        future.complete(response);
+    }
+
+    @Override
+    public void onTimeout() {
+        future.complete(null);
+    }
+}
@@ -41,4 +41,8 @@ public class MasterResponseListener extends ResponseListenerAdapter {
         }
     }
 
+    @Override
+    public void onTimeout() {
+        latch.countDown();
+    }
 }
@@ -0,0 +1,143 @@
+package com.dfire.core.netty.listener;
+
+import com.dfire.common.util.NamedThreadFactory;
+import com.dfire.logs.ErrorLog;
+import com.dfire.logs.SocketLog;
+import com.dfire.protocol.RpcResponse;
+import com.dfire.protocol.RpcWebResponse;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * rid与等待返回的请求的对应表，收到response时按照rid直接找到对应的监听
+ * 超时由时间轮处理，超时后移除监听并通知监听者
+ */
+public class PendingCallTable {
+
+    private final Map<Integer, PendingCall> pendingCalls = new ConcurrentHashMap<>();
+
+    private final HashedWheelTimer timer;
+
+    private final AtomicLong completedCount = new AtomicLong();
+
+    private final AtomicLong timeoutCount = new AtomicLong();
+
+    private final AtomicLong unknownCount = new AtomicLong();
+
+    public PendingCallTable(String name) {
+        this.timer = new HashedWheelTimer(new NamedThreadFactory(name + "-call-timeout", true), 100, TimeUnit.MILLISECONDS, 512);
+    }
+
+    /**
+     * 注册等待返回的请求
+     *
+     * @param rid      请求id
+     * @param listener 收到返回或者超时的监听
+     * @param timeout  超时时间
+     * @param unit     时间单位
+     */
+    public void register(int rid, ResponseListener listener, long timeout, TimeUnit unit) {
+        PendingCall call = new PendingCall(listener);
+        pendingCalls.put(rid, call);
+        call.timeout = timer.newTimeout(t -> {
+            if (pendingCalls.remove(rid, call)) {
+                timeoutCount.incrementAndGet();
+                try {
+                    listener.onTimeout();
+                } catch (Exception e) {
+                    ErrorLog.error("call timeout listener exception, rid = " + rid, e);
+                }
+            }
+        }, timeout, unit);
+        //返回在定时器创建之前到达
+        if (!pendingCalls.containsKey(rid)) {
+            call.timeout.cancel();
+        }
+    }
+
+    /**
+     * 不再等待返回，比如请求发送失败
+     *
+     * @param rid 请求id
+     */
+    public void remove(int rid) {
+        PendingCall call = pendingCalls.remove(rid);
+        if (call != null && call.timeout != null) {
+            call.timeout.cancel();
+        }
+    }
+
+    public boolean onResponse(RpcResponse.Response response) {
+        PendingCall call = complete(response.getRid());
+        if (call == null) {
+            return false;
+        }
+        call.listener.onResponse(response);
+        return true;
+    }
+
+    public boolean onWebResponse(RpcWebResponse.WebResponse webResponse) {
+        PendingCall call = complete(webResponse.getRid());
+        if (call == null) {
+            return false;
+        }
+        call.listener.onWebResponse(webResponse);
+        return true;
+    }
+
+    private PendingCall complete(int rid) {
+        PendingCall call = pendingCalls.remove(rid);
+        if (call == null) {
+            unknownCount.incrementAndGet();
+            SocketLog.warn("no pending call for response, rid = {}, maybe timeout", rid);
+            return null;
+        }
+        if (call.timeout != null) {
+            call.timeout.cancel();
+        }
+        completedCount.incrementAndGet();
+        return call;
+    }
+
+    public int getPendingCount() {
+        return pendingCalls.size();
+    }
+
+    public long getCompletedCount() {
+        return completedCount.get();
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount.get();
+    }
+
+    public long getUnknownCount() {
+        return unknownCount.get();
+    }
+
+    public void shutdown() {
+        timer.stop();
+    }
+
+    @Override
+    public String toString() {
+        return "[pending:" + getPendingCount() + ",completed:" + getCompletedCount()
+                + ",timeout:" + getTimeoutCount() + ",unknown:" + getUnknownCount() + "]";
+    }
+
+    private static class PendingCall {
+
+        private final ResponseListener listener;
+
+        private volatile Timeout timeout;
+
+        PendingCall(ResponseListener listener) {
+            this.listener = listener;
+        }
+    }
+}
@@ -23,4 +23,11 @@ public abstract class ResponseListener {
      * @param webResponse
      */
     public abstract void onWebResponse(RpcWebResponse.WebResponse webResponse);
+
+    /**
+     * 超时未收到response
+     */
+    public void onTimeout() {
+
+    }
 }
\ No newline at end of file
@@ -42,4 +42,9 @@ public class WorkResponseListener extends ResponseListenerAdapter {
             }
         }
     }
+
+    @Override
+    public void onTimeout() {
+        latch.countDown();
+    }
 }
@@ -0,0 +1,310 @@
+package com.dfire.core.netty.master;
+
+import com.dfire.common.constants.Constants;
+import com.dfire.common.entity.HeraAction;
+import com.dfire.common.entity.HeraJob;
+import com.dfire.core.util.CronParse;
+import com.dfire.logs.ErrorLog;
+import com.dfire.logs.HeraLog;
+import org.apache.commons.lang.StringUtils;
+import org.springframework.beans.BeanUtils;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 按依赖层级并行生成版本，代替逐个任务递归生成依赖任务的版本
+ * 第0层是定时任务，之后按拓扑顺序把依赖任务分层，同一层的任务互不依赖，在ForkJoinPool中并行生成，每层生成后批量写入
+ * 依赖中存在环的任务不会生成版本
+ */
+public class ActionGenerator {
+
+    /**
+     * 每个子任务最多处理的任务数，少于该数量时在当前线程生成
+     */
+    private static final int THRESHOLD = 64;
+
+    private final ForkJoinPool pool;
+
+    public ActionGenerator(int parallelism) {
+        AtomicInteger threadNum = new AtomicInteger(0);
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Constants.AVAILABLE_CORES, forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("action-generate-thread-" + threadNum.incrementAndGet());
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * 生成版本
+     *
+     * @param jobList  需要生成版本的任务
+     * @param cronDate 日期
+     * @param idMap    jobId -> 版本集合，已经存在的任务不再生成，作为下游任务生成版本的基准
+     * @param writer   每层生成的版本，按层依次写入
+     * @return 依赖任务的层数
+     */
+    public int generate(List<HeraJob> jobList, String cronDate, Map<Integer, List<HeraAction>> idMap, Consumer<List<HeraAction>> writer) {
+        List<HeraJob> scheduleJobs = new ArrayList<>();
+        Map<Integer, HeraJob> jobMap = new HashMap<>();
+        for (HeraJob heraJob : jobList) {
+            if (heraJob == null || heraJob.getScheduleType() == null) {
+                continue;
+            }
+            if (heraJob.getScheduleType() == 1) {
+                jobMap.put(heraJob.getId(), heraJob);
+            } else if (heraJob.getScheduleType() == 0) {
+                if (StringUtils.isNotBlank(heraJob.getCronExpression())) {
+                    scheduleJobs.add(heraJob);
+                }
+            } else {
+                ErrorLog.error("任务{}未知的调度类型{}", heraJob.getId(), heraJob.getScheduleType());
+            }
+        }
+
+        List<HeraAction>[] scheduleActions = compute(scheduleJobs, heraJob -> createHeraAction(heraJob, cronDate));
+        List<HeraAction> insertList = new ArrayList<>();
+        for (int i = 0; i < scheduleActions.length; i++) {
+            HeraJob heraJob = scheduleJobs.get(i);
+            if (scheduleActions[i] == null) {
+                HeraLog.warn("cron parse error,jobId={},cron = {}", heraJob.getId(), heraJob.getCronExpression());
+                continue;
+            }
+            idMap.put(heraJob.getId(), scheduleActions[i]);
+            insertList.addAll(scheduleActions[i]);
+        }
+        writer.accept(insertList);
+
+        List<List<HeraJob>> levels = levels(jobMap, idMap);
+        for (List<HeraJob> level : levels) {
+            List<HeraAction>[] dependActions = compute(level, heraJob -> createDependAction(heraJob, idMap));
+            insertList = new ArrayList<>();
+            for (int i = 0; i < dependActions.length; i++) {
+                idMap.put(level.get(i).getId(), dependActions[i]);
+                if (dependActions[i] != null) {
+                    insertList.addAll(dependActions[i]);
+                }
+            }
+            writer.accept(insertList);
+        }
+        return levels.size();
+    }
+
+    /**
+     * 依赖任务按拓扑顺序分层，每个任务的上游都在之前的层中或者已经生成过版本
+     *
+     * @param jobMap 依赖任务
+     * @param idMap  已经生成版本的任务
+     * @return 分层后的依赖任务
+     */
+    private List<List<HeraJob>> levels(Map<Integer, HeraJob> jobMap, Map<Integer, List<HeraAction>> idMap) {
+        Map<Integer, Integer> inDegree = new HashMap<>(jobMap.size());
+        Map<Integer, List<Integer>> downstreamMap = new HashMap<>(jobMap.size());
+        List<HeraJob> level = new ArrayList<>();
+        for (HeraJob heraJob : jobMap.values()) {
+            if (idMap.containsKey(heraJob.getId())) {
+                continue;
+            }
+            int degree = 0;
+            if (StringUtils.isNotBlank(heraJob.getDependencies())) {
+                Set<Integer> upstream = new HashSet<>();
+                for (String dependency : heraJob.getDependencies().split(Constants.COMMA)) {
+                    if (StringUtils.isBlank(dependency)) {
+                        continue;
+                    }
+                    Integer dpId = Integer.parseInt(dependency.trim());
+                    if (jobMap.containsKey(dpId) && !idMap.containsKey(dpId) && upstream.add(dpId)) {
+                        downstreamMap.computeIfAbsent(dpId, k -> new ArrayList<>()).add(heraJob.getId());
+                        degree++;
+                    }
+                }
+            }
+            if (degree == 0) {
+                level.add(heraJob);
+            } else {
+                inDegree.put(heraJob.getId(), degree);
+            }
+        }
+        List<List<HeraJob>> levels = new ArrayList<>();
+        while (!level.isEmpty()) {
+            levels.add(level);
+            List<HeraJob> next = new ArrayList<>();
+            for (HeraJob heraJob : level) {
+                List<Integer> downstream = downstreamMap.get(heraJob.getId());
+                if (downstream == null) {
+                    continue;
+                }
+                for (Integer jobId : downstream) {
+                    if (inDegree.merge(jobId, -1, Integer::sum) == 0) {
+                        inDegree.remove(jobId);
+                        next.add(jobMap.get(jobId));
+                    }
+                }
+            }
+            level = next;
+        }
+        for (Integer jobId : inDegree.keySet()) {
+            HeraLog.warn("任务{}的依赖存在环，无法生成版本", jobId);
+            idMap.put(jobId, null);
+        }
+        return levels;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<HeraAction>[] compute(List<HeraJob> jobs, Function<HeraJob, List<HeraAction>> generator) {
+        List<HeraAction>[] results = new List[jobs.size()];
+        if (jobs.size() <= THRESHOLD) {
+            for (int i = 0; i < results.length; i++) {
+                results[i] = generator.apply(jobs.get(i));
+            }
+        } else {
+            pool.invoke(new GenerateTask(jobs, generator, results, 0, results.length));
+        }
+        return results;
+    }
+
+    /**
+     * 生成定时任务的版本
+     *
+     * @param heraJob  hera_job 表对象
+     * @param cronDate 日期
+     * @return 版本集合，cron表达式错误时为null
+     */
+    private List<HeraAction> createHeraAction(HeraJob heraJob, String cronDate) {
+        long[] actionMinutes = CronParse.actionMinutes(heraJob.getCronExpression(), cronDate);
+        if (actionMinutes == null) {
+            return null;
+        }
+        List<HeraAction> heraActionList = new ArrayList<>(actionMinutes.length);
+        for (long actionMinute : actionMinutes) {
+            HeraAction heraAction = new HeraAction();
+            BeanUtils.copyProperties(heraJob, heraAction);
+            Long actionId = actionMinute * 1000000 + heraJob.getId();
+            heraAction.setId(actionId);
+            heraAction.setCronExpression(CronParse.toActionCron(actionMinute));
+            heraAction.setGmtCreate(new Date());
+            heraAction.setJobId(heraJob.getId());
+            heraAction.setHistoryId(heraJob.getHistoryId());
+            heraAction.setAuto(heraJob.getAuto());
+            heraAction.setGmtModified(new Date());
+            heraAction.setJobDependencies(null);
+            heraAction.setDependencies(null);
+            heraAction.setReadyDependency(null);
+            heraAction.setHostGroupId(heraJob.getHostGroupId());
+            heraActionList.add(heraAction);
+        }
+        return heraActionList;
+    }
+
+    /**
+     * 生成依赖任务的版本，上游任务的版本已经在idMap中
+     *
+     * @param heraJob 当前生成版本的任务
+     * @param idMap   jobId -> 版本集合
+     * @return 版本集合，上游没有版本时为null
+     */
+    private List<HeraAction> createDependAction(HeraJob heraJob, Map<Integer, List<HeraAction>> idMap) {
+        String jobDependencies = heraJob.getDependencies();
+        if (StringUtils.isBlank(jobDependencies)) {
+            return null;
+        }
+        String[] dependencies = jobDependencies.split(Constants.COMMA);
+        Map<String, List<HeraAction>> dependenciesMap = new HashMap<>(dependencies.length * 2);
+        String actionMinDeps = "";
+        for (String dependentId : dependencies) {
+            Integer dpId = Integer.parseInt(dependentId);
+            List<HeraAction> dpActions = idMap.get(dpId);
+            dependenciesMap.put(dependentId, dpActions);
+            if (dpActions == null || dpActions.size() == 0) {
+                HeraLog.info("{}今天找不到版本，无法为任务{}生成版本", dependentId, heraJob.getId());
+                return null;
+            }
+            if (StringUtils.isBlank(actionMinDeps)) {
+                actionMinDeps = dependentId;
+            }
+            //找到所依赖的任务中版本最少的作为基准版本。
+            if (dependenciesMap.get(actionMinDeps).size() > dependenciesMap.get(dependentId).size()) {
+                actionMinDeps = dependentId;
+            } else if (dependenciesMap.get(dependentId).size() > 0 && dependenciesMap.get(actionMinDeps).size() == dependenciesMap.get(dependentId).size() &&
+                    dependenciesMap.get(actionMinDeps).get(0).getId() < dependenciesMap.get(dependentId).get(0).getId()) {
+                //如果两个版本的个数一样  那么应该找一个时间较大的
+                actionMinDeps = dependentId;
+            }
+        }
+        List<HeraAction> actionMinList = dependenciesMap.get(actionMinDeps);
+        List<HeraAction> jobActions = new ArrayList<>(actionMinList.size());
+        for (HeraAction action : actionMinList) {
+            long longActionId = action.getId();
+            StringBuilder actionDependencies = new StringBuilder(String.valueOf(longActionId));
+            for (String dependency : dependencies) {
+                if (!dependency.equals(actionMinDeps)) {
+                    List<HeraAction> otherAction = dependenciesMap.get(dependency);
+                    //找到一个离基准版本时间最近的action，添加为该任务的依赖
+                    long otherActionId = otherAction.get(0).getId();
+                    for (HeraAction o : otherAction) {
+                        if (Math.abs(o.getId() - longActionId) < Math.abs(otherActionId - longActionId)) {
+                            otherActionId = o.getId();
+                        }
+                    }
+                    actionDependencies.append(",");
+                    actionDependencies.append(otherActionId / 1000000 * 1000000 + Long.parseLong(dependency));
+                }
+            }
+            HeraAction actionNew = new HeraAction();
+            BeanUtils.copyProperties(heraJob, actionNew);
+            Long actionId = longActionId / 1000000 * 1000000 + heraJob.getId();
+            actionNew.setId(actionId);
+            actionNew.setGmtCreate(new Date());
+            actionNew.setDependencies(actionDependencies.toString());
+            actionNew.setJobDependencies(heraJob.getDependencies());
+            actionNew.setJobId(heraJob.getId());
+            actionNew.setAuto(heraJob.getAuto());
+            actionNew.setHostGroupId(heraJob.getHostGroupId());
+            jobActions.add(actionNew);
+        }
+        return jobActions;
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private static class GenerateTask extends RecursiveAction {
+
+        private final List<HeraJob> jobs;
+
+        private final Function<HeraJob, List<HeraAction>> generator;
+
+        private final List<HeraAction>[] results;
+
+        private final int from;
+
+        private final int to;
+
+        private GenerateTask(List<HeraJob> jobs, Function<HeraJob, List<HeraAction>> generator, List<HeraAction>[] results, int from, int to) {
+            this.jobs = jobs;
+            this.generator = generator;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    results[i] = generator.apply(jobs.get(i));
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new GenerateTask(jobs, generator, results, from, mid),
+                    new GenerateTask(jobs, generator, results, mid, to));
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.dfire.core.netty.master;
+
+import com.alibaba.fastjson.JSONObject;
+import com.dfire.common.entity.HeraAction;
+import com.dfire.logs.ErrorLog;
+import lombok.Getter;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 版本状态的预写日志，每次修改内存中的状态时追加一行json，写入数据库之前进程退出时启动后重放
+ * 依赖就绪只追加版本id、上游版本id和时间，不写入整个readyDependency
+ * 每次批量写入数据库前切换到新的文件，写入成功后删除旧的文件
+ * <pre>
+ * dir/00000000000000000001.journal
+ *     00000000000000000002.journal
+ * </pre>
+ */
+public class ActionStateJournal {
+
+    private static final String SUFFIX = ".journal";
+
+    private static final String READY = "ready";
+
+    private static final String READY_TIME = "readyTime";
+
+    private final File dir;
+
+    private long sequence;
+
+    private File current;
+
+    private FileChannel channel;
+
+    public ActionStateJournal(File dir) {
+        this.dir = dir;
+        if (!dir.exists() && !dir.mkdirs()) {
+            ErrorLog.error("创建版本状态日志目录失败:" + dir.getAbsolutePath());
+        }
+        long[] sequences = listSequences();
+        sequence = sequences.length == 0 ? 0 : sequences[sequences.length - 1];
+    }
+
+    private long[] listSequences() {
+        String[] files = dir.list((d, name) -> name.endsWith(SUFFIX));
+        if (files == null) {
+            return new long[0];
+        }
+        long[] sequences = new long[files.length];
+        int size = 0;
+        for (String file : files) {
+            try {
+                sequences[size++] = Long.parseLong(file.substring(0, file.length() - SUFFIX.length()));
+            } catch (NumberFormatException e) {
+                size--;
+            }
+        }
+        sequences = Arrays.copyOf(sequences, size);
+        Arrays.sort(sequences);
+        return sequences;
+    }
+
+    private File file(long seq) {
+        return new File(dir, String.format("%020d", seq) + SUFFIX);
+    }
+
+    /**
+     * 追加一条状态，进程退出后仍然可以重放
+     *
+     * @param state 版本状态
+     * @throws IOException 写入失败
+     */
+    public synchronized void append(HeraAction state) throws IOException {
+        write(JSONObject.toJSONString(state));
+    }
+
+    /**
+     * 追加一条依赖就绪
+     *
+     * @param actionId   版本id
+     * @param dependency 就绪的上游版本id
+     * @param time       就绪时间
+     * @throws IOException 写入失败
+     */
+    public synchronized void appendReady(Long actionId, String dependency, long time) throws IOException {
+        JSONObject ready = new JSONObject(4);
+        ready.put("id", actionId);
+        ready.put(READY, dependency);
+        ready.put(READY_TIME, time);
+        write(ready.toJSONString());
+    }
+
+    private void write(String line) throws IOException {
+        if (channel == null) {
+            current = file(++sequence);
+            channel = new FileOutputStream(current, true).getChannel();
+        }
+        ByteBuffer buffer = ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * 当前文件刷盘并关闭，之后的状态写入新的文件
+     *
+     * @return 关闭的文件，没有写入时为null
+     */
+    public synchronized File rotate() {
+        if (channel == null) {
+            return null;
+        }
+        File rotated = current;
+        try {
+            channel.force(false);
+            channel.close();
+        } catch (IOException e) {
+            ErrorLog.error("版本状态日志刷盘失败:" + rotated.getAbsolutePath(), e);
+        }
+        channel = null;
+        current = null;
+        return rotated;
+    }
+
+    /**
+     * 状态已经写入数据库，删除该文件
+     *
+     * @param file rotate返回的文件
+     */
+    public void delete(File file) {
+        if (file != null && !file.delete()) {
+            ErrorLog.warn("删除版本状态日志失败:{}", file.getAbsolutePath());
+        }
+    }
+
+    /**
+     * 读取所有未写入数据库的状态，同一个版本只保留最后一条
+     *
+     * @return 最后的状态与之后就绪的依赖
+     */
+    public synchronized Replay replay() {
+        Replay replay = new Replay();
+        Map<Long, HeraAction> states = replay.getStates();
+        Map<Long, Map<String, Long>> readies = replay.getReadies();
+        for (long seq : listSequences()) {
+            File file = file(seq);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    try {
+                        JSONObject json = JSONObject.parseObject(line);
+                        if (json.containsKey(READY)) {
+                            readies.computeIfAbsent(json.getLong("id"), id -> new LinkedHashMap<>())
+                                    .put(json.getString(READY), json.getLong(READY_TIME));
+                        } else {
+                            HeraAction state = JSONObject.toJavaObject(json, HeraAction.class);
+                            states.put(state.getId(), state);
+                            //完整的状态已经包含之前就绪的依赖
+                            readies.remove(state.getId());
+                        }
+                    } catch (Exception e) {
+                        //进程退出时最后一行可能只写入了一部分
+                        ErrorLog.warn("忽略不完整的版本状态:{}", file.getAbsolutePath());
+                    }
+                }
+            } catch (IOException e) {
+                ErrorLog.error("读取版本状态日志失败:" + file.getAbsolutePath(), e);
+            }
+        }
+        return replay;
+    }
+
+    @Getter
+    public static class Replay {
+
+        /**
+         * actionId -> 最后一次完整的状态
+         */
+        private final Map<Long, HeraAction> states = new LinkedHashMap<>();
+
+        /**
+         * actionId -> 最后一次完整的状态之后就绪的依赖 -> 就绪时间
+         */
+        private final Map<Long, Map<String, Long>> readies = new LinkedHashMap<>();
+
+        public boolean isEmpty() {
+            return states.isEmpty() && readies.isEmpty();
+        }
+    }
+
+    /**
+     * 重放完成后删除所有文件
+     */
+    public synchronized void clear() {
+        rotate();
+        List<File> files = new ArrayList<>();
+        for (long seq : listSequences()) {
+            files.add(file(seq));
+        }
+        files.forEach(this::delete);
+    }
+}
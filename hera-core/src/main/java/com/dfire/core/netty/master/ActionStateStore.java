@@ -0,0 +1,671 @@
+package com.dfire.core.netty.master;
+
+import com.dfire.common.entity.HeraAction;
+import com.dfire.common.entity.HeraJob;
+import com.dfire.common.entity.model.TablePageForm;
+import com.dfire.common.entity.vo.HeraActionVo;
+import com.dfire.common.enums.StatusEnum;
+import com.dfire.common.kv.Tuple;
+import com.dfire.common.service.HeraJobActionService;
+import com.dfire.common.util.BeanConvertUtils;
+import com.dfire.common.util.NamedThreadFactory;
+import com.dfire.common.util.StringUtil;
+import com.dfire.common.vo.GroupTaskVo;
+import com.dfire.common.vo.JobStatus;
+import com.dfire.logs.ErrorLog;
+import com.dfire.logs.HeraLog;
+import com.dfire.logs.ScheduleLog;
+import org.springframework.beans.BeanUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * master上的版本运行状态以内存为准，不再每次读写数据库
+ * 运行过程中变化的列(status/readyDependency/historyId等)修改时按版本加锁，先追加到预写日志，再定时批量写入数据库
+ * 其它方法直接读写数据库，读取的结果用内存中的状态覆盖
+ * worker、页面直接读取数据库，最多延迟一个刷新间隔
+ */
+public class ActionStateStore implements HeraJobActionService {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final HeraJobActionService delegate;
+
+    private final Master master;
+
+    private final ActionStateJournal journal;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 未写入数据库的版本，与预写日志的切换互斥
+     */
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    private final Object journalLock = new Object();
+
+    /**
+     * 已经切换、等待写入数据库后删除的预写日志
+     */
+    private final List<File> rotatedFiles = new ArrayList<>();
+
+    private ScheduledExecutorService flushExecutor;
+
+    /**
+     * jobId -> 任务定义，版本的脚本、配置等从任务定义读取，为null时从数据库读取
+     */
+    private final Function<Integer, HeraJob> jobDefinitions;
+
+    public ActionStateStore(HeraJobActionService delegate, Master master, File journalDir) {
+        this(delegate, master, journalDir, null);
+    }
+
+    public ActionStateStore(HeraJobActionService delegate, Master master, File journalDir, Function<Integer, HeraJob> jobDefinitions) {
+        this.delegate = delegate;
+        this.master = master;
+        this.journal = new ActionStateJournal(journalDir);
+        this.jobDefinitions = jobDefinitions;
+    }
+
+    /**
+     * 重放上次退出时未写入数据库的状态，然后开始定时写入
+     *
+     * @param flushMillis 写入间隔
+     */
+    public void start(long flushMillis) {
+        recover();
+        flushExecutor = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("action-state-flush", true));
+        flushExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (Exception e) {
+                ErrorLog.error("版本状态写入异常", e);
+            }
+        }, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void shutdown() {
+        if (flushExecutor != null) {
+            flushExecutor.shutdown();
+        }
+        flush();
+    }
+
+    private static class Entry {
+
+        private HeraAction action;
+
+        /**
+         * 依赖就绪情况，收到上游成功时创建，readyDependency被其它方式修改后重新创建
+         */
+        private DependencyCountdown countdown;
+
+        /**
+         * countdown变化后还未转换为action中的readyDependency
+         */
+        private boolean readyChanged;
+
+        private Entry(HeraAction action) {
+            this.action = action;
+        }
+
+        /**
+         * 需要持有Entry的锁
+         *
+         * @return readyDependency为最新的版本
+         */
+        private HeraAction current() {
+            if (readyChanged) {
+                action.setReadyDependency(countdown.toJson());
+                readyChanged = false;
+            }
+            return action;
+        }
+
+        private DependencyCountdown countdown() {
+            if (countdown == null) {
+                countdown = DependencyCountdown.of(action.getDependencies(), action.getReadyDependency());
+            }
+            return countdown;
+        }
+
+        /**
+         * 替换版本，依赖可能发生变化
+         */
+        private void replace(HeraAction action) {
+            this.action = action;
+            countdown = null;
+        }
+    }
+
+    private static HeraAction copy(HeraAction action) {
+        HeraAction copy = new HeraAction();
+        BeanUtils.copyProperties(action, copy);
+        return copy;
+    }
+
+    /**
+     * 内存中保存的版本不复制任务定义中的大字段，读取时通过jobId引用任务定义
+     */
+    private static HeraAction snapshot(HeraAction action) {
+        HeraAction snapshot = copy(action);
+        strip(snapshot);
+        return snapshot;
+    }
+
+    private static void strip(HeraAction action) {
+        action.setScript(null);
+        action.setConfigs(null);
+        action.setResources(null);
+        action.setPreProcessors(null);
+        action.setPostProcessors(null);
+        action.setDescription(null);
+    }
+
+    /**
+     * 补全任务定义中的字段，任务已经被删除时从数据库读取
+     */
+    private HeraAction withDefinition(HeraAction action) {
+        HeraJob heraJob = jobDefinitions == null || action.getJobId() == null ? null : jobDefinitions.apply(action.getJobId());
+        if (heraJob != null) {
+            action.setScript(heraJob.getScript());
+            action.setConfigs(heraJob.getConfigs());
+            action.setResources(heraJob.getResources());
+            action.setPreProcessors(heraJob.getPreProcessors());
+            action.setPostProcessors(heraJob.getPostProcessors());
+            action.setDescription(heraJob.getDescription());
+            return action;
+        }
+        HeraAction row = delegate.findById(String.valueOf(action.getId()));
+        if (row != null) {
+            action.setScript(row.getScript());
+            action.setConfigs(row.getConfigs());
+            action.setResources(row.getResources());
+            action.setPreProcessors(row.getPreProcessors());
+            action.setPostProcessors(row.getPostProcessors());
+            action.setDescription(row.getDescription());
+        }
+        return action;
+    }
+
+    private static void copyState(HeraAction from, HeraAction to) {
+        to.setStatus(from.getStatus());
+        to.setLastResult(from.getLastResult());
+        to.setReadyDependency(from.getReadyDependency());
+        to.setHistoryId(from.getHistoryId());
+        to.setHost(from.getHost());
+        to.setStatisticStartTime(from.getStatisticStartTime());
+        to.setStatisticEndTime(from.getStatisticEndTime());
+    }
+
+    private static boolean sameState(HeraAction a, HeraAction b) {
+        return equals(a.getStatus(), b.getStatus())
+                && equals(a.getLastResult(), b.getLastResult())
+                && equals(a.getReadyDependency(), b.getReadyDependency())
+                && equals(a.getHistoryId(), b.getHistoryId())
+                && equals(a.getHost(), b.getHost())
+                && equals(a.getStatisticStartTime(), b.getStatisticStartTime())
+                && equals(a.getStatisticEndTime(), b.getStatisticEndTime());
+    }
+
+    private static boolean equals(Object a, Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    /**
+     * 只转换运行状态，不需要BeanConvertUtils解析整个版本
+     */
+    private static JobStatus jobStatus(HeraAction action) {
+        JobStatus jobStatus = JobStatus.builder().build();
+        jobStatus.setActionId(action.getId().toString());
+        jobStatus.setHistoryId(action.getHistoryId());
+        jobStatus.setStatus(StatusEnum.parse(action.getStatus()));
+        jobStatus.setReadyDependency(StringUtil.convertStringToMap(action.getReadyDependency()));
+        return jobStatus;
+    }
+
+    private static HeraAction stateOf(HeraAction action) {
+        HeraAction state = new HeraAction();
+        state.setId(action.getId());
+        copyState(action, state);
+        state.setGmtModified(action.getGmtModified());
+        return state;
+    }
+
+    private Entry entry(Long actionId) {
+        Entry entry = entries.get(actionId);
+        if (entry != null) {
+            return entry;
+        }
+        HeraAction action = delegate.findById(String.valueOf(actionId));
+        if (action == null) {
+            return null;
+        }
+        return entries.computeIfAbsent(actionId, id -> new Entry(snapshot(action)));
+    }
+
+    /**
+     * 修改一个版本的运行状态
+     *
+     * @param actionId 版本id
+     * @param change   修改
+     * @return 修改后的版本，版本不存在时为null
+     */
+    private HeraAction mutate(Long actionId, Consumer<HeraAction> change) {
+        Entry entry = entry(actionId);
+        if (entry == null) {
+            return null;
+        }
+        synchronized (entry) {
+            String readyDependency = entry.current().getReadyDependency();
+            String dependencies = entry.action.getDependencies();
+            change.accept(entry.action);
+            if (!equals(readyDependency, entry.action.getReadyDependency()) || !equals(dependencies, entry.action.getDependencies())) {
+                entry.countdown = null;
+            }
+            entry.action.setGmtModified(new Date());
+            record(entry.action);
+            return copy(entry.action);
+        }
+    }
+
+    /**
+     * 先写预写日志再标记为未写入，同时更新master的版本缓存
+     */
+    private void record(HeraAction action) {
+        synchronized (journalLock) {
+            try {
+                journal.append(stateOf(action));
+            } catch (IOException e) {
+                ErrorLog.error("版本状态预写日志写入失败:" + action.getId(), e);
+            }
+            dirty.add(action.getId());
+        }
+        if (master != null) {
+            master.getActionTable().updateState(action.getId(), action.getStatus(), action.getHistoryId());
+        }
+    }
+
+    /**
+     * 未写入数据库的版本批量写入
+     *
+     * @return 写入的版本数
+     */
+    public synchronized int flush() {
+        List<Long> ids;
+        synchronized (journalLock) {
+            File rotated = journal.rotate();
+            if (rotated != null) {
+                rotatedFiles.add(rotated);
+            }
+            ids = new ArrayList<>(dirty);
+            dirty.clear();
+        }
+        List<HeraAction> states = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Entry entry = entries.get(id);
+            if (entry != null) {
+                synchronized (entry) {
+                    states.add(stateOf(entry.current()));
+                }
+            }
+        }
+        try {
+            for (int i = 0; i < states.size(); i += BATCH_SIZE) {
+                delegate.batchUpdateState(states.subList(i, Math.min(i + BATCH_SIZE, states.size())));
+            }
+        } catch (Exception e) {
+            ErrorLog.error("版本状态批量写入失败，下次重试:" + states.size(), e);
+            synchronized (journalLock) {
+                dirty.addAll(ids);
+            }
+            return 0;
+        }
+        rotatedFiles.forEach(journal::delete);
+        rotatedFiles.clear();
+        return states.size();
+    }
+
+    /**
+     * 重放预写日志，数据库中已经被更新的版本不覆盖
+     */
+    private void recover() {
+        ActionStateJournal.Replay replay = journal.replay();
+        if (replay.isEmpty()) {
+            journal.clear();
+            return;
+        }
+        Set<Long> ids = new LinkedHashSet<>(replay.getStates().keySet());
+        ids.addAll(replay.getReadies().keySet());
+        List<HeraAction> apply = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            HeraAction row = delegate.findById(String.valueOf(id));
+            if (row == null) {
+                continue;
+            }
+            HeraAction state = replay.getStates().get(id);
+            boolean changed = state != null && !isAfter(row.getGmtModified(), state.getGmtModified());
+            if (!changed) {
+                state = stateOf(row);
+            }
+            Map<String, Long> readies = replay.getReadies().get(id);
+            if (readies != null) {
+                Map<String, String> readyDependency = StringUtil.convertStringToMap(state.getReadyDependency());
+                for (Map.Entry<String, Long> ready : readies.entrySet()) {
+                    Date readyTime = new Date(ready.getValue());
+                    if (!isAfter(state.getGmtModified(), readyTime)) {
+                        readyDependency.put(ready.getKey(), String.valueOf(ready.getValue()));
+                        state.setGmtModified(readyTime);
+                        changed = true;
+                    }
+                }
+                state.setReadyDependency(StringUtil.convertMapToString(readyDependency));
+            }
+            if (changed) {
+                apply.add(state);
+            }
+        }
+        try {
+            for (int i = 0; i < apply.size(); i += BATCH_SIZE) {
+                delegate.batchUpdateState(apply.subList(i, Math.min(i + BATCH_SIZE, apply.size())));
+            }
+            journal.clear();
+            HeraLog.info("重放版本状态预写日志:{}/{}", apply.size(), ids.size());
+        } catch (Exception e) {
+            ErrorLog.error("重放版本状态预写日志失败", e);
+        }
+    }
+
+    private static boolean isAfter(Date a, Date b) {
+        return a != null && b != null && a.after(b);
+    }
+
+    /**
+     * 版本被其它地方修改后，重新读取除运行状态之外的列
+     *
+     * @param actionId 版本id
+     */
+    public void invalidate(String actionId) {
+        Entry entry = entries.get(Long.parseLong(actionId));
+        if (entry == null) {
+            return;
+        }
+        HeraAction fresh = delegate.findById(actionId);
+        if (fresh == null) {
+            return;
+        }
+        synchronized (entry) {
+            HeraAction snapshot = snapshot(fresh);
+            copyState(entry.current(), snapshot);
+            snapshot.setGmtModified(entry.action.getGmtModified());
+            entry.replace(snapshot);
+        }
+    }
+
+    /**
+     * 移除已经写入数据库的过期版本
+     *
+     * @param actionId 保留该版本及之后的版本
+     * @return 移除的版本数
+     */
+    public int evictBefore(Long actionId) {
+        int evicted = 0;
+        for (Long id : entries.keySet()) {
+            if (id < actionId && !dirty.contains(id)) {
+                entries.remove(id);
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * 新生成的版本写入数据库后重新载入，期间修改过的运行状态以内存为准
+     */
+    private void reload(HeraAction action) {
+        Entry entry = entries.putIfAbsent(action.getId(), new Entry(snapshot(action)));
+        if (entry == null) {
+            return;
+        }
+        synchronized (entry) {
+            HeraAction snapshot = snapshot(action);
+            boolean changed = !sameState(entry.current(), action);
+            copyState(entry.action, snapshot);
+            copyState(entry.action, action);
+            snapshot.setGmtModified(entry.action.getGmtModified());
+            entry.replace(snapshot);
+            if (changed) {
+                ScheduleLog.info("版本生成期间运行状态发生变化，以内存为准:{}", action.getId());
+                record(entry.action);
+            }
+        }
+    }
+
+    private <T extends HeraAction> List<T> overlay(List<T> actions) {
+        if (actions != null) {
+            actions.forEach(this::overlay);
+        }
+        return actions;
+    }
+
+    private <T extends HeraAction> T overlay(T action) {
+        if (action != null) {
+            Entry entry = entries.get(action.getId());
+            if (entry != null) {
+                synchronized (entry) {
+                    copyState(entry.current(), action);
+                }
+            }
+        }
+        return action;
+    }
+
+    public int getDirtyCount() {
+        return dirty.size();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public int insert(HeraAction heraAction, Long nowAction) {
+        flush();
+        int res = delegate.insert(heraAction, nowAction);
+        reload(heraAction);
+        return res;
+    }
+
+    @Override
+    public List<HeraAction> batchInsert(List<HeraAction> heraActionList, Long nowAction) {
+        //生成版本时按照数据库中的状态合并，先写入内存中的状态
+        flush();
+        List<HeraAction> res = delegate.batchInsert(heraActionList, nowAction);
+        heraActionList.forEach(this::reload);
+        return res;
+    }
+
+    @Override
+    public int delete(String id) {
+        int res = delegate.delete(id);
+        Long actionId = Long.parseLong(id);
+        entries.remove(actionId);
+        synchronized (journalLock) {
+            dirty.remove(actionId);
+        }
+        return res;
+    }
+
+    @Override
+    public int update(HeraAction heraAction) {
+        return mutate(heraAction.getId(), action -> {
+            BeanUtils.copyProperties(heraAction, action);
+            strip(action);
+        }) == null ? 0 : 1;
+    }
+
+    @Override
+    public List<HeraAction> getAll() {
+        return overlay(delegate.getAll());
+    }
+
+    @Override
+    public HeraAction findById(String actionId) {
+        HeraAction heraAction = findState(actionId);
+        return heraAction == null ? null : withDefinition(heraAction);
+    }
+
+    /**
+     * @return 不包含任务定义字段的版本
+     */
+    private HeraAction findState(String actionId) {
+        Entry entry = entry(Long.parseLong(actionId));
+        if (entry == null) {
+            return null;
+        }
+        synchronized (entry) {
+            return copy(entry.current());
+        }
+    }
+
+    @Override
+    public HeraAction findLatestByJobId(String jobId) {
+        return overlay(delegate.findLatestByJobId(jobId));
+    }
+
+    @Override
+    public List<HeraAction> findByJobId(String jobId) {
+        return overlay(delegate.findByJobId(jobId));
+    }
+
+    @Override
+    public int updateStatus(JobStatus jobStatus) {
+        HeraAction tmp = BeanConvertUtils.convert(jobStatus);
+        return mutate(tmp.getId(), action -> {
+            action.setStatus(tmp.getStatus());
+            action.setReadyDependency(tmp.getReadyDependency());
+            action.setHistoryId(jobStatus.getHistoryId());
+        }) == null ? 0 : 1;
+    }
+
+    @Override
+    public Tuple<HeraActionVo, JobStatus> findHeraActionVo(String actionId) {
+        HeraAction heraAction = findById(actionId);
+        if (heraAction == null) {
+            return null;
+        }
+        return BeanConvertUtils.convert(heraAction);
+    }
+
+    @Override
+    public JobStatus findJobStatus(String actionId) {
+        HeraAction heraAction = findState(actionId);
+        return heraAction == null ? null : jobStatus(heraAction);
+    }
+
+    @Override
+    public JobStatus findJobStatusByJobId(String jobId) {
+        HeraAction heraAction = delegate.findLatestByJobId(jobId);
+        return findJobStatus(heraAction.getId().toString());
+    }
+
+    @Override
+    public Integer updateStatus(HeraAction heraAction) {
+        return mutate(heraAction.getId(), action -> action.setStatus(heraAction.getStatus())) == null ? 0 : 1;
+    }
+
+    @Override
+    public Integer updateStatusAndReadDependency(HeraAction heraAction) {
+        return mutate(heraAction.getId(), action -> {
+            action.setStatus(heraAction.getStatus());
+            action.setReadyDependency(heraAction.getReadyDependency());
+        }) == null ? 0 : 1;
+    }
+
+    @Override
+    public int addReadyDependency(String actionId, String dependency) {
+        Entry entry = entry(Long.parseLong(actionId));
+        if (entry == null) {
+            return -1;
+        }
+        long now = System.currentTimeMillis();
+        synchronized (entry) {
+            DependencyCountdown countdown = entry.countdown();
+            if (countdown.satisfy(dependency, now)) {
+                entry.readyChanged = true;
+                entry.action.setGmtModified(new Date(now));
+                //只记录新就绪的依赖，写入数据库时再转换为json
+                synchronized (journalLock) {
+                    try {
+                        journal.appendReady(entry.action.getId(), dependency, now);
+                    } catch (IOException e) {
+                        ErrorLog.error("版本状态预写日志写入失败:" + actionId, e);
+                    }
+                    dirty.add(entry.action.getId());
+                }
+            }
+            return countdown.getRemaining();
+        }
+    }
+
+    @Override
+    public void batchUpdateState(List<HeraAction> heraActionList) {
+        delegate.batchUpdateState(heraActionList);
+    }
+
+    @Override
+    public List<HeraAction> getAfterAction(Long action) {
+        List<HeraAction> actions = delegate.getAfterAction(action);
+        //master启动时载入全部缓存的版本
+        for (HeraAction heraAction : actions) {
+            Entry entry = entries.computeIfAbsent(heraAction.getId(), id -> new Entry(snapshot(heraAction)));
+            synchronized (entry) {
+                copyState(entry.current(), heraAction);
+            }
+        }
+        return actions;
+    }
+
+    @Override
+    public List<String> getActionVersionByJobId(Long jobId) {
+        return delegate.getActionVersionByJobId(jobId);
+    }
+
+    @Override
+    public List<HeraActionVo> getNotRunScheduleJob() {
+        return delegate.getNotRunScheduleJob();
+    }
+
+    @Override
+    public List<HeraActionVo> getFailedJob() {
+        return delegate.getFailedJob();
+    }
+
+    @Override
+    public List<GroupTaskVo> findByJobIds(List<Integer> idList, String startDate, String endDate, TablePageForm pageForm, String status) {
+        return delegate.findByJobIds(idList, startDate, endDate, pageForm, status);
+    }
+
+    @Override
+    public void deleteHistoryRecord(Integer beforeDay) {
+        delegate.deleteHistoryRecord(beforeDay);
+    }
+
+    @Override
+    public void deleteAllHistoryRecord(Integer beforeDay) {
+        delegate.deleteAllHistoryRecord(beforeDay);
+    }
+}
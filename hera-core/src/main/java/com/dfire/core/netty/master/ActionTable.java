@@ -0,0 +1,355 @@
+package com.dfire.core.netty.master;
+
+import com.dfire.common.constants.Constants;
+import com.dfire.common.entity.HeraAction;
+import com.dfire.common.enums.StatusEnum;
+import org.apache.commons.lang.StringUtils;
+
+import java.util.Arrays;
+
+/**
+ * master缓存的版本表，代替ConcurrentHashMap<Long, HeraAction>
+ * 只保存调度需要的列，按列存放在基本类型数组中，脚本、配置等通过jobId引用任务定义，不再每个版本复制一份
+ * actionId -> 行号使用线性探测的开放寻址索引，删除时把最后一行移动到被删除的位置，保持各列紧凑
+ */
+public class ActionTable {
+
+    /**
+     * 索引中的空位，版本id不会为0
+     */
+    private static final long FREE = 0L;
+
+    private static final long NO_HISTORY = -1L;
+
+    private static final StatusEnum[] STATUSES = StatusEnum.values();
+
+    private long[] keys;
+
+    private int[] slots;
+
+    private int mask;
+
+    private long[] ids;
+
+    private int[] jobIds;
+
+    /**
+     * 0表示没有状态，其它为StatusEnum.ordinal() + 1
+     */
+    private byte[] statuses;
+
+    private long[] historyIds;
+
+    private byte[] autos;
+
+    private int[] hostGroupIds;
+
+    /**
+     * 依赖的版本id，没有依赖时为null
+     */
+    private long[][] dependencies;
+
+    private int size;
+
+    public ActionTable() {
+        this(16);
+    }
+
+    public ActionTable(int expectedSize) {
+        int rows = Math.max(expectedSize, 16);
+        ids = new long[rows];
+        jobIds = new int[rows];
+        statuses = new byte[rows];
+        historyIds = new long[rows];
+        autos = new byte[rows];
+        hostGroupIds = new int[rows];
+        dependencies = new long[rows][];
+        int capacity = Integer.highestOneBit(rows * 2 - 1) << 1;
+        keys = new long[capacity];
+        slots = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int hash(long id) {
+        id ^= id >>> 33;
+        id *= 0xff51afd7ed558ccdL;
+        id ^= id >>> 33;
+        return (int) id;
+    }
+
+    private static byte encodeStatus(String status) {
+        StatusEnum statusEnum = StatusEnum.parse(status);
+        return statusEnum == null ? 0 : (byte) (statusEnum.ordinal() + 1);
+    }
+
+    private static long encodeHistoryId(String historyId) {
+        if (StringUtils.isBlank(historyId)) {
+            return NO_HISTORY;
+        }
+        try {
+            return Long.parseLong(historyId.trim());
+        } catch (NumberFormatException e) {
+            return NO_HISTORY;
+        }
+    }
+
+    private static long[] encodeDependencies(String dependencies) {
+        if (StringUtils.isBlank(dependencies)) {
+            return null;
+        }
+        String[] split = dependencies.split(Constants.COMMA);
+        long[] res = new long[split.length];
+        int size = 0;
+        for (String dependency : split) {
+            if (StringUtils.isNotBlank(dependency)) {
+                res[size++] = Long.parseLong(dependency.trim());
+            }
+        }
+        return size == res.length ? res : Arrays.copyOf(res, size);
+    }
+
+    /**
+     * @return 行号，不存在时为-1
+     */
+    private int row(long id) {
+        for (int i = hash(id) & mask; keys[i] != FREE; i = (i + 1) & mask) {
+            if (keys[i] == id) {
+                return slots[i];
+            }
+        }
+        return -1;
+    }
+
+    private void index(long id, int row) {
+        int i = hash(id) & mask;
+        while (keys[i] != FREE && keys[i] != id) {
+            i = (i + 1) & mask;
+        }
+        keys[i] = id;
+        slots[i] = row;
+    }
+
+    private void unindex(long id) {
+        int i = hash(id) & mask;
+        while (keys[i] != id) {
+            if (keys[i] == FREE) {
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        //后移删除，把探测链上后面的元素前移，不留墓碑
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            if (keys[j] == FREE) {
+                break;
+            }
+            int home = hash(keys[j]) & mask;
+            if (i <= j ? (i < home && home <= j) : (i < home || home <= j)) {
+                continue;
+            }
+            keys[i] = keys[j];
+            slots[i] = slots[j];
+            i = j;
+        }
+        keys[i] = FREE;
+    }
+
+    private void grow() {
+        int rows = ids.length * 2;
+        ids = Arrays.copyOf(ids, rows);
+        jobIds = Arrays.copyOf(jobIds, rows);
+        statuses = Arrays.copyOf(statuses, rows);
+        historyIds = Arrays.copyOf(historyIds, rows);
+        autos = Arrays.copyOf(autos, rows);
+        hostGroupIds = Arrays.copyOf(hostGroupIds, rows);
+        dependencies = Arrays.copyOf(dependencies, rows);
+        int capacity = keys.length * 2;
+        keys = new long[capacity];
+        slots = new int[capacity];
+        mask = capacity - 1;
+        for (int row = 0; row < size; row++) {
+            index(ids[row], row);
+        }
+    }
+
+    private int rowFor(long id) {
+        int row = row(id);
+        if (row >= 0) {
+            return row;
+        }
+        if (size == ids.length) {
+            grow();
+        }
+        row = size++;
+        ids[row] = id;
+        index(id, row);
+        return row;
+    }
+
+    /**
+     * 添加或者覆盖版本，只保留调度需要的列
+     *
+     * @param action 版本
+     */
+    public synchronized void put(HeraAction action) {
+        int row = rowFor(action.getId());
+        jobIds[row] = action.getJobId() == null ? (int) (action.getId() % 1000000) : action.getJobId();
+        statuses[row] = encodeStatus(action.getStatus());
+        historyIds[row] = encodeHistoryId(action.getHistoryId());
+        autos[row] = (byte) (action.getAuto() == null ? 0 : action.getAuto());
+        hostGroupIds[row] = action.getHostGroupId();
+        dependencies[row] = encodeDependencies(action.getDependencies());
+    }
+
+    /**
+     * 从另一个版本表复制一行
+     *
+     * @param from 版本表
+     * @param id   版本id
+     */
+    public void copy(ActionTable from, long id) {
+        int jobId;
+        byte status;
+        long historyId;
+        byte auto;
+        int hostGroupId;
+        long[] deps;
+        synchronized (from) {
+            int src = from.row(id);
+            if (src < 0) {
+                return;
+            }
+            jobId = from.jobIds[src];
+            status = from.statuses[src];
+            historyId = from.historyIds[src];
+            auto = from.autos[src];
+            hostGroupId = from.hostGroupIds[src];
+            deps = from.dependencies[src];
+        }
+        synchronized (this) {
+            int row = rowFor(id);
+            jobIds[row] = jobId;
+            statuses[row] = status;
+            historyIds[row] = historyId;
+            autos[row] = auto;
+            hostGroupIds[row] = hostGroupId;
+            //依赖数组创建后不再修改，可以共享
+            dependencies[row] = deps;
+        }
+    }
+
+    public synchronized boolean contains(long id) {
+        return row(id) >= 0;
+    }
+
+    public synchronized boolean remove(long id) {
+        int row = row(id);
+        if (row < 0) {
+            return false;
+        }
+        unindex(id);
+        int last = --size;
+        if (row != last) {
+            ids[row] = ids[last];
+            jobIds[row] = jobIds[last];
+            statuses[row] = statuses[last];
+            historyIds[row] = historyIds[last];
+            autos[row] = autos[last];
+            hostGroupIds[row] = hostGroupIds[last];
+            dependencies[row] = dependencies[last];
+            index(ids[row], row);
+        }
+        dependencies[last] = null;
+        return true;
+    }
+
+    /**
+     * 删除一个任务的所有版本
+     *
+     * @param jobId 任务id
+     * @return 删除的版本数
+     */
+    public synchronized int removeJob(int jobId) {
+        int removed = 0;
+        for (int row = size - 1; row >= 0; row--) {
+            if (jobIds[row] == jobId) {
+                remove(ids[row]);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @return 所有版本id的快照
+     */
+    public synchronized long[] ids() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    /**
+     * @return 任务id，版本不存在时为-1
+     */
+    public synchronized int getJobId(long id) {
+        int row = row(id);
+        return row < 0 ? -1 : jobIds[row];
+    }
+
+    public synchronized String getStatus(long id) {
+        int row = row(id);
+        return row < 0 || statuses[row] == 0 ? null : STATUSES[statuses[row] - 1].toString();
+    }
+
+    public synchronized String getHistoryId(long id) {
+        int row = row(id);
+        return row < 0 || historyIds[row] == NO_HISTORY ? null : String.valueOf(historyIds[row]);
+    }
+
+    /**
+     * @return 是否开启，版本不存在时为null
+     */
+    public synchronized Integer getAuto(long id) {
+        int row = row(id);
+        return row < 0 ? null : (int) autos[row];
+    }
+
+    public synchronized int getHostGroupId(long id) {
+        int row = row(id);
+        return row < 0 ? 0 : hostGroupIds[row];
+    }
+
+    /**
+     * @return 依赖的版本id，没有依赖或者版本不存在时为null，不要修改返回的数组
+     */
+    public synchronized long[] getDependencies(long id) {
+        int row = row(id);
+        return row < 0 ? null : dependencies[row];
+    }
+
+    public synchronized void setStatus(long id, String status) {
+        int row = row(id);
+        if (row >= 0) {
+            statuses[row] = encodeStatus(status);
+        }
+    }
+
+    /**
+     * 同步版本的运行状态
+     *
+     * @param id        版本id
+     * @param status    状态
+     * @param historyId 运行记录id
+     */
+    public synchronized void updateState(long id, String status, String historyId) {
+        int row = row(id);
+        if (row >= 0) {
+            statuses[row] = encodeStatus(status);
+            historyIds[row] = encodeHistoryId(historyId);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.dfire.core.netty.master;
+
+import com.dfire.common.constants.Constants;
+import com.dfire.common.util.StringUtil;
+import org.apache.commons.lang.StringUtils;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 一个版本的依赖就绪情况，代替每次解析、序列化readyDependency
+ * 上游版本按id排序后对应一个位，位从0变为1时剩余计数减一，都通过CAS完成，不需要加锁
+ * 只在写入数据库、读取状态时才转换为readyDependency的json
+ */
+public class DependencyCountdown {
+
+    /**
+     * 排序后的上游版本id，下标即位的位置
+     */
+    private final long[] upstream;
+
+    private final AtomicLongArray bits;
+
+    /**
+     * 上游就绪的时间，与位一起写入
+     */
+    private final long[] readyTimes;
+
+    private final AtomicInteger remaining;
+
+    /**
+     * 不在上游中的就绪记录，依赖修改前记录的，原样保留
+     */
+    private final Map<String, String> others = new ConcurrentHashMap<>(0);
+
+    private DependencyCountdown(long[] upstream) {
+        this.upstream = upstream;
+        this.bits = new AtomicLongArray((upstream.length + 63) >>> 6);
+        this.readyTimes = new long[upstream.length];
+        this.remaining = new AtomicInteger(upstream.length);
+    }
+
+    /**
+     * @param dependencies    版本的依赖，逗号分隔
+     * @param readyDependency 已经就绪的依赖，json
+     * @return 依赖就绪情况
+     */
+    public static DependencyCountdown of(String dependencies, String readyDependency) {
+        long[] upstream;
+        if (StringUtils.isBlank(dependencies)) {
+            upstream = new long[0];
+        } else {
+            upstream = Arrays.stream(dependencies.split(Constants.COMMA))
+                    .filter(StringUtils::isNotBlank)
+                    .mapToLong(dependency -> Long.parseLong(dependency.trim()))
+                    .sorted()
+                    .distinct()
+                    .toArray();
+        }
+        DependencyCountdown countdown = new DependencyCountdown(upstream);
+        if (StringUtils.isNotBlank(readyDependency)) {
+            for (Map.Entry<String, String> entry : StringUtil.convertStringToMap(readyDependency).entrySet()) {
+                long time;
+                try {
+                    time = Long.parseLong(entry.getValue());
+                } catch (NumberFormatException e) {
+                    countdown.others.put(entry.getKey(), entry.getValue());
+                    continue;
+                }
+                countdown.satisfy(entry.getKey(), time);
+            }
+        }
+        return countdown;
+    }
+
+    private int slot(String upstreamActionId) {
+        long id;
+        try {
+            id = Long.parseLong(upstreamActionId.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+        int slot = Arrays.binarySearch(upstream, id);
+        return slot < 0 ? -1 : slot;
+    }
+
+    /**
+     * 记录一个上游版本就绪
+     *
+     * @param upstreamActionId 上游版本id
+     * @param time             就绪时间
+     * @return 是否是第一次就绪
+     */
+    public boolean satisfy(String upstreamActionId, long time) {
+        int slot = slot(upstreamActionId);
+        if (slot < 0) {
+            return others.put(upstreamActionId, String.valueOf(time)) == null;
+        }
+        int word = slot >>> 6;
+        long mask = 1L << (slot & 63);
+        while (true) {
+            long bit = bits.get(word);
+            if ((bit & mask) != 0) {
+                return false;
+            }
+            readyTimes[slot] = time;
+            if (bits.compareAndSet(word, bit, bit | mask)) {
+                remaining.decrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    public boolean isReady(String upstreamActionId) {
+        int slot = slot(upstreamActionId);
+        if (slot < 0) {
+            return others.containsKey(upstreamActionId);
+        }
+        return (bits.get(slot >>> 6) & (1L << (slot & 63))) != 0;
+    }
+
+    /**
+     * @return 未就绪的上游版本数
+     */
+    public int getRemaining() {
+        return remaining.get();
+    }
+
+    /**
+     * @return readyDependency的json格式
+     */
+    public String toJson() {
+        Map<String, String> ready = new TreeMap<>(others);
+        for (int slot = 0; slot < upstream.length; slot++) {
+            if ((bits.get(slot >>> 6) & (1L << (slot & 63))) != 0) {
+                ready.put(String.valueOf(upstream[slot]), String.valueOf(readyTimes[slot]));
+            }
+        }
+        return StringUtil.convertMapToString(ready);
+    }
+}
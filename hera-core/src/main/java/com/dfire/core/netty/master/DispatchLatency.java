@@ -0,0 +1,94 @@
+package com.dfire.core.netty.master;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 任务从进入队列到分发给worker的延迟统计
+ * 按固定区间计数，百分位取所在区间的上界，每次输出后清零
+ */
+public class DispatchLatency {
+
+    /**
+     * 区间上界(ms)，最后一个区间为大于60s
+     */
+    private static final long[] BOUNDS = {10, 50, 100, 500, 1000, 3000, 5000, 10000, 30000, 60000};
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BOUNDS.length + 1);
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder total = new LongAdder();
+
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * worker推送的容量变化次数
+     */
+    private final LongAdder capacityPush = new LongAdder();
+
+    /**
+     * 容量变化后唤醒扫描的次数
+     */
+    private final LongAdder capacityWakeup = new LongAdder();
+
+    public void record(long latency) {
+        if (latency < 0) {
+            latency = 0;
+        }
+        int index = 0;
+        while (index < BOUNDS.length && latency > BOUNDS[index]) {
+            index++;
+        }
+        buckets.incrementAndGet(index);
+        count.increment();
+        total.add(latency);
+        max.accumulateAndGet(latency, Math::max);
+    }
+
+    public void capacityPushed(boolean wakeup) {
+        capacityPush.increment();
+        if (wakeup) {
+            capacityWakeup.increment();
+        }
+    }
+
+    /**
+     * 输出上次输出以来的统计并清零
+     *
+     * @return 统计信息
+     */
+    public String snapshotAndReset() {
+        long[] snapshot = new long[buckets.length()];
+        long num = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = buckets.getAndSet(i, 0);
+            num += snapshot[i];
+        }
+        long sum = total.sumThenReset();
+        count.reset();
+        return "[dispatched:" + num + ",avg:" + (num == 0 ? 0 : sum / num) + "ms,p50:" + percentile(snapshot, num, 0.5)
+                + ",p99:" + percentile(snapshot, num, 0.99) + ",max:" + max.getAndSet(0) + "ms,capacityPush:"
+                + capacityPush.sumThenReset() + ",capacityWakeup:" + capacityWakeup.sumThenReset() + "]";
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    private String percentile(long[] snapshot, long num, double percent) {
+        if (num == 0) {
+            return "0ms";
+        }
+        long target = (long) Math.ceil(num * percent);
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= target) {
+                return i < BOUNDS.length ? "<=" + BOUNDS[i] + "ms" : ">" + BOUNDS[BOUNDS.length - 1] + "ms";
+            }
+        }
+        return ">" + BOUNDS[BOUNDS.length - 1] + "ms";
+    }
+}
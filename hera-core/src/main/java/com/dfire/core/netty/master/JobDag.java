@@ -0,0 +1,117 @@
+package com.dfire.core.netty.master;
+
+import com.dfire.common.constants.Constants;
+import com.dfire.common.entity.HeraJob;
+import com.dfire.common.entity.Judge;
+import lombok.Getter;
+import org.apache.commons.lang.StringUtils;
+
+import java.util.*;
+
+/**
+ * 任务依赖图快照，记录生成版本时每个任务的修改时间与下游关系
+ * 增量生成版本时用于找出变更的任务以及受影响的下游任务
+ */
+public class JobDag {
+
+    /**
+     * 生成版本时hera_job表的水位
+     */
+    @Getter
+    private final Judge judge;
+
+    /**
+     * 版本日期前缀
+     */
+    @Getter
+    private final String cronDate;
+
+    /**
+     * jobId -> 最后修改时间
+     */
+    private final Map<Integer, Long> modifiedMap;
+
+    /**
+     * jobId -> 直接依赖该任务的下游任务
+     */
+    private final Map<Integer, Set<Integer>> downstreamMap;
+
+    public JobDag(List<HeraJob> jobList, Judge judge, String cronDate) {
+        this.judge = judge;
+        this.cronDate = cronDate;
+        modifiedMap = new HashMap<>(jobList.size());
+        downstreamMap = new HashMap<>(jobList.size());
+        for (HeraJob heraJob : jobList) {
+            modifiedMap.put(heraJob.getId(), heraJob.getGmtModified() == null ? 0L : heraJob.getGmtModified().getTime());
+            if (StringUtils.isBlank(heraJob.getDependencies())) {
+                continue;
+            }
+            for (String dependency : heraJob.getDependencies().split(Constants.COMMA)) {
+                if (StringUtils.isNotBlank(dependency)) {
+                    downstreamMap.computeIfAbsent(Integer.parseInt(dependency.trim()), k -> new HashSet<>()).add(heraJob.getId());
+                }
+            }
+        }
+    }
+
+    /**
+     * 与上次生成版本时相比，hera_job表是否没有任何变化
+     *
+     * @param last 上次生成版本时的快照
+     * @return true:没有变化
+     */
+    public boolean sameWatermark(JobDag last) {
+        return last != null && judge != null && last.judge != null
+                && Objects.equals(judge.getCount(), last.judge.getCount())
+                && Objects.equals(judge.getMaxId(), last.judge.getMaxId())
+                && Objects.equals(judge.getLastModified(), last.judge.getLastModified());
+    }
+
+    /**
+     * 找出与上次快照相比新增、修改、删除的任务
+     *
+     * @param last 上次生成版本时的快照
+     * @return 变更的jobId
+     */
+    public Set<Integer> changedJobs(JobDag last) {
+        Set<Integer> changed = new HashSet<>();
+        for (Map.Entry<Integer, Long> entry : modifiedMap.entrySet()) {
+            if (!entry.getValue().equals(last.modifiedMap.get(entry.getKey()))) {
+                changed.add(entry.getKey());
+            }
+        }
+        for (Integer jobId : last.modifiedMap.keySet()) {
+            if (!modifiedMap.containsKey(jobId)) {
+                changed.add(jobId);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * 任务以及所有直接、间接下游任务的集合
+     *
+     * @param jobIds 起始任务
+     * @return 下游闭包，包含起始任务
+     */
+    public Set<Integer> downstreamClosure(Set<Integer> jobIds) {
+        Set<Integer> closure = new HashSet<>(jobIds);
+        Deque<Integer> queue = new ArrayDeque<>(jobIds);
+        while (!queue.isEmpty()) {
+            Set<Integer> downstream = downstreamMap.get(queue.poll());
+            if (downstream == null) {
+                continue;
+            }
+            for (Integer jobId : downstream) {
+                if (closure.add(jobId)) {
+                    queue.add(jobId);
+                }
+            }
+        }
+        return closure;
+    }
+
+    public int size() {
+        return modifiedMap.size();
+    }
+}
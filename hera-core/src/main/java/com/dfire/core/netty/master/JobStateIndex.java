@@ -0,0 +1,175 @@
+package com.dfire.core.netty.master;
+
+import com.dfire.common.enums.TriggerTypeEnum;
+import com.dfire.common.util.ActionUtil;
+import com.dfire.common.vo.JobElement;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * jobId -> 排队、运行状态的索引，检查任务是否重复时不再遍历任务队列和所有worker的运行集合
+ * 调度任务与恢复任务共用调度队列，按调度类型记录；开发中心任务不检查重复，不记录
+ * 入队、分发、取消、执行完成、worker断开时同步修改
+ */
+public class JobStateIndex {
+
+    /**
+     * jobId -> 调度队列(包括机器组等待队列)中的个数
+     */
+    private final Map<Integer, Integer> scheduleQueued = new ConcurrentHashMap<>();
+
+    /**
+     * jobId -> 手动队列(包括机器组等待队列)中的个数
+     */
+    private final Map<Integer, Integer> manualQueued = new ConcurrentHashMap<>();
+
+    /**
+     * jobId -> 正在执行调度任务的worker
+     */
+    private final Map<Integer, Set<MasterWorkHolder>> scheduleRunning = new ConcurrentHashMap<>();
+
+    /**
+     * jobId -> 正在执行手动任务的worker
+     */
+    private final Map<Integer, Set<MasterWorkHolder>> manualRunning = new ConcurrentHashMap<>();
+
+    private Map<Integer, Integer> queued(TriggerTypeEnum triggerType) {
+        if (triggerType == TriggerTypeEnum.MANUAL) {
+            return manualQueued;
+        }
+        if (triggerType == TriggerTypeEnum.SCHEDULE || triggerType == TriggerTypeEnum.MANUAL_RECOVER) {
+            return scheduleQueued;
+        }
+        return null;
+    }
+
+    private Map<Integer, Set<MasterWorkHolder>> running(TriggerTypeEnum triggerType) {
+        if (triggerType == TriggerTypeEnum.MANUAL) {
+            return manualRunning;
+        }
+        if (triggerType == TriggerTypeEnum.SCHEDULE || triggerType == TriggerTypeEnum.MANUAL_RECOVER) {
+            return scheduleRunning;
+        }
+        return null;
+    }
+
+    private static Set<Integer> holderRunning(MasterWorkHolder workHolder, TriggerTypeEnum triggerType) {
+        return triggerType == TriggerTypeEnum.MANUAL ? workHolder.getManningRunning() : workHolder.getRunning();
+    }
+
+    /**
+     * 任务进入队列，需要在放入队列之前调用，避免分发早于入队记录
+     *
+     * @param jobElement 任务
+     */
+    public void enqueue(JobElement jobElement) {
+        Map<Integer, Integer> queued = queued(jobElement.getTriggerType());
+        Integer jobId = ActionUtil.getJobId(jobElement.getJobId());
+        if (queued != null && jobId != null) {
+            queued.merge(jobId, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * 任务离开队列：分发或者被取消
+     *
+     * @param jobElement 任务
+     */
+    public void dequeue(JobElement jobElement) {
+        Map<Integer, Integer> queued = queued(jobElement.getTriggerType());
+        Integer jobId = ActionUtil.getJobId(jobElement.getJobId());
+        if (queued != null && jobId != null) {
+            queued.computeIfPresent(jobId, (id, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    public boolean isQueued(TriggerTypeEnum triggerType, Integer jobId) {
+        Map<Integer, Integer> queued = queued(triggerType);
+        return queued != null && queued.containsKey(jobId);
+    }
+
+    /**
+     * 任务分发到worker执行
+     *
+     * @param workHolder  worker
+     * @param triggerType 触发类型
+     * @param jobId       任务id
+     */
+    public void run(MasterWorkHolder workHolder, TriggerTypeEnum triggerType, Integer jobId) {
+        Map<Integer, Set<MasterWorkHolder>> running = running(triggerType);
+        if (running == null) {
+            return;
+        }
+        running.compute(jobId, (id, workers) -> {
+            if (workers == null) {
+                workers = ConcurrentHashMap.newKeySet();
+            }
+            workers.add(workHolder);
+            holderRunning(workHolder, triggerType).add(jobId);
+            return workers;
+        });
+    }
+
+    /**
+     * 任务在worker上执行结束或者被取消
+     *
+     * @param workHolder  worker
+     * @param triggerType 触发类型
+     * @param jobId       任务id
+     */
+    public void finish(MasterWorkHolder workHolder, TriggerTypeEnum triggerType, Integer jobId) {
+        Map<Integer, Set<MasterWorkHolder>> running = running(triggerType);
+        if (running == null) {
+            return;
+        }
+        holderRunning(workHolder, triggerType).remove(jobId);
+        running.computeIfPresent(jobId, (id, workers) -> {
+            workers.remove(workHolder);
+            return workers.isEmpty() ? null : workers;
+        });
+    }
+
+    /**
+     * 任务在所有worker上的执行记录都结束，用于信号丢失后重跑
+     *
+     * @param triggerType 触发类型
+     * @param jobId       任务id
+     */
+    public void finishAll(TriggerTypeEnum triggerType, Integer jobId) {
+        for (MasterWorkHolder workHolder : getRunningWorkers(triggerType, jobId)) {
+            finish(workHolder, triggerType, jobId);
+        }
+    }
+
+    /**
+     * @return 正在执行该任务的worker，没有时为空集合
+     */
+    public Set<MasterWorkHolder> getRunningWorkers(TriggerTypeEnum triggerType, Integer jobId) {
+        Map<Integer, Set<MasterWorkHolder>> running = running(triggerType);
+        Set<MasterWorkHolder> workers = running == null ? null : running.get(jobId);
+        return workers == null ? Collections.emptySet() : workers;
+    }
+
+    /**
+     * worker断开后，不再认为它在执行任务
+     *
+     * @param workHolder worker
+     */
+    public void removeWorker(MasterWorkHolder workHolder) {
+        for (Integer jobId : workHolder.getRunning()) {
+            scheduleRunning.computeIfPresent(jobId, (id, workers) -> {
+                workers.remove(workHolder);
+                return workers.isEmpty() ? null : workers;
+            });
+        }
+        for (Integer jobId : workHolder.getManningRunning()) {
+            manualRunning.computeIfPresent(jobId, (id, workers) -> {
+                workers.remove(workHolder);
+                return workers.isEmpty() ? null : workers;
+            });
+        }
+    }
+}
@@ -11,11 +11,11 @@ import com.dfire.common.enums.TriggerTypeEnum;
 import com.dfire.common.kv.Tuple;
 import com.dfire.common.util.ActionUtil;
 import com.dfire.common.util.BeanConvertUtils;
-import com.dfire.common.util.HeraDateTool;
 import com.dfire.common.util.StringUtil;
 import com.dfire.common.vo.JobElement;
 import com.dfire.config.HeraGlobalEnv;
 import com.dfire.core.event.Dispatcher;
+import com.dfire.core.event.PartitionEventBus;
 import com.dfire.core.event.handler.AbstractHandler;
 import com.dfire.core.event.handler.JobHandler;
 import com.dfire.core.event.listenter.HeraAddJobListener;
@@ -26,7 +26,6 @@ import com.dfire.core.message.HeartBeatInfo;
 import com.dfire.core.netty.master.constant.MasterConstant;
 import com.dfire.core.route.loadbalance.LoadBalance;
 import com.dfire.core.route.loadbalance.LoadBalanceFactory;
-import com.dfire.core.util.CronParse;
 import com.dfire.event.Events;
 import com.dfire.event.HeraJobLostEvent;
 import com.dfire.event.HeraJobMaintenanceEvent;
@@ -36,15 +35,15 @@ import io.netty.channel.Channel;
 import lombok.Getter;
 import org.apache.commons.lang.StringUtils;
 import org.joda.time.DateTime;
-import org.springframework.beans.BeanUtils;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import javax.mail.MessagingException;
 import java.text.SimpleDateFormat;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 /**
@@ -57,18 +56,30 @@ import java.util.stream.Collectors;
 public class Master {
 
     private MasterContext masterContext;
+    /**
+     * 缓存时间内的版本
+     */
     @Getter
-    private ConcurrentHashMap<Long, HeraAction> heraActionMap;
+    private volatile ActionTable actionTable = new ActionTable();
 
 
     private volatile boolean isGenerateActioning = false;
 
+    /**
+     * 上次批量生成版本时的任务依赖图快照
+     */
+    private JobDag lastJobDag;
+
     private LoadBalance loadBalance;
 
     private MasterRunJob masterRunJob;
 
     private Channel lastWork;
 
+    private final AtomicBoolean scanning = new AtomicBoolean(false);
+
+    private final AtomicBoolean rescan = new AtomicBoolean(false);
+
     public void init(MasterContext masterContext) {
         this.masterContext = masterContext;
         masterRunJob = new MasterRunJob(masterContext, this);
@@ -85,12 +96,13 @@ public class Master {
             masterContext.getDispatcher().addDispatcherListener(new HeraJobSuccessListener(masterContext));
             List<HeraAction> allJobList = masterContext.getHeraJobActionService().getAfterAction(getBeforeDayAction());
             HeraLog.info("-----------------------------action size:{}, time {}-----------------------------", allJobList.size(), System.currentTimeMillis());
-            heraActionMap = new ConcurrentHashMap<>(allJobList.size());
+            ActionTable table = new ActionTable(allJobList.size());
             allJobList.forEach(heraAction -> {
                 masterContext.getDispatcher().
-                        addJobHandler(new JobHandler(heraAction.getId().toString(), this, masterContext));
-                heraActionMap.put(heraAction.getId(), heraAction);
+                        addJobHandler(new JobHandler(heraAction.getId().toString(), heraAction.getDependencies(), this, masterContext));
+                table.put(heraAction);
             });
+            actionTable = table;
             HeraLog.info("-----------------------------add actions to handler success, time:{}-----------------------------", System.currentTimeMillis());
             masterContext.getDispatcher().forwardEvent(Events.Initialize);
             HeraLog.info("-----------------------------dispatcher actions success, time{}-----------------------------", System.currentTimeMillis());
@@ -130,7 +142,7 @@ public class Master {
         //只在整点生成版本
         masterContext.masterSchedule.scheduleAtFixedRate(() -> {
             try {
-                generateBatchAction();
+                generateBatchAction(true);
                 if (DateTime.now().getHourOfDay() == MasterConstant.MORNING_TIME) {
                     clearInvalidAction();
                 }
@@ -154,14 +166,14 @@ public class Master {
             String currDate = ActionUtil.getCurrActionVersion();
             Dispatcher dispatcher = masterContext.getDispatcher();
             if (dispatcher != null) {
-                Map<Long, HeraAction> actionMapNew = heraActionMap;
-                if (actionMapNew != null && actionMapNew.size() > 0) {
+                ActionTable table = actionTable;
+                if (table.size() > 0) {
                     List<Long> actionIdList = new ArrayList<>();
                     Long tmp = Long.parseLong(currDate) - MasterConstant.PRE_CHECK_MIN;
-                    for (Long actionId : actionMapNew.keySet()) {
+                    for (long actionId : table.ids()) {
                         if (actionId < tmp) {
-                            rollBackLostJob(actionId, actionMapNew, actionIdList);
-                            checkLostSingle(actionId, actionMapNew);
+                            rollBackLostJob(actionId, table, actionIdList);
+                            checkLostSingle(actionId, table);
                         }
                     }
                     ScheduleLog.info("roll back action count:" + actionIdList.size());
@@ -176,28 +188,23 @@ public class Master {
      * 漏跑检测
      *
      * @param actionId     版本id
-     * @param actionMapNew actionMap集合
+     * @param table        版本表
      * @param actionIdList 重跑的actionId
      */
 
-    private void rollBackLostJob(Long actionId, Map<Long, HeraAction> actionMapNew, List<Long> actionIdList) {
-        HeraAction lostJob = actionMapNew.get(actionId);
-        boolean isCheck = lostJob != null
-                && lostJob.getAuto() == 1
-                && lostJob.getStatus() == null;
-        if (isCheck && checkJobRun(masterContext.getHeraJobService().findById(lostJob.getJobId()))) {
-            String dependencies = lostJob.getDependencies();
-            if (StringUtils.isNotBlank(dependencies)) {
-                List<String> jobDependList = Arrays.asList(dependencies.split(Constants.COMMA));
+    private void rollBackLostJob(Long actionId, ActionTable table, List<Long> actionIdList) {
+        Integer auto = table.getAuto(actionId);
+        boolean isCheck = auto != null
+                && auto == 1
+                && table.getStatus(actionId) == null;
+        if (isCheck && checkJobRun(masterContext.getHeraJobService().findById(table.getJobId(actionId)))) {
+            long[] dependencies = table.getDependencies(actionId);
+            if (dependencies != null && dependencies.length > 0) {
                 boolean isAllComplete = false;
-                HeraAction heraAction;
-                if (jobDependList.size() > 0) {
-                    for (String jobDepend : jobDependList) {
-                        heraAction = actionMapNew.get(Long.parseLong(jobDepend));
-                        if (heraAction != null) {
-                            if (!(isAllComplete = StatusEnum.SUCCESS.toString().equals(heraAction.getStatus()))) {
-                                break;
-                            }
+                for (long jobDepend : dependencies) {
+                    if (table.contains(jobDepend)) {
+                        if (!(isAllComplete = StatusEnum.SUCCESS.toString().equals(table.getStatus(jobDepend)))) {
+                            break;
                         }
                     }
                 }
@@ -241,16 +248,12 @@ public class Master {
      * 信号丢失处理
      *
      * @param actionId     hera_action 表信息id /版本id
-     * @param actionMapNew hera_action 内存信息 /内存保存的今天版本信息
+     * @param table        hera_action 内存信息 /内存保存的今天版本信息
      */
-    private void checkLostSingle(Long actionId, Map<Long, HeraAction> actionMapNew) {
+    private void checkLostSingle(Long actionId, ActionTable table) {
         try {
-            HeraAction checkJob = actionMapNew.get(actionId);
-            if (checkJob == null) {
-                return;
-            }
-            if (StatusEnum.RUNNING.toString().equals(checkJob.getStatus())) {
-                HeraJobHistory actionHistory = masterContext.getHeraJobHistoryService().findById(checkJob.getHistoryId());
+            if (StatusEnum.RUNNING.toString().equals(table.getStatus(actionId))) {
+                HeraJobHistory actionHistory = masterContext.getHeraJobHistoryService().findById(table.getHistoryId(actionId));
                 if (actionHistory == null) {
                     return;
                 }
@@ -263,13 +266,7 @@ public class Master {
                             boolean scheduleType = actionHistory.getTriggerType().equals(TriggerTypeEnum.SCHEDULE.getId())
                                     || actionHistory.getTriggerType().equals(TriggerTypeEnum.MANUAL_RECOVER.getId());
                             //TODO 可以选择重跑 or 广播 + 设置状态 这里偷懒 直接重跑
-                            masterContext.getWorkMap().values().forEach(workHolder -> {
-                                if (scheduleType) {
-                                    workHolder.getRunning().remove(jobId);
-                                } else {
-                                    workHolder.getManningRunning().remove(jobId);
-                                }
-                            });
+                            masterContext.getJobStateIndex().finishAll(scheduleType ? TriggerTypeEnum.SCHEDULE : TriggerTypeEnum.MANUAL, jobId);
                             startNewJob(actionHistory, "任务信号丢失重试");
                         }
                     }, 1, TimeUnit.MINUTES);
@@ -299,7 +296,8 @@ public class Master {
 
     /**
      * 扫描任务等待队列，可获得worker的任务将执行
-     * 对于没有可运行机器的时，manual,debug任务重新offer到原队列
+     * 对于没有可运行机器的任务，放入所在机器组的等待队列
+     * 除了定时扫描，有任务入队或者收到worker心跳时也会立即扫描
      */
     private void waitingQueueCheck() {
 
@@ -314,7 +312,7 @@ public class Master {
             @Override
             public void run() {
                 try {
-                    if (!masterRunJob.isTaskLimit() && scan()) {
+                    if (runScan()) {
                         nextTime = HeraGlobalEnv.getScanRate();
                     } else {
                         nextTime = (nextTime + DELAY_TIME) > MAX_DELAY_TIME ? MAX_DELAY_TIME : nextTime + DELAY_TIME;
@@ -326,6 +324,75 @@ public class Master {
                 }
             }
         }, HeraGlobalEnv.getScanRate(), TimeUnit.MILLISECONDS);
+
+        //每分钟输出一次任务从入队到分发的延迟与io线程利用率
+        masterContext.masterSchedule.scheduleAtFixedRate(() -> {
+            ScanLog.info("任务分发延迟" + masterContext.getDispatchLatency().snapshotAndReset());
+            if (masterContext.getMasterServer() != null) {
+                SocketLog.info("io线程利用率" + masterContext.getMasterServer().getIoThreadMetrics().snapshotAndReset());
+            }
+            if (masterContext.getHandler() != null) {
+                SocketLog.info("消息处理线程" + masterContext.getHandler().getChannelExecutor());
+            }
+        }, 1, 1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * 唤醒扫描，用于任务入队和worker心跳
+     */
+    public void wakeupScan() {
+        if (scanning.get() && rescan.get()) {
+            return;
+        }
+        if (masterContext.getScheduleQueue().isEmpty() && masterContext.getManualQueue().isEmpty()
+                && masterContext.getDebugQueue().isEmpty() && masterContext.getWaitingSize() == 0) {
+            return;
+        }
+        masterContext.masterSchedule.execute(() -> {
+            try {
+                runScan();
+            } catch (Exception e) {
+                ScanLog.error("scan waiting queueTask exception", e);
+            }
+        });
+    }
+
+    /**
+     * worker推送容量变化或者心跳时，只有该worker所在机器组有等待任务或者有新入队任务时才唤醒扫描
+     *
+     * @param host worker的host
+     */
+    public void wakeupScan(String host) {
+        boolean wakeup = !masterContext.getScheduleQueue().isEmpty() || !masterContext.getManualQueue().isEmpty()
+                || !masterContext.getDebugQueue().isEmpty() || masterContext.hasWaitingJob(host);
+        masterContext.getDispatchLatency().capacityPushed(wakeup);
+        if (wakeup) {
+            wakeupScan();
+        }
+    }
+
+    /**
+     * 同一时刻只有一个线程扫描，扫描期间被唤醒时，结束后再扫描一次
+     *
+     * @return 是否分发了任务
+     */
+    private boolean runScan() throws InterruptedException {
+        boolean hasTask = false;
+        do {
+            if (!scanning.compareAndSet(false, true)) {
+                rescan.set(true);
+                return hasTask;
+            }
+            try {
+                do {
+                    rescan.set(false);
+                    hasTask |= !masterRunJob.isTaskLimit() && scan();
+                } while (rescan.get());
+            } finally {
+                scanning.set(false);
+            }
+        } while (rescan.get());
+        return hasTask;
     }
 
 
@@ -349,25 +416,35 @@ public class Master {
                     removeChannel.add(channel);
                 }
             }
-            removeChannel.forEach(workMap::remove);
+            removeChannel.forEach(masterContext::removeWorkHolder);
         }, 0, 1, TimeUnit.MINUTES);
     }
 
 
     public boolean generateSingleAction(Integer jobId) {
         ScheduleLog.info("单个任务版本生成：{}", jobId);
-        return generateAction(true, jobId);
+        return generateAction(true, false, jobId);
     }
 
     public boolean generateBatchAction() {
-        ScheduleLog.info("全量任务版本生成");
+        return generateBatchAction(false);
+    }
+
+    /**
+     * 批量生成版本
+     *
+     * @param incremental 是否增量生成，增量时只为上次生成后变更的任务及其下游重新生成版本
+     * @return 是否成功
+     */
+    public boolean generateBatchAction(boolean incremental) {
+        ScheduleLog.info(incremental ? "增量任务版本生成" : "全量任务版本生成");
         long begin = System.currentTimeMillis();
-        boolean flag = generateAction(false, null);
+        boolean flag = generateAction(false, incremental, null);
         ScheduleLog.info("生成版本时间:" + (System.currentTimeMillis() - begin) + " ms");
         return flag;
     }
 
-    private boolean generateAction(boolean isSingle, Integer jobId) {
+    private boolean generateAction(boolean isSingle, boolean incremental, Integer jobId) {
         try {
             if (isGenerateActioning) {
                 return true;
@@ -386,49 +463,61 @@ public class Master {
                     now = nextDayString.getTarget();
                 }
                 Long nowAction = Long.parseLong(currString);
-                ConcurrentHashMap<Long, HeraAction> actionMap = new ConcurrentHashMap<>(heraActionMap.size());
+                String cronDate = ActionUtil.getActionVersionPrefix(now);
+                ActionTable actionMap = new ActionTable(actionTable.size());
                 List<HeraJob> jobList = new ArrayList<>();
+                Map<Integer, List<HeraAction>> idMap = new HashMap<>();
+                JobDag jobDag = null;
                 //批量生成
                 if (!isSingle) {
                     isGenerateActioning = true;
+                    //先取水位再取任务，保证水位不会比任务新
+                    Judge judge = masterContext.getHeraJobService().getJudge();
                     jobList = masterContext.getHeraJobService().getAll();
+                    jobDag = new JobDag(jobList, judge, cronDate);
+                    //增量生成只在同一天的版本已经全量生成过后进行，跨天或生成第二天版本时仍然全量生成
+                    if (incremental && executeHour < ActionUtil.ACTION_CREATE_MAX_HOUR
+                            && lastJobDag != null && cronDate.equals(lastJobDag.getCronDate())) {
+                        if (jobDag.sameWatermark(lastJobDag)) {
+                            ScheduleLog.info("任务没有变化，跳过版本生成");
+                            return true;
+                        }
+                        Set<Integer> changed = jobDag.changedJobs(lastJobDag);
+                        Set<Integer> affected = jobDag.downstreamClosure(changed);
+                        ScheduleLog.info("增量生成版本，任务总数:{}，变更任务数:{}，受影响任务数:{}", jobDag.size(), changed.size(), affected.size());
+                        jobList = prepareIncremental(jobList, affected, actionMap, idMap);
+                    }
                 } else { //单个任务生成版本
                     HeraJob heraJob = masterContext.getHeraJobService().findById(jobId);
                     jobList.add(heraJob);
-                    actionMap = heraActionMap;
-                    List<Long> shouldRemove = new ArrayList<>();
-                    for (Long actionId : actionMap.keySet()) {
-                        if (StringUtil.actionIdToJobId(String.valueOf(actionId), String.valueOf(jobId))) {
-                            shouldRemove.add(actionId);
-                        }
+                    actionMap = actionTable;
+                    actionMap.removeJob(jobId);
+                    for (JobHandler jobHandler : masterContext.getDispatcher().getJobHandlers(jobId)) {
+                        masterContext.deleteScheduleJob(jobHandler.getActionId());
+                        masterContext.getDispatcher().removeJobHandler(jobHandler);
                     }
-                    shouldRemove.forEach(actionMap::remove);
-                    List<AbstractHandler> handlers = new ArrayList<>(masterContext.getDispatcher().getJobHandlers());
-                    if (handlers.size() > 0) {
-                        for (AbstractHandler handler : handlers) {
-                            JobHandler jobHandler = (JobHandler) handler;
-                            if (StringUtil.actionIdToJobId(jobHandler.getActionId(), String.valueOf(jobId))) {
-                                masterContext.getQuartzSchedulerService().deleteJob(jobHandler.getActionId());
-                                masterContext.getDispatcher().removeJobHandler(jobHandler);
-                            }
-                        }
-                    }
-                }
-                String cronDate = ActionUtil.getActionVersionPrefix(now);
-                Map<Integer, List<HeraAction>> idMap = new HashMap<>(jobList.size());
-                Map<Integer, HeraJob> jobMap = new HashMap<>(jobList.size());
-                generateScheduleJobAction(jobList, cronDate, actionMap, nowAction, idMap, jobMap);
-                for (Map.Entry<Integer, HeraJob> entry : jobMap.entrySet()) {
-                    generateDependJobAction(jobMap, entry.getValue(), actionMap, nowAction, idMap);
                 }
+                //本次新生成的版本
+                Map<Long, HeraAction> generateMap = new HashMap<>();
+                long generateBegin = System.currentTimeMillis();
+                int levels = masterContext.getActionGenerator().generate(jobList, cronDate, idMap,
+                        insertList -> batchInsertList(insertList, generateMap, nowAction));
+                long generateCost = Math.max(System.currentTimeMillis() - generateBegin, 1);
+                ScheduleLog.info("版本写入{}条，依赖任务{}层，耗时{}ms，{}条/秒", generateMap.size(), levels,
+                        generateCost, generateMap.size() * 1000L / generateCost);
+                generateMap.values().forEach(actionMap::put);
                 if (executeHour < ActionUtil.ACTION_CREATE_MAX_HOUR) {
-                    heraActionMap = actionMap;
+                    actionTable = actionMap;
+                    if (jobDag != null) {
+                        lastJobDag = jobDag;
+                    }
                 }
                 Dispatcher dispatcher = masterContext.getDispatcher();
                 if (dispatcher != null) {
-                    if (actionMap.size() > 0) {
-                        for (Long id : actionMap.keySet()) {
-                            dispatcher.addJobHandler(new JobHandler(id.toString(), masterContext.getMaster(), masterContext));
+                    if (generateMap.size() > 0) {
+                        for (Map.Entry<Long, HeraAction> entry : generateMap.entrySet()) {
+                            Long id = entry.getKey();
+                            dispatcher.addJobHandler(new JobHandler(id.toString(), entry.getValue().getDependencies(), masterContext.getMaster(), masterContext));
                             //如果是今天的版本 更新缓存
                             if (ActionUtil.isTodayActionVersion(id.toString())) {
                                 dispatcher.forwardEvent(new HeraJobMaintenanceEvent(Events.UpdateActions, id.toString()));
@@ -449,45 +538,36 @@ public class Master {
     }
 
     /**
-     * 自动任务的版本生成
+     * 增量生成前的准备：保留未受影响任务的版本，并把它们放入idMap作为依赖任务生成版本的基准
      *
-     * @param jobList   任务集合
-     * @param cronDate  日期
-     * @param actionMap actionMap集合
-     * @param nowAction 生成版本时间的action
-     * @param idMap     已经遍历过的idMap
-     * @param jobMap    依赖任务map映射
+     * @param jobList   所有任务
+     * @param affected  需要重新生成版本的任务
+     * @param actionMap 保留的版本
+     * @param idMap     jobId -> 版本集合，依赖任务生成版本时只需要版本id
+     * @return 需要重新生成版本的任务
      */
-    public void generateScheduleJobAction(List<HeraJob> jobList, String cronDate, Map<Long, HeraAction> actionMap, Long nowAction, Map<Integer, List<HeraAction>> idMap, Map<Integer, HeraJob> jobMap) {
-        List<HeraAction> insertActionList = new ArrayList<>();
+    private List<HeraJob> prepareIncremental(List<HeraJob> jobList, Set<Integer> affected, ActionTable actionMap, Map<Integer, List<HeraAction>> idMap) {
+        ActionTable table = actionTable;
+        for (long actionId : table.ids()) {
+            Integer actionJobId = ActionUtil.getJobId(String.valueOf(actionId));
+            if (!affected.contains(actionJobId)) {
+                actionMap.copy(table, actionId);
+                idMap.computeIfAbsent(actionJobId, k -> new ArrayList<>()).add(HeraAction.builder().id(actionId).jobId(actionJobId).build());
+            }
+        }
+        //与全量生成时的顺序保持一致
+        idMap.values().forEach(actions -> actions.sort(Comparator.comparing(HeraAction::getId)));
+        List<HeraJob> affectedJobs = new ArrayList<>(affected.size());
         for (HeraJob heraJob : jobList) {
-            if (heraJob.getScheduleType() != null) {
-                if (heraJob.getScheduleType() == 1) {
-                    jobMap.put(heraJob.getId(), heraJob);
-                } else if (heraJob.getScheduleType() == 0) {
-                    String cron = heraJob.getCronExpression();
-                    List<String> list = new ArrayList<>();
-                    if (StringUtils.isNotBlank(cron)) {
-                        boolean isCronExp = CronParse.Parser(cron, cronDate, list);
-                        if (!isCronExp) {
-                            HeraLog.warn("cron parse error,jobId={},cron = {}", heraJob.getId(), cron);
-                            continue;
-                        }
-                        List<HeraAction> heraAction = createHeraAction(list, heraJob);
-                        idMap.put(heraJob.getId(), heraAction);
-                        insertActionList.addAll(heraAction);
-                    }
-                } else {
-                    ErrorLog.error("任务{}未知的调度类型{}", heraJob.getId(), heraJob.getScheduleType());
-                }
-
+            if (affected.contains(heraJob.getId())) {
+                affectedJobs.add(heraJob);
+            } else {
+                idMap.putIfAbsent(heraJob.getId(), new ArrayList<>(0));
             }
         }
-        batchInsertList(insertActionList, actionMap, nowAction);
-
+        return affectedJobs;
     }
 
-
     /**
      * 批量插入
      *
@@ -518,38 +598,6 @@ public class Master {
     }
 
 
-    /**
-     * 生成action
-     *
-     * @param list    表格cronTab 表达式，对应多了时间点的版本集合
-     * @param heraJob hera_job 表对象
-     * @return 更新后的action 信息，保存到内存
-     */
-    private List<HeraAction> createHeraAction(List<String> list, HeraJob heraJob) {
-        List<HeraAction> heraActionList = new ArrayList<>();
-        for (String str : list) {
-            String actionDate = HeraDateTool.StringToDateStr(str, ActionUtil.DEFAULT_FORMAT, ActionUtil.ACTION_MIN);
-            String actionCron = HeraDateTool.StringToDateStr(str, ActionUtil.DEFAULT_FORMAT, ActionUtil.ACTION_CRON) + " ?";
-            HeraAction heraAction = new HeraAction();
-            BeanUtils.copyProperties(heraJob, heraAction);
-            Long actionId = Long.parseLong(actionDate) * 1000000 + Long.parseLong(String.valueOf(heraJob.getId()));
-            heraAction.setId(actionId);
-            heraAction.setCronExpression(actionCron);
-            heraAction.setGmtCreate(new Date());
-            heraAction.setJobId(heraJob.getId());
-            heraAction.setHistoryId(heraJob.getHistoryId());
-            heraAction.setAuto(heraJob.getAuto());
-            heraAction.setGmtModified(new Date());
-            heraAction.setJobDependencies(null);
-            heraAction.setDependencies(null);
-            heraAction.setReadyDependency(null);
-            heraAction.setHostGroupId(heraJob.getHostGroupId());
-            heraActionList.add(heraAction);
-        }
-        return heraActionList;
-    }
-
-
     private void clearInvalidAction() {
         ScheduleLog.warn("开始进行版本清理");
         Dispatcher dispatcher = masterContext.getDispatcher();
@@ -557,7 +605,7 @@ public class Master {
         Long nextDay = ActionUtil.getLongNextDayActionVersion();
         Long preCheckTime = currDate - MasterConstant.PRE_CHECK_MIN;
 
-        Map<Long, HeraAction> actionMapNew = heraActionMap;
+        ActionTable table = actionTable;
         //移除未生成的调度
         List<AbstractHandler> handlers = dispatcher.getJobHandlers();
         List<JobHandler> shouldRemove = new ArrayList<>();
@@ -568,10 +616,10 @@ public class Master {
                 String actionId = jobHandler.getActionId();
                 Long aid = Long.parseLong(actionId);
                 if (Long.parseLong(actionId) < preCheckTime) {
-                    masterContext.getQuartzSchedulerService().deleteJob(actionId);
+                    masterContext.deleteScheduleJob(actionId);
                 } else if (aid >= currDate && aid < nextDay) {
-                    if (!actionMapNew.containsKey(aid)) {
-                        masterContext.getQuartzSchedulerService().deleteJob(actionId);
+                    if (!table.contains(aid)) {
+                        masterContext.deleteScheduleJob(actionId);
                         masterContext.getHeraJobActionService().delete(actionId);
                         shouldRemove.add(jobHandler);
                     }
@@ -584,147 +632,115 @@ public class Master {
         }
         //移除 过期 失效的handler
         shouldRemove.forEach(dispatcher::removeJobHandler);
+        if (masterContext.getActionStateStore() != null) {
+            masterContext.getActionStateStore().evictBefore(Long.parseLong(dayAction));
+        }
         ScheduleLog.warn("版本清理完成,清理handler个数为:" + shouldRemove.size());
     }
 
 
     /**
-     * 递归生成任务依赖action
-     *
-     * @param jobMap    任务映射map
-     * @param heraJob   当前生成版本的任务
-     * @param actionMap 版本map
-     * @param nowAction 生成版本时间的action
-     * @param idMap     job的id集合  只要已经检测过的id都放入idSet中
+     * 扫描任务等待队列，批量取出任务去执行
+     * 先分发机器组等待队列中的任务，再批量取出新入队的任务，机器组没有可用worker时放入该机器组的等待队列
+     * 调度、手动、开发中心任务轮流分发，一种任务排满时不会让其它类型的任务一直等待
      */
-    private void generateDependJobAction(Map<Integer, HeraJob> jobMap, HeraJob heraJob, Map<Long, HeraAction> actionMap, Long nowAction, Map<Integer, List<HeraAction>> idMap) {
-        if (heraJob == null || idMap.containsKey(heraJob.getId())) {
-            return;
-        }
-        String jobDependencies = heraJob.getDependencies();
-        if (StringUtils.isNotBlank(jobDependencies)) {
-            Map<String, List<HeraAction>> dependenciesMap = new HashMap<>(1024);
-            String[] dependencies = jobDependencies.split(Constants.COMMA);
-            String actionMinDeps = "";
-            boolean noAction = false;
-            for (String dependentId : dependencies) {
-                Integer dpId = Integer.parseInt(dependentId);
-                //如果idSet不包含依赖任务dpId  则递归查找
-                if (!idMap.containsKey(dpId)) {
-                    generateDependJobAction(jobMap, jobMap.get(dpId), actionMap, nowAction, idMap);
-                }
-                List<HeraAction> dpActions = idMap.get(dpId);
-                dependenciesMap.put(dependentId, dpActions);
-                if (dpActions == null || dpActions.size() == 0) {
-                    HeraLog.info("{}今天找不到版本，无法为任务{}生成版本", dependentId, heraJob.getId());
-                    noAction = true;
-                    break;
-                }
-                if (StringUtils.isBlank(actionMinDeps)) {
-                    actionMinDeps = dependentId;
-                }
-                //找到所依赖的任务中版本最少的作为基准版本。
-                if (dependenciesMap.get(actionMinDeps).size() > dependenciesMap.get(dependentId).size()) {
-                    actionMinDeps = dependentId;
-                } else if (dependenciesMap.get(dependentId).size() > 0 && dependenciesMap.get(actionMinDeps).size() == dependenciesMap.get(dependentId).size() &&
-                        dependenciesMap.get(actionMinDeps).get(0).getId() < dependenciesMap.get(dependentId).get(0).getId()) {
-                    //如果两个版本的个数一样  那么应该找一个时间较大的
-                    actionMinDeps = dependentId;
+    public boolean scan() throws InterruptedException {
+        long begin = System.currentTimeMillis();
+        int dispatched = 0;
+        //本次扫描中已经无法分发的等待队列(机器组+任务类型)，不再阻塞同一机器组的其它类型任务
+        Set<Long> fullQueues = new HashSet<>();
+        for (Map.Entry<Integer, List<BlockingQueue<JobElement>>> entry : masterContext.getWaitingQueue().entrySet()) {
+            List<BlockingQueue<JobElement>> queues = entry.getValue();
+            boolean progress = true;
+            while (progress && !masterRunJob.isTaskLimit()) {
+                progress = false;
+                //每轮从每种类型的等待队列各取一个
+                for (int index = 0; index < queues.size() && !masterRunJob.isTaskLimit(); index++) {
+                    long queueKey = queueKey(entry.getKey(), index);
+                    BlockingQueue<JobElement> queue = queues.get(index);
+                    JobElement jobElement = queue.peek();
+                    if (jobElement == null || fullQueues.contains(queueKey)) {
+                        continue;
+                    }
+                    MasterWorkHolder selectWork = getRunnableWork(jobElement);
+                    if (selectWork == null) {
+                        fullQueues.add(queueKey);
+                        continue;
+                    }
+                    //可能已经被取消
+                    if (queue.remove(jobElement)) {
+                        dispatch(selectWork, jobElement);
+                        dispatched++;
+                    }
+                    progress = true;
                 }
             }
-            if (noAction) {
-                idMap.put(heraJob.getId(), null);
+        }
+        List<JobElement> batch = drainBatch();
+        for (JobElement jobElement : batch) {
+            int hostGroupId = jobElement.getHostGroupId();
+            long queueKey = queueKey(hostGroupId, MasterContext.waitingQueueIndex(jobElement.getTriggerType()));
+            //同一个机器组内同类型任务保持顺序，已有同类型任务在等待时新任务也进入等待队列
+            if (masterRunJob.isTaskLimit() || fullQueues.contains(queueKey) || masterContext.hasWaitingJob(hostGroupId, jobElement.getTriggerType())) {
+                masterContext.parkJobElement(jobElement);
+                continue;
+            }
+            MasterWorkHolder selectWork = getRunnableWork(jobElement);
+            if (selectWork == null) {
+                fullQueues.add(queueKey);
+                masterContext.parkJobElement(jobElement);
+                ScheduleLog.warn("can not get work to execute job in master,job is:{}", jobElement.toString());
             } else {
-                List<HeraAction> actionMinList = dependenciesMap.get(actionMinDeps);
-                if (actionMinList != null && actionMinList.size() > 0) {
-                    List<HeraAction> insertList = new ArrayList<>();
-                    for (HeraAction action : actionMinList) {
-                        StringBuilder actionDependencies = new StringBuilder(action.getId().toString());
-                        Long longActionId = Long.parseLong(actionDependencies.toString());
-                        for (String dependency : dependencies) {
-                            if (!dependency.equals(actionMinDeps)) {
-                                List<HeraAction> otherAction = dependenciesMap.get(dependency);
-                                if (otherAction == null || otherAction.size() == 0) {
-                                    continue;
-                                }
-                                //找到一个离基准版本时间最近的action，添加为该任务的依赖
-                                String otherActionId = otherAction.get(0).getId().toString();
-                                for (HeraAction o : otherAction) {
-                                    if (Math.abs(o.getId() - longActionId) < Math.abs(Long.parseLong(otherActionId) - longActionId)) {
-                                        otherActionId = o.getId().toString();
-                                    }
-                                }
-                                actionDependencies.append(",");
-                                actionDependencies.append(Long.parseLong(otherActionId) / 1000000 * 1000000 + Long.parseLong(dependency));
-                            }
-                        }
-                        HeraAction actionNew = new HeraAction();
-                        BeanUtils.copyProperties(heraJob, actionNew);
-                        Long actionId = longActionId / 1000000 * 1000000 + Long.parseLong(String.valueOf(heraJob.getId()));
-                        actionNew.setId(actionId);
-                        actionNew.setGmtCreate(new Date());
-                        actionNew.setDependencies(actionDependencies.toString());
-                        actionNew.setJobDependencies(heraJob.getDependencies());
-                        actionNew.setJobId(heraJob.getId());
-                        actionNew.setAuto(heraJob.getAuto());
-                        actionNew.setHostGroupId(heraJob.getHostGroupId());
-                        masterContext.getHeraJobActionService().insert(actionNew, nowAction);
-                        actionMap.put(actionNew.getId(), actionNew);
-                        insertList.add(actionNew);
-                    }
-                    idMap.put(heraJob.getId(), insertList);
-                }
+                dispatch(selectWork, jobElement);
+                dispatched++;
             }
         }
+        if (dispatched > 0 || batch.size() > 0) {
+            long cost = Math.max(System.currentTimeMillis() - begin, 1);
+            ScanLog.info("本次扫描取出任务{}个，分发任务{}个，等待任务{}个，耗时{}ms，分发速率{}个/秒", batch.size(), dispatched,
+                    masterContext.getWaitingSize(), cost, dispatched * 1000L / cost);
+        }
+        return dispatched > 0;
 
     }
 
-
     /**
-     * 扫描任务等待队列，取出任务去执行
+     * 取出三个任务队列中的全部任务，按调度、手动、开发中心轮流排列
      */
-    public boolean scan() throws InterruptedException {
-        boolean hasTask = false;
-        if (!masterContext.getScheduleQueue().isEmpty()) {
-            JobElement jobElement = masterContext.getScheduleQueue().take();
-            MasterWorkHolder selectWork = getRunnableWork(jobElement);
-            if (selectWork == null) {
-                masterContext.getScheduleQueue().put(jobElement);
-                ScheduleLog.warn("can not get work to execute Schedule job in master,job is:{}", jobElement.toString());
-            } else {
-                masterRunJob.run(selectWork, jobElement);
-                hasTask = true;
+    private List<JobElement> drainBatch() {
+        List<JobElement> schedule = new ArrayList<>();
+        List<JobElement> manual = new ArrayList<>();
+        List<JobElement> debug = new ArrayList<>();
+        masterContext.getScheduleQueue().drainTo(schedule);
+        masterContext.getManualQueue().drainTo(manual);
+        masterContext.getDebugQueue().drainTo(debug);
+        List<JobElement> batch = new ArrayList<>(schedule.size() + manual.size() + debug.size());
+        int max = Math.max(schedule.size(), Math.max(manual.size(), debug.size()));
+        for (int i = 0; i < max; i++) {
+            if (i < schedule.size()) {
+                batch.add(schedule.get(i));
             }
-        }
-
-        if (!masterContext.getManualQueue().isEmpty()) {
-            JobElement jobElement = masterContext.getManualQueue().take();
-            MasterWorkHolder selectWork = getRunnableWork(jobElement);
-            if (selectWork == null) {
-                masterContext.getManualQueue().put(jobElement);
-                ScheduleLog.warn("can not get work to execute ManualQueue job in master,job is:{}", jobElement.toString());
-            } else {
-                masterRunJob.run(selectWork, jobElement);
-                hasTask = true;
+            if (i < manual.size()) {
+                batch.add(manual.get(i));
             }
-        }
-
-        if (!masterContext.getDebugQueue().isEmpty()) {
-            JobElement jobElement = masterContext.getDebugQueue().take();
-            MasterWorkHolder selectWork = getRunnableWork(jobElement);
-            if (selectWork == null) {
-                masterContext.getDebugQueue().put(jobElement);
-                ScheduleLog.warn("can not get work to execute DebugQueue job in master,job is:{}", jobElement.toString());
-            } else {
-                masterRunJob.run(selectWork, jobElement);
-                hasTask = true;
+            if (i < debug.size()) {
+                batch.add(debug.get(i));
             }
-
         }
-        return hasTask;
+        return batch;
+    }
 
+    private static long queueKey(int hostGroupId, int index) {
+        return (long) hostGroupId * MasterContext.WAITING_QUEUE_NUM + index;
     }
 
+    private void dispatch(MasterWorkHolder selectWork, JobElement jobElement) {
+        masterContext.getJobStateIndex().dequeue(jobElement);
+        if (jobElement.getEnqueueTime() > 0) {
+            masterContext.getDispatchLatency().record(System.currentTimeMillis() - jobElement.getEnqueueTime());
+        }
+        masterRunJob.run(selectWork, jobElement);
+    }
 
     /**
      * 获取hostGroupId中可以分发任务的worker
@@ -742,7 +758,7 @@ public class Master {
         Channel channel = selectWork.getChannel().getChannel();
         HeartBeatInfo beatInfo = selectWork.getHeartBeatInfo();
         // 如果最近两次选择的work一致  需要等待机器最新状态发来之后(睡眠)再进行任务分发
-        if (HeraGlobalEnv.getWarmUpCheck() > 0 && lastWork != null && channel == lastWork && (beatInfo.getCpuLoadPerCore() > 0.6F || beatInfo.getMemRate() > 0.7F)) {
+        if (loadBalance.needWarmUp() && HeraGlobalEnv.getWarmUpCheck() > 0 && lastWork != null && channel == lastWork && (beatInfo.getCpuLoadPerCore() > 0.6F || beatInfo.getMemRate() > 0.7F)) {
             ScheduleLog.info("达到预热条件，睡眠" + HeraGlobalEnv.getWarmUpCheck() + "秒");
             try {
                 TimeUnit.SECONDS.sleep(HeraGlobalEnv.getWarmUpCheck());
@@ -754,6 +770,7 @@ public class Master {
             return null;
         }
         lastWork = channel;
+        selectWork.dispatched();
         return selectWork;
     }
 
@@ -765,6 +782,7 @@ public class Master {
                 .triggerType(TriggerTypeEnum.DEBUG)
                 .fixedEmr(false)
                 .costMinute(-1)
+                .enqueueTime(System.currentTimeMillis())
                 .build();
         debugHistory.setStatus(StatusEnum.RUNNING);
         debugHistory.setStartTime(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date()));
@@ -772,6 +790,7 @@ public class Master {
         masterContext.getHeraDebugHistoryService().update(BeanConvertUtils.convert(debugHistory));
         try {
             masterContext.getDebugQueue().put(element);
+            wakeupScan();
         } catch (InterruptedException e) {
             ErrorLog.error("添加开发中心执行任务失败:" + element.getJobId(), e);
         }
@@ -869,16 +888,19 @@ public class Master {
                 .historyId(heraJobHistory.getId())
                 .fixedEmr(isFixed)
                 .costMinute(endMinute)
+                .enqueueTime(System.currentTimeMillis())
                 .build();
+        element.setTriggerType(heraJobHistory.getTriggerType() == TriggerTypeEnum.MANUAL ? TriggerTypeEnum.MANUAL : TriggerTypeEnum.SCHEDULE);
+        masterContext.getJobStateIndex().enqueue(element);
         try {
-            if (heraJobHistory.getTriggerType() == TriggerTypeEnum.MANUAL) {
-                element.setTriggerType(TriggerTypeEnum.MANUAL);
+            if (element.getTriggerType() == TriggerTypeEnum.MANUAL) {
                 masterContext.getManualQueue().put(element);
             } else {
-                element.setTriggerType(TriggerTypeEnum.SCHEDULE);
                 masterContext.getScheduleQueue().put(element);
             }
+            wakeupScan();
         } catch (InterruptedException e) {
+            masterContext.getJobStateIndex().dequeue(element);
             ErrorLog.error("添加任务" + element.getJobId() + "失败", e);
         }
     }
@@ -891,50 +913,28 @@ public class Master {
         }
         String actionId = heraJobHistory.getActionId();
         Integer jobId = heraJobHistory.getJobId();
+        JobStateIndex jobStateIndex = masterContext.getJobStateIndex();
 
         boolean exists = false;
-        if (heraJobHistory.getTriggerType() == TriggerTypeEnum.MANUAL_RECOVER || heraJobHistory.getTriggerType() == TriggerTypeEnum.SCHEDULE) {
-            // check调度器等待队列是否有此任务在排队
-            for (JobElement jobElement : masterContext.getScheduleQueue()) {
-                if (ActionUtil.jobEquals(jobElement.getJobId(), actionId)) {
-                    exists = true;
-                    if (!checkOnly) {
-                        heraJobHistory.getLog().append(LogConstant.CHECK_QUEUE_LOG);
-                    }
-                    TaskLog.warn("调度队列已存在该任务，添加失败 {}", actionId);
+        TriggerTypeEnum triggerType = heraJobHistory.getTriggerType();
+        if (triggerType == TriggerTypeEnum.MANUAL_RECOVER || triggerType == TriggerTypeEnum.SCHEDULE || triggerType == TriggerTypeEnum.MANUAL) {
+            boolean manual = triggerType == TriggerTypeEnum.MANUAL;
+            String queueLog = manual ? LogConstant.CHECK_MANUAL_QUEUE_LOG : LogConstant.CHECK_QUEUE_LOG;
+            // check等待队列是否有此任务在排队
+            if (jobStateIndex.isQueued(triggerType, jobId)) {
+                exists = true;
+                if (!checkOnly) {
+                    heraJobHistory.getLog().append(queueLog);
                 }
+                TaskLog.warn(manual ? "手动任务队列已存在该任务，添加失败 {}" : "调度队列已存在该任务，添加失败 {}", actionId);
             }
             // check所有的worker中是否有此任务的id在执行，如果有，不进入队列等待
-            for (MasterWorkHolder workHolder : masterContext.getWorkMap().values()) {
-                if (workHolder.getRunning().contains(jobId)) {
-                    exists = true;
-
-                    if (!checkOnly) {
-                        heraJobHistory.getLog().append(LogConstant.CHECK_QUEUE_LOG + "执行worker ip " + workHolder.getChannel().getLocalAddress());
-                    }
-                    TaskLog.warn("该任务正在执行，添加失败 {}", actionId);
-                }
-            }
-        } else if (heraJobHistory.getTriggerType() == TriggerTypeEnum.MANUAL) {
-
-            for (JobElement jobElement : masterContext.getManualQueue()) {
-                if (ActionUtil.jobEquals(jobElement.getJobId(), actionId)) {
-                    exists = true;
-                    if (!checkOnly) {
-                        heraJobHistory.getLog().append(LogConstant.CHECK_MANUAL_QUEUE_LOG);
-                    }
-                    TaskLog.warn("手动任务队列已存在该任务，添加失败 {}", actionId);
-                }
-            }
-
-            for (MasterWorkHolder workHolder : masterContext.getWorkMap().values()) {
-                if (workHolder.getManningRunning().contains(jobId)) {
-                    exists = true;
-                    if (!checkOnly) {
-                        heraJobHistory.getLog().append(LogConstant.CHECK_MANUAL_QUEUE_LOG + "执行worker ip " + workHolder.getChannel().getLocalAddress());
-                    }
-                    TaskLog.warn("该任务正在执行，添加失败 {}", actionId);
+            for (MasterWorkHolder workHolder : jobStateIndex.getRunningWorkers(triggerType, jobId)) {
+                exists = true;
+                if (!checkOnly) {
+                    heraJobHistory.getLog().append(queueLog + "执行worker ip " + workHolder.getChannel().getLocalAddress());
                 }
+                TaskLog.warn("该任务正在执行，添加失败 {}", actionId);
             }
         }
         if (exists && !checkOnly) {
@@ -960,14 +960,12 @@ public class Master {
         if (admin != null) {
             masterContext.getAlarmCenter().sendToEmail("警告:work断线了", ip, admin.getEmail());
         }
-        MasterWorkHolder workHolder = masterContext.getWorkMap().get(channel);
-        masterContext.getWorkMap().remove(channel);
+        MasterWorkHolder workHolder = masterContext.removeWorkHolder(channel);
         if (workHolder != null) {
-            List<String> scheduleTask = workHolder.getHeartBeatInfo().getRunning();
-
-            if (scheduleTask == null || scheduleTask.size() == 0) {
+            if (workHolder.getHeartBeatInfo() == null || workHolder.getHeartBeatInfo().getRunning().isEmpty()) {
                 return;
             }
+            List<String> scheduleTask = new ArrayList<>(workHolder.getHeartBeatInfo().getRunning());
             //十分钟后开始检查 work是否重连成功
             masterContext.masterSchedule.schedule(() -> {
                 try {
@@ -1019,7 +1017,7 @@ public class Master {
                                     newBeatInfo = masterContext.getWorkMap().get(newChannel).getHeartBeatInfo();
                                 }
                                 if (newBeatInfo != null) {
-                                    List<String> newRunning = newBeatInfo.getRunning();
+                                    Collection<String> newRunning = newBeatInfo.getRunning();
                                     //如果work新的心跳信息 包含该任务的信息 work继续执行即可
                                     if (newRunning.contains(action)) {
                                         SocketLog.warn("任务{}还在运行中，并且work重连后心跳信息存在，等待work执行完成", action);
@@ -1080,5 +1078,12 @@ public class Master {
 
     public void printThreadPoolLog() {
         masterRunJob.printThreadPoolLog();
+        PartitionEventBus eventBus = masterContext.getDispatcher().getEventBus();
+        if (eventBus != null) {
+            ScheduleLog.info("事件lane信息" + eventBus.getLaneMetrics());
+        }
+        if (masterContext.getHandler() != null) {
+            ScheduleLog.info("等待work返回的请求" + masterContext.getHandler().getCallTable());
+        }
     }
 }
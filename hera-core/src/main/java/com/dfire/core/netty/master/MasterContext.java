@@ -1,11 +1,13 @@
 package com.dfire.core.netty.master;
 
 import com.dfire.common.entity.vo.HeraHostGroupVo;
+import com.dfire.common.enums.TriggerTypeEnum;
 import com.dfire.common.service.*;
 import com.dfire.common.util.NamedThreadFactory;
 import com.dfire.config.HeraGlobalEnv;
 import com.dfire.core.event.Dispatcher;
 import com.dfire.core.quartz.QuartzSchedulerService;
+import com.dfire.core.schedule.ActionTimerWheel;
 import com.dfire.common.vo.JobElement;
 import com.dfire.logs.ErrorLog;
 import com.dfire.logs.HeraLog;
@@ -20,9 +22,12 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
-import java.util.Comparator;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.*;
+import java.util.function.Predicate;
 
 /**
  * @author: <a href="mailto:lingxiao@2dfire.com">凌霄</a>
@@ -37,10 +42,24 @@ import java.util.concurrent.*;
 @Order(2)
 public class MasterContext {
 
+    /**
+     * 每个机器组的等待队列数：调度、手动、开发中心
+     */
+    public static final int WAITING_QUEUE_NUM = 3;
+
     @Autowired
     private Master master;
 
     private Map<Channel, MasterWorkHolder> workMap = new ConcurrentHashMap<>();
+    /**
+     * host -> worker，收到心跳时建立，worker断开时删除
+     */
+    private Map<String, MasterWorkHolder> hostWorkMap = new ConcurrentHashMap<>();
+
+    /**
+     * 任务分发延迟统计
+     */
+    private final DispatchLatency dispatchLatency = new DispatchLatency();
     @Autowired
     private HeraHostGroupService heraHostGroupService;
     @Autowired
@@ -64,6 +83,10 @@ public class MasterContext {
     private HeraDebugHistoryService heraDebugHistoryService;
     @Autowired
     private HeraJobActionService heraJobActionService;
+    /**
+     * 版本运行状态以内存为准，关闭时为空，直接读写数据库
+     */
+    private ActionStateStore actionStateStore;
     @Autowired
     private AlarmCenter alarmCenter;
     @Autowired
@@ -72,10 +95,27 @@ public class MasterContext {
     private HeraSsoService heraSsoService;
 
     private Dispatcher dispatcher;
+    /**
+     * 时间轮调度，关闭时为空，使用quartz调度
+     */
+    private ActionTimerWheel actionTimerWheel;
+    /**
+     * 按依赖层级并行生成版本
+     */
+    private ActionGenerator actionGenerator;
     private Map<Integer, HeraHostGroupVo> hostGroupCache;
-    private BlockingQueue<JobElement> scheduleQueue = new PriorityBlockingQueue<>(10000, Comparator.comparing(JobElement::getPriorityLevel).reversed());
+    private BlockingQueue<JobElement> scheduleQueue = new PriorityBlockingQueue<>(10000, JobElement.PRIORITY_ORDER);
     private BlockingQueue<JobElement> debugQueue = new LinkedBlockingQueue<>(10000);
     private BlockingQueue<JobElement> manualQueue = new LinkedBlockingQueue<>(10000);
+    /**
+     * 机器组没有可用worker时，任务按机器组放入等待队列，hostGroupId -> 等待队列
+     * 每个机器组按任务队列类型分为调度(包括恢复)、手动、开发中心三个等待队列，分发时轮流取，保证各类型任务的公平
+     */
+    private Map<Integer, List<BlockingQueue<JobElement>>> waitingQueue = new ConcurrentHashMap<>();
+    /**
+     * jobId -> 排队、运行状态，用于检查任务是否重复
+     */
+    private JobStateIndex jobStateIndex = new JobStateIndex();
 
     private MasterHandler handler;
     private MasterServer masterServer;
@@ -95,7 +135,16 @@ public class MasterContext {
         masterSchedule.setKeepAliveTime(5, TimeUnit.MINUTES);
         masterSchedule.allowCoreThreadTimeOut(true);
         this.getQuartzSchedulerService().start();
-        dispatcher = new Dispatcher();
+        dispatcher = new Dispatcher(HeraGlobalEnv.getEventLaneNum());
+        if (HeraGlobalEnv.isTimerWheel()) {
+            actionTimerWheel = new ActionTimerWheel(dispatcher);
+        }
+        actionGenerator = new ActionGenerator(HeraGlobalEnv.getActionGenerateParallelism());
+        if (HeraGlobalEnv.getActionFlushInterval() > 0) {
+            actionStateStore = new ActionStateStore(heraJobActionService, master,
+                    new File(HeraGlobalEnv.getWorkDir(), "action-journal"), heraJobService::findMemById);
+            actionStateStore.start(HeraGlobalEnv.getActionFlushInterval());
+        }
         handler = new MasterHandler(this);
         masterServer = new MasterServer(handler);
         masterServer.start(HeraGlobalEnv.getConnectPort());
@@ -106,9 +155,26 @@ public class MasterContext {
     public void destroy() {
         threadPool.shutdown();
         masterSchedule.shutdown();
+        if (actionTimerWheel != null) {
+            actionTimerWheel.shutdown();
+        }
+        if (actionGenerator != null) {
+            actionGenerator.shutdown();
+        }
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
         if (masterServer != null) {
             masterServer.shutdown();
         }
+        if (handler != null) {
+            handler.getCallTable().shutdown();
+            handler.getChannelExecutor().shutdown();
+        }
+        if (actionStateStore != null) {
+            actionStateStore.shutdown();
+            actionStateStore = null;
+        }
         if (quartzSchedulerService != null) {
             try {
                 quartzSchedulerService.shutdown();
@@ -120,6 +186,192 @@ public class MasterContext {
         HeraLog.info("destroy master context success");
     }
 
+    /**
+     * 删除版本的定时调度
+     *
+     * @param actionId 版本id
+     */
+    public void deleteScheduleJob(String actionId) {
+        if (actionTimerWheel != null) {
+            actionTimerWheel.cancel(actionId);
+        } else {
+            quartzSchedulerService.deleteJob(actionId);
+        }
+    }
+
+    public HeraJobActionService getHeraJobActionService() {
+        return actionStateStore != null ? actionStateStore : heraJobActionService;
+    }
+
+    public MasterWorkHolder getWorkHolder(String host) {
+        return hostWorkMap.get(host);
+    }
+
+    /**
+     * 根据心跳中的host建立索引
+     *
+     * @param workHolder worker
+     */
+    public void indexWorkHolder(MasterWorkHolder workHolder) {
+        if (workHolder.getHeartBeatInfo() != null && workHolder.getHeartBeatInfo().getHost() != null) {
+            hostWorkMap.put(workHolder.getHeartBeatInfo().getHost().trim(), workHolder);
+        }
+    }
+
+    /**
+     * 删除worker以及host索引
+     *
+     * @param channel worker的channel
+     * @return 被删除的worker
+     */
+    public MasterWorkHolder removeWorkHolder(Channel channel) {
+        MasterWorkHolder workHolder = workMap.remove(channel);
+        if (workHolder != null) {
+            jobStateIndex.removeWorker(workHolder);
+        }
+        if (workHolder != null && workHolder.getHeartBeatInfo() != null && workHolder.getHeartBeatInfo().getHost() != null) {
+            hostWorkMap.remove(workHolder.getHeartBeatInfo().getHost().trim(), workHolder);
+        }
+        return workHolder;
+    }
+
+    /**
+     * 放入机器组的等待队列
+     *
+     * @param jobElement 任务
+     */
+    public void parkJobElement(JobElement jobElement) {
+        waitingQueue.computeIfAbsent(jobElement.getHostGroupId(), k -> {
+            List<BlockingQueue<JobElement>> queues = new ArrayList<>(WAITING_QUEUE_NUM);
+            //与任务队列的顺序一致：调度任务按优先级，手动与开发中心任务先进先出
+            queues.add(new PriorityBlockingQueue<>(64, JobElement.PRIORITY_ORDER));
+            queues.add(new LinkedBlockingQueue<>());
+            queues.add(new LinkedBlockingQueue<>());
+            return queues;
+        }).get(waitingQueueIndex(jobElement.getTriggerType())).add(jobElement);
+    }
+
+    /**
+     * 等待队列的下标：调度与恢复任务共用调度队列
+     *
+     * @param triggerType 触发类型
+     * @return 在机器组等待队列列表中的下标
+     */
+    public static int waitingQueueIndex(TriggerTypeEnum triggerType) {
+        if (triggerType == TriggerTypeEnum.DEBUG) {
+            return 2;
+        }
+        if (triggerType == TriggerTypeEnum.MANUAL) {
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * 机器组中该类型的任务是否有等待中的
+     */
+    public boolean hasWaitingJob(int hostGroupId, TriggerTypeEnum triggerType) {
+        List<BlockingQueue<JobElement>> queues = waitingQueue.get(hostGroupId);
+        return queues != null && !queues.get(waitingQueueIndex(triggerType)).isEmpty();
+    }
+
+    /**
+     * worker所在的机器组是否有等待中的任务
+     *
+     * @param host worker的host
+     * @return 是否有等待任务
+     */
+    public boolean hasWaitingJob(String host) {
+        Map<Integer, HeraHostGroupVo> hostGroups = getHostGroupCache();
+        for (Map.Entry<Integer, List<BlockingQueue<JobElement>>> entry : waitingQueue.entrySet()) {
+            if (entry.getValue().stream().allMatch(BlockingQueue::isEmpty)) {
+                continue;
+            }
+            //机器组信息还未加载，无法判断时按照有等待任务处理
+            if (hostGroups == null) {
+                return true;
+            }
+            HeraHostGroupVo hostGroup = hostGroups.get(entry.getKey());
+            if (hostGroup != null && hostGroup.getHosts() != null) {
+                for (String groupHost : hostGroup.getHosts()) {
+                    if (groupHost.trim().equals(host)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    public int getWaitingSize() {
+        int size = 0;
+        for (List<BlockingQueue<JobElement>> queues : waitingQueue.values()) {
+            for (BlockingQueue<JobElement> queue : queues) {
+                size += queue.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 获得某种类型排队中的任务，包括任务队列与机器组等待队列
+     *
+     * @param triggerType 任务队列类型 SCHEDULE/MANUAL/DEBUG
+     * @return 排队中的任务
+     */
+    public List<JobElement> getQueuedJobElements(TriggerTypeEnum triggerType) {
+        List<JobElement> elements = new ArrayList<>(getJobQueue(triggerType));
+        for (List<BlockingQueue<JobElement>> queues : waitingQueue.values()) {
+            for (JobElement jobElement : queues.get(waitingQueueIndex(triggerType))) {
+                if (jobElement.getTriggerType() == triggerType) {
+                    elements.add(jobElement);
+                }
+            }
+        }
+        return elements;
+    }
+
+    /**
+     * 从任务队列与机器组等待队列中删除排队的任务
+     *
+     * @param triggerType 任务队列类型 SCHEDULE/MANUAL/DEBUG
+     * @param id          任务id
+     * @return 是否删除成功
+     */
+    public boolean removeQueuedJobElement(TriggerTypeEnum triggerType, String id) {
+        if (removeQueued(getJobQueue(triggerType), jobElement -> jobElement.getJobId().equals(id))) {
+            return true;
+        }
+        for (List<BlockingQueue<JobElement>> queues : waitingQueue.values()) {
+            if (removeQueued(queues.get(waitingQueueIndex(triggerType)), jobElement -> jobElement.getTriggerType() == triggerType && jobElement.getJobId().equals(id))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean removeQueued(BlockingQueue<JobElement> queue, Predicate<JobElement> filter) {
+        boolean removed = false;
+        for (JobElement jobElement : queue) {
+            //可能同时被分发，只有删除成功的才修改索引
+            if (filter.test(jobElement) && queue.remove(jobElement)) {
+                jobStateIndex.dequeue(jobElement);
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    private BlockingQueue<JobElement> getJobQueue(TriggerTypeEnum triggerType) {
+        if (triggerType == TriggerTypeEnum.DEBUG) {
+            return debugQueue;
+        }
+        if (triggerType == TriggerTypeEnum.MANUAL) {
+            return manualQueue;
+        }
+        return scheduleQueue;
+    }
+
     public synchronized Map<Integer, HeraHostGroupVo> getHostGroupCache() {
         return hostGroupCache;
     }
@@ -1,15 +1,20 @@
 package com.dfire.core.netty.master;
 
+import com.dfire.common.constants.Constants;
 import com.dfire.common.util.NamedThreadFactory;
+import com.dfire.config.HeraGlobalEnv;
+import com.dfire.core.exception.RemotingException;
 import com.dfire.core.netty.HeraChannel;
 import com.dfire.core.netty.NettyChannel;
 import com.dfire.core.netty.cluster.FailBackCluster;
-import com.dfire.core.netty.listener.ResponseListener;
+import com.dfire.core.netty.listener.PendingCallTable;
 import com.dfire.core.netty.master.response.MasterHandleRequest;
 import com.dfire.core.netty.master.response.MasterHandlerWebResponse;
+import com.dfire.core.netty.util.ChannelOrderedExecutor;
 import com.dfire.logs.ErrorLog;
 import com.dfire.logs.SocketLog;
 import com.dfire.logs.TaskLog;
+import com.dfire.protocol.ResponseStatus;
 import com.dfire.protocol.RpcRequest.Request;
 import com.dfire.protocol.RpcResponse.Response;
 import com.dfire.protocol.RpcSocketMessage.SocketMessage;
@@ -22,7 +27,6 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 
 import java.net.SocketAddress;
-import java.util.List;
 import java.util.concurrent.*;
 
 /**
@@ -33,19 +37,41 @@ import java.util.concurrent.*;
 @ChannelHandler.Sharable
 public class MasterHandler extends ChannelInboundHandlerAdapter {
 
+    /**
+     * 只读写内存与数据库的web请求
+     */
     private CompletionService<ChannelResponse> completionService;
 
+    /**
+     * 需要等待worker返回的web请求(取消任务、读取日志、获取worker信息)，与其它请求分开，不会占满所有线程
+     */
+    private CompletionService<ChannelResponse> blockingCompletionService;
+
     /**
      * 调度器执行上下文信息
      */
     private MasterContext masterContext;
 
+    /**
+     * 等待work返回的请求
+     */
+    private final PendingCallTable callTable = new PendingCallTable("master");
+
+    /**
+     * 按channel有序处理worker消息
+     */
+    private final ChannelOrderedExecutor channelExecutor;
+
 
     public MasterHandler(MasterContext masterContext) {
         this.masterContext = masterContext;
-        completionService = new ExecutorCompletionService<>(
-                new ThreadPoolExecutor(
-                        0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(), new NamedThreadFactory("master-execute", false), new ThreadPoolExecutor.AbortPolicy()));
+        int handlerThreads = HeraGlobalEnv.getMasterHandlerThreads() > 0 ? HeraGlobalEnv.getMasterHandlerThreads() : Constants.AVAILABLE_CORES;
+        channelExecutor = new ChannelOrderedExecutor("master-handler", handlerThreads, HeraGlobalEnv.getMasterHandlerQueueSize());
+        int webThreads = HeraGlobalEnv.getMasterWebThreads() > 0 ? HeraGlobalEnv.getMasterWebThreads() : Constants.AVAILABLE_CORES * 2;
+        //有界的web请求线程池，队列满时直接返回错误，不在消息处理线程上执行，避免阻塞worker的返回与心跳
+        BlockingQueue<Future<ChannelResponse>> completionQueue = new LinkedBlockingQueue<>();
+        completionService = new ExecutorCompletionService<>(newWebExecutor("master-execute", webThreads), completionQueue);
+        blockingCompletionService = new ExecutorCompletionService<>(newWebExecutor("master-execute-blocking", webThreads), completionQueue);
         ThreadPoolExecutor executor = new ThreadPoolExecutor(
                 1, 1, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new NamedThreadFactory("master-deal", false), new ThreadPoolExecutor.AbortPolicy());
         executor.execute(() -> {
@@ -53,7 +79,7 @@ public class MasterHandler extends ChannelInboundHandlerAdapter {
                     ChannelResponse response;
                     while (true) {
                         try {
-                            future = completionService.take();
+                            future = completionQueue.take();
                             response = future.get();
                             TaskLog.info("3-1.MasterHandler:-->master prepare send status : {}", response.webResponse.getStatus());
                             response.channel.writeAndFlush(wrapper(response.webResponse));
@@ -68,114 +94,108 @@ public class MasterHandler extends ChannelInboundHandlerAdapter {
         );
     }
 
+    /**
+     * io线程只做SocketMessage的解码，请求的解析与处理按channel放入有序执行器
+     */
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
         SocketMessage socketMessage = (SocketMessage) msg;
         Channel channel = ctx.channel();
-        switch (socketMessage.getKind()) {
-            //心跳
-            case REQUEST:
-                Request request = Request.newBuilder().mergeFrom(socketMessage.getBody()).build();
-                switch (request.getOperate()) {
-                    case HeartBeat:
-                        masterContext.getThreadPool().execute(() -> MasterHandleRequest.handleHeartBeat(masterContext, channel, request));
-                        break;
-                    case SetWorkInfo:
-                        masterContext.getThreadPool().execute(() -> MasterHandleRequest.setWorkInfo(masterContext, channel, request));
-                        break;
-                    default:
-                        ErrorLog.error("unknow request operate error.{}", request.getOperateValue());
-                        break;
-                }
-                break;
-            case WEB_REQUEST:
-                final WebRequest webRequest = WebRequest.newBuilder().mergeFrom(socketMessage.getBody()).build();
-                switch (webRequest.getOperate()) {
-                    case ExecuteJob:
-                        completionService.submit(() ->
-                                new ChannelResponse(FailBackCluster.wrap(channel), MasterHandlerWebResponse.handleWebExecute(masterContext, webRequest)));
-                        break;
-                    case CancelJob:
-                        completionService.submit(() ->
-                                new ChannelResponse(FailBackCluster.wrap(channel), MasterHandlerWebResponse.handleWebCancel(masterContext, webRequest)));
-                        break;
-                    case UpdateJob:
-                        completionService.submit(() ->
-                                new ChannelResponse(FailBackCluster.wrap(channel), MasterHandlerWebResponse.handleWebUpdate(masterContext, webRequest)));
-                        break;
-                    case ExecuteDebug:
-                        completionService.submit(() ->
-                                new ChannelResponse(FailBackCluster.wrap(channel), MasterHandlerWebResponse.handleWebDebug(masterContext, webRequest)));
-                        break;
-                    case GenerateAction:
-                        completionService.submit(() ->
-                                new ChannelResponse(FailBackCluster.wrap(channel), MasterHandlerWebResponse.generateActionByJobId(masterContext, webRequest)));
-                        break;
-
-                    case GetAllHeartBeatInfo:
-                        completionService.submit(() ->
-                                new ChannelResponse(FailBackCluster.wrap(channel), MasterHandlerWebResponse.buildJobQueueInfo(masterContext, webRequest)));
-                        break;
-                    case GetAllWorkInfo:
-                        completionService.submit(() ->
-                                new ChannelResponse(FailBackCluster.wrap(channel), MasterHandlerWebResponse.buildAllWorkInfo(masterContext, webRequest)));
-                        break;
-                    default:
-                        ErrorLog.error("unknown webRequest operate error:{}", webRequest.getOperate());
-                        break;
-                }
-                break;
-            case RESPONSE:
-                masterContext.getThreadPool().execute(() -> {
-                    Response response = null;
-                    try {
-                        response = Response.newBuilder().mergeFrom(socketMessage.getBody()).build();
-
-                        SocketLog.info("6.MasterHandler:receiver socket info from work {}, response is {}", ctx.channel().remoteAddress(), response.getRid());
-                        for (ResponseListener listener : listeners) {
-                            listener.onResponse(response);
-                        }
-                    } catch (InvalidProtocolBufferException e) {
-                        ErrorLog.error("解析消息异常", e);
-                    }
-                });
-
-                break;
-            case WEB_RESPONSE:
-                masterContext.getThreadPool().execute(() -> {
-                    WebResponse webResponse = null;
-                    try {
-                        webResponse = WebResponse.newBuilder().mergeFrom(socketMessage.getBody()).build();
-                    } catch (InvalidProtocolBufferException e) {
-                        ErrorLog.error("解析消息异常", e);
+        channelExecutor.execute(channel, () -> handleMessage(channel, socketMessage));
+    }
+
+    private void handleMessage(Channel channel, SocketMessage socketMessage) {
+        try {
+            switch (socketMessage.getKind()) {
+                //心跳
+                case REQUEST:
+                    Request request = Request.newBuilder().mergeFrom(socketMessage.getBody()).build();
+                    switch (request.getOperate()) {
+                        case HeartBeat:
+                            MasterHandleRequest.handleHeartBeat(masterContext, channel, request);
+                            break;
+                        case SetWorkInfo:
+                            MasterHandleRequest.setWorkInfo(masterContext, channel, request);
+                            break;
+                        default:
+                            ErrorLog.error("unknow request operate error.{}", request.getOperateValue());
+                            break;
                     }
-                    SocketLog.info("6.MasterHandler:receiver socket info from work {}, webResponse is {}", ctx.channel().remoteAddress(), webResponse.getRid());
-                    for (ResponseListener listener : listeners) {
-                        listener.onWebResponse(webResponse);
+                    break;
+                case WEB_REQUEST:
+                    final WebRequest webRequest = WebRequest.newBuilder().mergeFrom(socketMessage.getBody()).build();
+                    switch (webRequest.getOperate()) {
+                        case ExecuteJob:
+                            submitWeb(completionService, channel, webRequest, () -> MasterHandlerWebResponse.handleWebExecute(masterContext, webRequest));
+                            break;
+                        case CancelJob:
+                            submitWeb(blockingCompletionService, channel, webRequest, () -> MasterHandlerWebResponse.handleWebCancel(masterContext, webRequest));
+                            break;
+                        case UpdateJob:
+                            submitWeb(completionService, channel, webRequest, () -> MasterHandlerWebResponse.handleWebUpdate(masterContext, webRequest));
+                            break;
+                        case ExecuteDebug:
+                            submitWeb(completionService, channel, webRequest, () -> MasterHandlerWebResponse.handleWebDebug(masterContext, webRequest));
+                            break;
+                        case GenerateAction:
+                            submitWeb(completionService, channel, webRequest, () -> MasterHandlerWebResponse.generateActionByJobId(masterContext, webRequest));
+                            break;
+
+                        case GetAllHeartBeatInfo:
+                            submitWeb(completionService, channel, webRequest, () -> MasterHandlerWebResponse.buildJobQueueInfo(masterContext, webRequest));
+                            break;
+                        case GetAllWorkInfo:
+                            submitWeb(blockingCompletionService, channel, webRequest, () -> MasterHandlerWebResponse.buildAllWorkInfo(masterContext, webRequest));
+                            break;
+                        case FetchLog:
+                            submitWeb(blockingCompletionService, channel, webRequest, () -> MasterHandlerWebResponse.fetchLog(masterContext, webRequest));
+                            break;
+                        default:
+                            ErrorLog.error("unknown webRequest operate error:{}", webRequest.getOperate());
+                            break;
                     }
-                });
-                break;
-            default:
-                ErrorLog.error("unknown request type : {}", socketMessage.getKind());
-                break;
+                    break;
+                //按rid完成等待中的请求
+                case RESPONSE:
+                    Response response = Response.newBuilder().mergeFrom(socketMessage.getBody()).build();
+                    SocketLog.info("6.MasterHandler:receiver socket info from work {}, response is {}", channel.remoteAddress(), response.getRid());
+                    callTable.onResponse(response);
+                    break;
+                case WEB_RESPONSE:
+                    WebResponse webResponse = WebResponse.newBuilder().mergeFrom(socketMessage.getBody()).build();
+                    SocketLog.info("6.MasterHandler:receiver socket info from work {}, webResponse is {}", channel.remoteAddress(), webResponse.getRid());
+                    callTable.onWebResponse(webResponse);
+                    break;
+                default:
+                    ErrorLog.error("unknown request type : {}", socketMessage.getKind());
+                    break;
+            }
+        } catch (InvalidProtocolBufferException e) {
+            ErrorLog.error("解析消息异常", e);
         }
     }
 
+    /**
+     * 注册与断开也放入channel的有序执行器，保证worker先注册再处理它的消息
+     */
     @Override
     public void channelRegistered(ChannelHandlerContext ctx) {
-        masterContext.getThreadPool().execute(() -> {
-            Channel channel = ctx.channel();
+        Channel channel = ctx.channel();
+        channelExecutor.execute(channel, () -> {
             masterContext.getWorkMap().put(channel, new MasterWorkHolder(FailBackCluster.wrap(channel)));
             SocketAddress remoteAddress = channel.remoteAddress();
-            SocketLog.info("worker client channel registered connect success : {}", remoteAddress.toString());
+            SocketLog.info("worker client channel registered connect success : {}", remoteAddress);
         });
     }
+
     @Override
     public void channelUnregistered(ChannelHandlerContext ctx) throws Exception {
-        masterContext.getThreadPool().execute(() -> {
+        Channel channel = ctx.channel();
+        //断线处理包含数据库与告警操作，在之前的消息处理完之后交给线程池
+        channelExecutor.execute(channel, () -> masterContext.getThreadPool().execute(() -> {
             ErrorLog.error("worker miss connection !!!");
-            masterContext.getMaster().workerDisconnectProcess(ctx.channel());
-        });
+            masterContext.getMaster().workerDisconnectProcess(channel);
+        }));
     }
 
     @Override
@@ -191,18 +211,45 @@ public class MasterHandler extends ChannelInboundHandlerAdapter {
         ErrorLog.error("cause exception {}", cause);
     }
 
+    private static ThreadPoolExecutor newWebExecutor(String name, int threads) {
+        ThreadPoolExecutor webExecutor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(HeraGlobalEnv.getMasterHandlerQueueSize()), new NamedThreadFactory(name, false), new ThreadPoolExecutor.AbortPolicy());
+        webExecutor.allowCoreThreadTimeOut(true);
+        return webExecutor;
+    }
+
+    /**
+     * 提交web请求，线程池队列已满时直接返回ERROR
+     */
+    private void submitWeb(CompletionService<ChannelResponse> service, Channel channel, WebRequest webRequest, Callable<WebResponse> handler) {
+        HeraChannel heraChannel = FailBackCluster.wrap(channel);
+        try {
+            service.submit(() -> new ChannelResponse(heraChannel, handler.call()));
+        } catch (RejectedExecutionException e) {
+            ErrorLog.error("master web请求过多，拒绝请求:{}", webRequest.getOperate());
+            try {
+                heraChannel.writeAndFlush(wrapper(WebResponse.newBuilder()
+                        .setRid(webRequest.getRid())
+                        .setOperate(webRequest.getOperate())
+                        .setStatus(ResponseStatus.Status.ERROR)
+                        .setErrorText("master繁忙，请稍后重试")
+                        .build()));
+            } catch (RemotingException re) {
+                ErrorLog.error("发送web拒绝信息异常", re);
+            }
+        }
+    }
+
     private SocketMessage wrapper(WebResponse response) {
         return SocketMessage.newBuilder().setKind(SocketMessage.Kind.WEB_RESPONSE).setBody(response.toByteString()).build();
     }
 
-    private List<ResponseListener> listeners = new CopyOnWriteArrayList<>();
-
-    public void addListener(ResponseListener listener) {
-        listeners.add(listener);
+    public PendingCallTable getCallTable() {
+        return callTable;
     }
 
-    public void removeListener(ResponseListener listener) {
-        listeners.remove(listener);
+    public ChannelOrderedExecutor getChannelExecutor() {
+        return channelExecutor;
     }
 
 
@@ -25,7 +25,7 @@ import com.dfire.protocol.RpcResponse;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Map;
-import java.util.concurrent.Future;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -45,12 +45,33 @@ public class MasterRunJob implements RunJob {
 
     private RunJobThreadPool executeJobPool;
 
+    /**
+     * 处理work返回结果的线程池，不会等待任务执行
+     */
+    private ThreadPoolExecutor callbackPool;
+
     public MasterRunJob(MasterContext masterContext, Master master) {
         this.master = master;
         this.masterContext = masterContext;
         executeJobPool = new RunJobThreadPool(masterContext, HeraGlobalEnv.getMaxParallelNum(), HeraGlobalEnv.getMaxParallelNum(), 10L, TimeUnit.MINUTES,
                 new LinkedBlockingQueue<>(Integer.MAX_VALUE), new NamedThreadFactory("master-execute-job"), new ThreadPoolExecutor.AbortPolicy());
         executeJobPool.allowCoreThreadTimeOut(true);
+        callbackPool = new ThreadPoolExecutor(Constants.AVAILABLE_CORES, Constants.AVAILABLE_CORES, 10L, TimeUnit.MINUTES,
+                new LinkedBlockingQueue<>(Integer.MAX_VALUE), new NamedThreadFactory("master-job-callback"), new ThreadPoolExecutor.AbortPolicy());
+        callbackPool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 向work发送任务，发送异常时返回异常结束的future
+     */
+    private CompletableFuture<RpcResponse.Response> executeJob(MasterWorkHolder selectWork, JobExecuteKind.ExecuteKind kind, String id, String historyId) {
+        try {
+            return new MasterExecuteJob().executeJob(masterContext, selectWork, kind, id, historyId);
+        } catch (Exception e) {
+            CompletableFuture<RpcResponse.Response> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
     }
 
     /**
@@ -59,28 +80,26 @@ public class MasterRunJob implements RunJob {
      * @param selectWork 所选机器
      * @param debugId    debugId
      */
-    private void runDebugJob(MasterWorkHolder selectWork, String debugId) {
+    private CompletableFuture<Void> runDebugJob(MasterWorkHolder selectWork, String debugId) {
         HeraDebugHistoryVo history = masterContext.getHeraDebugHistoryService().findById(Integer.parseInt(debugId));
         history.getLog().append(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date()) + " 开始运行");
         masterContext.getHeraDebugHistoryService().update(BeanConvertUtils.convert(history));
-        Exception exception = null;
-        RpcResponse.Response response = null;
-        Future<RpcResponse.Response> future = null;
-        try {
-            future = new MasterExecuteJob().executeJob(masterContext, selectWork, JobExecuteKind.ExecuteKind.DebugKind, debugId);
-            response = future.get(HeraGlobalEnv.getTaskTimeout(), TimeUnit.HOURS);
-        } catch (Exception e) {
-            exception = e;
-            if (future != null) {
-                future.cancel(true);
-            }
-            DebugLog.error(String.format("debugId:%s run failed", debugId), e);
-        }
+        return executeJob(selectWork, JobExecuteKind.ExecuteKind.DebugKind, debugId, null)
+                .handleAsync((response, exception) -> {
+                    if (exception != null) {
+                        DebugLog.error(String.format("debugId:%s run failed", debugId), exception);
+                    }
+                    onDebugResponse(debugId, history, response, exception);
+                    return null;
+                }, callbackPool);
+    }
+
+    private void onDebugResponse(String debugId, HeraDebugHistoryVo history, RpcResponse.Response response, Throwable exception) {
         boolean success = response != null && response.getStatusEnum() == ResponseStatus.Status.OK;
         if (!success) {
+            history = masterContext.getHeraDebugHistoryService().findById(Integer.parseInt(debugId));
             exception = new HeraException(String.format("fileId:%s run failed ", history.getFileId()), exception);
             TaskLog.info("8.Master: debug job error");
-            history = masterContext.getHeraDebugHistoryService().findById(Integer.parseInt(debugId));
             HeraDebugFailEvent failEvent = HeraDebugFailEvent.builder()
                     .debugHistory(BeanConvertUtils.convert(history))
                     .throwable(exception)
@@ -103,7 +122,7 @@ public class MasterRunJob implements RunJob {
      * @param selectWork selectWork 所选机器
      * @param actionId   actionId
      */
-    private void runManualJob(MasterWorkHolder selectWork, String actionId) {
+    private CompletableFuture<Void> runManualJob(MasterWorkHolder selectWork, String actionId) {
         SocketLog.info("start run manual job, actionId = {}", actionId);
         HeraAction heraAction = masterContext.getHeraJobActionService().findById(actionId);
         HeraJobHistory history = masterContext.getHeraJobHistoryService().findById(heraAction.getHistoryId());
@@ -111,27 +130,21 @@ public class MasterRunJob implements RunJob {
         historyVo.getLog().append(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date()) + " 开始运行");
         heraAction.setStatus(StatusEnum.RUNNING.toString());
         historyVo.setStatusEnum(StatusEnum.RUNNING);
-        HeraAction cacheAction = master.getHeraActionMap().get(Long.parseLong(actionId));
-        if (cacheAction != null) {
-            cacheAction.setStatus(StatusEnum.RUNNING.toString());
-            cacheAction.setHistoryId(heraAction.getHistoryId());
-        }
+        master.getActionTable().updateState(Long.parseLong(actionId), StatusEnum.RUNNING.toString(), heraAction.getHistoryId());
         masterContext.getHeraJobHistoryService().updateHeraJobHistoryLogAndStatus(BeanConvertUtils.convert(historyVo));
 
-        Exception exception = null;
-        RpcResponse.Response response = null;
-        Future<RpcResponse.Response> future = null;
-        try {
-            future = new MasterExecuteJob().executeJob(masterContext, selectWork,
-                    JobExecuteKind.ExecuteKind.ManualKind, actionId);
-            response = future.get();
-        } catch (Exception e) {
-            exception = e;
-            if (future != null) {
-                future.cancel(true);
-            }
-            ErrorLog.error("manual job run error {}", e);
-        }
+        return executeJob(selectWork, JobExecuteKind.ExecuteKind.ManualKind, actionId, history.getId())
+                .handleAsync((response, exception) -> {
+                    if (exception != null) {
+                        ErrorLog.error("manual job run error {}", exception);
+                    }
+                    onManualResponse(actionId, heraAction, history, historyVo, response, exception);
+                    return null;
+                }, callbackPool);
+    }
+
+    private void onManualResponse(String actionId, HeraAction heraAction, HeraJobHistory history, HeraJobHistoryVo historyVo,
+                                  RpcResponse.Response response, Throwable exception) {
         boolean success = response != null && response.getStatusEnum() != null && response.getStatusEnum() == ResponseStatus.Status.OK;
         if (response != null) {
             ScheduleLog.info("actionId 执行结果" + actionId + "---->" + response.getStatusEnum());
@@ -169,7 +182,7 @@ public class MasterRunJob implements RunJob {
      * @param selectWork 所选机器
      * @param actionId   actionId
      */
-    private void runScheduleJob(MasterWorkHolder selectWork, String actionId) {
+    private CompletableFuture<Void> runScheduleJob(MasterWorkHolder selectWork, String actionId) {
         int runCount = 0;
         int retryCount = 0;
         int retryWaitTime = 1;
@@ -179,30 +192,23 @@ public class MasterRunJob implements RunJob {
             retryCount = Integer.parseInt(properties.get("roll.back.times") == null ? "0" : properties.get("roll.back.times"));
             retryWaitTime = Integer.parseInt(properties.get("roll.back.wait.time") == null ? "0" : properties.get("roll.back.wait.time"));
         }
-        runScheduleJobContext(selectWork, actionId, runCount, retryCount, retryWaitTime);
+        return runScheduleJobContext(selectWork, actionId, runCount, retryCount, retryWaitTime);
     }
 
     /**
      * 自动调度任务开始执行入口，向master端的channel写请求任务执行请求
+     * 失败重试时不占用线程等待，到达重试时间后再次执行
      *
      * @param selectWork    selectWork
      * @param actionId      actionId
      * @param runCount      runCount
      * @param retryCount    retryCount
      * @param retryWaitTime retryWaitTime
+     * @return 任务(包括重试)结束的future
      */
-    private void runScheduleJobContext(MasterWorkHolder selectWork, String actionId, int runCount, int retryCount, int retryWaitTime) {
+    private CompletableFuture<Void> runScheduleJobContext(MasterWorkHolder selectWork, String actionId, int runCount, int retryCount, int retryWaitTime) {
         DebugLog.info("重试次数：{},重试时间：{},actionId:{}", retryCount, retryWaitTime, actionId);
         runCount++;
-        boolean isCancelJob = false;
-        if (runCount > 1) {
-            DebugLog.info("任务重试，睡眠：{}分钟", retryWaitTime);
-            try {
-                TimeUnit.MINUTES.sleep(retryWaitTime);
-            } catch (InterruptedException e) {
-                ErrorLog.error("sleep interrupted", e);
-            }
-        }
         HeraJobHistoryVo heraJobHistoryVo;
         HeraJobHistory heraJobHistory;
         TriggerTypeEnum triggerType;
@@ -233,24 +239,35 @@ public class MasterRunJob implements RunJob {
             heraJobHistoryVo.getLog().append(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date()) + " 第" + (runCount - 1) + "次重试运行\n");
             triggerType = heraJobHistoryVo.getTriggerType();
         }
-        HeraAction cacheAction = master.getHeraActionMap().get(Long.parseLong(actionId));
-        if (cacheAction != null) {
-            cacheAction.setStatus(StatusEnum.RUNNING.toString());
-            cacheAction.setHistoryId(heraJobHistory.getId());
-        }
+        master.getActionTable().updateState(Long.parseLong(actionId), StatusEnum.RUNNING.toString(), heraJobHistory.getId());
         heraJobHistoryVo.setStatusEnum(StatusEnum.RUNNING);
         masterContext.getHeraJobHistoryService().updateHeraJobHistoryLogAndStatus(BeanConvertUtils.convert(heraJobHistoryVo));
-        RpcResponse.Response response = null;
-        Future<RpcResponse.Response> future = null;
-        try {
-            future = new MasterExecuteJob().executeJob(masterContext, selectWork,
-                    JobExecuteKind.ExecuteKind.ScheduleKind, actionId);
-            response = future.get(HeraGlobalEnv.getTaskTimeout(), TimeUnit.HOURS);
-        } catch (Exception e) {
-            ErrorLog.error("schedule job run error :" + actionId, e);
-            if (future != null) {
-                future.cancel(true);
-            }
+        int count = runCount;
+        return executeJob(selectWork, JobExecuteKind.ExecuteKind.ScheduleKind, actionId, heraJobHistory.getId())
+                .handleAsync((response, exception) -> onScheduleResponse(actionId, heraAction, heraJobHistory, heraJobHistoryVo, triggerType,
+                        count, retryCount, retryWaitTime, response, exception), callbackPool)
+                .thenCompose(retry -> {
+                    if (!retry) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    DebugLog.info("任务重试，等待：{}分钟", retryWaitTime);
+                    CompletableFuture<Void> delay = new CompletableFuture<>();
+                    masterContext.masterSchedule.schedule(() -> delay.complete(null), retryWaitTime, TimeUnit.MINUTES);
+                    return delay.thenComposeAsync(v -> runScheduleJobContext(selectWork, actionId, count, retryCount, retryWaitTime), callbackPool);
+                });
+    }
+
+    /**
+     * 处理调度任务的执行结果
+     *
+     * @return 是否需要重试
+     */
+    private boolean onScheduleResponse(String actionId, HeraAction heraAction, HeraJobHistory heraJobHistory, HeraJobHistoryVo heraJobHistoryVo,
+                                       TriggerTypeEnum triggerType, int runCount, int retryCount, int retryWaitTime,
+                                       RpcResponse.Response response, Throwable exception) {
+        boolean isCancelJob = false;
+        if (exception != null) {
+            ErrorLog.error("schedule job run error :" + actionId, exception);
             heraAction.setStatus(StatusEnum.FAILED.toString());
             heraJobHistoryVo.setStatusEnum(StatusEnum.FAILED);
             masterContext.getHeraJobHistoryService().updateHeraJobHistoryStatus(BeanConvertUtils.convert(heraJobHistoryVo));
@@ -289,25 +306,25 @@ public class MasterRunJob implements RunJob {
                 DebugLog.info("--------------------------任务在队列中，取消重试--------------------------");
             } else {
                 DebugLog.info("--------------------------失败任务，准备重试--------------------------");
-                runScheduleJobContext(selectWork, actionId, runCount, retryCount, retryWaitTime);
+                return true;
             }
         }
+        return false;
     }
 
     private void updateCacheAction(String actionId, String status) {
-        HeraAction cacheAction = master.getHeraActionMap().get(Long.parseLong(actionId));
-        if (cacheAction != null) {
-            cacheAction.setStatus(status);
-        }
+        master.getActionTable().setStatus(Long.parseLong(actionId), status);
     }
 
     /**
-     * 任务超出最大并行度 放入任务队列，不要放到线程池队列
+     * 同时执行的任务数超出maxRunningNum时 任务留在任务队列，不要放到线程池队列
+     * maxRunningNum为0时不限制，由work的负载决定能否分发
      *
      * @return
      */
     public boolean isTaskLimit() {
-        return executeJobPool.getActiveCount() >= HeraGlobalEnv.getMaxParallelNum();
+        int maxRunningNum = HeraGlobalEnv.getMaxRunningNum();
+        return maxRunningNum > 0 && executeJobPool.getTrackedCount() >= maxRunningNum;
     }
 
     public void printThreadPoolLog() {
@@ -315,7 +332,9 @@ public class MasterRunJob implements RunJob {
                 "CompletedTaskCount：" + executeJobPool.getCompletedTaskCount() + "," +
                 "PoolSize:" + executeJobPool.getPoolSize() + "," +
                 "LargestPoolSize:" + executeJobPool.getLargestPoolSize() + "," +
-                "TaskCount:" + executeJobPool.getTaskCount() + "]";
+                "TaskCount:" + executeJobPool.getTaskCount() + "," +
+                "TrackedJobCount:" + executeJobPool.getTrackedCount() + "," +
+                "CallbackQueueSize:" + callbackPool.getQueue().size() + "]";
         ScheduleLog.info(sb);
     }
 
@@ -324,13 +343,13 @@ public class MasterRunJob implements RunJob {
         switch (element.getTriggerType()) {
             case SCHEDULE:
             case MANUAL_RECOVER:
-                executeJobPool.execute(() -> runScheduleJob(workHolder, element.getJobId()), element);
+                executeJobPool.executeAsync(() -> runScheduleJob(workHolder, element.getJobId()), element);
                 break;
             case MANUAL:
-                executeJobPool.execute(() -> runManualJob(workHolder, element.getJobId()), element);
+                executeJobPool.executeAsync(() -> runManualJob(workHolder, element.getJobId()), element);
                 break;
             case DEBUG:
-                executeJobPool.execute(() -> runDebugJob(workHolder, element.getJobId()), element);
+                executeJobPool.executeAsync(() -> runDebugJob(workHolder, element.getJobId()), element);
                 break;
             default:
                 ErrorLog.error("未知的执行类型:" + element.getTriggerType().toString());
@@ -1,10 +1,16 @@
 package com.dfire.core.netty.master;
 
+import com.dfire.common.util.NamedThreadFactory;
+import com.dfire.config.HeraGlobalEnv;
+import com.dfire.core.netty.util.IoThreadMetrics;
+import com.dfire.core.netty.util.RpcFrameCodec;
 import com.dfire.logs.ErrorLog;
 import com.dfire.logs.HeraLog;
 import com.dfire.protocol.RpcSocketMessage;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.*;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
@@ -26,6 +32,7 @@ public class MasterServer {
     private ServerBootstrap serverBootstrap;
     private EventLoopGroup bossGroup;
     private EventLoopGroup workGroup;
+    private final IoThreadMetrics ioThreadMetrics = new IoThreadMetrics();
 
     /**
      * ProtobufVarint32LengthFieldPrepender:对protobuf协议的的消息头上加上一个长度为32的整形字段,用于标志这个消息的长度。
@@ -35,26 +42,56 @@ public class MasterServer {
      */
     public MasterServer(final ChannelHandler handler) {
         serverBootstrap = new ServerBootstrap();
+        boolean epoll = useEpoll();
         //服务端接受客户端的连接， Reactor线程组
-        bossGroup = new NioEventLoopGroup(1);
-        //SocketChannel的网络读写
-        workGroup = new NioEventLoopGroup(1);
+        bossGroup = newEventLoopGroup(epoll, HeraGlobalEnv.getNettyBossThreads(), "master-boss");
+        //SocketChannel的网络读写，0 表示使用netty默认的cpu核数*2
+        workGroup = newEventLoopGroup(epoll, HeraGlobalEnv.getNettyWorkerThreads(), "master-io");
+        HeraLog.info("master server transport:{}, boss threads:{}, io threads:{}", epoll ? "epoll" : "nio",
+                HeraGlobalEnv.getNettyBossThreads(), HeraGlobalEnv.getNettyWorkerThreads());
         serverBootstrap.group(bossGroup, workGroup)
-                .channel(NioServerSocketChannel.class)
+                .channel(epoll ? EpollServerSocketChannel.class : NioServerSocketChannel.class)
                 .childOption(ChannelOption.SO_KEEPALIVE, true)
                 .childHandler(new ChannelInitializer<SocketChannel>() {
                     @Override
                     protected void initChannel(SocketChannel ch) throws Exception {
-                        ch.pipeline().addLast("frameDecoder", new ProtobufVarint32FrameDecoder())
+                        ch.pipeline().addLast("ioMetrics", ioThreadMetrics)
+                                .addLast("frameDecoder", new ProtobufVarint32FrameDecoder())
                                 .addLast("decoder", new ProtobufDecoder(RpcSocketMessage.SocketMessage.getDefaultInstance()))
                                 .addLast("frameEncoder", new ProtobufVarint32LengthFieldPrepender())
                                 .addLast("encoder", new ProtobufEncoder())
                                 .addLast(new IdleStateHandler(0, 0, 10, TimeUnit.SECONDS))
+                                .addLast("rpcFrame", new RpcFrameCodec())
                                 .addLast("handler", handler);
                     }
                 });
     }
 
+    /**
+     * linux下开启epoll并且native库可以加载时使用epoll
+     */
+    private static boolean useEpoll() {
+        if (!HeraGlobalEnv.isNettyEpoll() || !HeraGlobalEnv.isLinuxSystem()) {
+            return false;
+        }
+        try {
+            Class.forName("io.netty.channel.epoll.Native");
+            return true;
+        } catch (Throwable e) {
+            ErrorLog.error("epoll native库加载失败，使用nio", e);
+            return false;
+        }
+    }
+
+    private static EventLoopGroup newEventLoopGroup(boolean epoll, int threads, String name) {
+        NamedThreadFactory threadFactory = new NamedThreadFactory(name, false);
+        return epoll ? new EpollEventLoopGroup(threads, threadFactory) : new NioEventLoopGroup(threads, threadFactory);
+    }
+
+    public IoThreadMetrics getIoThreadMetrics() {
+        return ioThreadMetrics;
+    }
+
     public synchronized boolean start(int port) {
         ChannelFuture channelFuture = null;
         try {
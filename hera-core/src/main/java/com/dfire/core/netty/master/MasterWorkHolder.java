@@ -2,11 +2,17 @@ package com.dfire.core.netty.master;
 
 import com.dfire.core.message.HeartBeatInfo;
 import com.dfire.core.netty.HeraChannel;
+import com.dfire.logs.HeartLog;
+import com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage;
 import com.dfire.protocol.RpcWorkInfo.WorkInfo;
 import lombok.Data;
 
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author: <a href="mailto:lingxiao@2dfire.com">凌霄</a>
@@ -22,22 +28,122 @@ public class MasterWorkHolder {
     /**
      * 存放的jobId
      */
-    private Set<Integer> running = new HashSet<>();
+    private Set<Integer> running = ConcurrentHashMap.newKeySet();
     /**
      * 存放的jobId
      */
-    private Set<Integer> manningRunning = new HashSet<>();
+    private Set<Integer> manningRunning = ConcurrentHashMap.newKeySet();
     /**
      * 存放的debugId
      */
-    private Set<Integer> debugRunning = new HashSet<>();
+    private Set<Integer> debugRunning = ConcurrentHashMap.newKeySet();
 
     private HeartBeatInfo heartBeatInfo;
 
     private volatile WorkInfo workInfo;
 
+    /**
+     * 上次心跳之后分发到该worker的任务数
+     */
+    private final AtomicInteger dispatchedSinceHeartBeat = new AtomicInteger();
+
+    /**
+     * 最近一次心跳的序号
+     */
+    private long heartBeatSeq;
+
+    /**
+     * 增量心跳序号不连续，运行任务不再可信，等待下一次全量快照
+     */
+    private boolean heartBeatStale;
+
     public MasterWorkHolder(HeraChannel channel) {
         this.channel = channel;
     }
 
+    /**
+     * worker以对象本身区分，运行集合、心跳信息一直在变化，不能参与hashCode
+     */
+    @Override
+    public boolean equals(Object o) {
+        return this == o;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(this);
+    }
+
+    public void dispatched() {
+        dispatchedSinceHeartBeat.incrementAndGet();
+    }
+
+    public int getDispatchedCount() {
+        return dispatchedSinceHeartBeat.get();
+    }
+
+    public void setHeartBeatInfo(HeartBeatInfo heartBeatInfo) {
+        this.heartBeatInfo = heartBeatInfo;
+        //新的心跳已经包含之前分发的任务
+        dispatchedSinceHeartBeat.set(0);
+    }
+
+    /**
+     * 把心跳应用到当前的heartBeatInfo上，原地修改运行任务集合，不再每次心跳创建新的对象
+     * 旧版本worker的心跳没有version，按照全量快照处理
+     *
+     * @param message 心跳消息
+     * @return 运行任务是否与worker一致
+     */
+    public synchronized boolean applyHeartBeat(HeartBeatMessage message) {
+        HeartBeatInfo info = heartBeatInfo;
+        if (info == null) {
+            info = HeartBeatInfo.builder()
+                    .running(ConcurrentHashMap.newKeySet())
+                    .debugRunning(ConcurrentHashMap.newKeySet())
+                    .manualRunning(ConcurrentHashMap.newKeySet())
+                    .build();
+        }
+        info.setHost(message.getHost());
+        info.setMemRate(message.getMemRate());
+        info.setMemTotal(message.getMemTotal());
+        info.setCpuLoadPerCore(message.getCpuLoadPerCore());
+        info.setTimestamp(message.getTimestamp());
+        info.setCores(message.getCores());
+        if (message.getVersion() == 0 || message.getFull()) {
+            replace(info.getRunning(), message.getRunningsList());
+            replace(info.getDebugRunning(), message.getDebugRunningsList());
+            replace(info.getManualRunning(), message.getManualRunningsList());
+            heartBeatStale = false;
+        } else if (heartBeatStale || message.getSeq() != heartBeatSeq + 1) {
+            if (!heartBeatStale) {
+                HeartLog.warn("heart beat seq from {} is not continuous, expect:{}, actual:{}, wait for full snapshot",
+                        message.getHost(), heartBeatSeq + 1, message.getSeq());
+            }
+            heartBeatStale = true;
+        } else {
+            apply(info.getRunning(), message.getAddRunningsList(), message.getRemoveRunningsList());
+            apply(info.getDebugRunning(), message.getAddDebugRunningsList(), message.getRemoveDebugRunningsList());
+            apply(info.getManualRunning(), message.getAddManualRunningsList(), message.getRemoveManualRunningsList());
+        }
+        heartBeatSeq = message.getSeq();
+        setHeartBeatInfo(info);
+        return !heartBeatStale;
+    }
+
+    private void replace(Collection<String> running, List<String> snapshot) {
+        if (running.size() == snapshot.size() && running.containsAll(snapshot)) {
+            return;
+        }
+        running.retainAll(new HashSet<>(snapshot));
+        running.addAll(snapshot);
+    }
+
+    private void apply(Collection<String> running, List<String> added, List<String> removed) {
+        running.addAll(added);
+        for (String key : removed) {
+            running.remove(key);
+        }
+    }
+
 }
@@ -18,6 +18,7 @@ import com.dfire.logs.ErrorLog;
 
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -138,7 +139,20 @@ public class RunJobThreadPool extends ThreadPoolExecutor {
 
     @Override
     protected void afterExecute(Runnable r, Throwable t) {
-        JobElement jobElement = jobEmrType.get(r);
+        CompletableFuture<?> future = r instanceof JobTask ? ((JobTask) r).future : null;
+        //任务异步执行，等到work返回结果后再做后置处理
+        if (t == null && future != null && !future.isDone()) {
+            future.whenComplete((result, e) -> complete(r));
+        } else {
+            complete(r);
+        }
+    }
+
+    private void complete(Runnable r) {
+        JobElement jobElement = jobEmrType.remove(r);
+        if (jobElement == null) {
+            return;
+        }
         try {
             if (isEmrDynamicJob(jobElement)) {
                 emr.removeJob();
@@ -146,7 +160,6 @@ public class RunJobThreadPool extends ThreadPoolExecutor {
         } catch (Exception e) {
             ErrorLog.error("任务后置执行异常" + e.getMessage(), e);
         } finally {
-            jobEmrType.remove(r);
             jobElement.setStatus(JobStatus.complete);
             doFilter(FilterType.response, jobElement);
         }
@@ -196,4 +209,39 @@ public class RunJobThreadPool extends ThreadPoolExecutor {
         jobEmrType.putIfAbsent(command, jobElement);
         super.execute(command);
     }
-}
\ No newline at end of file
+
+    /**
+     * 异步任务执行的入口，线程只负责发送任务，返回的future完成之前任务一直处于运行状态
+     *
+     * @param command    发送任务，返回任务结束的future
+     * @param jobElement JobElement
+     */
+    public void executeAsync(Supplier<CompletableFuture<?>> command, JobElement jobElement) {
+        execute(new JobTask(command), jobElement);
+    }
+
+    /**
+     * 已提交但还未结束的任务数，包括等待集群和正在运行的任务
+     *
+     * @return 任务数
+     */
+    public int getTrackedCount() {
+        return jobEmrType.size();
+    }
+
+    private static class JobTask implements Runnable {
+
+        private final Supplier<CompletableFuture<?>> command;
+
+        private volatile CompletableFuture<?> future;
+
+        JobTask(Supplier<CompletableFuture<?>> command) {
+            this.command = command;
+        }
+
+        @Override
+        public void run() {
+            future = command.get();
+        }
+    }
+}
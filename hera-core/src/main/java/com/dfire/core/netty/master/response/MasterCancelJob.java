@@ -18,7 +18,6 @@ import com.dfire.protocol.*;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.Iterator;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
@@ -43,7 +42,7 @@ public class MasterCancelJob {
                     .build();
             SocketLog.info("任务在等待创建集群中，稍等会被取消{}", debugId);
         }
-        for (JobElement element : context.getDebugQueue()) {
+        for (JobElement element : context.getQueuedJobElements(TriggerTypeEnum.DEBUG)) {
             if (element.getJobId().equals(String.valueOf(debugId))) {
                 webResponse = RpcWebResponse.WebResponse.newBuilder()
                         .setRid(request.getRid())
@@ -112,7 +111,7 @@ public class MasterCancelJob {
             SocketLog.info("任务在等待创建集群中，稍等会被取消{}", actionId);
         }
         //手动执行队列 查找该job是否存在
-        if (remove(context.getManualQueue().iterator(), actionId)) {
+        if (context.removeQueuedJobElement(TriggerTypeEnum.MANUAL, actionId)) {
             webResponse = RpcWebResponse.WebResponse.newBuilder()
                     .setRid(request.getRid())
                     .setOperate(request.getOperate())
@@ -121,24 +120,22 @@ public class MasterCancelJob {
 
             SocketLog.info("任务仍在手动队列中，从队列删除该任务{}", heraJobHistory.getJobId());
         } else {
-            for (MasterWorkHolder workHolder : context.getWorkMap().values()) {
-                if (workHolder.getManningRunning().contains(jobId)) {
-                    Future<RpcResponse.Response> future = new MasterHandleCancelJob().cancel(context,
-                            workHolder.getChannel(), JobExecuteKind.ExecuteKind.ManualKind, historyId);
-                    workHolder.getManningRunning().remove(jobId);
-                    try {
-                        future.get(HeraGlobalEnv.getRequestTimeout(), TimeUnit.SECONDS);
-                    } catch (Exception e) {
-                        ErrorLog.error("请求超时 ", e);
-                    }
-                    SocketLog.info("远程从删除该任务{}", heraJobHistory.getJobId());
-                    webResponse = RpcWebResponse.WebResponse.newBuilder()
-                            .setRid(request.getRid())
-                            .setOperate(request.getOperate())
-                            .setStatus(ResponseStatus.Status.OK)
-                            .build();
-                    SocketLog.info("send web cancel response, actionId = " + historyId);
+            for (MasterWorkHolder workHolder : context.getJobStateIndex().getRunningWorkers(TriggerTypeEnum.MANUAL, jobId)) {
+                Future<RpcResponse.Response> future = new MasterHandleCancelJob().cancel(context,
+                        workHolder.getChannel(), JobExecuteKind.ExecuteKind.ManualKind, historyId);
+                context.getJobStateIndex().finish(workHolder, TriggerTypeEnum.MANUAL, jobId);
+                try {
+                    future.get(HeraGlobalEnv.getRequestTimeout(), TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    ErrorLog.error("请求超时 ", e);
                 }
+                SocketLog.info("远程从删除该任务{}", heraJobHistory.getJobId());
+                webResponse = RpcWebResponse.WebResponse.newBuilder()
+                        .setRid(request.getRid())
+                        .setOperate(request.getOperate())
+                        .setStatus(ResponseStatus.Status.OK)
+                        .build();
+                SocketLog.info("send web cancel response, actionId = " + historyId);
             }
         }
 
@@ -154,10 +151,7 @@ public class MasterCancelJob {
         heraJobHistory.setEndTime(new Date());
         heraJobHistory.setStatus(StatusEnum.FAILED.toString());
         context.getHeraJobHistoryService().update(heraJobHistory);
-        HeraAction heraAction = context.getMaster().getHeraActionMap().get(Long.parseLong(actionId));
-        if (heraAction != null) {
-            heraAction.setStatus(StatusEnum.FAILED.toString());
-        }
+        context.getMaster().getActionTable().setStatus(Long.parseLong(actionId), StatusEnum.FAILED.toString());
         context.getHeraJobActionService().updateStatus(HeraAction.builder().id(Long.parseLong(actionId)).status(StatusEnum.FAILED.toString()).build());
         return webResponse;
     }
@@ -178,7 +172,7 @@ public class MasterCancelJob {
             SocketLog.info("任务在等待创建集群中，稍等会被取消{}", actionId);
         }
 
-        if (remove(context.getScheduleQueue().iterator(), actionId)) {
+        if (context.removeQueuedJobElement(TriggerTypeEnum.SCHEDULE, actionId)) {
             webResponse = RpcWebResponse.WebResponse.newBuilder()
                     .setRid(request.getRid())
                     .setOperate(request.getOperate())
@@ -187,24 +181,22 @@ public class MasterCancelJob {
             SocketLog.info("任务仍在调度队列中，从队列删除该任务{}", actionId);
 
         } else {
-            for (MasterWorkHolder workHolder : context.getWorkMap().values()) {
-                if (workHolder.getRunning().contains(jobId)) {
-                    Future<RpcResponse.Response> future = new MasterHandleCancelJob().cancel(context,
-                            workHolder.getChannel(), JobExecuteKind.ExecuteKind.ScheduleKind, historyId);
-                    workHolder.getRunning().remove(jobId);
-                    try {
-                        future.get(HeraGlobalEnv.getRequestTimeout(), TimeUnit.SECONDS);
-                    } catch (Exception e) {
-                        ErrorLog.error("请求超时 ", e);
-                    }
-                    SocketLog.info("远程删除该任务{}", actionId);
-                    webResponse = RpcWebResponse.WebResponse.newBuilder()
-                            .setRid(request.getRid())
-                            .setOperate(request.getOperate())
-                            .setStatus(ResponseStatus.Status.OK)
-                            .build();
-                    SocketLog.info("send web cancel response, actionId = " + jobId);
+            for (MasterWorkHolder workHolder : context.getJobStateIndex().getRunningWorkers(TriggerTypeEnum.SCHEDULE, jobId)) {
+                Future<RpcResponse.Response> future = new MasterHandleCancelJob().cancel(context,
+                        workHolder.getChannel(), JobExecuteKind.ExecuteKind.ScheduleKind, historyId);
+                context.getJobStateIndex().finish(workHolder, TriggerTypeEnum.SCHEDULE, jobId);
+                try {
+                    future.get(HeraGlobalEnv.getRequestTimeout(), TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    ErrorLog.error("请求超时 ", e);
                 }
+                SocketLog.info("远程删除该任务{}", actionId);
+                webResponse = RpcWebResponse.WebResponse.newBuilder()
+                        .setRid(request.getRid())
+                        .setOperate(request.getOperate())
+                        .setStatus(ResponseStatus.Status.OK)
+                        .build();
+                SocketLog.info("send web cancel response, actionId = " + jobId);
             }
         }
 
@@ -219,25 +211,9 @@ public class MasterCancelJob {
         heraJobHistory.setEndTime(new Date());
         heraJobHistory.setStatus(StatusEnum.FAILED.toString());
         heraJobHistory.setIllustrate(Constants.CANCEL_JOB_MESSAGE);
-        HeraAction heraAction = context.getMaster().getHeraActionMap().get(Long.parseLong(actionId));
-        if (heraAction != null) {
-            heraAction.setStatus(StatusEnum.FAILED.toString());
-        }
+        context.getMaster().getActionTable().setStatus(Long.parseLong(actionId), StatusEnum.FAILED.toString());
         context.getHeraJobHistoryService().update(heraJobHistory);
         context.getHeraJobActionService().updateStatus(HeraAction.builder().id(Long.parseLong(actionId)).status(StatusEnum.FAILED.toString()).build());
         return webResponse;
     }
-
-
-    private static boolean remove(Iterator<JobElement> iterator, String id) {
-        JobElement jobElement;
-        while (iterator.hasNext()) {
-            jobElement = iterator.next();
-            if (jobElement.getJobId().equals(id)) {
-                iterator.remove();
-                return true;
-            }
-        }
-        return false;
-    }
 }
@@ -4,7 +4,8 @@ import com.dfire.common.enums.TriggerTypeEnum;
 import com.dfire.common.util.ActionUtil;
 import com.dfire.config.HeraGlobalEnv;
 import com.dfire.core.exception.RemotingException;
-import com.dfire.core.netty.listener.MasterResponseListener;
+import com.dfire.core.netty.listener.FutureResponseListener;
+import com.dfire.core.netty.listener.PendingCallTable;
 import com.dfire.core.netty.master.MasterContext;
 import com.dfire.core.netty.master.MasterWorkHolder;
 import com.dfire.core.netty.util.AtomicIncrease;
@@ -18,8 +19,7 @@ import com.dfire.protocol.RpcRequest.Request;
 import com.dfire.protocol.RpcResponse.Response;
 import com.dfire.protocol.RpcSocketMessage.SocketMessage;
 
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.Future;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -28,12 +28,22 @@ import java.util.concurrent.TimeUnit;
  */
 public class MasterExecuteJob {
 
-    public Future<Response> executeJob(final MasterContext context, final MasterWorkHolder holder, ExecuteKind kind, final String id) {
+    /**
+     * 向work发送执行命令
+     *
+     * @param context   MasterContext
+     * @param holder    MasterWorkHolder
+     * @param kind      执行类型
+     * @param id        actionId/debugId
+     * @param historyId 调度、手动任务本次执行的historyId，由调用方传入，分发时不再查询版本
+     * @return Future
+     */
+    public CompletableFuture<Response> executeJob(final MasterContext context, final MasterWorkHolder holder, ExecuteKind kind, final String id, final String historyId) {
         switch (kind) {
             case ScheduleKind:
-                return executeScheduleJob(context, holder, id);
+                return executeScheduleJob(context, holder, id, historyId);
             case ManualKind:
-                return executeManualJob(context, holder, id);
+                return executeManualJob(context, holder, id, historyId);
             case DebugKind:
                 return executeDebugJob(context, holder, id);
             default:
@@ -48,17 +58,19 @@ public class MasterExecuteJob {
      * @param context    MasterContext
      * @param workHolder MasterWorkHolder
      * @param actionId   String
+     * @param historyId  String
      * @return Future
      */
-    private Future<Response> executeManualJob(MasterContext context, MasterWorkHolder workHolder, String actionId) {
+    private CompletableFuture<Response> executeManualJob(MasterContext context, MasterWorkHolder workHolder, String actionId, String historyId) {
         Integer jobId = ActionUtil.getJobId(actionId);
-        workHolder.getManningRunning().add(jobId);
+        context.getJobStateIndex().run(workHolder, TriggerTypeEnum.MANUAL, jobId);
         return buildFuture(context, Request.newBuilder()
                 .setRid(AtomicIncrease.getAndIncrement())
                 .setOperate(Operate.Manual)
                 .setBody(ExecuteMessage
                         .newBuilder()
                         .setActionId(actionId)
+                        .setHistoryId(historyId == null ? "" : historyId)
                         .build().toByteString())
                 .build(), workHolder, actionId, TriggerTypeEnum.MANUAL, jobId);
     }
@@ -70,17 +82,19 @@ public class MasterExecuteJob {
      * @param context    MasterContext
      * @param workHolder MasterWorkHolder
      * @param actionId   String
+     * @param historyId  String
      * @return Future
      */
-    private Future<Response> executeScheduleJob(MasterContext context, MasterWorkHolder workHolder, String actionId) {
+    private CompletableFuture<Response> executeScheduleJob(MasterContext context, MasterWorkHolder workHolder, String actionId, String historyId) {
         Integer jobId = ActionUtil.getJobId(actionId);
-        workHolder.getRunning().add(jobId);
+        context.getJobStateIndex().run(workHolder, TriggerTypeEnum.SCHEDULE, jobId);
         return buildFuture(context, Request.newBuilder()
                 .setRid(AtomicIncrease.getAndIncrement())
                 .setOperate(Operate.Schedule)
                 .setBody(ExecuteMessage
                         .newBuilder()
                         .setActionId(actionId)
+                        .setHistoryId(historyId == null ? "" : historyId)
                         .build().toByteString())
                 .build(), workHolder, actionId, TriggerTypeEnum.SCHEDULE, jobId);
 
@@ -95,7 +109,7 @@ public class MasterExecuteJob {
      * @param id         String
      * @return Future
      */
-    private Future<Response> executeDebugJob(MasterContext context, MasterWorkHolder workHolder, String id) {
+    private CompletableFuture<Response> executeDebugJob(MasterContext context, MasterWorkHolder workHolder, String id) {
         Integer debugId = Integer.parseInt(id);
         workHolder.getDebugRunning().add(debugId);
         return buildFuture(context, Request.newBuilder()
@@ -110,7 +124,8 @@ public class MasterExecuteJob {
     }
 
     /**
-     * 向work发送执行任务的命令 并等待work返回结果
+     * 向work发送执行任务的命令，work返回结果后由netty的response直接完成future，超时由时间轮完成
+     * 返回的是清理运行状态之后的阶段，调用方(结果处理、重试)看到完成时运行记录已经移除
      *
      * @param context  MasterContext
      * @param request  Request
@@ -121,36 +136,28 @@ public class MasterExecuteJob {
      * @return Future
      */
 
-    private Future<Response> buildFuture(MasterContext context, Request request, MasterWorkHolder holder, String actionId, TriggerTypeEnum typeEnum, Integer jobId) {
-        final CountDownLatch latch = new CountDownLatch(1);
-        MasterResponseListener responseListener = new MasterResponseListener(request, false, latch, null);
-        context.getHandler().addListener(responseListener);
-        Future<Response> future = context.getThreadPool().submit(() -> {
-            try {
-                latch.await(HeraGlobalEnv.getTaskTimeout(), TimeUnit.HOURS);
-                if (!responseListener.getReceiveResult()) {
-                    ErrorLog.error("任务({})信号丢失，{}小时未收到work返回：{}", typeEnum.toName(), HeraGlobalEnv.getTaskTimeout(), actionId);
-                }
-            } finally {
-                context.getHandler().removeListener(responseListener);
-                switch (typeEnum) {
-                    case MANUAL:
-                        holder.getManningRunning().remove(jobId);
-                        break;
-                    case SCHEDULE:
-                        holder.getRunning().remove(jobId);
-                        break;
-                    case MANUAL_RECOVER:
-                        holder.getRunning().remove(jobId);
-                        break;
-                    case DEBUG:
-                        holder.getDebugRunning().remove(jobId);
-                        break;
-                    default:
-                        ErrorLog.warn("未识别的任务执行类型{}", typeEnum);
-                }
+    private CompletableFuture<Response> buildFuture(MasterContext context, Request request, MasterWorkHolder holder, String actionId, TriggerTypeEnum typeEnum, Integer jobId) {
+        CompletableFuture<Response> future = new CompletableFuture<>();
+        PendingCallTable callTable = context.getHandler().getCallTable();
+        callTable.register(request.getRid(), new FutureResponseListener(future), HeraGlobalEnv.getTaskTimeout(), TimeUnit.HOURS);
+        CompletableFuture<Response> result = future.whenComplete((response, e) -> {
+            //取消或者发送失败时不再等待返回
+            callTable.remove(request.getRid());
+            if (response == null && e == null) {
+                ErrorLog.error("任务({})信号丢失，{}小时未收到work返回：{}", typeEnum.toName(), HeraGlobalEnv.getTaskTimeout(), actionId);
+            }
+            switch (typeEnum) {
+                case MANUAL:
+                case SCHEDULE:
+                case MANUAL_RECOVER:
+                    context.getJobStateIndex().finish(holder, typeEnum, jobId);
+                    break;
+                case DEBUG:
+                    holder.getDebugRunning().remove(jobId);
+                    break;
+                default:
+                    ErrorLog.warn("未识别的任务执行类型{}", typeEnum);
             }
-            return responseListener.getResponse();
         });
         try {
             holder.getChannel().writeAndFlush(SocketMessage
@@ -160,10 +167,10 @@ public class MasterExecuteJob {
                     .build());
             TaskLog.info("5.MasterExecuteJob:master send debug command to worker,rid = " + request.getRid() + ",actionId = " + actionId + ",address " + holder.getChannel().getRemoteAddress());
         } catch (RemotingException e) {
-            context.getHandler().removeListener(responseListener);
             ErrorLog.error("5.MasterExecuteJob:master send debug command to worker exception,rid = " + request.getRid() + ",actionId = " + actionId + ",address " + holder.getChannel().getRemoteAddress(), e);
+            future.completeExceptionally(e);
         }
-        return future;
+        return result;
 
     }
 }
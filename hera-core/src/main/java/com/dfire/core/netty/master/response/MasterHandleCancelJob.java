@@ -3,14 +3,14 @@ package com.dfire.core.netty.master.response;
 import com.dfire.config.HeraGlobalEnv;
 import com.dfire.core.exception.RemotingException;
 import com.dfire.core.netty.HeraChannel;
-import com.dfire.core.netty.listener.MasterResponseListener;
+import com.dfire.core.netty.listener.FutureResponseListener;
 import com.dfire.core.netty.master.MasterContext;
 import com.dfire.core.netty.util.AtomicIncrease;
 import com.dfire.logs.ErrorLog;
 import com.dfire.logs.SocketLog;
 import com.dfire.protocol.*;
 
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
@@ -35,22 +35,20 @@ public class MasterHandleCancelJob {
                 .setKind(RpcSocketMessage.SocketMessage.Kind.REQUEST)
                 .setBody(request.toByteString())
                 .build();
-        final CountDownLatch latch = new CountDownLatch(1);
-        MasterResponseListener responseListener = new MasterResponseListener(request, false, latch, null);
-        context.getHandler().addListener(responseListener);
-        Future<RpcResponse.Response> future = context.getThreadPool().submit(() -> {
-            latch.await(HeraGlobalEnv.getRequestTimeout(), TimeUnit.SECONDS);
-            if (!responseListener.getReceiveResult()) {
+        CompletableFuture<RpcResponse.Response> future = new CompletableFuture<>();
+        context.getHandler().getCallTable().register(request.getRid(), new FutureResponseListener(future), HeraGlobalEnv.getRequestTimeout(), TimeUnit.SECONDS);
+        future.thenAccept(response -> {
+            if (response == null) {
                 ErrorLog.warn("取消任务信号消失，三小时未收到work返回：{}", jobId);
             }
-            context.getHandler().removeListener(responseListener);
-            return responseListener.getResponse();
         });
         try {
             SocketLog.info("send cancel job success {}", request.getRid());
             channel.writeAndFlush(socketMessage);
         } catch (RemotingException e) {
+            context.getHandler().getCallTable().remove(request.getRid());
             ErrorLog.error("send cancel job exception {}", e);
+            future.complete(null);
         }
         return future;
     }
@@ -1,7 +1,6 @@
 package com.dfire.core.netty.master.response;
 
 import com.alibaba.fastjson.JSONObject;
-import com.dfire.core.message.HeartBeatInfo;
 import com.dfire.core.netty.master.MasterContext;
 import com.dfire.core.netty.master.MasterWorkHolder;
 import com.dfire.logs.ErrorLog;
@@ -22,21 +21,22 @@ public class MasterHandleRequest {
 
     public static void handleHeartBeat(MasterContext masterContext, Channel channel, Request request) {
         MasterWorkHolder workHolder = masterContext.getWorkMap().get(channel);
-        HeartBeatInfo heartBeatInfo = new HeartBeatInfo();
+        if (workHolder == null) {
+            ErrorLog.error("heart beat from unregistered channel:{}", channel.remoteAddress());
+            return;
+        }
         HeartBeatMessage heartBeatMessage;
         try {
-            heartBeatMessage = HeartBeatMessage.newBuilder().mergeFrom(request.getBody()).build();
-            heartBeatInfo.setHost(heartBeatMessage.getHost());
-            heartBeatInfo.setMemRate(heartBeatMessage.getMemRate());
-            heartBeatInfo.setMemTotal(heartBeatMessage.getMemTotal());
-            heartBeatInfo.setCpuLoadPerCore(heartBeatMessage.getCpuLoadPerCore());
-            heartBeatInfo.setRunning(heartBeatMessage.getRunningsList());
-            heartBeatInfo.setDebugRunning(heartBeatMessage.getDebugRunningsList());
-            heartBeatInfo.setManualRunning(heartBeatMessage.getManualRunningsList());
-            heartBeatInfo.setTimestamp(heartBeatMessage.getTimestamp());
-            heartBeatInfo.setCores(heartBeatMessage.getCores());
-            workHolder.setHeartBeatInfo(heartBeatInfo);
-            HeartLog.debug("received heart beat from {} : {}", heartBeatMessage.getHost(), JSONObject.toJSONString(heartBeatInfo));
+            heartBeatMessage = HeartBeatMessage.parseFrom(request.getBody());
+            workHolder.applyHeartBeat(heartBeatMessage);
+            masterContext.indexWorkHolder(workHolder);
+            //worker资源有变化，唤醒该worker所在机器组等待中的任务
+            if (masterContext.getMaster() != null) {
+                masterContext.getMaster().wakeupScan(heartBeatMessage.getHost());
+            }
+            if (HeartLog.isDebugEnabled()) {
+                HeartLog.debug("received heart beat from {} : {}", heartBeatMessage.getHost(), JSONObject.toJSONString(workHolder.getHeartBeatInfo()));
+            }
         } catch (InvalidProtocolBufferException e) {
             ErrorLog.error("解析消息异常", e);
         }
@@ -44,6 +44,10 @@ public class MasterHandleRequest {
 
     public static void setWorkInfo(MasterContext masterContext, Channel channel, Request request) {
         MasterWorkHolder workHolder = masterContext.getWorkMap().get(channel);
+        if (workHolder == null) {
+            ErrorLog.error("work info from unregistered channel:{}", channel.remoteAddress());
+            return;
+        }
         try {
             WorkInfo workInfo = WorkInfo.parseFrom(request.getBody());
             workHolder.setWorkInfo(workInfo);
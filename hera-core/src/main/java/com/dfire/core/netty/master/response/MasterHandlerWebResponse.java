@@ -6,6 +6,7 @@ import com.dfire.common.entity.vo.HeraDebugHistoryVo;
 import com.dfire.common.entity.vo.HeraJobHistoryVo;
 import com.dfire.common.enums.TriggerTypeEnum;
 import com.dfire.common.util.BeanConvertUtils;
+import com.dfire.core.netty.listener.FutureResponseListener;
 import com.dfire.core.netty.master.RunJobThreadPool;
 import com.dfire.event.HeraJobMaintenanceEvent;
 import com.dfire.event.Events;
@@ -13,6 +14,7 @@ import com.dfire.core.exception.RemotingException;
 import com.dfire.core.message.HeartBeatInfo;
 import com.dfire.core.netty.master.MasterContext;
 import com.dfire.core.netty.master.MasterWorkHolder;
+import com.dfire.core.netty.util.AtomicIncrease;
 import com.dfire.core.netty.worker.WorkContext;
 import com.dfire.common.vo.JobElement;
 import com.dfire.core.tool.CpuLoadPerCoreJob;
@@ -25,13 +27,14 @@ import com.dfire.protocol.*;
 import com.dfire.protocol.ResponseStatus.Status;
 import com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage;
 import com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage;
+import com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest;
 import com.dfire.protocol.RpcWebOperate.WebOperate;
 import com.dfire.protocol.RpcWebRequest.WebRequest;
 import com.dfire.protocol.RpcWebResponse.WebResponse;
+import com.google.protobuf.InvalidProtocolBufferException;
 
 import java.util.*;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.*;
 
 /**
  * master处理work发起的web请求
@@ -44,6 +47,11 @@ public class MasterHandlerWebResponse {
 
     private static volatile boolean workReady = false;
 
+    /**
+     * 等待worker返回日志的时间(秒)，页面轮询不能长时间阻塞
+     */
+    private static final int FETCH_LOG_TIMEOUT = 10;
+
     /**
      * 处理work发起的调度中心任务执行 操作
      *
@@ -57,6 +65,10 @@ public class MasterHandlerWebResponse {
 
             HeraJobHistory heraJobHistory = context.getHeraJobHistoryService().findById(historyId);
             HeraJobHistoryVo history = BeanConvertUtils.convert(heraJobHistory);
+            //页面执行前修改了版本的配置
+            if (context.getActionStateStore() != null) {
+                context.getActionStateStore().invalidate(history.getActionId());
+            }
             context.getMaster().run(history, context.getHeraJobService().findById(history.getJobId()));
             WebResponse webResponse = WebResponse.newBuilder()
                     .setRid(request.getRid())
@@ -95,7 +107,7 @@ public class MasterHandlerWebResponse {
      */
     public static WebResponse handleWebDebug(MasterContext context, WebRequest request) {
         String debugId = request.getId();
-        Queue<JobElement> queue = context.getDebugQueue();
+        List<JobElement> queue = context.getQueuedJobElements(TriggerTypeEnum.DEBUG);
         WebResponse response;
         for (JobElement jobElement : queue) {
             if (jobElement.getJobId().equals(debugId)) {
@@ -208,21 +220,24 @@ public class MasterHandlerWebResponse {
 
         //debug任务队列
         List<String> waitDebugQueue = RunJobThreadPool.getWaitClusterJob(TriggerTypeEnum.DEBUG);
-        List<String> masterDebugQueue = new ArrayList<>(waitDebugQueue.size() + context.getDebugQueue().size());
-        context.getDebugQueue().forEach(jobElement -> masterDebugQueue.add(jobElement.getJobId()));
+        List<JobElement> debugQueue = context.getQueuedJobElements(TriggerTypeEnum.DEBUG);
+        List<String> masterDebugQueue = new ArrayList<>(waitDebugQueue.size() + debugQueue.size());
+        debugQueue.forEach(jobElement -> masterDebugQueue.add(jobElement.getJobId()));
         masterDebugQueue.addAll(waitDebugQueue);
         //自动任务队列
 
         List<String> waitScheduleQueue = RunJobThreadPool.getWaitClusterJob(TriggerTypeEnum.SCHEDULE, TriggerTypeEnum.MANUAL_RECOVER);
-        List<String> masterScheduleQueue = new ArrayList<>(waitScheduleQueue.size() + context.getScheduleQueue().size());
+        List<JobElement> scheduleQueue = context.getQueuedJobElements(TriggerTypeEnum.SCHEDULE);
+        List<String> masterScheduleQueue = new ArrayList<>(waitScheduleQueue.size() + scheduleQueue.size());
         masterScheduleQueue.addAll(waitScheduleQueue);
-        context.getScheduleQueue().forEach(jobElement -> masterScheduleQueue.add(jobElement.getJobId()));
+        scheduleQueue.forEach(jobElement -> masterScheduleQueue.add(jobElement.getJobId()));
 
         //手动任务队列
         List<String> waitManualQueue = RunJobThreadPool.getWaitClusterJob(TriggerTypeEnum.MANUAL);
-        List<String> masterManualQueue = new ArrayList<>(waitManualQueue.size() + context.getManualQueue().size());
+        List<JobElement> manualQueue = context.getQueuedJobElements(TriggerTypeEnum.MANUAL);
+        List<String> masterManualQueue = new ArrayList<>(waitManualQueue.size() + manualQueue.size());
         masterManualQueue.addAll(waitManualQueue);
-        context.getManualQueue().forEach(jobElement -> masterManualQueue.add(jobElement.getJobId()));
+        manualQueue.forEach(jobElement -> masterManualQueue.add(jobElement.getJobId()));
 
 
         MemUseRateJob memUseRateJob = new MemUseRateJob(1);
@@ -322,4 +337,52 @@ public class MasterHandlerWebResponse {
                 .setBody(RpcWorkInfo.AllWorkInfo.newBuilder().putAllValues(workInfoMap).build().toByteString())
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * 处理work发起的读取运行日志操作，转发给执行任务的worker读取本地日志段
+     *
+     * @param context MasterContext
+     * @param request WebRequest
+     * @return WebResponse
+     */
+    public static WebResponse fetchLog(MasterContext context, WebRequest request) {
+        WebResponse.Builder builder = WebResponse.newBuilder()
+                .setRid(request.getRid())
+                .setOperate(request.getOperate());
+        LogRangeRequest rangeRequest;
+        try {
+            rangeRequest = LogRangeRequest.parseFrom(request.getBody());
+        } catch (InvalidProtocolBufferException e) {
+            ErrorLog.error("解析消息异常", e);
+            return builder.setStatus(Status.ERROR).setErrorText("解析消息异常").build();
+        }
+        MasterWorkHolder workHolder = context.getWorkHolder(rangeRequest.getHost());
+        if (workHolder == null) {
+            return builder.setStatus(Status.ERROR).setErrorText("worker不在线:" + rangeRequest.getHost()).build();
+        }
+        RpcRequest.Request workRequest = RpcRequest.Request.newBuilder()
+                .setRid(AtomicIncrease.getAndIncrement())
+                .setOperate(RpcOperate.Operate.FetchLog)
+                .setBody(rangeRequest.toByteString())
+                .build();
+        CompletableFuture<RpcResponse.Response> future = new CompletableFuture<>();
+        context.getHandler().getCallTable().register(workRequest.getRid(), new FutureResponseListener(future), FETCH_LOG_TIMEOUT, TimeUnit.SECONDS);
+        try {
+            workHolder.getChannel().writeAndFlush(RpcSocketMessage.SocketMessage.newBuilder()
+                    .setKind(RpcSocketMessage.SocketMessage.Kind.REQUEST)
+                    .setBody(workRequest.toByteString())
+                    .build());
+            RpcResponse.Response response = future.get();
+            if (response == null || response.getStatusEnum() != Status.OK) {
+                return builder.setStatus(Status.ERROR)
+                        .setErrorText(response == null ? "读取日志超时:" + rangeRequest.getHost() : response.getErrorText())
+                        .build();
+            }
+            return builder.setStatus(Status.OK).setBody(response.getBody()).build();
+        } catch (RemotingException | InterruptedException | ExecutionException e) {
+            context.getHandler().getCallTable().remove(workRequest.getRid());
+            ErrorLog.error("读取worker日志异常:" + rangeRequest.getHost(), e);
+            return builder.setStatus(Status.ERROR).setErrorText("读取日志异常:" + e.getMessage()).build();
+        }
+    }
+}
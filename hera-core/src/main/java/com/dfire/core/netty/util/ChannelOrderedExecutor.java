@@ -0,0 +1,158 @@
+package com.dfire.core.netty.util;
+
+import com.dfire.common.util.NamedThreadFactory;
+import com.dfire.logs.ErrorLog;
+import io.netty.channel.Channel;
+import io.netty.util.AttributeKey;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按channel分区的执行器，同一个channel的消息固定在一个单线程lane上顺序处理
+ * 单个channel未处理的消息达到上限时关闭它的autoRead，不再读取新的消息，由tcp反压到对端；
+ * 处理到上限的一半以下时恢复读取。提交线程(io线程)不会被阻塞
+ */
+public class ChannelOrderedExecutor {
+
+    private static final AttributeKey<Backlog> BACKLOG = AttributeKey.valueOf("channelOrderedBacklog");
+
+    private final ThreadPoolExecutor[] lanes;
+
+    /**
+     * 单个channel未处理消息数的上限
+     */
+    private final int highWaterMark;
+
+    private final int lowWaterMark;
+
+    private final LongAdder submitted = new LongAdder();
+
+    private final LongAdder completed = new LongAdder();
+
+    /**
+     * 积压过多暂停读取channel的次数
+     */
+    private final LongAdder paused = new LongAdder();
+
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    private final LongAdder totalLatency = new LongAdder();
+
+    public ChannelOrderedExecutor(String name, int laneNum, int queueSize) {
+        highWaterMark = Math.max(queueSize, 1);
+        lowWaterMark = highWaterMark / 2;
+        lanes = new ThreadPoolExecutor[laneNum];
+        for (int i = 0; i < laneNum; i++) {
+            //积压由autoRead控制，队列长度最多超出上限一次读取的消息数
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                    new NamedThreadFactory(name + "-" + i, true), new ThreadPoolExecutor.AbortPolicy());
+            lanes[i].prestartAllCoreThreads();
+        }
+    }
+
+    public int laneOf(Channel channel) {
+        return (channel.hashCode() & Integer.MAX_VALUE) % lanes.length;
+    }
+
+    /**
+     * 提交到channel对应的lane，lane内按提交顺序执行
+     *
+     * @param channel 消息来源
+     * @param task    任务
+     */
+    public void execute(Channel channel, Runnable task) {
+        long submitTime = System.nanoTime();
+        submitted.increment();
+        Backlog backlog = backlog(channel);
+        if (backlog.increment()) {
+            paused.increment();
+        }
+        Runnable command = () -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                ErrorLog.error("channel " + channel.remoteAddress() + " task execute error", e);
+            } finally {
+                backlog.decrement();
+                long latency = System.nanoTime() - submitTime;
+                totalLatency.add(latency);
+                maxLatency.accumulateAndGet(latency, Math::max);
+                completed.increment();
+            }
+        };
+        try {
+            lanes[laneOf(channel)].execute(command);
+        } catch (RejectedExecutionException e) {
+            backlog.decrement();
+            throw e;
+        }
+    }
+
+    private Backlog backlog(Channel channel) {
+        Backlog backlog = channel.attr(BACKLOG).get();
+        if (backlog == null) {
+            Backlog newBacklog = new Backlog(channel);
+            backlog = channel.attr(BACKLOG).setIfAbsent(newBacklog);
+            if (backlog == null) {
+                backlog = newBacklog;
+            }
+        }
+        return backlog;
+    }
+
+    public int getQueueSize() {
+        int size = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            size += lane.getQueue().size();
+        }
+        return size;
+    }
+
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+    }
+
+    @Override
+    public String toString() {
+        long done = completed.sum();
+        long avg = done == 0 ? 0 : totalLatency.sum() / done;
+        return "[lanes:" + lanes.length + ",queue:" + getQueueSize() + ",submitted:" + submitted.sum() + ",completed:" + done
+                + ",paused:" + paused.sum() + ",avgLatency:" + TimeUnit.NANOSECONDS.toMicros(avg) + "us,maxLatency:"
+                + TimeUnit.NANOSECONDS.toMillis(maxLatency.get()) + "ms]";
+    }
+
+    /**
+     * channel未处理的消息数，在同一把锁内修改计数与autoRead，避免暂停与恢复交错后一直不读取
+     */
+    private class Backlog {
+
+        private final Channel channel;
+
+        private int pending;
+
+        Backlog(Channel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * @return 是否因此暂停了读取
+         */
+        synchronized boolean increment() {
+            if (++pending >= highWaterMark && channel.config().isAutoRead()) {
+                channel.config().setAutoRead(false);
+                return true;
+            }
+            return false;
+        }
+
+        synchronized void decrement() {
+            if (--pending <= lowWaterMark && !channel.config().isAutoRead()) {
+                channel.config().setAutoRead(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.dfire.core.netty.util;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * io线程利用率统计，放在pipeline的最前面
+ * 统计每个io线程处理读事件(解码、分发消息)的耗时，利用率 = 处理耗时 / 统计区间
+ */
+@ChannelHandler.Sharable
+public class IoThreadMetrics extends ChannelInboundHandlerAdapter {
+
+    private final List<ThreadMetric> threadMetrics = new CopyOnWriteArrayList<>();
+
+    private final ThreadLocal<ThreadMetric> current = ThreadLocal.withInitial(() -> {
+        ThreadMetric metric = new ThreadMetric(Thread.currentThread().getName());
+        threadMetrics.add(metric);
+        return metric;
+    });
+
+    private volatile long lastSnapshot = System.nanoTime();
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        ThreadMetric metric = current.get();
+        if (msg instanceof ByteBuf) {
+            metric.bytes.addAndGet(((ByteBuf) msg).readableBytes());
+        }
+        long begin = System.nanoTime();
+        try {
+            ctx.fireChannelRead(msg);
+        } finally {
+            metric.busyNanos.addAndGet(System.nanoTime() - begin);
+            metric.reads.incrementAndGet();
+        }
+    }
+
+    /**
+     * 输出上次输出以来每个io线程的利用率并清零
+     *
+     * @return 统计信息
+     */
+    public synchronized String snapshotAndReset() {
+        long now = System.nanoTime();
+        long elapsed = Math.max(now - lastSnapshot, 1);
+        lastSnapshot = now;
+        StringBuilder builder = new StringBuilder("[elapsed:").append(TimeUnit.NANOSECONDS.toSeconds(elapsed)).append("s");
+        for (ThreadMetric metric : threadMetrics) {
+            long busy = metric.busyNanos.getAndSet(0);
+            builder.append(",").append(metric.name)
+                    .append(":{util:").append(String.format("%.2f", busy * 100.0 / elapsed)).append("%")
+                    .append(",reads:").append(metric.reads.getAndSet(0))
+                    .append(",bytes:").append(metric.bytes.getAndSet(0)).append("}");
+        }
+        return builder.append("]").toString();
+    }
+
+    /**
+     * 只有所属io线程累加，统计线程读取并清零
+     */
+    private static class ThreadMetric {
+
+        private final String name;
+
+        private final AtomicLong busyNanos = new AtomicLong();
+
+        private final AtomicLong reads = new AtomicLong();
+
+        private final AtomicLong bytes = new AtomicLong();
+
+        ThreadMetric(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.dfire.core.netty.util;
+
+import com.dfire.config.HeraGlobalEnv;
+import com.dfire.logs.ErrorLog;
+import com.dfire.logs.SocketLog;
+import com.dfire.protocol.RpcSocketMessage.SocketMessage;
+import com.google.protobuf.ByteString;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * master与worker之间的帧处理，位于protobuf编解码与业务handler之间，每个channel一个实例
+ * 1.合并flush：同一次事件循环内的多次flush合并为一次，减少系统调用
+ * 2.批量帧：对端支持时，合并flush期间写入的多条消息放入一个BATCH帧
+ * 3.压缩：对端支持时，超过阈值的消息体使用deflate压缩
+ * 双方在每条非批量消息上带上自己支持的特性，收到对端的特性后才开启，旧版本不识别features字段，始终按单条消息通信
+ * 收到对端特性时本端还没有发送过特性，回复一个空的批量帧，worker据此判断master是否支持增量心跳
+ */
+public class RpcFrameCodec extends ChannelDuplexHandler {
+
+    public static final int FEATURE_BATCH = 1;
+
+    public static final int FEATURE_COMPRESS = 2;
+
+    /**
+     * 支持解析增量心跳，旧版本master会把增量心跳中空的运行任务当作全量
+     */
+    public static final int FEATURE_DELTA_HEARTBEAT = 4;
+
+    /**
+     * 单个批量帧最多合并的消息数
+     */
+    private static final int MAX_BATCH_SIZE = 128;
+
+    private final int localFeatures;
+
+    private final int compressThreshold;
+
+    private volatile int peerFeatures;
+
+    /**
+     * 是否已经向对端发送过本端的特性
+     */
+    private boolean advertised;
+
+    private final List<SocketMessage> pendingMessages = new ArrayList<>();
+
+    private final List<ChannelPromise> pendingPromises = new ArrayList<>();
+
+    private boolean flushScheduled;
+
+    public RpcFrameCodec() {
+        this(HeraGlobalEnv.isRpcBatch(), HeraGlobalEnv.getRpcCompressThreshold());
+    }
+
+    public RpcFrameCodec(boolean batch, int compressThreshold) {
+        this.compressThreshold = compressThreshold;
+        this.localFeatures = (batch ? FEATURE_BATCH : 0) | (compressThreshold > 0 ? FEATURE_COMPRESS : 0) | FEATURE_DELTA_HEARTBEAT;
+    }
+
+    /**
+     * 对端是否已经声明支持该特性
+     *
+     * @param channel 与对端的连接
+     * @param feature 特性
+     * @return 双方都支持时返回true，旧版本对端或者还未协商时返回false
+     */
+    public static boolean peerSupports(Channel channel, int feature) {
+        if (channel == null) {
+            return false;
+        }
+        RpcFrameCodec codec = channel.pipeline().get(RpcFrameCodec.class);
+        return codec != null && codec.enabled(feature);
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (!(msg instanceof SocketMessage)) {
+            ctx.fireChannelRead(msg);
+            return;
+        }
+        SocketMessage message = (SocketMessage) msg;
+        if (message.getFeatures() != 0 && message.getFeatures() != peerFeatures) {
+            peerFeatures = message.getFeatures();
+            SocketLog.info("rpc frame features negotiated with {}, local:{}, peer:{}", ctx.channel().remoteAddress(), localFeatures, peerFeatures);
+            if (!advertised) {
+                advertised = true;
+                ctx.writeAndFlush(SocketMessage.newBuilder().setKind(SocketMessage.Kind.BATCH).setFeatures(localFeatures).build());
+            }
+        }
+        if (message.getKind() == SocketMessage.Kind.BATCH) {
+            for (SocketMessage subMessage : message.getMessagesList()) {
+                ctx.fireChannelRead(decompress(subMessage));
+            }
+        } else {
+            ctx.fireChannelRead(decompress(message));
+        }
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        if (!(msg instanceof SocketMessage)) {
+            ctx.write(msg, promise);
+            return;
+        }
+        SocketMessage message = compress((SocketMessage) msg);
+        if (!enabled(FEATURE_BATCH)) {
+            message = message.toBuilder().setFeatures(localFeatures).build();
+            advertised = true;
+            ctx.write(message, promise);
+            return;
+        }
+        pendingMessages.add(message);
+        pendingPromises.add(promise);
+    }
+
+    /**
+     * 延迟到当前事件循环中已提交的任务之后再flush，期间其它线程提交的writeAndFlush合并到一次flush中
+     */
+    @Override
+    public void flush(ChannelHandlerContext ctx) throws Exception {
+        if (flushScheduled) {
+            return;
+        }
+        flushScheduled = true;
+        ctx.executor().execute(() -> {
+            flushScheduled = false;
+            writePending(ctx);
+            ctx.flush();
+        });
+    }
+
+    @Override
+    public void close(ChannelHandlerContext ctx, ChannelPromise promise) throws Exception {
+        writePending(ctx);
+        ctx.flush();
+        ctx.close(promise);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        if (!pendingPromises.isEmpty()) {
+            ClosedChannelException cause = new ClosedChannelException();
+            for (ChannelPromise promise : pendingPromises) {
+                promise.tryFailure(cause);
+            }
+            pendingMessages.clear();
+            pendingPromises.clear();
+        }
+        ctx.fireChannelInactive();
+    }
+
+    private void writePending(ChannelHandlerContext ctx) {
+        int size = pendingMessages.size();
+        for (int from = 0; from < size; from += MAX_BATCH_SIZE) {
+            int to = Math.min(from + MAX_BATCH_SIZE, size);
+            if (to - from == 1) {
+                ctx.write(pendingMessages.get(from), pendingPromises.get(from));
+                continue;
+            }
+            advertised = true;
+            List<ChannelPromise> promises = new ArrayList<>(pendingPromises.subList(from, to));
+            SocketMessage batch = SocketMessage.newBuilder()
+                    .setKind(SocketMessage.Kind.BATCH)
+                    .setFeatures(localFeatures)
+                    .addAllMessages(pendingMessages.subList(from, to))
+                    .build();
+            ctx.write(batch).addListener((ChannelFuture future) -> {
+                for (ChannelPromise promise : promises) {
+                    if (future.isSuccess()) {
+                        promise.trySuccess();
+                    } else {
+                        promise.tryFailure(future.cause());
+                    }
+                }
+            });
+        }
+        pendingMessages.clear();
+        pendingPromises.clear();
+    }
+
+    private boolean enabled(int feature) {
+        return (localFeatures & peerFeatures & feature) != 0;
+    }
+
+    private SocketMessage compress(SocketMessage message) {
+        if (!enabled(FEATURE_COMPRESS) || message.getCompressed() || message.getBody().size() < compressThreshold) {
+            return message;
+        }
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            byte[] body = message.getBody().toByteArray();
+            deflater.setInput(body);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+                //压缩后没有变小，直接发送原始数据
+                if (out.size() >= body.length) {
+                    return message;
+                }
+            }
+            return message.toBuilder().setBody(ByteString.copyFrom(out.toByteArray())).setCompressed(true).build();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private SocketMessage decompress(SocketMessage message) throws IOException {
+        if (!message.getCompressed()) {
+            return message;
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(message.getBody().toByteArray());
+            ByteString.Output out = ByteString.newOutput(message.getBody().size() * 4);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int len = inflater.inflate(buffer);
+                if (len == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("truncated compressed body");
+                }
+                out.write(buffer, 0, len);
+            }
+            return message.toBuilder().setBody(out.toByteString()).setCompressed(false).build();
+        } catch (DataFormatException e) {
+            ErrorLog.error("解压消息失败", e);
+            throw new IOException(e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.dfire.core.netty.worker;
 
 
+import com.dfire.common.constants.Constants;
 import com.dfire.common.entity.vo.HeraDebugHistoryVo;
 import com.dfire.common.entity.vo.HeraJobHistoryVo;
+import com.dfire.common.entity.vo.HistoryLogVo;
 import com.dfire.common.enums.StatusEnum;
 import com.dfire.common.util.ActionUtil;
 import com.dfire.common.util.BeanConvertUtils;
@@ -13,8 +15,11 @@ import com.dfire.common.vo.ProcessMonitorVo;
 import com.dfire.common.vo.WorkInfoVo;
 import com.dfire.config.HeraGlobalEnv;
 import com.dfire.core.job.Job;
+import com.dfire.core.log.LogFlushScheduler;
+import com.dfire.core.log.LogSegmentStore;
 import com.dfire.core.message.HeartBeatInfo;
 import com.dfire.core.netty.cluster.FailFastCluster;
+import com.dfire.core.netty.util.RpcFrameCodec;
 import com.dfire.core.netty.worker.request.WorkerHandleWebRequest;
 import com.dfire.core.netty.worker.request.WorkerHandlerHeartBeat;
 import com.dfire.logs.ErrorLog;
@@ -25,6 +30,8 @@ import com.dfire.protocol.JobExecuteKind.ExecuteKind;
 import com.dfire.protocol.ResponseStatus;
 import com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage;
 import com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage;
+import com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest;
+import com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse;
 import com.dfire.protocol.RpcSocketMessage;
 import com.dfire.protocol.RpcWebResponse;
 import com.dfire.protocol.RpcWorkInfo.*;
@@ -43,9 +50,11 @@ import io.netty.handler.codec.protobuf.ProtobufVarint32FrameDecoder;
 import io.netty.handler.codec.protobuf.ProtobufVarint32LengthFieldPrepender;
 import io.netty.handler.timeout.IdleStateHandler;
 import lombok.Data;
+import org.apache.commons.lang.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.io.File;
 import java.net.InetSocketAddress;
 import java.text.SimpleDateFormat;
 import java.util.*;
@@ -62,6 +71,16 @@ import java.util.concurrent.atomic.AtomicBoolean;
 @Component
 public class WorkClient {
 
+    /**
+     * 等待master返回运行日志的时间(秒)
+     */
+    private static final int FETCH_LOG_TIMEOUT = 15;
+
+    /**
+     * 运行结束后一次读取剩余日志的最大字节数，为每次读取的倍数
+     */
+    private static final int FINISHED_FETCH_TIMES = 16;
+
     private Bootstrap bootstrap;
     private EventLoopGroup eventLoopGroup;
     @Autowired
@@ -69,6 +88,11 @@ public class WorkClient {
     private ScheduledExecutorService service;
     private AtomicBoolean clientSwitch = new AtomicBoolean(false);
     public ScheduledThreadPoolExecutor workSchedule;
+    private final WorkerHandlerHeartBeat workerHandlerHeartBeat = new WorkerHandlerHeartBeat();
+    /**
+     * 是否已经有待发送的容量变化通知
+     */
+    private final AtomicBoolean capacityNotifying = new AtomicBoolean(false);
 
     {
         workSchedule = new ScheduledThreadPoolExecutor(3, new NamedThreadFactory("work-schedule", false));
@@ -101,6 +125,8 @@ public class WorkClient {
         }
 
         workContext.setWorkClient(this);
+        workContext.setLogSegmentStore(new LogSegmentStore(new File(HeraGlobalEnv.getWorkDir(), "logs"),
+                HeraGlobalEnv.getLogSegmentSize() * 1024 * 1024, HeraGlobalEnv.getLogMaxSegments()));
         eventLoopGroup = new NioEventLoopGroup();
         bootstrap = new Bootstrap();
         bootstrap.group(eventLoopGroup)
@@ -113,6 +139,7 @@ public class WorkClient {
                                 .addLast("decoder", new ProtobufDecoder(RpcSocketMessage.SocketMessage.getDefaultInstance()))
                                 .addLast("frameEncoder", new ProtobufVarint32LengthFieldPrepender())
                                 .addLast("encoder", new ProtobufEncoder())
+                                .addLast("rpcFrame", new RpcFrameCodec())
                                 .addLast(new WorkHandler(workContext));
                     }
                 });
@@ -120,7 +147,6 @@ public class WorkClient {
 
         workSchedule.schedule(new Runnable() {
 
-            private WorkerHandlerHeartBeat workerHandlerHeartBeat = new WorkerHandlerHeartBeat();
             private int failCount = 0;
 
             @Override
@@ -149,86 +175,22 @@ public class WorkClient {
         /**
          * 定时 刷新日志到数据库
          */
-        workSchedule.scheduleWithFixedDelay(new Runnable() {
-            /**
-             * 处理任务调度的异常日志
-             * @param job
-             * @param e
-             */
-            private void printScheduleLog(Job job, Exception e) {
-                try {
-                    HeraJobHistoryVo his = job.getJobContext().getHeraJobHistory();
-                    String logContent = his.getLog().getContent();
-                    if (logContent == null) {
-                        logContent = "";
-                    }
-                    ErrorLog.error("log output error!\n" +
-                            "[actionId:" + his.getJobId() +
-                            ", hisId:" + his.getId() +
-                            ", logLength:" +
-                            logContent.length() + "]", e);
-                } catch (Exception ex) {
-                    ErrorLog.error("log exception error!", ex);
-                }
-            }
+        workContext.setLogFlushScheduler(new LogFlushScheduler(workContext));
+        workSchedule.scheduleWithFixedDelay(workContext.getLogFlushScheduler(), 0, HeraGlobalEnv.getLogFlushInterval(), TimeUnit.SECONDS);
 
-            /**
-             * 处理 开发中心的日志
-             * @param job
-             * @param e
-             */
-            private void printDebugLog(Job job, Exception e) {
-                try {
-                    HeraDebugHistoryVo history = job.getJobContext().getDebugHistory();
-                    String logContent = history.getLog().getContent();
-                    if (logContent == null) {
-                        logContent = "";
-                    }
-                    ErrorLog.error("log output error!\n" +
-                            "[fileId:" + history.getFileId() +
-                            ", hisId:" + history.getId() +
-                            ", logLength:" +
-                            logContent.length() + "]", e);
-                } catch (Exception ex) {
-                    ErrorLog.error("log exception error!", ex);
-                }
-            }
-
-            @Override
-            public void run() {
-                try {
-                    for (Job job : new ArrayList<>(workContext.getRunning().values())) {
-                        try {
-                            HeraJobHistoryVo history = job.getJobContext().getHeraJobHistory();
-                            workContext.getHeraJobHistoryService().updateHeraJobHistoryLog(BeanConvertUtils.convert(history));
-                        } catch (Exception e) {
-                            printScheduleLog(job, e);
-                        }
-                    }
-
-                    for (Job job : new ArrayList<>(workContext.getManualRunning().values())) {
-                        try {
-                            HeraJobHistoryVo history = job.getJobContext().getHeraJobHistory();
-                            workContext.getHeraJobHistoryService().updateHeraJobHistoryLog(BeanConvertUtils.convert(history));
-                        } catch (Exception e) {
-                            printScheduleLog(job, e);
-                        }
-                    }
-
-                    for (Job job : new ArrayList<>(workContext.getDebugRunning().values())) {
-                        try {
-                            HeraDebugHistoryVo history = job.getJobContext().getDebugHistory();
-                            workContext.getHeraDebugHistoryService().updateLog(BeanConvertUtils.convert(history));
-                        } catch (Exception e) {
-                            printDebugLog(job, e);
-                        }
-                    }
-                } catch (Exception e) {
-                    ErrorLog.error("job log flush exception:{}", e.toString());
+        /**
+         * 定时 清理过期的本地运行日志
+         */
+        workSchedule.scheduleWithFixedDelay(() -> {
+            try {
+                int deleted = workContext.getLogSegmentStore().clean(TimeUnit.HOURS.toMillis(HeraGlobalEnv.getLogRetainHours()));
+                if (deleted > 0) {
+                    HeraLog.info("清理过期的本地运行日志:{}", deleted);
                 }
-
+            } catch (Exception e) {
+                ErrorLog.error("清理本地运行日志异常", e);
             }
-        }, 0, 5, TimeUnit.SECONDS);
+        }, 1, 60, TimeUnit.MINUTES);
     }
 
     /**
@@ -362,6 +324,82 @@ public class WorkClient {
         return "生成版本成功";
     }
 
+    /**
+     * 任务结束后立即推送一次增量心跳，master据此唤醒该worker所在机器组的等待任务
+     * 短时间内多个任务结束时合并为一次发送
+     */
+    public void notifyCapacityChanged() {
+        if (!capacityNotifying.compareAndSet(false, true)) {
+            return;
+        }
+        workSchedule.execute(() -> {
+            //先清除标记，发送期间结束的任务会再触发一次
+            capacityNotifying.set(false);
+            if (workContext.getServerChannel() == null) {
+                return;
+            }
+            try {
+                workerHandlerHeartBeat.send(workContext);
+                HeartLog.debug("push capacity changed:{}", workContext.getServerChannel().getRemoteAddress());
+            } catch (Exception e) {
+                ErrorLog.error("push capacity changed error:", e);
+            }
+        });
+    }
+
+    /**
+     * 从执行任务的worker读取本地日志段中的运行日志
+     * 运行中首次读取末尾的日志，之后从上次的位置继续读取，运行结束后一次读取剩余的日志
+     *
+     * @param host   执行任务的worker
+     * @param type   action/debug
+     * @param id     historyId/debugId
+     * @param status 运行状态
+     * @param offset 上次读取到的位置
+     * @param source 上次读取的日志来源
+     * @return worker不在线或者没有本地日志时返回null，由调用方读取数据库中的日志
+     */
+    public HistoryLogVo readSegmentLog(String host, String type, Integer id, String status, Long offset, String source) {
+        boolean running = StatusEnum.RUNNING.toString().equals(status);
+        boolean segment = HistoryLogVo.SEGMENT.equals(source) && offset != null;
+        if (StringUtils.isBlank(host) || workContext.getServerChannel() == null || (!running && !segment)) {
+            return null;
+        }
+        int maxBytes = HeraGlobalEnv.getLogFetchMaxBytes();
+        LogRangeRequest request = LogRangeRequest.newBuilder()
+                .setHost(host)
+                .setType(type)
+                .setId(String.valueOf(id))
+                .setOffset(segment ? offset : -1)
+                .setMaxBytes(running ? maxBytes : maxBytes * FINISHED_FETCH_TIMES)
+                .build();
+        try {
+            RpcWebResponse.WebResponse response = WorkerHandleWebRequest.fetchLogFromMaster(workContext, request).get(FETCH_LOG_TIMEOUT, TimeUnit.SECONDS);
+            if (response == null || response.getStatus() != ResponseStatus.Status.OK) {
+                HeraLog.warn("读取本地运行日志失败:{}-{}, {}", type, id, response == null ? "timeout" : response.getErrorText());
+                return null;
+            }
+            LogRangeResponse range = LogRangeResponse.parseFrom(response.getBody());
+            if (!range.getExists()) {
+                return null;
+            }
+            String log = range.getContent().toStringUtf8();
+            if (!segment && range.getOffset() > 0) {
+                log = "<b>HERA#</b> 日志较长，省略前面" + range.getOffset() / 1024 + "KB" + Constants.LOG_SPLIT + log;
+            }
+            return HistoryLogVo.builder()
+                    .log(log)
+                    .status(status)
+                    .offset(range.getNextOffset())
+                    .append(segment)
+                    .source(HistoryLogVo.SEGMENT)
+                    .build();
+        } catch (InterruptedException | ExecutionException | TimeoutException | InvalidProtocolBufferException e) {
+            ErrorLog.error("读取本地运行日志异常:" + type + "-" + id, e);
+            return null;
+        }
+    }
+
     public Map<String, HeartBeatInfo> getJobQueueInfoFromWeb() throws ExecutionException, InterruptedException, InvalidProtocolBufferException {
         RpcWebResponse.WebResponse response = WorkerHandleWebRequest.getJobQueueInfoFromMaster(workContext).get();
         if (response.getStatus() == ResponseStatus.Status.ERROR) {
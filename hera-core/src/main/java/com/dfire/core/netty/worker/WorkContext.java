@@ -4,6 +4,8 @@ import com.dfire.common.service.*;
 import com.dfire.common.util.NamedThreadFactory;
 import com.dfire.config.HeraGlobalEnv;
 import com.dfire.core.job.Job;
+import com.dfire.core.log.LogFlushScheduler;
+import com.dfire.core.log.LogSegmentStore;
 import com.dfire.core.netty.HeraChannel;
 import com.dfire.core.tool.RunShell;
 import com.dfire.core.util.NetUtils;
@@ -34,6 +36,8 @@ public class WorkContext {
     @Autowired
     private HeraJobHistoryService heraJobHistoryService;
     @Autowired
+    private HeraHistoryLogService heraHistoryLogService;
+    @Autowired
     @Qualifier("heraGroupMemoryService")
     private HeraGroupService heraGroupService;
     @Autowired
@@ -55,6 +59,14 @@ public class WorkContext {
     private Map<String, Job> debugRunning = new ConcurrentHashMap<>();
     private WorkHandler handler;
     private WorkClient workClient;
+    /**
+     * 本地运行日志
+     */
+    private LogSegmentStore logSegmentStore;
+    /**
+     * 运行中任务的日志刷新
+     */
+    private LogFlushScheduler logFlushScheduler;
     /**
      * 处理web 异步请求
      */
@@ -91,5 +103,13 @@ public class WorkContext {
 
     }
 
+    /**
+     * 任务结束，通知master该worker有空闲资源
+     */
+    public void notifyCapacityChanged() {
+        if (workClient != null) {
+            workClient.notifyCapacityChanged();
+        }
+    }
 
 }
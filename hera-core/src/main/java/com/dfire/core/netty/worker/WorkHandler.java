@@ -4,9 +4,10 @@ import com.dfire.common.util.NamedThreadFactory;
 import com.dfire.core.exception.RemotingException;
 import com.dfire.core.netty.HeraChannel;
 import com.dfire.core.netty.cluster.FailBackCluster;
-import com.dfire.core.netty.listener.ResponseListener;
+import com.dfire.core.netty.listener.PendingCallTable;
 import com.dfire.core.netty.worker.request.WorkExecuteJob;
 import com.dfire.core.netty.worker.request.WorkHandleCancel;
+import com.dfire.core.netty.worker.request.WorkHandleFetchLog;
 import com.dfire.core.netty.worker.request.WorkHandlerRequest;
 import com.dfire.logs.ErrorLog;
 import com.dfire.logs.SocketLog;
@@ -20,7 +21,6 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 
-import java.util.List;
 import java.util.concurrent.*;
 
 /**
@@ -65,14 +65,13 @@ public class WorkHandler extends SimpleChannelInboundHandler<SocketMessage> {
     }
 
 
-    private List<ResponseListener> listeners = new CopyOnWriteArrayList<>();
+    /**
+     * 等待master返回的请求
+     */
+    private final PendingCallTable callTable = new PendingCallTable("worker");
 
-    public void addListener(ResponseListener listener) {
-        listeners.add(listener);
-    }
-
-    public void removeListener(ResponseListener listener) {
-        listeners.add(listener);
+    public PendingCallTable getCallTable() {
+        return callTable;
     }
 
     public SocketMessage wrapper(Response response) {
@@ -104,10 +103,15 @@ public class WorkHandler extends SimpleChannelInboundHandler<SocketMessage> {
                     case GetWorkInfo:
                         workContext.getWorkExecuteThreadPool().execute(() -> handlerRequest.getWorkInfo(getChannel(channel)));
                         break;
+                    case FetchLog:
+                        completionService.submit(() ->
+                                new ChannelResponse(getChannel(channel), new WorkHandleFetchLog().fetch(workContext, request)));
+                        break;
                     default:
                         ErrorLog.warn("unknow operate value {}", request.getOperateValue());
                         break;
                 }
+                break;
             case RESPONSE:
                 workContext.getWorkWebThreadPool().execute(() -> {
                     Response response = null;
@@ -117,9 +121,7 @@ public class WorkHandler extends SimpleChannelInboundHandler<SocketMessage> {
                         ErrorLog.error("解析消息异常", e);
                     }
                     TaskLog.info("4.WorkHandler:receiver: socket info from master {}, response is {}", ctx.channel().remoteAddress(), response.getRid());
-                    for (ResponseListener listener : listeners) {
-                        listener.onResponse(response);
-                    }
+                    callTable.onResponse(response);
                 });
 
                 break;
@@ -132,9 +134,7 @@ public class WorkHandler extends SimpleChannelInboundHandler<SocketMessage> {
                         ErrorLog.error("解析消息失败", e);
                     }
                     TaskLog.info("4.WorkHandler:receiver socket info from master {}, webResponse is {}", ctx.channel().remoteAddress(), webResponse.getRid());
-                    for (ResponseListener listener : listeners) {
-                        listener.onWebResponse(webResponse);
-                    }
+                    callTable.onWebResponse(webResponse);
                 });
                 break;
             default:
@@ -8,12 +8,15 @@ import com.dfire.common.entity.vo.HeraDebugHistoryVo;
 import com.dfire.common.entity.vo.HeraJobHistoryVo;
 import com.dfire.common.enums.StatusEnum;
 import com.dfire.common.exception.HeraException;
+import com.dfire.common.service.HeraHistoryLogService;
 import com.dfire.common.util.ActionUtil;
 import com.dfire.common.util.BeanConvertUtils;
-import com.dfire.common.vo.JobStatus;
+import com.dfire.common.vo.LogContent;
 import com.dfire.config.HeraGlobalEnv;
 import com.dfire.core.job.Job;
 import com.dfire.core.job.JobContext;
+import com.dfire.core.log.LogSegmentStore;
+import com.dfire.core.log.LogSegmentWriter;
 import com.dfire.core.netty.worker.WorkContext;
 import com.dfire.core.util.JobUtils;
 import com.dfire.logs.ErrorLog;
@@ -51,6 +54,22 @@ public class WorkExecuteJob {
     }
 
 
+    /**
+     * master分发时携带historyId，master的版本状态延迟写入数据库，不能再从数据库读取
+     * 兼容未携带historyId的master
+     *
+     * @param workContext WorkContext
+     * @param message     ExecuteMessage
+     * @return historyId
+     */
+    private String getHistoryId(WorkContext workContext, RpcExecuteMessage.ExecuteMessage message) {
+        if (!message.getHistoryId().isEmpty()) {
+            return message.getHistoryId();
+        }
+        HeraAction heraAction = workContext.getHeraJobActionService().findById(message.getActionId());
+        return heraAction.getHistoryId();
+    }
+
     /**
      * worker中，调度中心手动执行任务最终执行位置，JobUtils.createDebugJob创建job文件到服务器，拼接shell，并调用命令执行
      *
@@ -69,8 +88,7 @@ public class WorkExecuteJob {
         }
         final String actionId = message.getActionId();
         SocketLog.info("worker received master request to run manual job, actionId = {}", actionId);
-        HeraAction heraAction = workContext.getHeraJobActionService().findById(actionId);
-        final HeraJobHistoryVo history = BeanConvertUtils.convert(workContext.getHeraJobHistoryService().findById(heraAction.getHistoryId()));
+        final HeraJobHistoryVo history = BeanConvertUtils.convert(workContext.getHeraJobHistoryService().findById(getHistoryId(workContext, message)));
         return workContext.getWorkExecuteThreadPool().submit(() -> {
             history.setExecuteHost(WorkContext.host);
             history.setStartTime(new Date());
@@ -87,6 +105,7 @@ public class WorkExecuteJob {
             HeraJobBean jobBean = workContext.getHeraGroupService().getUpstreamJobBean(history.getJobId());
             final Job job = JobUtils.createScheduleJob(new JobContext(JobContext.SCHEDULE_RUN),
                     jobBean, history, directory.getAbsolutePath());
+            LogSegmentWriter segmentWriter = openSegment(workContext, HeraHistoryLogService.ACTION, history.getId(), history.getLog());
             workContext.getManualRunning().put(actionId, job);
 
             int exitCode = -1;
@@ -96,6 +115,7 @@ public class WorkExecuteJob {
             } catch (Exception e) {
                 exception = e;
             } finally {
+                closeSegment(segmentWriter, history.getLog());
                 StatusEnum statusEnum = getStatusFromCode(exitCode);
                 //更新状态和日志
                 workContext.getHeraJobHistoryService().updateHeraJobHistoryLogAndStatus(
@@ -106,6 +126,9 @@ public class WorkExecuteJob {
                                 .endTime(new Date())
                                 .build());
                 workContext.getManualRunning().remove(actionId);
+                workContext.notifyCapacityChanged();
+                //完整日志已经写入运行记录，删除运行中的增量日志
+                workContext.getHeraHistoryLogService().deleteLog(Integer.parseInt(history.getId()), HeraHistoryLogService.ACTION);
             }
 
             ResponseStatus.Status status = ResponseStatus.Status.OK;
@@ -146,8 +169,7 @@ public class WorkExecuteJob {
         // 查看master分发 actionHistoryId
         final String jobId = message.getActionId();
         SocketLog.info("worker received master request to run schedule, actionId :" + jobId);
-        final JobStatus jobStatus = workContext.getHeraJobActionService().findJobStatus(jobId);
-        final HeraJobHistory heraJobHistory = workContext.getHeraJobHistoryService().findById(jobStatus.getHistoryId());
+        final HeraJobHistory heraJobHistory = workContext.getHeraJobHistoryService().findById(getHistoryId(workContext, message));
         HeraJobHistoryVo history = BeanConvertUtils.convert(heraJobHistory);
         return workContext.getWorkExecuteThreadPool().submit(() -> {
             history.setExecuteHost(WorkContext.host);
@@ -163,6 +185,7 @@ public class WorkExecuteJob {
                 }
             }
             final Job job = JobUtils.createScheduleJob(new JobContext(JobContext.SCHEDULE_RUN), jobBean, history, directory.getAbsolutePath());
+            LogSegmentWriter segmentWriter = openSegment(workContext, HeraHistoryLogService.ACTION, history.getId(), history.getLog());
             workContext.getRunning().put(jobId, job);
             int exitCode = -1;
             Exception exception = null;
@@ -171,6 +194,7 @@ public class WorkExecuteJob {
             } catch (Exception e) {
                 exception = e;
             } finally {
+                closeSegment(segmentWriter, history.getLog());
                 StatusEnum statusEnum = getStatusFromCode(exitCode);
                 //更新状态和日志
                 workContext.getHeraJobHistoryService().updateHeraJobHistoryLogAndStatus(
@@ -180,6 +204,9 @@ public class WorkExecuteJob {
                                 endTime(new Date())
                                 .build());
                 workContext.getRunning().remove(jobId);
+                workContext.notifyCapacityChanged();
+                //完整日志已经写入运行记录，删除运行中的增量日志
+                workContext.getHeraHistoryLogService().deleteLog(Integer.parseInt(history.getId()), HeraHistoryLogService.ACTION);
             }
 
             ResponseStatus.Status status = ResponseStatus.Status.OK;
@@ -223,6 +250,8 @@ public class WorkExecuteJob {
             int exitCode = -1;
             Exception exception = null;
             ResponseStatus.Status status;
+            LogSegmentWriter segmentWriter = null;
+            LogContent segmentLog = null;
             try {
 
                 history.setExecuteHost(WorkContext.host);
@@ -237,12 +266,15 @@ public class WorkExecuteJob {
                 }
                 Job job = JobUtils.createDebugJob(new JobContext(JobContext.DEBUG_RUN), BeanConvertUtils.convert(history),
                         directory.getAbsolutePath(), workContext);
+                segmentLog = job.getJobContext().getDebugHistory().getLog();
+                segmentWriter = openSegment(workContext, HeraHistoryLogService.DEBUG, debugId, segmentLog);
                 workContext.getDebugRunning().putIfAbsent(debugId, job);
                 exitCode = job.run();
             } catch (Exception e) {
                 exception = e;
                 history.getLog().appendHeraException(e);
             } finally {
+                closeSegment(segmentWriter, segmentLog);
                 HeraDebugHistoryVo heraDebugHistoryVo = workContext.getHeraDebugHistoryService().findById(Integer.parseInt(debugId));
                 heraDebugHistoryVo.setEndTime(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date()));
 
@@ -254,10 +286,13 @@ public class WorkExecuteJob {
                     status = ResponseStatus.Status.ERROR;
                     heraDebugHistoryVo.setStatus(statusEnum);
                 }
-                workContext.getHeraDebugHistoryService().updateStatus(BeanConvertUtils.convert(heraDebugHistoryVo));
+                //先写入完整日志再更新状态，页面看到运行结束时日志已经完整
                 HeraDebugHistoryVo debugHistory = workContext.getDebugRunning().get(debugId).getJobContext().getDebugHistory();
                 workContext.getHeraDebugHistoryService().updateLog(BeanConvertUtils.convert(debugHistory));
+                workContext.getHeraDebugHistoryService().updateStatus(BeanConvertUtils.convert(heraDebugHistoryVo));
                 workContext.getDebugRunning().remove(debugId);
+                workContext.notifyCapacityChanged();
+                workContext.getHeraHistoryLogService().deleteLog(Integer.parseInt(debugId), HeraHistoryLogService.DEBUG);
             }
             String errorText = "";
             if (exception != null && exception.getMessage() != null) {
@@ -273,6 +308,37 @@ public class WorkExecuteJob {
     }
 
 
+    /**
+     * 任务日志同时写入worker本地日志段，不受LogContent行数限制
+     *
+     * @param workContext WorkContext
+     * @param type        action/debug
+     * @param id          historyId/debugId
+     * @param log         任务日志
+     * @return 日志段写入，无法写入时为null
+     */
+    private LogSegmentWriter openSegment(WorkContext workContext, String type, String id, LogContent log) {
+        LogSegmentStore store = workContext.getLogSegmentStore();
+        if (store == null) {
+            return null;
+        }
+        try {
+            LogSegmentWriter writer = store.open(type, id);
+            log.setSink(writer);
+            return writer;
+        } catch (Exception e) {
+            ErrorLog.error("打开本地日志段失败:" + type + "-" + id, e);
+            return null;
+        }
+    }
+
+    private void closeSegment(LogSegmentWriter writer, LogContent log) {
+        if (writer != null) {
+            log.setSink(null);
+            writer.close();
+        }
+    }
+
     private StatusEnum getStatusFromCode(int exitCode) {
         if (exitCode == Constants.SUCCESS_EXIT_CODE) {
             return StatusEnum.SUCCESS;
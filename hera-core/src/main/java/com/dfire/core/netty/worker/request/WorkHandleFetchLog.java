@@ -0,0 +1,45 @@
+package com.dfire.core.netty.worker.request;
+
+import com.dfire.common.vo.LogContent;
+import com.dfire.core.log.LogSegmentStore;
+import com.dfire.core.netty.worker.WorkContext;
+import com.dfire.logs.ErrorLog;
+import com.dfire.protocol.ResponseStatus;
+import com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest;
+import com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse;
+import com.dfire.protocol.RpcOperate;
+import com.dfire.protocol.RpcRequest;
+import com.dfire.protocol.RpcResponse;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+
+/**
+ * worker收到master转发的读取日志请求，从本地日志段中按字节范围读取，返回前拼接为html
+ */
+public class WorkHandleFetchLog {
+
+    public RpcResponse.Response fetch(WorkContext workContext, RpcRequest.Request request) {
+        RpcResponse.Response.Builder builder = RpcResponse.Response.newBuilder()
+                .setRid(request.getRid())
+                .setOperate(RpcOperate.Operate.FetchLog);
+        try {
+            LogRangeRequest rangeRequest = LogRangeRequest.parseFrom(request.getBody());
+            if (workContext.getLogFlushScheduler() != null) {
+                workContext.getLogFlushScheduler().viewed(rangeRequest.getType(), rangeRequest.getId());
+            }
+            LogSegmentStore store = workContext.getLogSegmentStore();
+            LogRangeResponse range = store == null ? LogRangeResponse.getDefaultInstance()
+                    : store.read(rangeRequest.getType(), rangeRequest.getId(), rangeRequest.getOffset(), rangeRequest.getMaxBytes());
+            if (range.getExists()) {
+                byte[] content = range.getContent().toByteArray();
+                range = range.toBuilder()
+                        .setContent(ByteString.copyFromUtf8(LogContent.render(content, 0, content.length)))
+                        .build();
+            }
+            return builder.setStatusEnum(ResponseStatus.Status.OK).setBody(range.toByteString()).build();
+        } catch (InvalidProtocolBufferException e) {
+            ErrorLog.error("解析消息异常", e);
+            return builder.setStatusEnum(ResponseStatus.Status.ERROR).setErrorText("解析消息异常").build();
+        }
+    }
+}
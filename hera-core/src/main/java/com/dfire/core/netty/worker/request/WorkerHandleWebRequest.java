@@ -8,6 +8,7 @@ import com.dfire.core.netty.worker.WorkContext;
 import com.dfire.logs.ErrorLog;
 import com.dfire.logs.SocketLog;
 import com.dfire.protocol.JobExecuteKind.ExecuteKind;
+import com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest;
 import com.dfire.protocol.RpcSocketMessage.SocketMessage;
 import com.dfire.protocol.RpcWebOperate.WebOperate;
 import com.dfire.protocol.RpcWebRequest.WebRequest;
@@ -74,16 +75,25 @@ public class WorkerHandleWebRequest {
                 .build(), workContext, "三个小时未获得master所有work信息");
     }
 
+    public static Future<WebResponse> fetchLogFromMaster(WorkContext workContext, LogRangeRequest rangeRequest) {
+        return buildMessage(WebRequest.newBuilder()
+                .setRid(AtomicIncrease.getAndIncrement())
+                .setOperate(WebOperate.FetchLog)
+                .setId(rangeRequest.getId())
+                .setBody(rangeRequest.toByteString())
+                .build(), workContext, "未获得master返回的运行日志：" + rangeRequest.getId());
+    }
+
     private static Future<WebResponse> buildMessage(WebRequest request, WorkContext workContext, String errorMsg) {
         CountDownLatch latch = new CountDownLatch(1);
         WorkResponseListener responseListener = new WorkResponseListener(request, false, latch, null);
-        workContext.getHandler().addListener(responseListener);
+        workContext.getHandler().getCallTable().register(request.getRid(), responseListener, HeraGlobalEnv.getRequestTimeout(), TimeUnit.SECONDS);
         Future<WebResponse> future = workContext.getWorkWebThreadPool().submit(() -> {
             latch.await(HeraGlobalEnv.getRequestTimeout(), TimeUnit.SECONDS);
             if (!responseListener.getReceiveResult()) {
                 ErrorLog.error(errorMsg);
             }
-            workContext.getHandler().removeListener(responseListener);
+            workContext.getHandler().getCallTable().remove(request.getRid());
             return responseListener.getWebResponse();
         });
         try {
@@ -93,7 +103,7 @@ public class WorkerHandleWebRequest {
                     .build());
             SocketLog.info("1.WorkerHandleWebRequest: send web request to master requestId ={}", request.getRid());
         } catch (RemotingException e) {
-            workContext.getHandler().removeListener(responseListener);
+            workContext.getHandler().getCallTable().remove(request.getRid());
             ErrorLog.error("1.WorkerHandleWebRequest: send web request to master exception requestId =" + request.getRid(), e);
         }
         return future;
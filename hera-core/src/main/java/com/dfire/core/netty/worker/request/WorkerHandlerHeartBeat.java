@@ -2,41 +2,69 @@ package com.dfire.core.netty.worker.request;
 
 import com.dfire.common.exception.HeraException;
 import com.dfire.core.exception.RemotingException;
+import com.dfire.core.netty.HeraChannel;
 import com.dfire.core.netty.util.AtomicIncrease;
+import com.dfire.core.netty.util.RpcFrameCodec;
 import com.dfire.core.netty.worker.WorkContext;
 import com.dfire.core.tool.CpuLoadPerCoreJob;
 import com.dfire.core.tool.MemUseRateJob;
-import com.dfire.logs.ErrorLog;
 import com.dfire.protocol.RpcHeartBeatMessage;
 import com.dfire.protocol.RpcOperate;
 import com.dfire.protocol.RpcRequest;
 import com.dfire.protocol.RpcSocketMessage;
 
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.function.Consumer;
+
 /**
+ * 增量心跳：只发送上次心跳之后运行任务的变化，每隔FULL_SNAPSHOT_INTERVAL次或者重连后发送一次全量快照
+ * master通过RpcFrameCodec声明支持增量心跳之后才发送增量，旧版本master一直收到全量快照
+ * 同一个worker只能有一个实例，定时心跳与任务结束后的容量通知共用，发送时串行
+ *
  * @author xiaosuda
  * @date 2018/4/12
  */
 public class WorkerHandlerHeartBeat {
 
+    public static final int VERSION = 2;
+
+    /**
+     * 两次全量快照之间的增量心跳次数
+     */
+    public static final int FULL_SNAPSHOT_INTERVAL = 10;
+
+    private final MemUseRateJob memUseRateJob = new MemUseRateJob(1);
+
+    private final CpuLoadPerCoreJob loadPerCoreJob = new CpuLoadPerCoreJob();
+
+    /**
+     * master已知的运行任务
+     */
+    private final Set<String> lastRunning = new HashSet<>();
+
+    private final Set<String> lastDebugRunning = new HashSet<>();
+
+    private final Set<String> lastManualRunning = new HashSet<>();
+
+    /**
+     * 上次发送成功的channel，重连后需要重新发送全量快照
+     */
+    private HeraChannel lastChannel;
+
+    private long seq;
+
+    private int beatsSinceFull;
 
-    public boolean send(WorkContext context) throws HeraException {
+    public synchronized boolean send(WorkContext context) throws HeraException {
+        HeraChannel channel = context.getServerChannel();
+        boolean full = channel != lastChannel || beatsSinceFull >= FULL_SNAPSHOT_INTERVAL
+                || !RpcFrameCodec.peerSupports(channel.getChannel(), RpcFrameCodec.FEATURE_DELTA_HEARTBEAT);
+        RpcHeartBeatMessage.HeartBeatMessage hbm = buildMessage(context.getRunning().keySet(),
+                context.getDebugRunning().keySet(), context.getManualRunning().keySet(), full);
         try {
-            MemUseRateJob memUseRateJob = new MemUseRateJob(1);
-            memUseRateJob.readMemUsed();
-            CpuLoadPerCoreJob loadPerCoreJob = new CpuLoadPerCoreJob();
-            loadPerCoreJob.run();
-            RpcHeartBeatMessage.HeartBeatMessage hbm = RpcHeartBeatMessage.HeartBeatMessage.newBuilder()
-                    .setHost(WorkContext.host)
-                    .setMemTotal(memUseRateJob.getMemTotal())
-                    .setMemRate(memUseRateJob.getRate())
-                    .setCpuLoadPerCore(loadPerCoreJob.getLoadPerCore())
-                    .setTimestamp(System.currentTimeMillis())
-                    .addAllDebugRunnings(context.getDebugRunning().keySet())
-                    .addAllManualRunnings(context.getManualRunning().keySet())
-                    .addAllRunnings(context.getRunning().keySet())
-                    .setCores(WorkContext.cpuCoreNum)
-                    .build();
-            context.getServerChannel().writeAndFlush(RpcSocketMessage.SocketMessage.newBuilder().
+            channel.writeAndFlush(RpcSocketMessage.SocketMessage.newBuilder().
                     setKind(RpcSocketMessage.SocketMessage.Kind.REQUEST).
                     setBody(RpcRequest.Request.newBuilder().
                             setRid(AtomicIncrease.getAndIncrement()).
@@ -44,10 +72,75 @@ public class WorkerHandlerHeartBeat {
                             setBody(hbm.toByteString()).
                             build().toByteString()).
                     build());
+            lastChannel = channel;
         } catch (RemotingException e) {
+            //发送失败时master的状态未知，下次发送全量快照
+            lastChannel = null;
             throw new HeraException("发送心跳消息失败", e);
         }
         return true;
     }
 
+    /**
+     * 构建心跳消息，并把当前运行任务记录为master已知状态
+     *
+     * @param running       自动调度运行任务
+     * @param debugRunning  开发中心运行任务
+     * @param manualRunning 手动执行运行任务
+     * @param full          是否发送全量快照
+     * @return 心跳消息
+     */
+    public RpcHeartBeatMessage.HeartBeatMessage buildMessage(Set<String> running, Set<String> debugRunning, Set<String> manualRunning, boolean full) {
+        memUseRateJob.readMemUsed();
+        loadPerCoreJob.run();
+        RpcHeartBeatMessage.HeartBeatMessage.Builder builder = RpcHeartBeatMessage.HeartBeatMessage.newBuilder()
+                .setHost(WorkContext.host)
+                .setMemTotal(memUseRateJob.getMemTotal())
+                .setMemRate(memUseRateJob.getRate())
+                .setCpuLoadPerCore(loadPerCoreJob.getLoadPerCore())
+                .setTimestamp(System.currentTimeMillis())
+                .setCores(WorkContext.cpuCoreNum)
+                .setVersion(VERSION)
+                .setSeq(++seq)
+                .setFull(full);
+        if (full) {
+            beatsSinceFull = 0;
+            builder.addAllRunnings(snapshot(running, lastRunning))
+                    .addAllDebugRunnings(snapshot(debugRunning, lastDebugRunning))
+                    .addAllManualRunnings(snapshot(manualRunning, lastManualRunning));
+        } else {
+            beatsSinceFull++;
+            diff(running, lastRunning, builder::addAddRunnings, builder::addRemoveRunnings);
+            diff(debugRunning, lastDebugRunning, builder::addAddDebugRunnings, builder::addRemoveDebugRunnings);
+            diff(manualRunning, lastManualRunning, builder::addAddManualRunnings, builder::addRemoveManualRunnings);
+        }
+        return builder.build();
+    }
+
+    private Set<String> snapshot(Set<String> current, Set<String> last) {
+        last.clear();
+        last.addAll(current);
+        return last;
+    }
+
+    /**
+     * 计算两次心跳之间的变化，同时更新last
+     * 遍历期间结束的任务可能同时出现在新增和结束中，master先处理新增再处理结束
+     */
+    private void diff(Set<String> current, Set<String> last, Consumer<String> added, Consumer<String> removed) {
+        for (String key : current) {
+            if (last.add(key)) {
+                added.accept(key);
+            }
+        }
+        Iterator<String> iterator = last.iterator();
+        while (iterator.hasNext()) {
+            String key = iterator.next();
+            if (!current.contains(key)) {
+                iterator.remove();
+                removed.accept(key);
+            }
+        }
+    }
+
 }
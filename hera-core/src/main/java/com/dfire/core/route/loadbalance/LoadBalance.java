@@ -19,4 +19,12 @@ public interface LoadBalance {
      */
     MasterWorkHolder select(JobElement jobElement, MasterContext masterContext);
 
+    /**
+     * 连续选中同一个worker时是否需要等待worker的最新心跳
+     * @return
+     */
+    default boolean needWarmUp() {
+        return true;
+    }
+
 }
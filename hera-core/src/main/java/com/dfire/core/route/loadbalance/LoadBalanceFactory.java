@@ -3,6 +3,7 @@ package com.dfire.core.route.loadbalance;
 import com.dfire.config.HeraGlobalEnv;
 import com.dfire.core.route.loadbalance.impl.RandomLoadBalance;
 import com.dfire.core.route.loadbalance.impl.RoundRobinLoadBalance;
+import com.dfire.core.route.loadbalance.impl.ScoreLoadBalance;
 
 
 /**
@@ -22,6 +23,10 @@ public class LoadBalanceFactory {
             return new RandomLoadBalance();
         }
 
+        if (ScoreLoadBalance.NAME.equals(HeraGlobalEnv.getLoadBalance())) {
+            return new ScoreLoadBalance();
+        }
+
         return new RoundRobinLoadBalance();
     }
 
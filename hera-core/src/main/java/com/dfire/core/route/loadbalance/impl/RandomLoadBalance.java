@@ -6,9 +6,7 @@ import com.dfire.core.netty.master.MasterWorkHolder;
 import com.dfire.core.route.loadbalance.AbstractLoadBalance;
 import com.dfire.logs.ScheduleLog;
 
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
 
 /**
@@ -23,24 +21,20 @@ public class RandomLoadBalance extends AbstractLoadBalance {
     protected MasterWorkHolder doSelect(HeraHostGroupVo hostGroup, MasterContext masterContext) {
         List<String> hosts = hostGroup.getHosts();
         int size = hosts.size();
-        Set<Integer> hasCheck = new HashSet<>(size);
-        int select;
+        int[] order = new int[size];
         for (int i = 0; i < size; i++) {
-            for (; ; ) {
-                select = ThreadLocalRandom.current().nextInt(size);
-                if (!hasCheck.contains(select)) {
-                    hasCheck.add(select);
-                    break;
-                }
-            }
-            for (MasterWorkHolder workHolder : masterContext.getWorkMap().values()) {
-                if (workHolder.getHeartBeatInfo() != null && workHolder.getHeartBeatInfo().getHost().equals(hosts.get(select).trim())) {
-                    if (check(workHolder)) {
-                        ScheduleLog.warn("select work is :{}", workHolder.getChannel().getRemoteAddress());
-                        return workHolder;
-                    }
-                    break;
-                }
+            order[i] = i;
+        }
+        //每次从未检查的机器中随机选择一台
+        for (int i = 0; i < size; i++) {
+            int select = i + ThreadLocalRandom.current().nextInt(size - i);
+            int hostIndex = order[select];
+            order[select] = order[i];
+            order[i] = hostIndex;
+            MasterWorkHolder workHolder = masterContext.getWorkHolder(hosts.get(hostIndex));
+            if (workHolder != null && check(workHolder)) {
+                ScheduleLog.warn("select work is :{}", workHolder.getChannel().getRemoteAddress());
+                return workHolder;
             }
         }
         return null;
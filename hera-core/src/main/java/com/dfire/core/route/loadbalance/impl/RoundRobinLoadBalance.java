@@ -23,17 +23,15 @@ public class RoundRobinLoadBalance extends AbstractLoadBalance {
         List<String> hosts = hostGroup.getHosts();
         int index = hostGroup.getNextPos();
         int size = hosts.size();
+        if (index >= size) {
+            index = 0;
+        }
         for (int i = 0; i < size; i++) {
-            String host = hosts.get(index);
-            for (MasterWorkHolder workHolder : masterContext.getWorkMap().values()) {
-                if (workHolder.getHeartBeatInfo() != null && workHolder.getHeartBeatInfo().getHost().equals(host.trim())) {
-                    if (check(workHolder)) {
-                        hostGroup.setNextPos(++index >= size ? 0 : index);
-                        ScheduleLog.warn("select work is :{}", workHolder.getChannel().getRemoteAddress());
-                        return workHolder;
-                    }
-                    break;
-                }
+            MasterWorkHolder workHolder = masterContext.getWorkHolder(hosts.get(index));
+            if (workHolder != null && check(workHolder)) {
+                hostGroup.setNextPos(++index >= size ? 0 : index);
+                ScheduleLog.warn("select work is :{}", workHolder.getChannel().getRemoteAddress());
+                return workHolder;
             }
             if (++index >= size) {
                 index = 0;
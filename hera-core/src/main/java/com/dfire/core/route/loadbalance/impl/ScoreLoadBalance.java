@@ -0,0 +1,86 @@
+package com.dfire.core.route.loadbalance.impl;
+
+import com.dfire.common.entity.vo.HeraHostGroupVo;
+import com.dfire.config.HeraGlobalEnv;
+import com.dfire.core.message.HeartBeatInfo;
+import com.dfire.core.netty.master.MasterContext;
+import com.dfire.core.netty.master.MasterWorkHolder;
+import com.dfire.core.route.check.ResultReason;
+import com.dfire.core.route.loadbalance.AbstractLoadBalance;
+import com.dfire.logs.MasterLog;
+import com.dfire.logs.ScheduleLog;
+
+/**
+ * 按资源打分装箱，选择机器组中放入任务后仍有安全余量、且剩余资源最少的worker，使任务集中在较少的机器上
+ * 分数由剩余任务槽位、cpu余量、内存余量组成，上次心跳之后已经分发的任务与本次分发的任务都计入占用
+ */
+public class ScoreLoadBalance extends AbstractLoadBalance {
+
+    public static final String NAME = "score";
+
+    private static final float SLOT_WEIGHT = 0.4F;
+
+    private static final float CPU_WEIGHT = 0.3F;
+
+    private static final float MEM_WEIGHT = 0.3F;
+
+    /**
+     * 放入任务后cpu、内存至少保留的余量(占上限的比例)，低于该余量的worker不再分发
+     */
+    private static final float SAFETY_MARGIN = 0.1F;
+
+    @Override
+    protected MasterWorkHolder doSelect(HeraHostGroupVo hostGroup, MasterContext masterContext) {
+        MasterWorkHolder selectWork = null;
+        float minScore = Float.MAX_VALUE;
+        for (String host : hostGroup.getHosts()) {
+            MasterWorkHolder workHolder = masterContext.getWorkHolder(host);
+            if (workHolder == null || !check(workHolder)) {
+                continue;
+            }
+            float score = score(workHolder);
+            if (score > 0F && score < minScore) {
+                minScore = score;
+                selectWork = workHolder;
+            }
+        }
+        if (selectWork != null) {
+            ScheduleLog.warn("select work is :{}, score:{}", selectWork.getChannel().getRemoteAddress(), minScore);
+        }
+        return selectWork;
+    }
+
+    /**
+     * worker放入一个任务后的剩余资源分数，没有剩余槽位或者余量低于安全余量时为0
+     *
+     * @param workHolder worker
+     * @return 0~1之间的分数，越大剩余资源越多
+     */
+    public float score(MasterWorkHolder workHolder) {
+        HeartBeatInfo heartBeatInfo = workHolder.getHeartBeatInfo();
+        //包括本次要分发的任务
+        int dispatched = workHolder.getDispatchedCount() + 1;
+        float assignTaskNum = (heartBeatInfo.getMemTotal() - HeraGlobalEnv.getSystemMemUsed()) / HeraGlobalEnv.getPerTaskUseMem();
+        int running = heartBeatInfo.getDebugRunning().size() + heartBeatInfo.getManualRunning().size() + heartBeatInfo.getRunning().size();
+        float freeSlot = assignTaskNum - running - dispatched;
+        if (assignTaskNum <= 0 || freeSlot < 0) {
+            MasterLog.warn(ResultReason.TASK_LIMIT.getMsg() + ":{}, dispatched:{}, host:{}", running, dispatched - 1, heartBeatInfo.getHost());
+            return 0F;
+        }
+        //心跳之后分发的任务按照每个任务占用一个核、perTaskUseMem内存估算
+        int cores = heartBeatInfo.getCores() == null || heartBeatInfo.getCores() <= 0 ? 1 : heartBeatInfo.getCores();
+        float cpuLoad = heartBeatInfo.getCpuLoadPerCore() + (float) dispatched / cores;
+        float memRate = heartBeatInfo.getMemRate() + (heartBeatInfo.getMemTotal() > 0 ? dispatched * HeraGlobalEnv.getPerTaskUseMem() / heartBeatInfo.getMemTotal() : 0F);
+        float cpuHeadroom = (HeraGlobalEnv.getMaxCpuLoadPerCore() - cpuLoad) / HeraGlobalEnv.getMaxCpuLoadPerCore();
+        float memHeadroom = (HeraGlobalEnv.getMaxMemRate() - memRate) / HeraGlobalEnv.getMaxMemRate();
+        if (cpuHeadroom < SAFETY_MARGIN || memHeadroom < SAFETY_MARGIN) {
+            return 0F;
+        }
+        return SLOT_WEIGHT * Math.min(freeSlot / assignTaskNum, 1F) + CPU_WEIGHT * cpuHeadroom + MEM_WEIGHT * memHeadroom;
+    }
+
+    @Override
+    public boolean needWarmUp() {
+        return false;
+    }
+}
@@ -0,0 +1,167 @@
+package com.dfire.core.schedule;
+
+import com.dfire.common.constants.Constants;
+import com.dfire.common.util.NamedThreadFactory;
+import com.dfire.core.event.Dispatcher;
+import com.dfire.event.HeraScheduleTriggerEvent;
+import com.dfire.logs.ErrorLog;
+import com.dfire.logs.ScheduleLog;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import org.quartz.CronExpression;
+
+import java.text.ParseException;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * 基于时间轮的版本定时调度，替代每个版本一个quartz任务
+ * 同一秒触发的版本放在同一个bucket中，到期后批量发送定时触发事件
+ * 添加、取消版本都是O(1)操作
+ */
+public class ActionTimerWheel {
+
+    /**
+     * 最远调度时间，超过的版本不会加入时间轮
+     */
+    private static final long MAX_DELAY = TimeUnit.DAYS.toMillis(1);
+
+    private final HashedWheelTimer timer;
+
+    private final ExecutorService triggerPool;
+
+    private final Dispatcher dispatcher;
+
+    /**
+     * 触发时间(秒) -> bucket
+     */
+    private final Map<Long, Bucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * actionId -> 触发时间(秒)
+     */
+    private final Map<String, Long> fireTimes = new ConcurrentHashMap<>();
+
+    public ActionTimerWheel(Dispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+        this.timer = new HashedWheelTimer(new NamedThreadFactory("action-timer-wheel", true), 100, TimeUnit.MILLISECONDS, 1024);
+        this.triggerPool = new ThreadPoolExecutor(Constants.AVAILABLE_CORES, Constants.AVAILABLE_CORES, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new NamedThreadFactory("action-trigger", true), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 按照版本的cron表达式计算下一次触发时间并加入时间轮
+     *
+     * @param actionId 版本id
+     * @param cron     版本cron表达式
+     * @return 是否加入时间轮
+     * @throws ParseException cron表达式错误
+     */
+    public boolean schedule(String actionId, String cron) throws ParseException {
+        Date fireTime = new CronExpression(cron.trim()).getNextValidTimeAfter(new Date());
+        if (fireTime == null || fireTime.getTime() - System.currentTimeMillis() > MAX_DELAY) {
+            return false;
+        }
+        return schedule(actionId, fireTime.getTime());
+    }
+
+    public boolean schedule(String actionId, long fireTimeMillis) {
+        Long second = TimeUnit.MILLISECONDS.toSeconds(fireTimeMillis);
+        if (fireTimes.putIfAbsent(actionId, second) != null) {
+            return false;
+        }
+        while (true) {
+            Bucket bucket = buckets.computeIfAbsent(second, this::newBucket);
+            synchronized (bucket) {
+                if (!bucket.closed) {
+                    bucket.actionIds.add(actionId);
+                    ScheduleLog.info("--------------------------- 添加时间轮调度成功:{}--------------------------", actionId);
+                    return true;
+                }
+            }
+            buckets.remove(second, bucket);
+        }
+    }
+
+    public void cancel(String actionId) {
+        Long second = fireTimes.remove(actionId);
+        if (second == null) {
+            return;
+        }
+        Bucket bucket = buckets.get(second);
+        if (bucket == null) {
+            return;
+        }
+        synchronized (bucket) {
+            bucket.actionIds.remove(actionId);
+            if (bucket.actionIds.isEmpty() && !bucket.closed) {
+                bucket.closed = true;
+                bucket.timeout.cancel();
+                buckets.remove(second, bucket);
+            }
+        }
+        ScheduleLog.warn("remove action {} from timer wheel", actionId);
+    }
+
+    public boolean contains(String actionId) {
+        return fireTimes.containsKey(actionId);
+    }
+
+    public int size() {
+        return fireTimes.size();
+    }
+
+    public void shutdown() {
+        timer.stop();
+        triggerPool.shutdown();
+    }
+
+    private Bucket newBucket(Long second) {
+        Bucket bucket = new Bucket(second);
+        long delay = Math.max(TimeUnit.SECONDS.toMillis(second) - System.currentTimeMillis(), 0);
+        bucket.timeout = timer.newTimeout(timeout -> fire(bucket), delay, TimeUnit.MILLISECONDS);
+        return bucket;
+    }
+
+    private void fire(Bucket bucket) {
+        synchronized (bucket) {
+            bucket.closed = true;
+        }
+        buckets.remove(bucket.second, bucket);
+        long delay = System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(bucket.second);
+        int num = 0;
+        for (String actionId : bucket.actionIds) {
+            //已经取消或者重新调度的版本不触发
+            if (!fireTimes.remove(actionId, bucket.second)) {
+                continue;
+            }
+            num++;
+            triggerPool.execute(() -> {
+                try {
+                    dispatcher.forwardEvent(HeraScheduleTriggerEvent.builder().jobId(actionId).build());
+                    ScheduleLog.info("execute schedule job {}", actionId);
+                } catch (Exception e) {
+                    ErrorLog.error("时间轮触发任务异常:" + actionId, e);
+                }
+            });
+        }
+        ScheduleLog.info("时间轮批量触发{}个版本，触发延迟{}ms", num, delay);
+    }
+
+    private static class Bucket {
+
+        private final Long second;
+
+        private final Set<String> actionIds = ConcurrentHashMap.newKeySet();
+
+        private Timeout timeout;
+
+        private boolean closed;
+
+        Bucket(Long second) {
+            this.second = second;
+        }
+    }
+}
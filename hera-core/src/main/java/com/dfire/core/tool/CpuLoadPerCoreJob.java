@@ -5,38 +5,43 @@ import com.dfire.core.netty.worker.WorkContext;
 import com.dfire.logs.ErrorLog;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 /**
+ * 直接读取 /proc/loadavg 获得最近1分钟的平均负载，不再fork uptime | awk 子进程
+ *
  * @author xiaosuda
  * @date 2018/8/6
  */
-public class CpuLoadPerCoreJob extends RunShell {
+public class CpuLoadPerCoreJob {
+
+    private static final Path LOAD_AVG_PATH = Paths.get("/proc/loadavg");
 
     private float loadPerCore = 1f;
-    public CpuLoadPerCoreJob() {
-        super("uptime | awk '{print $(NF-2)}'");
-    }
 
-    @Override
     public Integer run() {
         if (!HeraGlobalEnv.isLinuxSystem()) {
             return -1;
         }
-        Integer exitCode = super.run();
-        if (exitCode == 0) {
-            try {
-                String result = super.getResult();
-                loadPerCore = getCpuLoad(result) / WorkContext.cpuCoreNum;
-            } catch (IOException e) {
-                ErrorLog.error("获取负载信息失败", e);
-            }
+        try {
+            byte[] bytes = Files.readAllBytes(LOAD_AVG_PATH);
+            loadPerCore = getCpuLoad(new String(bytes, StandardCharsets.US_ASCII)) / WorkContext.cpuCoreNum;
+            return 0;
+        } catch (IOException | NumberFormatException e) {
+            ErrorLog.error("获取负载信息失败", e);
+            return -1;
         }
-        return exitCode;
     }
 
-
-    private Float getCpuLoad(String result) {
-        return Float.parseFloat(result.replace(",", ""));
+    /**
+     * /proc/loadavg 格式：0.20 0.18 0.12 1/80 11206，第一列为最近1分钟的平均负载
+     */
+    static float getCpuLoad(String result) {
+        int end = result.indexOf(' ');
+        return Float.parseFloat(end < 0 ? result.trim() : result.substring(0, end));
     }
 
     public float getLoadPerCore() {
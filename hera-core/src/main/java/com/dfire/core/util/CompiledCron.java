@@ -0,0 +1,92 @@
+package com.dfire.core.util;
+
+import org.quartz.CronExpression;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+
+/**
+ * 编译后的cron表达式，同一个表达式的任务共享一个实例
+ * 记住最近一天的触发时间，以yyyyMMddHHmm格式的long返回，生成版本时不再格式化、解析字符串
+ */
+public class CompiledCron {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final CronExpression expression;
+
+    private volatile Day day;
+
+    CompiledCron(CronExpression expression) {
+        this.expression = expression;
+    }
+
+    public CronExpression getExpression() {
+        return expression;
+    }
+
+    /**
+     * 计算一天内的所有触发时间
+     *
+     * @param dayStart 当天0点的时间戳
+     * @return yyyyMMddHHmm格式的触发时间，不要修改返回的数组
+     */
+    long[] actionMinutes(long dayStart) {
+        Day current = day;
+        if (current != null && current.dayStart == dayStart) {
+            return current.minutes;
+        }
+        synchronized (this) {
+            current = day;
+            if (current == null || current.dayStart != dayStart) {
+                current = new Day(dayStart, compute(dayStart));
+                day = current;
+            }
+        }
+        return current.minutes;
+    }
+
+    private long[] compute(long dayStart) {
+        // 开始时间为前一天的23点59分59秒，结束时间为当天的23点59分59秒
+        Calendar c = Calendar.getInstance();
+        c.setTimeInMillis(dayStart);
+        c.add(Calendar.SECOND, -1);
+        long start = c.getTimeInMillis();
+        c.add(Calendar.DATE, 1);
+        long end = c.getTimeInMillis();
+
+        long[] minutes = EMPTY;
+        int size = 0;
+        Date fire = expression.getNextValidTimeAfter(new Date(start));
+        while (fire != null && fire.getTime() >= start && fire.getTime() <= end) {
+            if (size == minutes.length) {
+                minutes = Arrays.copyOf(minutes, Math.max(size * 2, 4));
+            }
+            c.setTime(fire);
+            minutes[size++] = toActionMinute(c);
+            fire = expression.getNextValidTimeAfter(fire);
+        }
+        return size == minutes.length ? minutes : Arrays.copyOf(minutes, size);
+    }
+
+    static long toActionMinute(Calendar c) {
+        return c.get(Calendar.YEAR) * 100000000L
+                + (c.get(Calendar.MONTH) + 1) * 1000000L
+                + c.get(Calendar.DAY_OF_MONTH) * 10000L
+                + c.get(Calendar.HOUR_OF_DAY) * 100L
+                + c.get(Calendar.MINUTE);
+    }
+
+    private static class Day {
+
+        private final long dayStart;
+
+        private final long[] minutes;
+
+        private Day(long dayStart, long[] minutes) {
+            this.dayStart = dayStart;
+            this.minutes = minutes;
+        }
+    }
+}
@@ -9,6 +9,8 @@ import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author: <a href="mailto:lingxiao@2dfire.com">凌霄</a>
@@ -17,35 +19,120 @@ import java.util.List;
  */
 public class CronParse {
 
+    /**
+     * 缓存的表达式上限，任务修改cron后旧的表达式不会再使用，超过上限时清空
+     */
+    private static final int MAX_CACHE_SIZE = 10000;
+
+    /**
+     * cron表达式 -> 编译后的表达式
+     */
+    private static final Map<String, CompiledCron> CACHE = new ConcurrentHashMap<>();
+
+    private static volatile DayStart lastDay;
+
+    /**
+     * 获取编译后的cron表达式，相同的表达式只编译一次
+     *
+     * @param cronExpression cron表达式
+     * @return 编译后的表达式，表达式错误时为null
+     */
+    public static CompiledCron compile(String cronExpression) {
+        if (cronExpression == null || cronExpression.trim().length() < 1) {
+            return null;
+        }
+        String key = cronExpression.trim();
+        CompiledCron compiled = CACHE.get(key);
+        if (compiled != null) {
+            return compiled;
+        }
+        try {
+            // 初始化cron表达式解析器
+            compiled = new CompiledCron(new CronExpression(key));
+        } catch (ParseException e) {
+            ErrorLog.error("解析cron表达式异常", e);
+            return null;
+        }
+        if (CACHE.size() >= MAX_CACHE_SIZE) {
+            CACHE.clear();
+        }
+        CompiledCron exists = CACHE.putIfAbsent(key, compiled);
+        return exists == null ? compiled : exists;
+    }
+
+    /**
+     * 计算cron表达式一天内的触发时间
+     *
+     * @param cronExpression cron表达式
+     * @param cronDate       日期，yyyy-MM-dd
+     * @return yyyyMMddHHmm格式的触发时间，不要修改返回的数组，表达式或者日期错误时为null
+     */
+    public static long[] actionMinutes(String cronExpression, String cronDate) {
+        if (cronDate == null || cronDate.length() < 1) {
+            return null;
+        }
+        CompiledCron compiled = compile(cronExpression);
+        if (compiled == null) {
+            return null;
+        }
+        Long dayStart = dayStart(cronDate);
+        if (dayStart == null) {
+            return null;
+        }
+        return compiled.actionMinutes(dayStart);
+    }
+
+    /**
+     * 由yyyyMMddHHmm格式的触发时间生成版本的cron表达式，与ActionUtil.ACTION_CRON + " ?"一致
+     *
+     * @param actionMinute 触发时间
+     * @return 版本cron表达式
+     */
+    public static String toActionCron(long actionMinute) {
+        return "0 " + actionMinute % 100
+                + " " + actionMinute / 100 % 100
+                + " " + actionMinute / 10000 % 100
+                + " " + actionMinute / 1000000 % 100
+                + " ?";
+    }
+
+    private static Long dayStart(String cronDate) {
+        DayStart day = lastDay;
+        if (day != null && day.date.equals(cronDate)) {
+            return day.millis;
+        }
+        try {
+            day = new DayStart(cronDate, new SimpleDateFormat(ActionUtil.DEFAULT_FORMAT).parse(cronDate + " 00:00:00").getTime());
+        } catch (ParseException e) {
+            ErrorLog.error("日期解析失败", e);
+            return null;
+        }
+        lastDay = day;
+        return day.millis;
+    }
+
     public static boolean Parser(String cronExpression, String cronDate, List<String> result) {
         if (cronExpression == null || cronExpression.length() < 1
                 || cronDate == null || cronDate.length() < 1) {
             return false;
         } else {
-            CronExpression exp;
-            try {
-                // 初始化cron表达式解析器
-                exp = new CronExpression(cronExpression);
-            } catch (ParseException e) {
-                ErrorLog.error("解析cron表达式异常", e);
+            CompiledCron compiled = compile(cronExpression);
+            if (compiled == null) {
                 return false;
             }
+            CronExpression exp = compiled.getExpression();
             // 定义生成时间范围
             // 定义开始时间，前一天的23点59分59秒
             Calendar c = Calendar.getInstance();
-            String sStart = cronDate + " 00:00:00";
-            SimpleDateFormat sdf = new java.text.SimpleDateFormat(
-                    ActionUtil.DEFAULT_FORMAT);
-            Date dStart = null;
-            try {
-                dStart = sdf.parse(sStart);
-            } catch (ParseException e) {
-                ErrorLog.error("日期解析失败", e);
+            Long dayStart = dayStart(cronDate);
+            if (dayStart == null) {
                 return false;
             }
-            c.setTime(dStart);
+            SimpleDateFormat sdf = new java.text.SimpleDateFormat(
+                    ActionUtil.DEFAULT_FORMAT);
+            c.setTimeInMillis(dayStart);
             c.add(Calendar.SECOND, -1);
-            dStart = c.getTime();
+            Date dStart = c.getTime();
 
             // 定义结束时间，当天的23点59分59秒
             c.add(Calendar.DATE, 1);
@@ -54,7 +141,7 @@ public class CronParse {
             // 生成时间序列
             Date dd = dStart;
             dd = exp.getNextValidTimeAfter(dd);
-            while ((dd.getTime() >= dStart.getTime())
+            while (dd != null && (dd.getTime() >= dStart.getTime())
                     && (dd.getTime() <= dEnd.getTime())) {
                 result.add(sdf.format(dd));
                 dd = exp.getNextValidTimeAfter(dd);
@@ -62,4 +149,16 @@ public class CronParse {
         }
         return true;
     }
+
+    private static class DayStart {
+
+        private final String date;
+
+        private final long millis;
+
+        private DayStart(String date, long millis) {
+            this.date = date;
+            this.millis = millis;
+        }
+    }
 }
@@ -32,6 +32,16 @@ public final class RpcExecuteMessage {
      * <code>sint32 exitCode = 2;</code>
      */
     int getExitCode();
+
+    /**
+     * <code>string historyId = 3;</code>
+     */
+    java.lang.String getHistoryId();
+    /**
+     * <code>string historyId = 3;</code>
+     */
+    com.google.protobuf.ByteString
+        getHistoryIdBytes();
   }
   /**
    * Protobuf type {@code ExecuteMessage}
@@ -48,6 +58,7 @@ public final class RpcExecuteMessage {
     private ExecuteMessage() {
       actionId_ = "";
       exitCode_ = 0;
+      historyId_ = "";
     }
 
     @java.lang.Override
@@ -74,6 +85,13 @@ public final class RpcExecuteMessage {
             case 0:
               done = true;
               break;
+            default: {
+              if (!parseUnknownFieldProto3(
+                  input, unknownFields, extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
             case 10: {
               java.lang.String s = input.readStringRequireUtf8();
 
@@ -85,11 +103,10 @@ public final class RpcExecuteMessage {
               exitCode_ = input.readSInt32();
               break;
             }
-            default: {
-              if (!parseUnknownFieldProto3(
-                  input, unknownFields, extensionRegistry, tag)) {
-                done = true;
-              }
+            case 26: {
+              java.lang.String s = input.readStringRequireUtf8();
+
+              historyId_ = s;
               break;
             }
           }
@@ -109,7 +126,6 @@ public final class RpcExecuteMessage {
       return com.dfire.protocol.RpcExecuteMessage.internal_static_ExecuteMessage_descriptor;
     }
 
-    @java.lang.Override
     protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
         internalGetFieldAccessorTable() {
       return com.dfire.protocol.RpcExecuteMessage.internal_static_ExecuteMessage_fieldAccessorTable
@@ -160,8 +176,41 @@ public final class RpcExecuteMessage {
       return exitCode_;
     }
 
+    public static final int HISTORYID_FIELD_NUMBER = 3;
+    private volatile java.lang.Object historyId_;
+    /**
+     * <code>string historyId = 3;</code>
+     */
+    public java.lang.String getHistoryId() {
+      java.lang.Object ref = historyId_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        historyId_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>string historyId = 3;</code>
+     */
+    public com.google.protobuf.ByteString
+        getHistoryIdBytes() {
+      java.lang.Object ref = historyId_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        historyId_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
     private byte memoizedIsInitialized = -1;
-    @java.lang.Override
     public final boolean isInitialized() {
       byte isInitialized = memoizedIsInitialized;
       if (isInitialized == 1) return true;
@@ -171,7 +220,6 @@ public final class RpcExecuteMessage {
       return true;
     }
 
-    @java.lang.Override
     public void writeTo(com.google.protobuf.CodedOutputStream output)
                         throws java.io.IOException {
       if (!getActionIdBytes().isEmpty()) {
@@ -180,10 +228,12 @@ public final class RpcExecuteMessage {
       if (exitCode_ != 0) {
         output.writeSInt32(2, exitCode_);
       }
+      if (!getHistoryIdBytes().isEmpty()) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 3, historyId_);
+      }
       unknownFields.writeTo(output);
     }
 
-    @java.lang.Override
     public int getSerializedSize() {
       int size = memoizedSize;
       if (size != -1) return size;
@@ -196,6 +246,9 @@ public final class RpcExecuteMessage {
         size += com.google.protobuf.CodedOutputStream
           .computeSInt32Size(2, exitCode_);
       }
+      if (!getHistoryIdBytes().isEmpty()) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(3, historyId_);
+      }
       size += unknownFields.getSerializedSize();
       memoizedSize = size;
       return size;
@@ -216,6 +269,8 @@ public final class RpcExecuteMessage {
           .equals(other.getActionId());
       result = result && (getExitCode()
           == other.getExitCode());
+      result = result && getHistoryId()
+          .equals(other.getHistoryId());
       result = result && unknownFields.equals(other.unknownFields);
       return result;
     }
@@ -231,6 +286,8 @@ public final class RpcExecuteMessage {
       hash = (53 * hash) + getActionId().hashCode();
       hash = (37 * hash) + EXITCODE_FIELD_NUMBER;
       hash = (53 * hash) + getExitCode();
+      hash = (37 * hash) + HISTORYID_FIELD_NUMBER;
+      hash = (53 * hash) + getHistoryId().hashCode();
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -306,7 +363,6 @@ public final class RpcExecuteMessage {
           .parseWithIOException(PARSER, input, extensionRegistry);
     }
 
-    @java.lang.Override
     public Builder newBuilderForType() { return newBuilder(); }
     public static Builder newBuilder() {
       return DEFAULT_INSTANCE.toBuilder();
@@ -314,7 +370,6 @@ public final class RpcExecuteMessage {
     public static Builder newBuilder(com.dfire.protocol.RpcExecuteMessage.ExecuteMessage prototype) {
       return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
     }
-    @java.lang.Override
     public Builder toBuilder() {
       return this == DEFAULT_INSTANCE
           ? new Builder() : new Builder().mergeFrom(this);
@@ -338,7 +393,6 @@ public final class RpcExecuteMessage {
         return com.dfire.protocol.RpcExecuteMessage.internal_static_ExecuteMessage_descriptor;
       }
 
-      @java.lang.Override
       protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
           internalGetFieldAccessorTable() {
         return com.dfire.protocol.RpcExecuteMessage.internal_static_ExecuteMessage_fieldAccessorTable
@@ -361,28 +415,26 @@ public final class RpcExecuteMessage {
                 .alwaysUseFieldBuilders) {
         }
       }
-      @java.lang.Override
       public Builder clear() {
         super.clear();
         actionId_ = "";
 
         exitCode_ = 0;
 
+        historyId_ = "";
+
         return this;
       }
 
-      @java.lang.Override
       public com.google.protobuf.Descriptors.Descriptor
           getDescriptorForType() {
         return com.dfire.protocol.RpcExecuteMessage.internal_static_ExecuteMessage_descriptor;
       }
 
-      @java.lang.Override
       public com.dfire.protocol.RpcExecuteMessage.ExecuteMessage getDefaultInstanceForType() {
         return com.dfire.protocol.RpcExecuteMessage.ExecuteMessage.getDefaultInstance();
       }
 
-      @java.lang.Override
       public com.dfire.protocol.RpcExecuteMessage.ExecuteMessage build() {
         com.dfire.protocol.RpcExecuteMessage.ExecuteMessage result = buildPartial();
         if (!result.isInitialized()) {
@@ -391,48 +443,41 @@ public final class RpcExecuteMessage {
         return result;
       }
 
-      @java.lang.Override
       public com.dfire.protocol.RpcExecuteMessage.ExecuteMessage buildPartial() {
         com.dfire.protocol.RpcExecuteMessage.ExecuteMessage result = new com.dfire.protocol.RpcExecuteMessage.ExecuteMessage(this);
         result.actionId_ = actionId_;
         result.exitCode_ = exitCode_;
+        result.historyId_ = historyId_;
         onBuilt();
         return result;
       }
 
-      @java.lang.Override
       public Builder clone() {
         return (Builder) super.clone();
       }
-      @java.lang.Override
       public Builder setField(
           com.google.protobuf.Descriptors.FieldDescriptor field,
           java.lang.Object value) {
         return (Builder) super.setField(field, value);
       }
-      @java.lang.Override
       public Builder clearField(
           com.google.protobuf.Descriptors.FieldDescriptor field) {
         return (Builder) super.clearField(field);
       }
-      @java.lang.Override
       public Builder clearOneof(
           com.google.protobuf.Descriptors.OneofDescriptor oneof) {
         return (Builder) super.clearOneof(oneof);
       }
-      @java.lang.Override
       public Builder setRepeatedField(
           com.google.protobuf.Descriptors.FieldDescriptor field,
           int index, java.lang.Object value) {
         return (Builder) super.setRepeatedField(field, index, value);
       }
-      @java.lang.Override
       public Builder addRepeatedField(
           com.google.protobuf.Descriptors.FieldDescriptor field,
           java.lang.Object value) {
         return (Builder) super.addRepeatedField(field, value);
       }
-      @java.lang.Override
       public Builder mergeFrom(com.google.protobuf.Message other) {
         if (other instanceof com.dfire.protocol.RpcExecuteMessage.ExecuteMessage) {
           return mergeFrom((com.dfire.protocol.RpcExecuteMessage.ExecuteMessage)other);
@@ -451,17 +496,19 @@ public final class RpcExecuteMessage {
         if (other.getExitCode() != 0) {
           setExitCode(other.getExitCode());
         }
+        if (!other.getHistoryId().isEmpty()) {
+          historyId_ = other.historyId_;
+          onChanged();
+        }
         this.mergeUnknownFields(other.unknownFields);
         onChanged();
         return this;
       }
 
-      @java.lang.Override
       public final boolean isInitialized() {
         return true;
       }
 
-      @java.lang.Override
       public Builder mergeFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
@@ -574,13 +621,80 @@ public final class RpcExecuteMessage {
         onChanged();
         return this;
       }
-      @java.lang.Override
+
+      private java.lang.Object historyId_ = "";
+      /**
+       * <code>string historyId = 3;</code>
+       */
+      public java.lang.String getHistoryId() {
+        java.lang.Object ref = historyId_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          historyId_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>string historyId = 3;</code>
+       */
+      public com.google.protobuf.ByteString
+          getHistoryIdBytes() {
+        java.lang.Object ref = historyId_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          historyId_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>string historyId = 3;</code>
+       */
+      public Builder setHistoryId(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  
+        historyId_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>string historyId = 3;</code>
+       */
+      public Builder clearHistoryId() {
+        
+        historyId_ = getDefaultInstance().getHistoryId();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>string historyId = 3;</code>
+       */
+      public Builder setHistoryIdBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        
+        historyId_ = value;
+        onChanged();
+        return this;
+      }
       public final Builder setUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
         return super.setUnknownFieldsProto3(unknownFields);
       }
 
-      @java.lang.Override
       public final Builder mergeUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
         return super.mergeUnknownFields(unknownFields);
@@ -602,7 +716,6 @@ public final class RpcExecuteMessage {
 
     private static final com.google.protobuf.Parser<ExecuteMessage>
         PARSER = new com.google.protobuf.AbstractParser<ExecuteMessage>() {
-      @java.lang.Override
       public ExecuteMessage parsePartialFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
@@ -620,7 +733,6 @@ public final class RpcExecuteMessage {
       return PARSER;
     }
 
-    @java.lang.Override
     public com.dfire.protocol.RpcExecuteMessage.ExecuteMessage getDefaultInstanceForType() {
       return DEFAULT_INSTANCE;
     }
@@ -641,10 +753,10 @@ public final class RpcExecuteMessage {
       descriptor;
   static {
     java.lang.String[] descriptorData = {
-      "\n\025execute_message.proto\"4\n\016ExecuteMessag" +
-      "e\022\020\n\010actionId\030\001 \001(\t\022\020\n\010exitCode\030\002 \001(\021B)\n" +
-      "\022com.dfire.protocolB\021RpcExecuteMessageH\001" +
-      "b\006proto3"
+      "\n\025execute_message.proto\"G\n\016ExecuteMessag" +
+      "e\022\020\n\010actionId\030\001 \001(\t\022\020\n\010exitCode\030\002 \001(\021\022\021\n" +
+      "\thistoryId\030\003 \001(\tB)\n\022com.dfire.protocolB\021" +
+      "RpcExecuteMessageH\001b\006proto3"
     };
     com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
         new com.google.protobuf.Descriptors.FileDescriptor.    InternalDescriptorAssigner() {
@@ -663,7 +775,7 @@ public final class RpcExecuteMessage {
     internal_static_ExecuteMessage_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_ExecuteMessage_descriptor,
-        new java.lang.String[] { "ActionId", "ExitCode", });
+        new java.lang.String[] { "ActionId", "ExitCode", "HistoryId", });
   }
 
   // @@protoc_insertion_point(outer_class_scope)
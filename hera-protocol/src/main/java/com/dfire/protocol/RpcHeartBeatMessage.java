@@ -1,5 +1,5 @@
 // Generated by the protocol buffer compiler.  DO NOT EDIT!
-// source: x.proto
+// source: heart_beat_message.proto
 
 package com.dfire.protocol;
 
@@ -26,31 +26,31 @@ public final class RpcHeartBeatMessage {
      * <code>map&lt;string, .HeartBeatMessage&gt; values = 1;</code>
      */
     boolean containsValues(
-            String key);
+        java.lang.String key);
     /**
      * Use {@link #getValuesMap()} instead.
      */
-    @Deprecated
-    java.util.Map<String, HeartBeatMessage>
+    @java.lang.Deprecated
+    java.util.Map<java.lang.String, com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage>
     getValues();
     /**
      * <code>map&lt;string, .HeartBeatMessage&gt; values = 1;</code>
      */
-    java.util.Map<String, HeartBeatMessage>
+    java.util.Map<java.lang.String, com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage>
     getValuesMap();
     /**
      * <code>map&lt;string, .HeartBeatMessage&gt; values = 1;</code>
      */
 
-    HeartBeatMessage getValuesOrDefault(
-            String key,
-            HeartBeatMessage defaultValue);
+    com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage getValuesOrDefault(
+        java.lang.String key,
+        com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage defaultValue);
     /**
      * <code>map&lt;string, .HeartBeatMessage&gt; values = 1;</code>
      */
 
-    HeartBeatMessage getValuesOrThrow(
-            String key);
+    com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage getValuesOrThrow(
+        java.lang.String key);
   }
   /**
    * Protobuf type {@code AllHeartBeatInfoMessage}
@@ -67,7 +67,7 @@ public final class RpcHeartBeatMessage {
     private AllHeartBeatInfoMessage() {
     }
 
-    @Override
+    @java.lang.Override
     public final com.google.protobuf.UnknownFieldSet
     getUnknownFields() {
       return this.unknownFields;
@@ -78,7 +78,7 @@ public final class RpcHeartBeatMessage {
         throws com.google.protobuf.InvalidProtocolBufferException {
       this();
       if (extensionRegistry == null) {
-        throw new NullPointerException();
+        throw new java.lang.NullPointerException();
       }
       int mutable_bitField0_ = 0;
       com.google.protobuf.UnknownFieldSet.Builder unknownFields =
@@ -104,7 +104,7 @@ public final class RpcHeartBeatMessage {
                     ValuesDefaultEntryHolder.defaultEntry);
                 mutable_bitField0_ |= 0x00000001;
               }
-              com.google.protobuf.MapEntry<String, HeartBeatMessage>
+              com.google.protobuf.MapEntry<java.lang.String, com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage>
               values__ = input.readMessage(
                   ValuesDefaultEntryHolder.defaultEntry.getParserForType(), extensionRegistry);
               values_.getMutableMap().put(
@@ -125,7 +125,7 @@ public final class RpcHeartBeatMessage {
     }
     public static final com.google.protobuf.Descriptors.Descriptor
         getDescriptor() {
-      return RpcHeartBeatMessage.internal_static_AllHeartBeatInfoMessage_descriptor;
+      return com.dfire.protocol.RpcHeartBeatMessage.internal_static_AllHeartBeatInfoMessage_descriptor;
     }
 
     @SuppressWarnings({"rawtypes"})
@@ -139,28 +139,28 @@ public final class RpcHeartBeatMessage {
               "Invalid map field number: " + number);
       }
     }
-    protected FieldAccessorTable
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
         internalGetFieldAccessorTable() {
-      return RpcHeartBeatMessage.internal_static_AllHeartBeatInfoMessage_fieldAccessorTable
+      return com.dfire.protocol.RpcHeartBeatMessage.internal_static_AllHeartBeatInfoMessage_fieldAccessorTable
           .ensureFieldAccessorsInitialized(
-              AllHeartBeatInfoMessage.class, Builder.class);
+              com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage.class, com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage.Builder.class);
     }
 
     public static final int VALUES_FIELD_NUMBER = 1;
     private static final class ValuesDefaultEntryHolder {
       static final com.google.protobuf.MapEntry<
-          String, HeartBeatMessage> defaultEntry =
+          java.lang.String, com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage> defaultEntry =
               com.google.protobuf.MapEntry
-              .<String, HeartBeatMessage>newDefaultInstance(
-                  RpcHeartBeatMessage.internal_static_AllHeartBeatInfoMessage_ValuesEntry_descriptor,
+              .<java.lang.String, com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage>newDefaultInstance(
+                  com.dfire.protocol.RpcHeartBeatMessage.internal_static_AllHeartBeatInfoMessage_ValuesEntry_descriptor, 
                   com.google.protobuf.WireFormat.FieldType.STRING,
                   "",
                   com.google.protobuf.WireFormat.FieldType.MESSAGE,
-                  HeartBeatMessage.getDefaultInstance());
+                  com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage.getDefaultInstance());
     }
     private com.google.protobuf.MapField<
-        String, HeartBeatMessage> values_;
-    private com.google.protobuf.MapField<String, HeartBeatMessage>
+        java.lang.String, com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage> values_;
+    private com.google.protobuf.MapField<java.lang.String, com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage>
     internalGetValues() {
       if (values_ == null) {
         return com.google.protobuf.MapField.emptyMapField(
@@ -177,33 +177,33 @@ public final class RpcHeartBeatMessage {
      */
 
     public boolean containsValues(
-        String key) {
-      if (key == null) { throw new NullPointerException(); }
+        java.lang.String key) {
+      if (key == null) { throw new java.lang.NullPointerException(); }
       return internalGetValues().getMap().containsKey(key);
     }
     /**
      * Use {@link #getValuesMap()} instead.
      */
-    @Deprecated
-    public java.util.Map<String, HeartBeatMessage> getValues() {
+    @java.lang.Deprecated
+    public java.util.Map<java.lang.String, com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage> getValues() {
       return getValuesMap();
     }
     /**
      * <code>map&lt;string, .HeartBeatMessage&gt; values = 1;</code>
      */
 
-    public java.util.Map<String, HeartBeatMessage> getValuesMap() {
+    public java.util.Map<java.lang.String, com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage> getValuesMap() {
       return internalGetValues().getMap();
     }
     /**
      * <code>map&lt;string, .HeartBeatMessage&gt; values = 1;</code>
      */
 
-    public HeartBeatMessage getValuesOrDefault(
-        String key,
-        HeartBeatMessage defaultValue) {
-      if (key == null) { throw new NullPointerException(); }
-      java.util.Map<String, HeartBeatMessage> map =
+    public com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage getValuesOrDefault(
+        java.lang.String key,
+        com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage defaultValue) {
+      if (key == null) { throw new java.lang.NullPointerException(); }
+      java.util.Map<java.lang.String, com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage> map =
           internalGetValues().getMap();
       return map.containsKey(key) ? map.get(key) : defaultValue;
     }
@@ -211,13 +211,13 @@ public final class RpcHeartBeatMessage {
      * <code>map&lt;string, .HeartBeatMessage&gt; values = 1;</code>
      */
 
-    public HeartBeatMessage getValuesOrThrow(
-        String key) {
-      if (key == null) { throw new NullPointerException(); }
-      java.util.Map<String, HeartBeatMessage> map =
+    public com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage getValuesOrThrow(
+        java.lang.String key) {
+      if (key == null) { throw new java.lang.NullPointerException(); }
+      java.util.Map<java.lang.String, com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage> map =
           internalGetValues().getMap();
       if (!map.containsKey(key)) {
-        throw new IllegalArgumentException();
+        throw new java.lang.IllegalArgumentException();
       }
       return map.get(key);
     }
@@ -248,9 +248,9 @@ public final class RpcHeartBeatMessage {
       if (size != -1) return size;
 
       size = 0;
-      for (java.util.Map.Entry<String, HeartBeatMessage> entry
+      for (java.util.Map.Entry<java.lang.String, com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage> entry
            : internalGetValues().getMap().entrySet()) {
-        com.google.protobuf.MapEntry<String, HeartBeatMessage>
+        com.google.protobuf.MapEntry<java.lang.String, com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage>
         values__ = ValuesDefaultEntryHolder.defaultEntry.newBuilderForType()
             .setKey(entry.getKey())
             .setValue(entry.getValue())
@@ -263,15 +263,15 @@ public final class RpcHeartBeatMessage {
       return size;
     }
 
-    @Override
-    public boolean equals(final Object obj) {
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
       if (obj == this) {
        return true;
       }
-      if (!(obj instanceof AllHeartBeatInfoMessage)) {
+      if (!(obj instanceof com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage)) {
         return super.equals(obj);
       }
-      AllHeartBeatInfoMessage other = (AllHeartBeatInfoMessage) obj;
+      com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage other = (com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage) obj;
 
       boolean result = true;
       result = result && internalGetValues().equals(
@@ -280,7 +280,7 @@ public final class RpcHeartBeatMessage {
       return result;
     }
 
-    @Override
+    @java.lang.Override
     public int hashCode() {
       if (memoizedHashCode != 0) {
         return memoizedHashCode;
@@ -296,69 +296,69 @@ public final class RpcHeartBeatMessage {
       return hash;
     }
 
-    public static AllHeartBeatInfoMessage parseFrom(
+    public static com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage parseFrom(
         java.nio.ByteBuffer data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static AllHeartBeatInfoMessage parseFrom(
+    public static com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage parseFrom(
         java.nio.ByteBuffer data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static AllHeartBeatInfoMessage parseFrom(
+    public static com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage parseFrom(
         com.google.protobuf.ByteString data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static AllHeartBeatInfoMessage parseFrom(
+    public static com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage parseFrom(
         com.google.protobuf.ByteString data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static AllHeartBeatInfoMessage parseFrom(byte[] data)
+    public static com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage parseFrom(byte[] data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static AllHeartBeatInfoMessage parseFrom(
+    public static com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage parseFrom(
         byte[] data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static AllHeartBeatInfoMessage parseFrom(java.io.InputStream input)
+    public static com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage parseFrom(java.io.InputStream input)
         throws java.io.IOException {
       return com.google.protobuf.GeneratedMessageV3
           .parseWithIOException(PARSER, input);
     }
-    public static AllHeartBeatInfoMessage parseFrom(
+    public static com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage parseFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return com.google.protobuf.GeneratedMessageV3
           .parseWithIOException(PARSER, input, extensionRegistry);
     }
-    public static AllHeartBeatInfoMessage parseDelimitedFrom(java.io.InputStream input)
+    public static com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage parseDelimitedFrom(java.io.InputStream input)
         throws java.io.IOException {
       return com.google.protobuf.GeneratedMessageV3
           .parseDelimitedWithIOException(PARSER, input);
     }
-    public static AllHeartBeatInfoMessage parseDelimitedFrom(
+    public static com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage parseDelimitedFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return com.google.protobuf.GeneratedMessageV3
           .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
     }
-    public static AllHeartBeatInfoMessage parseFrom(
+    public static com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage parseFrom(
         com.google.protobuf.CodedInputStream input)
         throws java.io.IOException {
       return com.google.protobuf.GeneratedMessageV3
           .parseWithIOException(PARSER, input);
     }
-    public static AllHeartBeatInfoMessage parseFrom(
+    public static com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage parseFrom(
         com.google.protobuf.CodedInputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
@@ -370,7 +370,7 @@ public final class RpcHeartBeatMessage {
     public static Builder newBuilder() {
       return DEFAULT_INSTANCE.toBuilder();
     }
-    public static Builder newBuilder(AllHeartBeatInfoMessage prototype) {
+    public static Builder newBuilder(com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage prototype) {
       return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
     }
     public Builder toBuilder() {
@@ -378,9 +378,9 @@ public final class RpcHeartBeatMessage {
           ? new Builder() : new Builder().mergeFrom(this);
     }
 
-    @Override
+    @java.lang.Override
     protected Builder newBuilderForType(
-        BuilderParent parent) {
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
       Builder builder = new Builder(parent);
       return builder;
     }
@@ -390,10 +390,10 @@ public final class RpcHeartBeatMessage {
     public static final class Builder extends
         com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
         // @@protoc_insertion_point(builder_implements:AllHeartBeatInfoMessage)
-        AllHeartBeatInfoMessageOrBuilder {
+        com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessageOrBuilder {
       public static final com.google.protobuf.Descriptors.Descriptor
           getDescriptor() {
-        return RpcHeartBeatMessage.internal_static_AllHeartBeatInfoMessage_descriptor;
+        return com.dfire.protocol.RpcHeartBeatMessage.internal_static_AllHeartBeatInfoMessage_descriptor;
       }
 
       @SuppressWarnings({"rawtypes"})
@@ -418,11 +418,11 @@ public final class RpcHeartBeatMessage {
                 "Invalid map field number: " + number);
         }
       }
-      protected FieldAccessorTable
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
           internalGetFieldAccessorTable() {
-        return RpcHeartBeatMessage.internal_static_AllHeartBeatInfoMessage_fieldAccessorTable
+        return com.dfire.protocol.RpcHeartBeatMessage.internal_static_AllHeartBeatInfoMessage_fieldAccessorTable
             .ensureFieldAccessorsInitialized(
-                AllHeartBeatInfoMessage.class, Builder.class);
+                com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage.class, com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage.Builder.class);
       }
 
       // Construct using com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage.newBuilder()
@@ -431,7 +431,7 @@ public final class RpcHeartBeatMessage {
       }
 
       private Builder(
-          BuilderParent parent) {
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
         super(parent);
         maybeForceBuilderInitialization();
       }
@@ -448,23 +448,23 @@ public final class RpcHeartBeatMessage {
 
       public com.google.protobuf.Descriptors.Descriptor
           getDescriptorForType() {
-        return RpcHeartBeatMessage.internal_static_AllHeartBeatInfoMessage_descriptor;
+        return com.dfire.protocol.RpcHeartBeatMessage.internal_static_AllHeartBeatInfoMessage_descriptor;
       }
 
-      public AllHeartBeatInfoMessage getDefaultInstanceForType() {
-        return AllHeartBeatInfoMessage.getDefaultInstance();
+      public com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage getDefaultInstanceForType() {
+        return com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage.getDefaultInstance();
       }
 
-      public AllHeartBeatInfoMessage build() {
-        AllHeartBeatInfoMessage result = buildPartial();
+      public com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage build() {
+        com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage result = buildPartial();
         if (!result.isInitialized()) {
           throw newUninitializedMessageException(result);
         }
         return result;
       }
 
-      public AllHeartBeatInfoMessage buildPartial() {
-        AllHeartBeatInfoMessage result = new AllHeartBeatInfoMessage(this);
+      public com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage buildPartial() {
+        com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage result = new com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage(this);
         int from_bitField0_ = bitField0_;
         result.values_ = internalGetValues();
         result.values_.makeImmutable();
@@ -477,7 +477,7 @@ public final class RpcHeartBeatMessage {
       }
       public Builder setField(
           com.google.protobuf.Descriptors.FieldDescriptor field,
-          Object value) {
+          java.lang.Object value) {
         return (Builder) super.setField(field, value);
       }
       public Builder clearField(
@@ -490,25 +490,25 @@ public final class RpcHeartBeatMessage {
       }
       public Builder setRepeatedField(
           com.google.protobuf.Descriptors.FieldDescriptor field,
-          int index, Object value) {
+          int index, java.lang.Object value) {
         return (Builder) super.setRepeatedField(field, index, value);
       }
       public Builder addRepeatedField(
           com.google.protobuf.Descriptors.FieldDescriptor field,
-          Object value) {
+          java.lang.Object value) {
         return (Builder) super.addRepeatedField(field, value);
       }
       public Builder mergeFrom(com.google.protobuf.Message other) {
-        if (other instanceof AllHeartBeatInfoMessage) {
-          return mergeFrom((AllHeartBeatInfoMessage)other);
+        if (other instanceof com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage) {
+          return mergeFrom((com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage)other);
         } else {
           super.mergeFrom(other);
           return this;
         }
       }
 
-      public Builder mergeFrom(AllHeartBeatInfoMessage other) {
-        if (other == AllHeartBeatInfoMessage.getDefaultInstance()) return this;
+      public Builder mergeFrom(com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage other) {
+        if (other == com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage.getDefaultInstance()) return this;
         internalGetMutableValues().mergeFrom(
             other.internalGetValues());
         this.mergeUnknownFields(other.unknownFields);
@@ -524,11 +524,11 @@ public final class RpcHeartBeatMessage {
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws java.io.IOException {
-        AllHeartBeatInfoMessage parsedMessage = null;
+        com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage parsedMessage = null;
         try {
           parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
         } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-          parsedMessage = (AllHeartBeatInfoMessage) e.getUnfinishedMessage();
+          parsedMessage = (com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage) e.getUnfinishedMessage();
           throw e.unwrapIOException();
         } finally {
           if (parsedMessage != null) {
@@ -540,8 +540,8 @@ public final class RpcHeartBeatMessage {
       private int bitField0_;
 
       private com.google.protobuf.MapField<
-          String, HeartBeatMessage> values_;
-      private com.google.protobuf.MapField<String, HeartBeatMessage>
+          java.lang.String, com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage> values_;
+      private com.google.protobuf.MapField<java.lang.String, com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage>
       internalGetValues() {
         if (values_ == null) {
           return com.google.protobuf.MapField.emptyMapField(
@@ -549,7 +549,7 @@ public final class RpcHeartBeatMessage {
         }
         return values_;
       }
-      private com.google.protobuf.MapField<String, HeartBeatMessage>
+      private com.google.protobuf.MapField<java.lang.String, com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage>
       internalGetMutableValues() {
         onChanged();;
         if (values_ == null) {
@@ -570,33 +570,33 @@ public final class RpcHeartBeatMessage {
        */
 
       public boolean containsValues(
-          String key) {
-        if (key == null) { throw new NullPointerException(); }
+          java.lang.String key) {
+        if (key == null) { throw new java.lang.NullPointerException(); }
         return internalGetValues().getMap().containsKey(key);
       }
       /**
        * Use {@link #getValuesMap()} instead.
        */
-      @Deprecated
-      public java.util.Map<String, HeartBeatMessage> getValues() {
+      @java.lang.Deprecated
+      public java.util.Map<java.lang.String, com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage> getValues() {
         return getValuesMap();
       }
       /**
        * <code>map&lt;string, .HeartBeatMessage&gt; values = 1;</code>
        */
 
-      public java.util.Map<String, HeartBeatMessage> getValuesMap() {
+      public java.util.Map<java.lang.String, com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage> getValuesMap() {
         return internalGetValues().getMap();
       }
       /**
        * <code>map&lt;string, .HeartBeatMessage&gt; values = 1;</code>
        */
 
-      public HeartBeatMessage getValuesOrDefault(
-          String key,
-          HeartBeatMessage defaultValue) {
-        if (key == null) { throw new NullPointerException(); }
-        java.util.Map<String, HeartBeatMessage> map =
+      public com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage getValuesOrDefault(
+          java.lang.String key,
+          com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage defaultValue) {
+        if (key == null) { throw new java.lang.NullPointerException(); }
+        java.util.Map<java.lang.String, com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage> map =
             internalGetValues().getMap();
         return map.containsKey(key) ? map.get(key) : defaultValue;
       }
@@ -604,13 +604,13 @@ public final class RpcHeartBeatMessage {
        * <code>map&lt;string, .HeartBeatMessage&gt; values = 1;</code>
        */
 
-      public HeartBeatMessage getValuesOrThrow(
-          String key) {
-        if (key == null) { throw new NullPointerException(); }
-        java.util.Map<String, HeartBeatMessage> map =
+      public com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage getValuesOrThrow(
+          java.lang.String key) {
+        if (key == null) { throw new java.lang.NullPointerException(); }
+        java.util.Map<java.lang.String, com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage> map =
             internalGetValues().getMap();
         if (!map.containsKey(key)) {
-          throw new IllegalArgumentException();
+          throw new java.lang.IllegalArgumentException();
         }
         return map.get(key);
       }
@@ -625,8 +625,8 @@ public final class RpcHeartBeatMessage {
        */
 
       public Builder removeValues(
-          String key) {
-        if (key == null) { throw new NullPointerException(); }
+          java.lang.String key) {
+        if (key == null) { throw new java.lang.NullPointerException(); }
         internalGetMutableValues().getMutableMap()
             .remove(key);
         return this;
@@ -634,8 +634,8 @@ public final class RpcHeartBeatMessage {
       /**
        * Use alternate mutation accessors instead.
        */
-      @Deprecated
-      public java.util.Map<String, HeartBeatMessage>
+      @java.lang.Deprecated
+      public java.util.Map<java.lang.String, com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage>
       getMutableValues() {
         return internalGetMutableValues().getMutableMap();
       }
@@ -643,10 +643,10 @@ public final class RpcHeartBeatMessage {
        * <code>map&lt;string, .HeartBeatMessage&gt; values = 1;</code>
        */
       public Builder putValues(
-          String key,
-          HeartBeatMessage value) {
-        if (key == null) { throw new NullPointerException(); }
-        if (value == null) { throw new NullPointerException(); }
+          java.lang.String key,
+          com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage value) {
+        if (key == null) { throw new java.lang.NullPointerException(); }
+        if (value == null) { throw new java.lang.NullPointerException(); }
         internalGetMutableValues().getMutableMap()
             .put(key, value);
         return this;
@@ -656,7 +656,7 @@ public final class RpcHeartBeatMessage {
        */
 
       public Builder putAllValues(
-          java.util.Map<String, HeartBeatMessage> values) {
+          java.util.Map<java.lang.String, com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage> values) {
         internalGetMutableValues().getMutableMap()
             .putAll(values);
         return this;
@@ -676,12 +676,12 @@ public final class RpcHeartBeatMessage {
     }
 
     // @@protoc_insertion_point(class_scope:AllHeartBeatInfoMessage)
-    private static final AllHeartBeatInfoMessage DEFAULT_INSTANCE;
+    private static final com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage DEFAULT_INSTANCE;
     static {
-      DEFAULT_INSTANCE = new AllHeartBeatInfoMessage();
+      DEFAULT_INSTANCE = new com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage();
     }
 
-    public static AllHeartBeatInfoMessage getDefaultInstance() {
+    public static com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage getDefaultInstance() {
       return DEFAULT_INSTANCE;
     }
 
@@ -699,12 +699,12 @@ public final class RpcHeartBeatMessage {
       return PARSER;
     }
 
-    @Override
+    @java.lang.Override
     public com.google.protobuf.Parser<AllHeartBeatInfoMessage> getParserForType() {
       return PARSER;
     }
 
-    public AllHeartBeatInfoMessage getDefaultInstanceForType() {
+    public com.dfire.protocol.RpcHeartBeatMessage.AllHeartBeatInfoMessage getDefaultInstanceForType() {
       return DEFAULT_INSTANCE;
     }
 
@@ -721,7 +721,7 @@ public final class RpcHeartBeatMessage {
      *
      * <code>repeated string runnings = 1;</code>
      */
-    java.util.List<String>
+    java.util.List<java.lang.String>
         getRunningsList();
     /**
      * <pre>
@@ -738,7 +738,7 @@ public final class RpcHeartBeatMessage {
      *
      * <code>repeated string runnings = 1;</code>
      */
-    String getRunnings(int index);
+    java.lang.String getRunnings(int index);
     /**
      * <pre>
      *正在运行的自动调度job列表
@@ -756,7 +756,7 @@ public final class RpcHeartBeatMessage {
      *
      * <code>repeated string debugRunnings = 2;</code>
      */
-    java.util.List<String>
+    java.util.List<java.lang.String>
         getDebugRunningsList();
     /**
      * <pre>
@@ -773,7 +773,7 @@ public final class RpcHeartBeatMessage {
      *
      * <code>repeated string debugRunnings = 2;</code>
      */
-    String getDebugRunnings(int index);
+    java.lang.String getDebugRunnings(int index);
     /**
      * <pre>
      *正在运行的文件脚本job列表
@@ -791,7 +791,7 @@ public final class RpcHeartBeatMessage {
      *
      * <code>repeated string manualRunnings = 3;</code>
      */
-    java.util.List<String>
+    java.util.List<java.lang.String>
         getManualRunningsList();
     /**
      * <pre>
@@ -808,7 +808,7 @@ public final class RpcHeartBeatMessage {
      *
      * <code>repeated string manualRunnings = 3;</code>
      */
-    String getManualRunnings(int index);
+    java.lang.String getManualRunnings(int index);
     /**
      * <pre>
      *正在运行的手动执行job列表
@@ -844,7 +844,7 @@ public final class RpcHeartBeatMessage {
      *
      * <code>string host = 6;</code>
      */
-    String getHost();
+    java.lang.String getHost();
     /**
      * <pre>
      *发送心跳的主机
@@ -877,6 +877,195 @@ public final class RpcHeartBeatMessage {
      * <code>int32 cores = 8;</code>
      */
     int getCores();
+
+    /**
+     * <pre>
+     *心跳版本，0为每次发送全量的旧版本，2为增量心跳
+     * </pre>
+     *
+     * <code>int32 version = 9;</code>
+     */
+    int getVersion();
+
+    /**
+     * <pre>
+     *增量心跳中是否为全量快照，全量快照使用runnings/debugRunnings/manualRunnings字段
+     * </pre>
+     *
+     * <code>bool full = 10;</code>
+     */
+    boolean getFull();
+
+    /**
+     * <pre>
+     *增量心跳序号，master发现不连续时等待下一次全量快照
+     * </pre>
+     *
+     * <code>int64 seq = 11;</code>
+     */
+    long getSeq();
+
+    /**
+     * <pre>
+     *上次心跳之后新增/结束的自动调度job
+     * </pre>
+     *
+     * <code>repeated string addRunnings = 12;</code>
+     */
+    java.util.List<java.lang.String>
+        getAddRunningsList();
+    /**
+     * <pre>
+     *上次心跳之后新增/结束的自动调度job
+     * </pre>
+     *
+     * <code>repeated string addRunnings = 12;</code>
+     */
+    int getAddRunningsCount();
+    /**
+     * <pre>
+     *上次心跳之后新增/结束的自动调度job
+     * </pre>
+     *
+     * <code>repeated string addRunnings = 12;</code>
+     */
+    java.lang.String getAddRunnings(int index);
+    /**
+     * <pre>
+     *上次心跳之后新增/结束的自动调度job
+     * </pre>
+     *
+     * <code>repeated string addRunnings = 12;</code>
+     */
+    com.google.protobuf.ByteString
+        getAddRunningsBytes(int index);
+
+    /**
+     * <code>repeated string removeRunnings = 13;</code>
+     */
+    java.util.List<java.lang.String>
+        getRemoveRunningsList();
+    /**
+     * <code>repeated string removeRunnings = 13;</code>
+     */
+    int getRemoveRunningsCount();
+    /**
+     * <code>repeated string removeRunnings = 13;</code>
+     */
+    java.lang.String getRemoveRunnings(int index);
+    /**
+     * <code>repeated string removeRunnings = 13;</code>
+     */
+    com.google.protobuf.ByteString
+        getRemoveRunningsBytes(int index);
+
+    /**
+     * <pre>
+     *上次心跳之后新增/结束的文件脚本job
+     * </pre>
+     *
+     * <code>repeated string addDebugRunnings = 14;</code>
+     */
+    java.util.List<java.lang.String>
+        getAddDebugRunningsList();
+    /**
+     * <pre>
+     *上次心跳之后新增/结束的文件脚本job
+     * </pre>
+     *
+     * <code>repeated string addDebugRunnings = 14;</code>
+     */
+    int getAddDebugRunningsCount();
+    /**
+     * <pre>
+     *上次心跳之后新增/结束的文件脚本job
+     * </pre>
+     *
+     * <code>repeated string addDebugRunnings = 14;</code>
+     */
+    java.lang.String getAddDebugRunnings(int index);
+    /**
+     * <pre>
+     *上次心跳之后新增/结束的文件脚本job
+     * </pre>
+     *
+     * <code>repeated string addDebugRunnings = 14;</code>
+     */
+    com.google.protobuf.ByteString
+        getAddDebugRunningsBytes(int index);
+
+    /**
+     * <code>repeated string removeDebugRunnings = 15;</code>
+     */
+    java.util.List<java.lang.String>
+        getRemoveDebugRunningsList();
+    /**
+     * <code>repeated string removeDebugRunnings = 15;</code>
+     */
+    int getRemoveDebugRunningsCount();
+    /**
+     * <code>repeated string removeDebugRunnings = 15;</code>
+     */
+    java.lang.String getRemoveDebugRunnings(int index);
+    /**
+     * <code>repeated string removeDebugRunnings = 15;</code>
+     */
+    com.google.protobuf.ByteString
+        getRemoveDebugRunningsBytes(int index);
+
+    /**
+     * <pre>
+     *上次心跳之后新增/结束的手动执行job
+     * </pre>
+     *
+     * <code>repeated string addManualRunnings = 16;</code>
+     */
+    java.util.List<java.lang.String>
+        getAddManualRunningsList();
+    /**
+     * <pre>
+     *上次心跳之后新增/结束的手动执行job
+     * </pre>
+     *
+     * <code>repeated string addManualRunnings = 16;</code>
+     */
+    int getAddManualRunningsCount();
+    /**
+     * <pre>
+     *上次心跳之后新增/结束的手动执行job
+     * </pre>
+     *
+     * <code>repeated string addManualRunnings = 16;</code>
+     */
+    java.lang.String getAddManualRunnings(int index);
+    /**
+     * <pre>
+     *上次心跳之后新增/结束的手动执行job
+     * </pre>
+     *
+     * <code>repeated string addManualRunnings = 16;</code>
+     */
+    com.google.protobuf.ByteString
+        getAddManualRunningsBytes(int index);
+
+    /**
+     * <code>repeated string removeManualRunnings = 17;</code>
+     */
+    java.util.List<java.lang.String>
+        getRemoveManualRunningsList();
+    /**
+     * <code>repeated string removeManualRunnings = 17;</code>
+     */
+    int getRemoveManualRunningsCount();
+    /**
+     * <code>repeated string removeManualRunnings = 17;</code>
+     */
+    java.lang.String getRemoveManualRunnings(int index);
+    /**
+     * <code>repeated string removeManualRunnings = 17;</code>
+     */
+    com.google.protobuf.ByteString
+        getRemoveManualRunningsBytes(int index);
   }
   /**
    * Protobuf type {@code HeartBeatMessage}
@@ -900,9 +1089,18 @@ public final class RpcHeartBeatMessage {
       cpuLoadPerCore_ = 0F;
       memTotal_ = 0F;
       cores_ = 0;
+      version_ = 0;
+      full_ = false;
+      seq_ = 0L;
+      addRunnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      removeRunnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      addDebugRunnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      removeDebugRunnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      addManualRunnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      removeManualRunnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
     }
 
-    @Override
+    @java.lang.Override
     public final com.google.protobuf.UnknownFieldSet
     getUnknownFields() {
       return this.unknownFields;
@@ -913,7 +1111,7 @@ public final class RpcHeartBeatMessage {
         throws com.google.protobuf.InvalidProtocolBufferException {
       this();
       if (extensionRegistry == null) {
-        throw new NullPointerException();
+        throw new java.lang.NullPointerException();
       }
       int mutable_bitField0_ = 0;
       com.google.protobuf.UnknownFieldSet.Builder unknownFields =
@@ -934,7 +1132,7 @@ public final class RpcHeartBeatMessage {
               break;
             }
             case 10: {
-              String s = input.readStringRequireUtf8();
+              java.lang.String s = input.readStringRequireUtf8();
               if (!((mutable_bitField0_ & 0x00000001) == 0x00000001)) {
                 runnings_ = new com.google.protobuf.LazyStringArrayList();
                 mutable_bitField0_ |= 0x00000001;
@@ -943,7 +1141,7 @@ public final class RpcHeartBeatMessage {
               break;
             }
             case 18: {
-              String s = input.readStringRequireUtf8();
+              java.lang.String s = input.readStringRequireUtf8();
               if (!((mutable_bitField0_ & 0x00000002) == 0x00000002)) {
                 debugRunnings_ = new com.google.protobuf.LazyStringArrayList();
                 mutable_bitField0_ |= 0x00000002;
@@ -952,7 +1150,7 @@ public final class RpcHeartBeatMessage {
               break;
             }
             case 26: {
-              String s = input.readStringRequireUtf8();
+              java.lang.String s = input.readStringRequireUtf8();
               if (!((mutable_bitField0_ & 0x00000004) == 0x00000004)) {
                 manualRunnings_ = new com.google.protobuf.LazyStringArrayList();
                 mutable_bitField0_ |= 0x00000004;
@@ -971,7 +1169,7 @@ public final class RpcHeartBeatMessage {
               break;
             }
             case 50: {
-              String s = input.readStringRequireUtf8();
+              java.lang.String s = input.readStringRequireUtf8();
 
               host_ = s;
               break;
@@ -986,6 +1184,75 @@ public final class RpcHeartBeatMessage {
               cores_ = input.readInt32();
               break;
             }
+            case 72: {
+
+              version_ = input.readInt32();
+              break;
+            }
+            case 80: {
+
+              full_ = input.readBool();
+              break;
+            }
+            case 88: {
+
+              seq_ = input.readInt64();
+              break;
+            }
+            case 98: {
+              java.lang.String s = input.readStringRequireUtf8();
+              if (!((mutable_bitField0_ & 0x00001000) == 0x00001000)) {
+                addRunnings_ = new com.google.protobuf.LazyStringArrayList();
+                mutable_bitField0_ |= 0x00001000;
+              }
+              addRunnings_.add(s);
+              break;
+            }
+            case 106: {
+              java.lang.String s = input.readStringRequireUtf8();
+              if (!((mutable_bitField0_ & 0x00002000) == 0x00002000)) {
+                removeRunnings_ = new com.google.protobuf.LazyStringArrayList();
+                mutable_bitField0_ |= 0x00002000;
+              }
+              removeRunnings_.add(s);
+              break;
+            }
+            case 114: {
+              java.lang.String s = input.readStringRequireUtf8();
+              if (!((mutable_bitField0_ & 0x00004000) == 0x00004000)) {
+                addDebugRunnings_ = new com.google.protobuf.LazyStringArrayList();
+                mutable_bitField0_ |= 0x00004000;
+              }
+              addDebugRunnings_.add(s);
+              break;
+            }
+            case 122: {
+              java.lang.String s = input.readStringRequireUtf8();
+              if (!((mutable_bitField0_ & 0x00008000) == 0x00008000)) {
+                removeDebugRunnings_ = new com.google.protobuf.LazyStringArrayList();
+                mutable_bitField0_ |= 0x00008000;
+              }
+              removeDebugRunnings_.add(s);
+              break;
+            }
+            case 130: {
+              java.lang.String s = input.readStringRequireUtf8();
+              if (!((mutable_bitField0_ & 0x00010000) == 0x00010000)) {
+                addManualRunnings_ = new com.google.protobuf.LazyStringArrayList();
+                mutable_bitField0_ |= 0x00010000;
+              }
+              addManualRunnings_.add(s);
+              break;
+            }
+            case 138: {
+              java.lang.String s = input.readStringRequireUtf8();
+              if (!((mutable_bitField0_ & 0x00020000) == 0x00020000)) {
+                removeManualRunnings_ = new com.google.protobuf.LazyStringArrayList();
+                mutable_bitField0_ |= 0x00020000;
+              }
+              removeManualRunnings_.add(s);
+              break;
+            }
             case 32773: {
 
               memTotal_ = input.readFloat();
@@ -1008,20 +1275,38 @@ public final class RpcHeartBeatMessage {
         if (((mutable_bitField0_ & 0x00000004) == 0x00000004)) {
           manualRunnings_ = manualRunnings_.getUnmodifiableView();
         }
+        if (((mutable_bitField0_ & 0x00001000) == 0x00001000)) {
+          addRunnings_ = addRunnings_.getUnmodifiableView();
+        }
+        if (((mutable_bitField0_ & 0x00002000) == 0x00002000)) {
+          removeRunnings_ = removeRunnings_.getUnmodifiableView();
+        }
+        if (((mutable_bitField0_ & 0x00004000) == 0x00004000)) {
+          addDebugRunnings_ = addDebugRunnings_.getUnmodifiableView();
+        }
+        if (((mutable_bitField0_ & 0x00008000) == 0x00008000)) {
+          removeDebugRunnings_ = removeDebugRunnings_.getUnmodifiableView();
+        }
+        if (((mutable_bitField0_ & 0x00010000) == 0x00010000)) {
+          addManualRunnings_ = addManualRunnings_.getUnmodifiableView();
+        }
+        if (((mutable_bitField0_ & 0x00020000) == 0x00020000)) {
+          removeManualRunnings_ = removeManualRunnings_.getUnmodifiableView();
+        }
         this.unknownFields = unknownFields.build();
         makeExtensionsImmutable();
       }
     }
     public static final com.google.protobuf.Descriptors.Descriptor
         getDescriptor() {
-      return RpcHeartBeatMessage.internal_static_HeartBeatMessage_descriptor;
+      return com.dfire.protocol.RpcHeartBeatMessage.internal_static_HeartBeatMessage_descriptor;
     }
 
-    protected FieldAccessorTable
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
         internalGetFieldAccessorTable() {
-      return RpcHeartBeatMessage.internal_static_HeartBeatMessage_fieldAccessorTable
+      return com.dfire.protocol.RpcHeartBeatMessage.internal_static_HeartBeatMessage_fieldAccessorTable
           .ensureFieldAccessorsInitialized(
-              HeartBeatMessage.class, Builder.class);
+              com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage.class, com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage.Builder.class);
     }
 
     private int bitField0_;
@@ -1055,7 +1340,7 @@ public final class RpcHeartBeatMessage {
      *
      * <code>repeated string runnings = 1;</code>
      */
-    public String getRunnings(int index) {
+    public java.lang.String getRunnings(int index) {
       return runnings_.get(index);
     }
     /**
@@ -1100,7 +1385,7 @@ public final class RpcHeartBeatMessage {
      *
      * <code>repeated string debugRunnings = 2;</code>
      */
-    public String getDebugRunnings(int index) {
+    public java.lang.String getDebugRunnings(int index) {
       return debugRunnings_.get(index);
     }
     /**
@@ -1145,7 +1430,7 @@ public final class RpcHeartBeatMessage {
      *
      * <code>repeated string manualRunnings = 3;</code>
      */
-    public String getManualRunnings(int index) {
+    public java.lang.String getManualRunnings(int index) {
       return manualRunnings_.get(index);
     }
     /**
@@ -1187,7 +1472,7 @@ public final class RpcHeartBeatMessage {
     }
 
     public static final int HOST_FIELD_NUMBER = 6;
-    private volatile Object host_;
+    private volatile java.lang.Object host_;
     /**
      * <pre>
      *发送心跳的主机
@@ -1195,14 +1480,14 @@ public final class RpcHeartBeatMessage {
      *
      * <code>string host = 6;</code>
      */
-    public String getHost() {
-      Object ref = host_;
-      if (ref instanceof String) {
-        return (String) ref;
+    public java.lang.String getHost() {
+      java.lang.Object ref = host_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
       } else {
         com.google.protobuf.ByteString bs = 
             (com.google.protobuf.ByteString) ref;
-        String s = bs.toStringUtf8();
+        java.lang.String s = bs.toStringUtf8();
         host_ = s;
         return s;
       }
@@ -1216,11 +1501,11 @@ public final class RpcHeartBeatMessage {
      */
     public com.google.protobuf.ByteString
         getHostBytes() {
-      Object ref = host_;
-      if (ref instanceof String) {
+      java.lang.Object ref = host_;
+      if (ref instanceof java.lang.String) {
         com.google.protobuf.ByteString b = 
             com.google.protobuf.ByteString.copyFromUtf8(
-                (String) ref);
+                (java.lang.String) ref);
         host_ = b;
         return b;
       } else {
@@ -1263,1143 +1548,2447 @@ public final class RpcHeartBeatMessage {
       return cores_;
     }
 
-    private byte memoizedIsInitialized = -1;
-    public final boolean isInitialized() {
-      byte isInitialized = memoizedIsInitialized;
-      if (isInitialized == 1) return true;
-      if (isInitialized == 0) return false;
-
-      memoizedIsInitialized = 1;
-      return true;
+    public static final int VERSION_FIELD_NUMBER = 9;
+    private int version_;
+    /**
+     * <pre>
+     *心跳版本，0为每次发送全量的旧版本，2为增量心跳
+     * </pre>
+     *
+     * <code>int32 version = 9;</code>
+     */
+    public int getVersion() {
+      return version_;
     }
 
-    public void writeTo(com.google.protobuf.CodedOutputStream output)
-                        throws java.io.IOException {
-      for (int i = 0; i < runnings_.size(); i++) {
-        com.google.protobuf.GeneratedMessageV3.writeString(output, 1, runnings_.getRaw(i));
-      }
-      for (int i = 0; i < debugRunnings_.size(); i++) {
-        com.google.protobuf.GeneratedMessageV3.writeString(output, 2, debugRunnings_.getRaw(i));
-      }
-      for (int i = 0; i < manualRunnings_.size(); i++) {
-        com.google.protobuf.GeneratedMessageV3.writeString(output, 3, manualRunnings_.getRaw(i));
-      }
-      if (timestamp_ != 0L) {
-        output.writeInt64(4, timestamp_);
-      }
-      if (memRate_ != 0F) {
-        output.writeFloat(5, memRate_);
-      }
-      if (!getHostBytes().isEmpty()) {
-        com.google.protobuf.GeneratedMessageV3.writeString(output, 6, host_);
-      }
-      if (cpuLoadPerCore_ != 0F) {
-        output.writeFloat(7, cpuLoadPerCore_);
-      }
-      if (cores_ != 0) {
-        output.writeInt32(8, cores_);
-      }
-      if (memTotal_ != 0F) {
-        output.writeFloat(4096, memTotal_);
-      }
-      unknownFields.writeTo(output);
+    public static final int FULL_FIELD_NUMBER = 10;
+    private boolean full_;
+    /**
+     * <pre>
+     *增量心跳中是否为全量快照，全量快照使用runnings/debugRunnings/manualRunnings字段
+     * </pre>
+     *
+     * <code>bool full = 10;</code>
+     */
+    public boolean getFull() {
+      return full_;
     }
 
-    public int getSerializedSize() {
-      int size = memoizedSize;
-      if (size != -1) return size;
-
-      size = 0;
-      {
-        int dataSize = 0;
-        for (int i = 0; i < runnings_.size(); i++) {
-          dataSize += computeStringSizeNoTag(runnings_.getRaw(i));
-        }
-        size += dataSize;
-        size += 1 * getRunningsList().size();
-      }
-      {
-        int dataSize = 0;
-        for (int i = 0; i < debugRunnings_.size(); i++) {
-          dataSize += computeStringSizeNoTag(debugRunnings_.getRaw(i));
-        }
-        size += dataSize;
-        size += 1 * getDebugRunningsList().size();
-      }
-      {
-        int dataSize = 0;
-        for (int i = 0; i < manualRunnings_.size(); i++) {
-          dataSize += computeStringSizeNoTag(manualRunnings_.getRaw(i));
-        }
-        size += dataSize;
-        size += 1 * getManualRunningsList().size();
-      }
-      if (timestamp_ != 0L) {
-        size += com.google.protobuf.CodedOutputStream
-          .computeInt64Size(4, timestamp_);
-      }
-      if (memRate_ != 0F) {
-        size += com.google.protobuf.CodedOutputStream
-          .computeFloatSize(5, memRate_);
-      }
-      if (!getHostBytes().isEmpty()) {
-        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(6, host_);
-      }
-      if (cpuLoadPerCore_ != 0F) {
-        size += com.google.protobuf.CodedOutputStream
-          .computeFloatSize(7, cpuLoadPerCore_);
-      }
-      if (cores_ != 0) {
-        size += com.google.protobuf.CodedOutputStream
-          .computeInt32Size(8, cores_);
-      }
-      if (memTotal_ != 0F) {
-        size += com.google.protobuf.CodedOutputStream
-          .computeFloatSize(4096, memTotal_);
-      }
-      size += unknownFields.getSerializedSize();
-      memoizedSize = size;
-      return size;
+    public static final int SEQ_FIELD_NUMBER = 11;
+    private long seq_;
+    /**
+     * <pre>
+     *增量心跳序号，master发现不连续时等待下一次全量快照
+     * </pre>
+     *
+     * <code>int64 seq = 11;</code>
+     */
+    public long getSeq() {
+      return seq_;
     }
 
-    @Override
-    public boolean equals(final Object obj) {
-      if (obj == this) {
-       return true;
-      }
-      if (!(obj instanceof HeartBeatMessage)) {
-        return super.equals(obj);
-      }
-      HeartBeatMessage other = (HeartBeatMessage) obj;
-
-      boolean result = true;
-      result = result && getRunningsList()
-          .equals(other.getRunningsList());
-      result = result && getDebugRunningsList()
-          .equals(other.getDebugRunningsList());
-      result = result && getManualRunningsList()
-          .equals(other.getManualRunningsList());
-      result = result && (getTimestamp()
-          == other.getTimestamp());
-      result = result && (
-          Float.floatToIntBits(getMemRate())
-          == Float.floatToIntBits(
-              other.getMemRate()));
-      result = result && getHost()
-          .equals(other.getHost());
-      result = result && (
-          Float.floatToIntBits(getCpuLoadPerCore())
-          == Float.floatToIntBits(
-              other.getCpuLoadPerCore()));
-      result = result && (
-          Float.floatToIntBits(getMemTotal())
-          == Float.floatToIntBits(
-              other.getMemTotal()));
-      result = result && (getCores()
-          == other.getCores());
-      result = result && unknownFields.equals(other.unknownFields);
-      return result;
+    public static final int ADDRUNNINGS_FIELD_NUMBER = 12;
+    private com.google.protobuf.LazyStringList addRunnings_;
+    /**
+     * <pre>
+     *上次心跳之后新增/结束的自动调度job
+     * </pre>
+     *
+     * <code>repeated string addRunnings = 12;</code>
+     */
+    public com.google.protobuf.ProtocolStringList
+        getAddRunningsList() {
+      return addRunnings_;
     }
-
-    @Override
-    public int hashCode() {
-      if (memoizedHashCode != 0) {
-        return memoizedHashCode;
-      }
-      int hash = 41;
-      hash = (19 * hash) + getDescriptor().hashCode();
-      if (getRunningsCount() > 0) {
-        hash = (37 * hash) + RUNNINGS_FIELD_NUMBER;
-        hash = (53 * hash) + getRunningsList().hashCode();
-      }
-      if (getDebugRunningsCount() > 0) {
-        hash = (37 * hash) + DEBUGRUNNINGS_FIELD_NUMBER;
-        hash = (53 * hash) + getDebugRunningsList().hashCode();
-      }
-      if (getManualRunningsCount() > 0) {
-        hash = (37 * hash) + MANUALRUNNINGS_FIELD_NUMBER;
-        hash = (53 * hash) + getManualRunningsList().hashCode();
-      }
-      hash = (37 * hash) + TIMESTAMP_FIELD_NUMBER;
-      hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
-          getTimestamp());
-      hash = (37 * hash) + MEM_RATE_FIELD_NUMBER;
-      hash = (53 * hash) + Float.floatToIntBits(
-          getMemRate());
-      hash = (37 * hash) + HOST_FIELD_NUMBER;
-      hash = (53 * hash) + getHost().hashCode();
-      hash = (37 * hash) + CPU_LOAD_PER_CORE_FIELD_NUMBER;
-      hash = (53 * hash) + Float.floatToIntBits(
-          getCpuLoadPerCore());
-      hash = (37 * hash) + MEM_TOTAL_FIELD_NUMBER;
-      hash = (53 * hash) + Float.floatToIntBits(
-          getMemTotal());
-      hash = (37 * hash) + CORES_FIELD_NUMBER;
-      hash = (53 * hash) + getCores();
-      hash = (29 * hash) + unknownFields.hashCode();
-      memoizedHashCode = hash;
-      return hash;
+    /**
+     * <pre>
+     *上次心跳之后新增/结束的自动调度job
+     * </pre>
+     *
+     * <code>repeated string addRunnings = 12;</code>
+     */
+    public int getAddRunningsCount() {
+      return addRunnings_.size();
+    }
+    /**
+     * <pre>
+     *上次心跳之后新增/结束的自动调度job
+     * </pre>
+     *
+     * <code>repeated string addRunnings = 12;</code>
+     */
+    public java.lang.String getAddRunnings(int index) {
+      return addRunnings_.get(index);
+    }
+    /**
+     * <pre>
+     *上次心跳之后新增/结束的自动调度job
+     * </pre>
+     *
+     * <code>repeated string addRunnings = 12;</code>
+     */
+    public com.google.protobuf.ByteString
+        getAddRunningsBytes(int index) {
+      return addRunnings_.getByteString(index);
     }
 
-    public static HeartBeatMessage parseFrom(
-        java.nio.ByteBuffer data)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data);
+    public static final int REMOVERUNNINGS_FIELD_NUMBER = 13;
+    private com.google.protobuf.LazyStringList removeRunnings_;
+    /**
+     * <code>repeated string removeRunnings = 13;</code>
+     */
+    public com.google.protobuf.ProtocolStringList
+        getRemoveRunningsList() {
+      return removeRunnings_;
     }
-    public static HeartBeatMessage parseFrom(
-        java.nio.ByteBuffer data,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data, extensionRegistry);
+    /**
+     * <code>repeated string removeRunnings = 13;</code>
+     */
+    public int getRemoveRunningsCount() {
+      return removeRunnings_.size();
     }
-    public static HeartBeatMessage parseFrom(
-        com.google.protobuf.ByteString data)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data);
+    /**
+     * <code>repeated string removeRunnings = 13;</code>
+     */
+    public java.lang.String getRemoveRunnings(int index) {
+      return removeRunnings_.get(index);
     }
-    public static HeartBeatMessage parseFrom(
-        com.google.protobuf.ByteString data,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data, extensionRegistry);
+    /**
+     * <code>repeated string removeRunnings = 13;</code>
+     */
+    public com.google.protobuf.ByteString
+        getRemoveRunningsBytes(int index) {
+      return removeRunnings_.getByteString(index);
     }
-    public static HeartBeatMessage parseFrom(byte[] data)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data);
+
+    public static final int ADDDEBUGRUNNINGS_FIELD_NUMBER = 14;
+    private com.google.protobuf.LazyStringList addDebugRunnings_;
+    /**
+     * <pre>
+     *上次心跳之后新增/结束的文件脚本job
+     * </pre>
+     *
+     * <code>repeated string addDebugRunnings = 14;</code>
+     */
+    public com.google.protobuf.ProtocolStringList
+        getAddDebugRunningsList() {
+      return addDebugRunnings_;
     }
-    public static HeartBeatMessage parseFrom(
-        byte[] data,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data, extensionRegistry);
+    /**
+     * <pre>
+     *上次心跳之后新增/结束的文件脚本job
+     * </pre>
+     *
+     * <code>repeated string addDebugRunnings = 14;</code>
+     */
+    public int getAddDebugRunningsCount() {
+      return addDebugRunnings_.size();
     }
-    public static HeartBeatMessage parseFrom(java.io.InputStream input)
-        throws java.io.IOException {
-      return com.google.protobuf.GeneratedMessageV3
-          .parseWithIOException(PARSER, input);
+    /**
+     * <pre>
+     *上次心跳之后新增/结束的文件脚本job
+     * </pre>
+     *
+     * <code>repeated string addDebugRunnings = 14;</code>
+     */
+    public java.lang.String getAddDebugRunnings(int index) {
+      return addDebugRunnings_.get(index);
     }
-    public static HeartBeatMessage parseFrom(
-        java.io.InputStream input,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws java.io.IOException {
-      return com.google.protobuf.GeneratedMessageV3
-          .parseWithIOException(PARSER, input, extensionRegistry);
+    /**
+     * <pre>
+     *上次心跳之后新增/结束的文件脚本job
+     * </pre>
+     *
+     * <code>repeated string addDebugRunnings = 14;</code>
+     */
+    public com.google.protobuf.ByteString
+        getAddDebugRunningsBytes(int index) {
+      return addDebugRunnings_.getByteString(index);
     }
-    public static HeartBeatMessage parseDelimitedFrom(java.io.InputStream input)
-        throws java.io.IOException {
-      return com.google.protobuf.GeneratedMessageV3
-          .parseDelimitedWithIOException(PARSER, input);
+
+    public static final int REMOVEDEBUGRUNNINGS_FIELD_NUMBER = 15;
+    private com.google.protobuf.LazyStringList removeDebugRunnings_;
+    /**
+     * <code>repeated string removeDebugRunnings = 15;</code>
+     */
+    public com.google.protobuf.ProtocolStringList
+        getRemoveDebugRunningsList() {
+      return removeDebugRunnings_;
     }
-    public static HeartBeatMessage parseDelimitedFrom(
-        java.io.InputStream input,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws java.io.IOException {
-      return com.google.protobuf.GeneratedMessageV3
-          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    /**
+     * <code>repeated string removeDebugRunnings = 15;</code>
+     */
+    public int getRemoveDebugRunningsCount() {
+      return removeDebugRunnings_.size();
     }
-    public static HeartBeatMessage parseFrom(
-        com.google.protobuf.CodedInputStream input)
-        throws java.io.IOException {
-      return com.google.protobuf.GeneratedMessageV3
-          .parseWithIOException(PARSER, input);
+    /**
+     * <code>repeated string removeDebugRunnings = 15;</code>
+     */
+    public java.lang.String getRemoveDebugRunnings(int index) {
+      return removeDebugRunnings_.get(index);
     }
-    public static HeartBeatMessage parseFrom(
-        com.google.protobuf.CodedInputStream input,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws java.io.IOException {
-      return com.google.protobuf.GeneratedMessageV3
-          .parseWithIOException(PARSER, input, extensionRegistry);
+    /**
+     * <code>repeated string removeDebugRunnings = 15;</code>
+     */
+    public com.google.protobuf.ByteString
+        getRemoveDebugRunningsBytes(int index) {
+      return removeDebugRunnings_.getByteString(index);
     }
 
-    public Builder newBuilderForType() { return newBuilder(); }
-    public static Builder newBuilder() {
-      return DEFAULT_INSTANCE.toBuilder();
+    public static final int ADDMANUALRUNNINGS_FIELD_NUMBER = 16;
+    private com.google.protobuf.LazyStringList addManualRunnings_;
+    /**
+     * <pre>
+     *上次心跳之后新增/结束的手动执行job
+     * </pre>
+     *
+     * <code>repeated string addManualRunnings = 16;</code>
+     */
+    public com.google.protobuf.ProtocolStringList
+        getAddManualRunningsList() {
+      return addManualRunnings_;
     }
-    public static Builder newBuilder(HeartBeatMessage prototype) {
-      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    /**
+     * <pre>
+     *上次心跳之后新增/结束的手动执行job
+     * </pre>
+     *
+     * <code>repeated string addManualRunnings = 16;</code>
+     */
+    public int getAddManualRunningsCount() {
+      return addManualRunnings_.size();
     }
-    public Builder toBuilder() {
-      return this == DEFAULT_INSTANCE
-          ? new Builder() : new Builder().mergeFrom(this);
+    /**
+     * <pre>
+     *上次心跳之后新增/结束的手动执行job
+     * </pre>
+     *
+     * <code>repeated string addManualRunnings = 16;</code>
+     */
+    public java.lang.String getAddManualRunnings(int index) {
+      return addManualRunnings_.get(index);
+    }
+    /**
+     * <pre>
+     *上次心跳之后新增/结束的手动执行job
+     * </pre>
+     *
+     * <code>repeated string addManualRunnings = 16;</code>
+     */
+    public com.google.protobuf.ByteString
+        getAddManualRunningsBytes(int index) {
+      return addManualRunnings_.getByteString(index);
     }
 
-    @Override
-    protected Builder newBuilderForType(
-        BuilderParent parent) {
-      Builder builder = new Builder(parent);
-      return builder;
+    public static final int REMOVEMANUALRUNNINGS_FIELD_NUMBER = 17;
+    private com.google.protobuf.LazyStringList removeManualRunnings_;
+    /**
+     * <code>repeated string removeManualRunnings = 17;</code>
+     */
+    public com.google.protobuf.ProtocolStringList
+        getRemoveManualRunningsList() {
+      return removeManualRunnings_;
     }
     /**
-     * Protobuf type {@code HeartBeatMessage}
+     * <code>repeated string removeManualRunnings = 17;</code>
      */
-    public static final class Builder extends
-        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
-        // @@protoc_insertion_point(builder_implements:HeartBeatMessage)
-        HeartBeatMessageOrBuilder {
-      public static final com.google.protobuf.Descriptors.Descriptor
-          getDescriptor() {
-        return RpcHeartBeatMessage.internal_static_HeartBeatMessage_descriptor;
-      }
+    public int getRemoveManualRunningsCount() {
+      return removeManualRunnings_.size();
+    }
+    /**
+     * <code>repeated string removeManualRunnings = 17;</code>
+     */
+    public java.lang.String getRemoveManualRunnings(int index) {
+      return removeManualRunnings_.get(index);
+    }
+    /**
+     * <code>repeated string removeManualRunnings = 17;</code>
+     */
+    public com.google.protobuf.ByteString
+        getRemoveManualRunningsBytes(int index) {
+      return removeManualRunnings_.getByteString(index);
+    }
 
-      protected FieldAccessorTable
-          internalGetFieldAccessorTable() {
-        return RpcHeartBeatMessage.internal_static_HeartBeatMessage_fieldAccessorTable
-            .ensureFieldAccessorsInitialized(
-                HeartBeatMessage.class, Builder.class);
-      }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
 
-      // Construct using com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage.newBuilder()
-      private Builder() {
-        maybeForceBuilderInitialization();
-      }
+      memoizedIsInitialized = 1;
+      return true;
+    }
 
-      private Builder(
-          BuilderParent parent) {
-        super(parent);
-        maybeForceBuilderInitialization();
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      for (int i = 0; i < runnings_.size(); i++) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 1, runnings_.getRaw(i));
       }
-      private void maybeForceBuilderInitialization() {
-        if (com.google.protobuf.GeneratedMessageV3
-                .alwaysUseFieldBuilders) {
-        }
+      for (int i = 0; i < debugRunnings_.size(); i++) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 2, debugRunnings_.getRaw(i));
       }
-      public Builder clear() {
-        super.clear();
-        runnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
-        bitField0_ = (bitField0_ & ~0x00000001);
-        debugRunnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
-        bitField0_ = (bitField0_ & ~0x00000002);
-        manualRunnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
-        bitField0_ = (bitField0_ & ~0x00000004);
-        timestamp_ = 0L;
-
-        memRate_ = 0F;
-
-        host_ = "";
-
-        cpuLoadPerCore_ = 0F;
-
-        memTotal_ = 0F;
-
-        cores_ = 0;
-
-        return this;
+      for (int i = 0; i < manualRunnings_.size(); i++) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 3, manualRunnings_.getRaw(i));
       }
-
-      public com.google.protobuf.Descriptors.Descriptor
-          getDescriptorForType() {
-        return RpcHeartBeatMessage.internal_static_HeartBeatMessage_descriptor;
+      if (timestamp_ != 0L) {
+        output.writeInt64(4, timestamp_);
       }
-
-      public HeartBeatMessage getDefaultInstanceForType() {
-        return HeartBeatMessage.getDefaultInstance();
+      if (memRate_ != 0F) {
+        output.writeFloat(5, memRate_);
       }
-
-      public HeartBeatMessage build() {
-        HeartBeatMessage result = buildPartial();
-        if (!result.isInitialized()) {
-          throw newUninitializedMessageException(result);
-        }
-        return result;
+      if (!getHostBytes().isEmpty()) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 6, host_);
       }
-
-      public HeartBeatMessage buildPartial() {
-        HeartBeatMessage result = new HeartBeatMessage(this);
-        int from_bitField0_ = bitField0_;
-        int to_bitField0_ = 0;
-        if (((bitField0_ & 0x00000001) == 0x00000001)) {
-          runnings_ = runnings_.getUnmodifiableView();
-          bitField0_ = (bitField0_ & ~0x00000001);
-        }
-        result.runnings_ = runnings_;
-        if (((bitField0_ & 0x00000002) == 0x00000002)) {
-          debugRunnings_ = debugRunnings_.getUnmodifiableView();
-          bitField0_ = (bitField0_ & ~0x00000002);
-        }
-        result.debugRunnings_ = debugRunnings_;
-        if (((bitField0_ & 0x00000004) == 0x00000004)) {
-          manualRunnings_ = manualRunnings_.getUnmodifiableView();
-          bitField0_ = (bitField0_ & ~0x00000004);
-        }
-        result.manualRunnings_ = manualRunnings_;
-        result.timestamp_ = timestamp_;
-        result.memRate_ = memRate_;
-        result.host_ = host_;
-        result.cpuLoadPerCore_ = cpuLoadPerCore_;
-        result.memTotal_ = memTotal_;
-        result.cores_ = cores_;
-        result.bitField0_ = to_bitField0_;
-        onBuilt();
-        return result;
+      if (cpuLoadPerCore_ != 0F) {
+        output.writeFloat(7, cpuLoadPerCore_);
       }
-
-      public Builder clone() {
-        return (Builder) super.clone();
+      if (cores_ != 0) {
+        output.writeInt32(8, cores_);
       }
-      public Builder setField(
-          com.google.protobuf.Descriptors.FieldDescriptor field,
-          Object value) {
-        return (Builder) super.setField(field, value);
+      if (version_ != 0) {
+        output.writeInt32(9, version_);
       }
-      public Builder clearField(
-          com.google.protobuf.Descriptors.FieldDescriptor field) {
-        return (Builder) super.clearField(field);
+      if (full_ != false) {
+        output.writeBool(10, full_);
       }
-      public Builder clearOneof(
-          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
-        return (Builder) super.clearOneof(oneof);
+      if (seq_ != 0L) {
+        output.writeInt64(11, seq_);
       }
-      public Builder setRepeatedField(
-          com.google.protobuf.Descriptors.FieldDescriptor field,
-          int index, Object value) {
-        return (Builder) super.setRepeatedField(field, index, value);
+      for (int i = 0; i < addRunnings_.size(); i++) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 12, addRunnings_.getRaw(i));
       }
-      public Builder addRepeatedField(
-          com.google.protobuf.Descriptors.FieldDescriptor field,
-          Object value) {
-        return (Builder) super.addRepeatedField(field, value);
+      for (int i = 0; i < removeRunnings_.size(); i++) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 13, removeRunnings_.getRaw(i));
       }
-      public Builder mergeFrom(com.google.protobuf.Message other) {
-        if (other instanceof HeartBeatMessage) {
-          return mergeFrom((HeartBeatMessage)other);
-        } else {
-          super.mergeFrom(other);
-          return this;
-        }
+      for (int i = 0; i < addDebugRunnings_.size(); i++) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 14, addDebugRunnings_.getRaw(i));
+      }
+      for (int i = 0; i < removeDebugRunnings_.size(); i++) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 15, removeDebugRunnings_.getRaw(i));
+      }
+      for (int i = 0; i < addManualRunnings_.size(); i++) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 16, addManualRunnings_.getRaw(i));
+      }
+      for (int i = 0; i < removeManualRunnings_.size(); i++) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 17, removeManualRunnings_.getRaw(i));
       }
+      if (memTotal_ != 0F) {
+        output.writeFloat(4096, memTotal_);
+      }
+      unknownFields.writeTo(output);
+    }
 
-      public Builder mergeFrom(HeartBeatMessage other) {
-        if (other == HeartBeatMessage.getDefaultInstance()) return this;
-        if (!other.runnings_.isEmpty()) {
-          if (runnings_.isEmpty()) {
-            runnings_ = other.runnings_;
-            bitField0_ = (bitField0_ & ~0x00000001);
-          } else {
-            ensureRunningsIsMutable();
-            runnings_.addAll(other.runnings_);
-          }
-          onChanged();
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      {
+        int dataSize = 0;
+        for (int i = 0; i < runnings_.size(); i++) {
+          dataSize += computeStringSizeNoTag(runnings_.getRaw(i));
         }
-        if (!other.debugRunnings_.isEmpty()) {
-          if (debugRunnings_.isEmpty()) {
-            debugRunnings_ = other.debugRunnings_;
-            bitField0_ = (bitField0_ & ~0x00000002);
-          } else {
-            ensureDebugRunningsIsMutable();
-            debugRunnings_.addAll(other.debugRunnings_);
-          }
-          onChanged();
+        size += dataSize;
+        size += 1 * getRunningsList().size();
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < debugRunnings_.size(); i++) {
+          dataSize += computeStringSizeNoTag(debugRunnings_.getRaw(i));
         }
-        if (!other.manualRunnings_.isEmpty()) {
-          if (manualRunnings_.isEmpty()) {
-            manualRunnings_ = other.manualRunnings_;
-            bitField0_ = (bitField0_ & ~0x00000004);
-          } else {
-            ensureManualRunningsIsMutable();
-            manualRunnings_.addAll(other.manualRunnings_);
-          }
-          onChanged();
+        size += dataSize;
+        size += 1 * getDebugRunningsList().size();
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < manualRunnings_.size(); i++) {
+          dataSize += computeStringSizeNoTag(manualRunnings_.getRaw(i));
         }
-        if (other.getTimestamp() != 0L) {
-          setTimestamp(other.getTimestamp());
+        size += dataSize;
+        size += 1 * getManualRunningsList().size();
+      }
+      if (timestamp_ != 0L) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(4, timestamp_);
+      }
+      if (memRate_ != 0F) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeFloatSize(5, memRate_);
+      }
+      if (!getHostBytes().isEmpty()) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(6, host_);
+      }
+      if (cpuLoadPerCore_ != 0F) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeFloatSize(7, cpuLoadPerCore_);
+      }
+      if (cores_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(8, cores_);
+      }
+      if (version_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(9, version_);
+      }
+      if (full_ != false) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBoolSize(10, full_);
+      }
+      if (seq_ != 0L) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(11, seq_);
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < addRunnings_.size(); i++) {
+          dataSize += computeStringSizeNoTag(addRunnings_.getRaw(i));
         }
-        if (other.getMemRate() != 0F) {
-          setMemRate(other.getMemRate());
+        size += dataSize;
+        size += 1 * getAddRunningsList().size();
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < removeRunnings_.size(); i++) {
+          dataSize += computeStringSizeNoTag(removeRunnings_.getRaw(i));
         }
-        if (!other.getHost().isEmpty()) {
-          host_ = other.host_;
-          onChanged();
+        size += dataSize;
+        size += 1 * getRemoveRunningsList().size();
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < addDebugRunnings_.size(); i++) {
+          dataSize += computeStringSizeNoTag(addDebugRunnings_.getRaw(i));
         }
-        if (other.getCpuLoadPerCore() != 0F) {
-          setCpuLoadPerCore(other.getCpuLoadPerCore());
+        size += dataSize;
+        size += 1 * getAddDebugRunningsList().size();
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < removeDebugRunnings_.size(); i++) {
+          dataSize += computeStringSizeNoTag(removeDebugRunnings_.getRaw(i));
         }
-        if (other.getMemTotal() != 0F) {
-          setMemTotal(other.getMemTotal());
+        size += dataSize;
+        size += 1 * getRemoveDebugRunningsList().size();
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < addManualRunnings_.size(); i++) {
+          dataSize += computeStringSizeNoTag(addManualRunnings_.getRaw(i));
         }
-        if (other.getCores() != 0) {
-          setCores(other.getCores());
+        size += dataSize;
+        size += 2 * getAddManualRunningsList().size();
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < removeManualRunnings_.size(); i++) {
+          dataSize += computeStringSizeNoTag(removeManualRunnings_.getRaw(i));
         }
-        this.mergeUnknownFields(other.unknownFields);
+        size += dataSize;
+        size += 2 * getRemoveManualRunningsList().size();
+      }
+      if (memTotal_ != 0F) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeFloatSize(4096, memTotal_);
+      }
+      size += unknownFields.getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage)) {
+        return super.equals(obj);
+      }
+      com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage other = (com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage) obj;
+
+      boolean result = true;
+      result = result && getRunningsList()
+          .equals(other.getRunningsList());
+      result = result && getDebugRunningsList()
+          .equals(other.getDebugRunningsList());
+      result = result && getManualRunningsList()
+          .equals(other.getManualRunningsList());
+      result = result && (getTimestamp()
+          == other.getTimestamp());
+      result = result && (
+          java.lang.Float.floatToIntBits(getMemRate())
+          == java.lang.Float.floatToIntBits(
+              other.getMemRate()));
+      result = result && getHost()
+          .equals(other.getHost());
+      result = result && (
+          java.lang.Float.floatToIntBits(getCpuLoadPerCore())
+          == java.lang.Float.floatToIntBits(
+              other.getCpuLoadPerCore()));
+      result = result && (
+          java.lang.Float.floatToIntBits(getMemTotal())
+          == java.lang.Float.floatToIntBits(
+              other.getMemTotal()));
+      result = result && (getCores()
+          == other.getCores());
+      result = result && (getVersion()
+          == other.getVersion());
+      result = result && (getFull()
+          == other.getFull());
+      result = result && (getSeq()
+          == other.getSeq());
+      result = result && getAddRunningsList()
+          .equals(other.getAddRunningsList());
+      result = result && getRemoveRunningsList()
+          .equals(other.getRemoveRunningsList());
+      result = result && getAddDebugRunningsList()
+          .equals(other.getAddDebugRunningsList());
+      result = result && getRemoveDebugRunningsList()
+          .equals(other.getRemoveDebugRunningsList());
+      result = result && getAddManualRunningsList()
+          .equals(other.getAddManualRunningsList());
+      result = result && getRemoveManualRunningsList()
+          .equals(other.getRemoveManualRunningsList());
+      result = result && unknownFields.equals(other.unknownFields);
+      return result;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      if (getRunningsCount() > 0) {
+        hash = (37 * hash) + RUNNINGS_FIELD_NUMBER;
+        hash = (53 * hash) + getRunningsList().hashCode();
+      }
+      if (getDebugRunningsCount() > 0) {
+        hash = (37 * hash) + DEBUGRUNNINGS_FIELD_NUMBER;
+        hash = (53 * hash) + getDebugRunningsList().hashCode();
+      }
+      if (getManualRunningsCount() > 0) {
+        hash = (37 * hash) + MANUALRUNNINGS_FIELD_NUMBER;
+        hash = (53 * hash) + getManualRunningsList().hashCode();
+      }
+      hash = (37 * hash) + TIMESTAMP_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+          getTimestamp());
+      hash = (37 * hash) + MEM_RATE_FIELD_NUMBER;
+      hash = (53 * hash) + java.lang.Float.floatToIntBits(
+          getMemRate());
+      hash = (37 * hash) + HOST_FIELD_NUMBER;
+      hash = (53 * hash) + getHost().hashCode();
+      hash = (37 * hash) + CPU_LOAD_PER_CORE_FIELD_NUMBER;
+      hash = (53 * hash) + java.lang.Float.floatToIntBits(
+          getCpuLoadPerCore());
+      hash = (37 * hash) + MEM_TOTAL_FIELD_NUMBER;
+      hash = (53 * hash) + java.lang.Float.floatToIntBits(
+          getMemTotal());
+      hash = (37 * hash) + CORES_FIELD_NUMBER;
+      hash = (53 * hash) + getCores();
+      hash = (37 * hash) + VERSION_FIELD_NUMBER;
+      hash = (53 * hash) + getVersion();
+      hash = (37 * hash) + FULL_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashBoolean(
+          getFull());
+      hash = (37 * hash) + SEQ_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+          getSeq());
+      if (getAddRunningsCount() > 0) {
+        hash = (37 * hash) + ADDRUNNINGS_FIELD_NUMBER;
+        hash = (53 * hash) + getAddRunningsList().hashCode();
+      }
+      if (getRemoveRunningsCount() > 0) {
+        hash = (37 * hash) + REMOVERUNNINGS_FIELD_NUMBER;
+        hash = (53 * hash) + getRemoveRunningsList().hashCode();
+      }
+      if (getAddDebugRunningsCount() > 0) {
+        hash = (37 * hash) + ADDDEBUGRUNNINGS_FIELD_NUMBER;
+        hash = (53 * hash) + getAddDebugRunningsList().hashCode();
+      }
+      if (getRemoveDebugRunningsCount() > 0) {
+        hash = (37 * hash) + REMOVEDEBUGRUNNINGS_FIELD_NUMBER;
+        hash = (53 * hash) + getRemoveDebugRunningsList().hashCode();
+      }
+      if (getAddManualRunningsCount() > 0) {
+        hash = (37 * hash) + ADDMANUALRUNNINGS_FIELD_NUMBER;
+        hash = (53 * hash) + getAddManualRunningsList().hashCode();
+      }
+      if (getRemoveManualRunningsCount() > 0) {
+        hash = (37 * hash) + REMOVEMANUALRUNNINGS_FIELD_NUMBER;
+        hash = (53 * hash) + getRemoveManualRunningsList().hashCode();
+      }
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code HeartBeatMessage}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:HeartBeatMessage)
+        com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessageOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.dfire.protocol.RpcHeartBeatMessage.internal_static_HeartBeatMessage_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.dfire.protocol.RpcHeartBeatMessage.internal_static_HeartBeatMessage_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage.class, com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage.Builder.class);
+      }
+
+      // Construct using com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+        }
+      }
+      public Builder clear() {
+        super.clear();
+        runnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        debugRunnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000002);
+        manualRunnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000004);
+        timestamp_ = 0L;
+
+        memRate_ = 0F;
+
+        host_ = "";
+
+        cpuLoadPerCore_ = 0F;
+
+        memTotal_ = 0F;
+
+        cores_ = 0;
+
+        version_ = 0;
+
+        full_ = false;
+
+        seq_ = 0L;
+
+        addRunnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00001000);
+        removeRunnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00002000);
+        addDebugRunnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00004000);
+        removeDebugRunnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00008000);
+        addManualRunnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00010000);
+        removeManualRunnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00020000);
+        return this;
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.dfire.protocol.RpcHeartBeatMessage.internal_static_HeartBeatMessage_descriptor;
+      }
+
+      public com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage getDefaultInstanceForType() {
+        return com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage.getDefaultInstance();
+      }
+
+      public com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage build() {
+        com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage buildPartial() {
+        com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage result = new com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((bitField0_ & 0x00000001) == 0x00000001)) {
+          runnings_ = runnings_.getUnmodifiableView();
+          bitField0_ = (bitField0_ & ~0x00000001);
+        }
+        result.runnings_ = runnings_;
+        if (((bitField0_ & 0x00000002) == 0x00000002)) {
+          debugRunnings_ = debugRunnings_.getUnmodifiableView();
+          bitField0_ = (bitField0_ & ~0x00000002);
+        }
+        result.debugRunnings_ = debugRunnings_;
+        if (((bitField0_ & 0x00000004) == 0x00000004)) {
+          manualRunnings_ = manualRunnings_.getUnmodifiableView();
+          bitField0_ = (bitField0_ & ~0x00000004);
+        }
+        result.manualRunnings_ = manualRunnings_;
+        result.timestamp_ = timestamp_;
+        result.memRate_ = memRate_;
+        result.host_ = host_;
+        result.cpuLoadPerCore_ = cpuLoadPerCore_;
+        result.memTotal_ = memTotal_;
+        result.cores_ = cores_;
+        result.version_ = version_;
+        result.full_ = full_;
+        result.seq_ = seq_;
+        if (((bitField0_ & 0x00001000) == 0x00001000)) {
+          addRunnings_ = addRunnings_.getUnmodifiableView();
+          bitField0_ = (bitField0_ & ~0x00001000);
+        }
+        result.addRunnings_ = addRunnings_;
+        if (((bitField0_ & 0x00002000) == 0x00002000)) {
+          removeRunnings_ = removeRunnings_.getUnmodifiableView();
+          bitField0_ = (bitField0_ & ~0x00002000);
+        }
+        result.removeRunnings_ = removeRunnings_;
+        if (((bitField0_ & 0x00004000) == 0x00004000)) {
+          addDebugRunnings_ = addDebugRunnings_.getUnmodifiableView();
+          bitField0_ = (bitField0_ & ~0x00004000);
+        }
+        result.addDebugRunnings_ = addDebugRunnings_;
+        if (((bitField0_ & 0x00008000) == 0x00008000)) {
+          removeDebugRunnings_ = removeDebugRunnings_.getUnmodifiableView();
+          bitField0_ = (bitField0_ & ~0x00008000);
+        }
+        result.removeDebugRunnings_ = removeDebugRunnings_;
+        if (((bitField0_ & 0x00010000) == 0x00010000)) {
+          addManualRunnings_ = addManualRunnings_.getUnmodifiableView();
+          bitField0_ = (bitField0_ & ~0x00010000);
+        }
+        result.addManualRunnings_ = addManualRunnings_;
+        if (((bitField0_ & 0x00020000) == 0x00020000)) {
+          removeManualRunnings_ = removeManualRunnings_.getUnmodifiableView();
+          bitField0_ = (bitField0_ & ~0x00020000);
+        }
+        result.removeManualRunnings_ = removeManualRunnings_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder clone() {
+        return (Builder) super.clone();
+      }
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return (Builder) super.setField(field, value);
+      }
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return (Builder) super.clearField(field);
+      }
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return (Builder) super.clearOneof(oneof);
+      }
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, java.lang.Object value) {
+        return (Builder) super.setRepeatedField(field, index, value);
+      }
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return (Builder) super.addRepeatedField(field, value);
+      }
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage) {
+          return mergeFrom((com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage other) {
+        if (other == com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage.getDefaultInstance()) return this;
+        if (!other.runnings_.isEmpty()) {
+          if (runnings_.isEmpty()) {
+            runnings_ = other.runnings_;
+            bitField0_ = (bitField0_ & ~0x00000001);
+          } else {
+            ensureRunningsIsMutable();
+            runnings_.addAll(other.runnings_);
+          }
+          onChanged();
+        }
+        if (!other.debugRunnings_.isEmpty()) {
+          if (debugRunnings_.isEmpty()) {
+            debugRunnings_ = other.debugRunnings_;
+            bitField0_ = (bitField0_ & ~0x00000002);
+          } else {
+            ensureDebugRunningsIsMutable();
+            debugRunnings_.addAll(other.debugRunnings_);
+          }
+          onChanged();
+        }
+        if (!other.manualRunnings_.isEmpty()) {
+          if (manualRunnings_.isEmpty()) {
+            manualRunnings_ = other.manualRunnings_;
+            bitField0_ = (bitField0_ & ~0x00000004);
+          } else {
+            ensureManualRunningsIsMutable();
+            manualRunnings_.addAll(other.manualRunnings_);
+          }
+          onChanged();
+        }
+        if (other.getTimestamp() != 0L) {
+          setTimestamp(other.getTimestamp());
+        }
+        if (other.getMemRate() != 0F) {
+          setMemRate(other.getMemRate());
+        }
+        if (!other.getHost().isEmpty()) {
+          host_ = other.host_;
+          onChanged();
+        }
+        if (other.getCpuLoadPerCore() != 0F) {
+          setCpuLoadPerCore(other.getCpuLoadPerCore());
+        }
+        if (other.getMemTotal() != 0F) {
+          setMemTotal(other.getMemTotal());
+        }
+        if (other.getCores() != 0) {
+          setCores(other.getCores());
+        }
+        if (other.getVersion() != 0) {
+          setVersion(other.getVersion());
+        }
+        if (other.getFull() != false) {
+          setFull(other.getFull());
+        }
+        if (other.getSeq() != 0L) {
+          setSeq(other.getSeq());
+        }
+        if (!other.addRunnings_.isEmpty()) {
+          if (addRunnings_.isEmpty()) {
+            addRunnings_ = other.addRunnings_;
+            bitField0_ = (bitField0_ & ~0x00001000);
+          } else {
+            ensureAddRunningsIsMutable();
+            addRunnings_.addAll(other.addRunnings_);
+          }
+          onChanged();
+        }
+        if (!other.removeRunnings_.isEmpty()) {
+          if (removeRunnings_.isEmpty()) {
+            removeRunnings_ = other.removeRunnings_;
+            bitField0_ = (bitField0_ & ~0x00002000);
+          } else {
+            ensureRemoveRunningsIsMutable();
+            removeRunnings_.addAll(other.removeRunnings_);
+          }
+          onChanged();
+        }
+        if (!other.addDebugRunnings_.isEmpty()) {
+          if (addDebugRunnings_.isEmpty()) {
+            addDebugRunnings_ = other.addDebugRunnings_;
+            bitField0_ = (bitField0_ & ~0x00004000);
+          } else {
+            ensureAddDebugRunningsIsMutable();
+            addDebugRunnings_.addAll(other.addDebugRunnings_);
+          }
+          onChanged();
+        }
+        if (!other.removeDebugRunnings_.isEmpty()) {
+          if (removeDebugRunnings_.isEmpty()) {
+            removeDebugRunnings_ = other.removeDebugRunnings_;
+            bitField0_ = (bitField0_ & ~0x00008000);
+          } else {
+            ensureRemoveDebugRunningsIsMutable();
+            removeDebugRunnings_.addAll(other.removeDebugRunnings_);
+          }
+          onChanged();
+        }
+        if (!other.addManualRunnings_.isEmpty()) {
+          if (addManualRunnings_.isEmpty()) {
+            addManualRunnings_ = other.addManualRunnings_;
+            bitField0_ = (bitField0_ & ~0x00010000);
+          } else {
+            ensureAddManualRunningsIsMutable();
+            addManualRunnings_.addAll(other.addManualRunnings_);
+          }
+          onChanged();
+        }
+        if (!other.removeManualRunnings_.isEmpty()) {
+          if (removeManualRunnings_.isEmpty()) {
+            removeManualRunnings_ = other.removeManualRunnings_;
+            bitField0_ = (bitField0_ & ~0x00020000);
+          } else {
+            ensureRemoveManualRunningsIsMutable();
+            removeManualRunnings_.addAll(other.removeManualRunnings_);
+          }
+          onChanged();
+        }
+        this.mergeUnknownFields(other.unknownFields);
+        onChanged();
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private com.google.protobuf.LazyStringList runnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      private void ensureRunningsIsMutable() {
+        if (!((bitField0_ & 0x00000001) == 0x00000001)) {
+          runnings_ = new com.google.protobuf.LazyStringArrayList(runnings_);
+          bitField0_ |= 0x00000001;
+         }
+      }
+      /**
+       * <pre>
+       *正在运行的自动调度job列表
+       * </pre>
+       *
+       * <code>repeated string runnings = 1;</code>
+       */
+      public com.google.protobuf.ProtocolStringList
+          getRunningsList() {
+        return runnings_.getUnmodifiableView();
+      }
+      /**
+       * <pre>
+       *正在运行的自动调度job列表
+       * </pre>
+       *
+       * <code>repeated string runnings = 1;</code>
+       */
+      public int getRunningsCount() {
+        return runnings_.size();
+      }
+      /**
+       * <pre>
+       *正在运行的自动调度job列表
+       * </pre>
+       *
+       * <code>repeated string runnings = 1;</code>
+       */
+      public java.lang.String getRunnings(int index) {
+        return runnings_.get(index);
+      }
+      /**
+       * <pre>
+       *正在运行的自动调度job列表
+       * </pre>
+       *
+       * <code>repeated string runnings = 1;</code>
+       */
+      public com.google.protobuf.ByteString
+          getRunningsBytes(int index) {
+        return runnings_.getByteString(index);
+      }
+      /**
+       * <pre>
+       *正在运行的自动调度job列表
+       * </pre>
+       *
+       * <code>repeated string runnings = 1;</code>
+       */
+      public Builder setRunnings(
+          int index, java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureRunningsIsMutable();
+        runnings_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       *正在运行的自动调度job列表
+       * </pre>
+       *
+       * <code>repeated string runnings = 1;</code>
+       */
+      public Builder addRunnings(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureRunningsIsMutable();
+        runnings_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       *正在运行的自动调度job列表
+       * </pre>
+       *
+       * <code>repeated string runnings = 1;</code>
+       */
+      public Builder addAllRunnings(
+          java.lang.Iterable<java.lang.String> values) {
+        ensureRunningsIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, runnings_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       *正在运行的自动调度job列表
+       * </pre>
+       *
+       * <code>repeated string runnings = 1;</code>
+       */
+      public Builder clearRunnings() {
+        runnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       *正在运行的自动调度job列表
+       * </pre>
+       *
+       * <code>repeated string runnings = 1;</code>
+       */
+      public Builder addRunningsBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        ensureRunningsIsMutable();
+        runnings_.add(value);
+        onChanged();
+        return this;
+      }
+
+      private com.google.protobuf.LazyStringList debugRunnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      private void ensureDebugRunningsIsMutable() {
+        if (!((bitField0_ & 0x00000002) == 0x00000002)) {
+          debugRunnings_ = new com.google.protobuf.LazyStringArrayList(debugRunnings_);
+          bitField0_ |= 0x00000002;
+         }
+      }
+      /**
+       * <pre>
+       *正在运行的文件脚本job列表
+       * </pre>
+       *
+       * <code>repeated string debugRunnings = 2;</code>
+       */
+      public com.google.protobuf.ProtocolStringList
+          getDebugRunningsList() {
+        return debugRunnings_.getUnmodifiableView();
+      }
+      /**
+       * <pre>
+       *正在运行的文件脚本job列表
+       * </pre>
+       *
+       * <code>repeated string debugRunnings = 2;</code>
+       */
+      public int getDebugRunningsCount() {
+        return debugRunnings_.size();
+      }
+      /**
+       * <pre>
+       *正在运行的文件脚本job列表
+       * </pre>
+       *
+       * <code>repeated string debugRunnings = 2;</code>
+       */
+      public java.lang.String getDebugRunnings(int index) {
+        return debugRunnings_.get(index);
+      }
+      /**
+       * <pre>
+       *正在运行的文件脚本job列表
+       * </pre>
+       *
+       * <code>repeated string debugRunnings = 2;</code>
+       */
+      public com.google.protobuf.ByteString
+          getDebugRunningsBytes(int index) {
+        return debugRunnings_.getByteString(index);
+      }
+      /**
+       * <pre>
+       *正在运行的文件脚本job列表
+       * </pre>
+       *
+       * <code>repeated string debugRunnings = 2;</code>
+       */
+      public Builder setDebugRunnings(
+          int index, java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureDebugRunningsIsMutable();
+        debugRunnings_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       *正在运行的文件脚本job列表
+       * </pre>
+       *
+       * <code>repeated string debugRunnings = 2;</code>
+       */
+      public Builder addDebugRunnings(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureDebugRunningsIsMutable();
+        debugRunnings_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       *正在运行的文件脚本job列表
+       * </pre>
+       *
+       * <code>repeated string debugRunnings = 2;</code>
+       */
+      public Builder addAllDebugRunnings(
+          java.lang.Iterable<java.lang.String> values) {
+        ensureDebugRunningsIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, debugRunnings_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       *正在运行的文件脚本job列表
+       * </pre>
+       *
+       * <code>repeated string debugRunnings = 2;</code>
+       */
+      public Builder clearDebugRunnings() {
+        debugRunnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000002);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       *正在运行的文件脚本job列表
+       * </pre>
+       *
+       * <code>repeated string debugRunnings = 2;</code>
+       */
+      public Builder addDebugRunningsBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        ensureDebugRunningsIsMutable();
+        debugRunnings_.add(value);
+        onChanged();
+        return this;
+      }
+
+      private com.google.protobuf.LazyStringList manualRunnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      private void ensureManualRunningsIsMutable() {
+        if (!((bitField0_ & 0x00000004) == 0x00000004)) {
+          manualRunnings_ = new com.google.protobuf.LazyStringArrayList(manualRunnings_);
+          bitField0_ |= 0x00000004;
+         }
+      }
+      /**
+       * <pre>
+       *正在运行的手动执行job列表
+       * </pre>
+       *
+       * <code>repeated string manualRunnings = 3;</code>
+       */
+      public com.google.protobuf.ProtocolStringList
+          getManualRunningsList() {
+        return manualRunnings_.getUnmodifiableView();
+      }
+      /**
+       * <pre>
+       *正在运行的手动执行job列表
+       * </pre>
+       *
+       * <code>repeated string manualRunnings = 3;</code>
+       */
+      public int getManualRunningsCount() {
+        return manualRunnings_.size();
+      }
+      /**
+       * <pre>
+       *正在运行的手动执行job列表
+       * </pre>
+       *
+       * <code>repeated string manualRunnings = 3;</code>
+       */
+      public java.lang.String getManualRunnings(int index) {
+        return manualRunnings_.get(index);
+      }
+      /**
+       * <pre>
+       *正在运行的手动执行job列表
+       * </pre>
+       *
+       * <code>repeated string manualRunnings = 3;</code>
+       */
+      public com.google.protobuf.ByteString
+          getManualRunningsBytes(int index) {
+        return manualRunnings_.getByteString(index);
+      }
+      /**
+       * <pre>
+       *正在运行的手动执行job列表
+       * </pre>
+       *
+       * <code>repeated string manualRunnings = 3;</code>
+       */
+      public Builder setManualRunnings(
+          int index, java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureManualRunningsIsMutable();
+        manualRunnings_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       *正在运行的手动执行job列表
+       * </pre>
+       *
+       * <code>repeated string manualRunnings = 3;</code>
+       */
+      public Builder addManualRunnings(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureManualRunningsIsMutable();
+        manualRunnings_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       *正在运行的手动执行job列表
+       * </pre>
+       *
+       * <code>repeated string manualRunnings = 3;</code>
+       */
+      public Builder addAllManualRunnings(
+          java.lang.Iterable<java.lang.String> values) {
+        ensureManualRunningsIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, manualRunnings_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       *正在运行的手动执行job列表
+       * </pre>
+       *
+       * <code>repeated string manualRunnings = 3;</code>
+       */
+      public Builder clearManualRunnings() {
+        manualRunnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000004);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       *正在运行的手动执行job列表
+       * </pre>
+       *
+       * <code>repeated string manualRunnings = 3;</code>
+       */
+      public Builder addManualRunningsBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        ensureManualRunningsIsMutable();
+        manualRunnings_.add(value);
+        onChanged();
+        return this;
+      }
+
+      private long timestamp_ ;
+      /**
+       * <pre>
+       *时间戳
+       * </pre>
+       *
+       * <code>int64 timestamp = 4;</code>
+       */
+      public long getTimestamp() {
+        return timestamp_;
+      }
+      /**
+       * <pre>
+       *时间戳
+       * </pre>
+       *
+       * <code>int64 timestamp = 4;</code>
+       */
+      public Builder setTimestamp(long value) {
+        
+        timestamp_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       *时间戳
+       * </pre>
+       *
+       * <code>int64 timestamp = 4;</code>
+       */
+      public Builder clearTimestamp() {
+        
+        timestamp_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      private float memRate_ ;
+      /**
+       * <pre>
+       *内存占用比例
+       * </pre>
+       *
+       * <code>float mem_rate = 5;</code>
+       */
+      public float getMemRate() {
+        return memRate_;
+      }
+      /**
+       * <pre>
+       *内存占用比例
+       * </pre>
+       *
+       * <code>float mem_rate = 5;</code>
+       */
+      public Builder setMemRate(float value) {
+        
+        memRate_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       *内存占用比例
+       * </pre>
+       *
+       * <code>float mem_rate = 5;</code>
+       */
+      public Builder clearMemRate() {
+        
+        memRate_ = 0F;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object host_ = "";
+      /**
+       * <pre>
+       *发送心跳的主机
+       * </pre>
+       *
+       * <code>string host = 6;</code>
+       */
+      public java.lang.String getHost() {
+        java.lang.Object ref = host_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          host_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <pre>
+       *发送心跳的主机
+       * </pre>
+       *
+       * <code>string host = 6;</code>
+       */
+      public com.google.protobuf.ByteString
+          getHostBytes() {
+        java.lang.Object ref = host_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          host_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <pre>
+       *发送心跳的主机
+       * </pre>
+       *
+       * <code>string host = 6;</code>
+       */
+      public Builder setHost(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  
+        host_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       *发送心跳的主机
+       * </pre>
+       *
+       * <code>string host = 6;</code>
+       */
+      public Builder clearHost() {
+        
+        host_ = getDefaultInstance().getHost();
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       *发送心跳的主机
+       * </pre>
+       *
+       * <code>string host = 6;</code>
+       */
+      public Builder setHostBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        
+        host_ = value;
+        onChanged();
+        return this;
+      }
+
+      private float cpuLoadPerCore_ ;
+      /**
+       * <pre>
+       *每个核心的cpu负载
+       * </pre>
+       *
+       * <code>float cpu_load_per_core = 7;</code>
+       */
+      public float getCpuLoadPerCore() {
+        return cpuLoadPerCore_;
+      }
+      /**
+       * <pre>
+       *每个核心的cpu负载
+       * </pre>
+       *
+       * <code>float cpu_load_per_core = 7;</code>
+       */
+      public Builder setCpuLoadPerCore(float value) {
+        
+        cpuLoadPerCore_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       *每个核心的cpu负载
+       * </pre>
+       *
+       * <code>float cpu_load_per_core = 7;</code>
+       */
+      public Builder clearCpuLoadPerCore() {
+        
+        cpuLoadPerCore_ = 0F;
+        onChanged();
+        return this;
+      }
+
+      private float memTotal_ ;
+      /**
+       * <pre>
+       *总内存大小，默认4096M
+       * </pre>
+       *
+       * <code>float mem_total = 4096;</code>
+       */
+      public float getMemTotal() {
+        return memTotal_;
+      }
+      /**
+       * <pre>
+       *总内存大小，默认4096M
+       * </pre>
+       *
+       * <code>float mem_total = 4096;</code>
+       */
+      public Builder setMemTotal(float value) {
+        
+        memTotal_ = value;
         onChanged();
         return this;
       }
-
-      public final boolean isInitialized() {
-        return true;
+      /**
+       * <pre>
+       *总内存大小，默认4096M
+       * </pre>
+       *
+       * <code>float mem_total = 4096;</code>
+       */
+      public Builder clearMemTotal() {
+        
+        memTotal_ = 0F;
+        onChanged();
+        return this;
       }
 
-      public Builder mergeFrom(
-          com.google.protobuf.CodedInputStream input,
-          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-          throws java.io.IOException {
-        HeartBeatMessage parsedMessage = null;
-        try {
-          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
-        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-          parsedMessage = (HeartBeatMessage) e.getUnfinishedMessage();
-          throw e.unwrapIOException();
-        } finally {
-          if (parsedMessage != null) {
-            mergeFrom(parsedMessage);
-          }
-        }
+      private int cores_ ;
+      /**
+       * <code>int32 cores = 8;</code>
+       */
+      public int getCores() {
+        return cores_;
+      }
+      /**
+       * <code>int32 cores = 8;</code>
+       */
+      public Builder setCores(int value) {
+        
+        cores_ = value;
+        onChanged();
         return this;
       }
-      private int bitField0_;
-
-      private com.google.protobuf.LazyStringList runnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
-      private void ensureRunningsIsMutable() {
-        if (!((bitField0_ & 0x00000001) == 0x00000001)) {
-          runnings_ = new com.google.protobuf.LazyStringArrayList(runnings_);
-          bitField0_ |= 0x00000001;
-         }
+      /**
+       * <code>int32 cores = 8;</code>
+       */
+      public Builder clearCores() {
+        
+        cores_ = 0;
+        onChanged();
+        return this;
       }
+
+      private int version_ ;
       /**
        * <pre>
-       *正在运行的自动调度job列表
+       *心跳版本，0为每次发送全量的旧版本，2为增量心跳
        * </pre>
        *
-       * <code>repeated string runnings = 1;</code>
+       * <code>int32 version = 9;</code>
        */
-      public com.google.protobuf.ProtocolStringList
-          getRunningsList() {
-        return runnings_.getUnmodifiableView();
+      public int getVersion() {
+        return version_;
       }
       /**
        * <pre>
-       *正在运行的自动调度job列表
+       *心跳版本，0为每次发送全量的旧版本，2为增量心跳
        * </pre>
        *
-       * <code>repeated string runnings = 1;</code>
+       * <code>int32 version = 9;</code>
        */
-      public int getRunningsCount() {
-        return runnings_.size();
+      public Builder setVersion(int value) {
+        
+        version_ = value;
+        onChanged();
+        return this;
       }
       /**
        * <pre>
-       *正在运行的自动调度job列表
+       *心跳版本，0为每次发送全量的旧版本，2为增量心跳
        * </pre>
        *
-       * <code>repeated string runnings = 1;</code>
+       * <code>int32 version = 9;</code>
        */
-      public String getRunnings(int index) {
-        return runnings_.get(index);
+      public Builder clearVersion() {
+        
+        version_ = 0;
+        onChanged();
+        return this;
       }
+
+      private boolean full_ ;
       /**
        * <pre>
-       *正在运行的自动调度job列表
+       *增量心跳中是否为全量快照，全量快照使用runnings/debugRunnings/manualRunnings字段
        * </pre>
        *
-       * <code>repeated string runnings = 1;</code>
+       * <code>bool full = 10;</code>
        */
-      public com.google.protobuf.ByteString
-          getRunningsBytes(int index) {
-        return runnings_.getByteString(index);
+      public boolean getFull() {
+        return full_;
       }
       /**
        * <pre>
-       *正在运行的自动调度job列表
+       *增量心跳中是否为全量快照，全量快照使用runnings/debugRunnings/manualRunnings字段
        * </pre>
        *
-       * <code>repeated string runnings = 1;</code>
+       * <code>bool full = 10;</code>
        */
-      public Builder setRunnings(
-          int index, String value) {
-        if (value == null) {
-    throw new NullPointerException();
-  }
-  ensureRunningsIsMutable();
-        runnings_.set(index, value);
+      public Builder setFull(boolean value) {
+        
+        full_ = value;
         onChanged();
         return this;
       }
       /**
        * <pre>
-       *正在运行的自动调度job列表
+       *增量心跳中是否为全量快照，全量快照使用runnings/debugRunnings/manualRunnings字段
        * </pre>
        *
-       * <code>repeated string runnings = 1;</code>
+       * <code>bool full = 10;</code>
        */
-      public Builder addRunnings(
-          String value) {
-        if (value == null) {
-    throw new NullPointerException();
-  }
-  ensureRunningsIsMutable();
-        runnings_.add(value);
+      public Builder clearFull() {
+        
+        full_ = false;
         onChanged();
         return this;
       }
+
+      private long seq_ ;
       /**
        * <pre>
-       *正在运行的自动调度job列表
+       *增量心跳序号，master发现不连续时等待下一次全量快照
        * </pre>
        *
-       * <code>repeated string runnings = 1;</code>
+       * <code>int64 seq = 11;</code>
        */
-      public Builder addAllRunnings(
-          Iterable<String> values) {
-        ensureRunningsIsMutable();
-        com.google.protobuf.AbstractMessageLite.Builder.addAll(
-            values, runnings_);
-        onChanged();
-        return this;
+      public long getSeq() {
+        return seq_;
       }
       /**
        * <pre>
-       *正在运行的自动调度job列表
+       *增量心跳序号，master发现不连续时等待下一次全量快照
        * </pre>
        *
-       * <code>repeated string runnings = 1;</code>
+       * <code>int64 seq = 11;</code>
        */
-      public Builder clearRunnings() {
-        runnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
-        bitField0_ = (bitField0_ & ~0x00000001);
+      public Builder setSeq(long value) {
+        
+        seq_ = value;
         onChanged();
         return this;
       }
       /**
        * <pre>
-       *正在运行的自动调度job列表
+       *增量心跳序号，master发现不连续时等待下一次全量快照
        * </pre>
        *
-       * <code>repeated string runnings = 1;</code>
+       * <code>int64 seq = 11;</code>
        */
-      public Builder addRunningsBytes(
-          com.google.protobuf.ByteString value) {
-        if (value == null) {
-    throw new NullPointerException();
-  }
-  checkByteStringIsUtf8(value);
-        ensureRunningsIsMutable();
-        runnings_.add(value);
+      public Builder clearSeq() {
+        
+        seq_ = 0L;
         onChanged();
         return this;
       }
 
-      private com.google.protobuf.LazyStringList debugRunnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
-      private void ensureDebugRunningsIsMutable() {
-        if (!((bitField0_ & 0x00000002) == 0x00000002)) {
-          debugRunnings_ = new com.google.protobuf.LazyStringArrayList(debugRunnings_);
-          bitField0_ |= 0x00000002;
+      private com.google.protobuf.LazyStringList addRunnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      private void ensureAddRunningsIsMutable() {
+        if (!((bitField0_ & 0x00001000) == 0x00001000)) {
+          addRunnings_ = new com.google.protobuf.LazyStringArrayList(addRunnings_);
+          bitField0_ |= 0x00001000;
          }
       }
       /**
        * <pre>
-       *正在运行的文件脚本job列表
+       *上次心跳之后新增/结束的自动调度job
        * </pre>
        *
-       * <code>repeated string debugRunnings = 2;</code>
+       * <code>repeated string addRunnings = 12;</code>
        */
       public com.google.protobuf.ProtocolStringList
-          getDebugRunningsList() {
-        return debugRunnings_.getUnmodifiableView();
+          getAddRunningsList() {
+        return addRunnings_.getUnmodifiableView();
       }
       /**
        * <pre>
-       *正在运行的文件脚本job列表
+       *上次心跳之后新增/结束的自动调度job
        * </pre>
        *
-       * <code>repeated string debugRunnings = 2;</code>
+       * <code>repeated string addRunnings = 12;</code>
        */
-      public int getDebugRunningsCount() {
-        return debugRunnings_.size();
+      public int getAddRunningsCount() {
+        return addRunnings_.size();
       }
       /**
        * <pre>
-       *正在运行的文件脚本job列表
+       *上次心跳之后新增/结束的自动调度job
        * </pre>
        *
-       * <code>repeated string debugRunnings = 2;</code>
+       * <code>repeated string addRunnings = 12;</code>
        */
-      public String getDebugRunnings(int index) {
-        return debugRunnings_.get(index);
+      public java.lang.String getAddRunnings(int index) {
+        return addRunnings_.get(index);
       }
       /**
        * <pre>
-       *正在运行的文件脚本job列表
+       *上次心跳之后新增/结束的自动调度job
        * </pre>
        *
-       * <code>repeated string debugRunnings = 2;</code>
+       * <code>repeated string addRunnings = 12;</code>
        */
       public com.google.protobuf.ByteString
-          getDebugRunningsBytes(int index) {
-        return debugRunnings_.getByteString(index);
+          getAddRunningsBytes(int index) {
+        return addRunnings_.getByteString(index);
       }
       /**
        * <pre>
-       *正在运行的文件脚本job列表
+       *上次心跳之后新增/结束的自动调度job
        * </pre>
        *
-       * <code>repeated string debugRunnings = 2;</code>
+       * <code>repeated string addRunnings = 12;</code>
        */
-      public Builder setDebugRunnings(
-          int index, String value) {
+      public Builder setAddRunnings(
+          int index, java.lang.String value) {
         if (value == null) {
     throw new NullPointerException();
   }
-  ensureDebugRunningsIsMutable();
-        debugRunnings_.set(index, value);
+  ensureAddRunningsIsMutable();
+        addRunnings_.set(index, value);
         onChanged();
         return this;
       }
       /**
        * <pre>
-       *正在运行的文件脚本job列表
+       *上次心跳之后新增/结束的自动调度job
        * </pre>
        *
-       * <code>repeated string debugRunnings = 2;</code>
+       * <code>repeated string addRunnings = 12;</code>
        */
-      public Builder addDebugRunnings(
-          String value) {
+      public Builder addAddRunnings(
+          java.lang.String value) {
         if (value == null) {
     throw new NullPointerException();
   }
-  ensureDebugRunningsIsMutable();
-        debugRunnings_.add(value);
+  ensureAddRunningsIsMutable();
+        addRunnings_.add(value);
         onChanged();
         return this;
       }
       /**
        * <pre>
-       *正在运行的文件脚本job列表
+       *上次心跳之后新增/结束的自动调度job
        * </pre>
        *
-       * <code>repeated string debugRunnings = 2;</code>
+       * <code>repeated string addRunnings = 12;</code>
        */
-      public Builder addAllDebugRunnings(
-          Iterable<String> values) {
-        ensureDebugRunningsIsMutable();
+      public Builder addAllAddRunnings(
+          java.lang.Iterable<java.lang.String> values) {
+        ensureAddRunningsIsMutable();
         com.google.protobuf.AbstractMessageLite.Builder.addAll(
-            values, debugRunnings_);
+            values, addRunnings_);
         onChanged();
         return this;
       }
       /**
        * <pre>
-       *正在运行的文件脚本job列表
+       *上次心跳之后新增/结束的自动调度job
        * </pre>
        *
-       * <code>repeated string debugRunnings = 2;</code>
+       * <code>repeated string addRunnings = 12;</code>
        */
-      public Builder clearDebugRunnings() {
-        debugRunnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
-        bitField0_ = (bitField0_ & ~0x00000002);
+      public Builder clearAddRunnings() {
+        addRunnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00001000);
         onChanged();
         return this;
       }
       /**
        * <pre>
-       *正在运行的文件脚本job列表
+       *上次心跳之后新增/结束的自动调度job
        * </pre>
        *
-       * <code>repeated string debugRunnings = 2;</code>
+       * <code>repeated string addRunnings = 12;</code>
        */
-      public Builder addDebugRunningsBytes(
+      public Builder addAddRunningsBytes(
           com.google.protobuf.ByteString value) {
         if (value == null) {
     throw new NullPointerException();
   }
   checkByteStringIsUtf8(value);
-        ensureDebugRunningsIsMutable();
-        debugRunnings_.add(value);
+        ensureAddRunningsIsMutable();
+        addRunnings_.add(value);
         onChanged();
         return this;
       }
 
-      private com.google.protobuf.LazyStringList manualRunnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
-      private void ensureManualRunningsIsMutable() {
-        if (!((bitField0_ & 0x00000004) == 0x00000004)) {
-          manualRunnings_ = new com.google.protobuf.LazyStringArrayList(manualRunnings_);
-          bitField0_ |= 0x00000004;
+      private com.google.protobuf.LazyStringList removeRunnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      private void ensureRemoveRunningsIsMutable() {
+        if (!((bitField0_ & 0x00002000) == 0x00002000)) {
+          removeRunnings_ = new com.google.protobuf.LazyStringArrayList(removeRunnings_);
+          bitField0_ |= 0x00002000;
+         }
+      }
+      /**
+       * <code>repeated string removeRunnings = 13;</code>
+       */
+      public com.google.protobuf.ProtocolStringList
+          getRemoveRunningsList() {
+        return removeRunnings_.getUnmodifiableView();
+      }
+      /**
+       * <code>repeated string removeRunnings = 13;</code>
+       */
+      public int getRemoveRunningsCount() {
+        return removeRunnings_.size();
+      }
+      /**
+       * <code>repeated string removeRunnings = 13;</code>
+       */
+      public java.lang.String getRemoveRunnings(int index) {
+        return removeRunnings_.get(index);
+      }
+      /**
+       * <code>repeated string removeRunnings = 13;</code>
+       */
+      public com.google.protobuf.ByteString
+          getRemoveRunningsBytes(int index) {
+        return removeRunnings_.getByteString(index);
+      }
+      /**
+       * <code>repeated string removeRunnings = 13;</code>
+       */
+      public Builder setRemoveRunnings(
+          int index, java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureRemoveRunningsIsMutable();
+        removeRunnings_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string removeRunnings = 13;</code>
+       */
+      public Builder addRemoveRunnings(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureRemoveRunningsIsMutable();
+        removeRunnings_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string removeRunnings = 13;</code>
+       */
+      public Builder addAllRemoveRunnings(
+          java.lang.Iterable<java.lang.String> values) {
+        ensureRemoveRunningsIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, removeRunnings_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string removeRunnings = 13;</code>
+       */
+      public Builder clearRemoveRunnings() {
+        removeRunnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00002000);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string removeRunnings = 13;</code>
+       */
+      public Builder addRemoveRunningsBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        ensureRemoveRunningsIsMutable();
+        removeRunnings_.add(value);
+        onChanged();
+        return this;
+      }
+
+      private com.google.protobuf.LazyStringList addDebugRunnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      private void ensureAddDebugRunningsIsMutable() {
+        if (!((bitField0_ & 0x00004000) == 0x00004000)) {
+          addDebugRunnings_ = new com.google.protobuf.LazyStringArrayList(addDebugRunnings_);
+          bitField0_ |= 0x00004000;
          }
       }
       /**
        * <pre>
-       *正在运行的手动执行job列表
+       *上次心跳之后新增/结束的文件脚本job
        * </pre>
        *
-       * <code>repeated string manualRunnings = 3;</code>
+       * <code>repeated string addDebugRunnings = 14;</code>
        */
-      public com.google.protobuf.ProtocolStringList
-          getManualRunningsList() {
-        return manualRunnings_.getUnmodifiableView();
+      public com.google.protobuf.ProtocolStringList
+          getAddDebugRunningsList() {
+        return addDebugRunnings_.getUnmodifiableView();
       }
       /**
        * <pre>
-       *正在运行的手动执行job列表
+       *上次心跳之后新增/结束的文件脚本job
        * </pre>
        *
-       * <code>repeated string manualRunnings = 3;</code>
+       * <code>repeated string addDebugRunnings = 14;</code>
        */
-      public int getManualRunningsCount() {
-        return manualRunnings_.size();
+      public int getAddDebugRunningsCount() {
+        return addDebugRunnings_.size();
       }
       /**
        * <pre>
-       *正在运行的手动执行job列表
+       *上次心跳之后新增/结束的文件脚本job
        * </pre>
        *
-       * <code>repeated string manualRunnings = 3;</code>
+       * <code>repeated string addDebugRunnings = 14;</code>
        */
-      public String getManualRunnings(int index) {
-        return manualRunnings_.get(index);
+      public java.lang.String getAddDebugRunnings(int index) {
+        return addDebugRunnings_.get(index);
       }
       /**
        * <pre>
-       *正在运行的手动执行job列表
+       *上次心跳之后新增/结束的文件脚本job
        * </pre>
        *
-       * <code>repeated string manualRunnings = 3;</code>
+       * <code>repeated string addDebugRunnings = 14;</code>
        */
       public com.google.protobuf.ByteString
-          getManualRunningsBytes(int index) {
-        return manualRunnings_.getByteString(index);
+          getAddDebugRunningsBytes(int index) {
+        return addDebugRunnings_.getByteString(index);
       }
       /**
        * <pre>
-       *正在运行的手动执行job列表
+       *上次心跳之后新增/结束的文件脚本job
        * </pre>
        *
-       * <code>repeated string manualRunnings = 3;</code>
+       * <code>repeated string addDebugRunnings = 14;</code>
        */
-      public Builder setManualRunnings(
-          int index, String value) {
+      public Builder setAddDebugRunnings(
+          int index, java.lang.String value) {
         if (value == null) {
     throw new NullPointerException();
   }
-  ensureManualRunningsIsMutable();
-        manualRunnings_.set(index, value);
+  ensureAddDebugRunningsIsMutable();
+        addDebugRunnings_.set(index, value);
         onChanged();
         return this;
       }
       /**
        * <pre>
-       *正在运行的手动执行job列表
+       *上次心跳之后新增/结束的文件脚本job
        * </pre>
        *
-       * <code>repeated string manualRunnings = 3;</code>
+       * <code>repeated string addDebugRunnings = 14;</code>
        */
-      public Builder addManualRunnings(
-          String value) {
+      public Builder addAddDebugRunnings(
+          java.lang.String value) {
         if (value == null) {
     throw new NullPointerException();
   }
-  ensureManualRunningsIsMutable();
-        manualRunnings_.add(value);
+  ensureAddDebugRunningsIsMutable();
+        addDebugRunnings_.add(value);
         onChanged();
         return this;
       }
       /**
        * <pre>
-       *正在运行的手动执行job列表
+       *上次心跳之后新增/结束的文件脚本job
        * </pre>
        *
-       * <code>repeated string manualRunnings = 3;</code>
+       * <code>repeated string addDebugRunnings = 14;</code>
        */
-      public Builder addAllManualRunnings(
-          Iterable<String> values) {
-        ensureManualRunningsIsMutable();
+      public Builder addAllAddDebugRunnings(
+          java.lang.Iterable<java.lang.String> values) {
+        ensureAddDebugRunningsIsMutable();
         com.google.protobuf.AbstractMessageLite.Builder.addAll(
-            values, manualRunnings_);
+            values, addDebugRunnings_);
         onChanged();
         return this;
       }
       /**
        * <pre>
-       *正在运行的手动执行job列表
+       *上次心跳之后新增/结束的文件脚本job
        * </pre>
        *
-       * <code>repeated string manualRunnings = 3;</code>
+       * <code>repeated string addDebugRunnings = 14;</code>
        */
-      public Builder clearManualRunnings() {
-        manualRunnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
-        bitField0_ = (bitField0_ & ~0x00000004);
+      public Builder clearAddDebugRunnings() {
+        addDebugRunnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00004000);
         onChanged();
         return this;
       }
       /**
        * <pre>
-       *正在运行的手动执行job列表
+       *上次心跳之后新增/结束的文件脚本job
        * </pre>
        *
-       * <code>repeated string manualRunnings = 3;</code>
+       * <code>repeated string addDebugRunnings = 14;</code>
        */
-      public Builder addManualRunningsBytes(
+      public Builder addAddDebugRunningsBytes(
           com.google.protobuf.ByteString value) {
         if (value == null) {
     throw new NullPointerException();
   }
   checkByteStringIsUtf8(value);
-        ensureManualRunningsIsMutable();
-        manualRunnings_.add(value);
+        ensureAddDebugRunningsIsMutable();
+        addDebugRunnings_.add(value);
         onChanged();
         return this;
       }
 
-      private long timestamp_ ;
+      private com.google.protobuf.LazyStringList removeDebugRunnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      private void ensureRemoveDebugRunningsIsMutable() {
+        if (!((bitField0_ & 0x00008000) == 0x00008000)) {
+          removeDebugRunnings_ = new com.google.protobuf.LazyStringArrayList(removeDebugRunnings_);
+          bitField0_ |= 0x00008000;
+         }
+      }
       /**
-       * <pre>
-       *时间戳
-       * </pre>
-       *
-       * <code>int64 timestamp = 4;</code>
+       * <code>repeated string removeDebugRunnings = 15;</code>
        */
-      public long getTimestamp() {
-        return timestamp_;
+      public com.google.protobuf.ProtocolStringList
+          getRemoveDebugRunningsList() {
+        return removeDebugRunnings_.getUnmodifiableView();
       }
       /**
-       * <pre>
-       *时间戳
-       * </pre>
-       *
-       * <code>int64 timestamp = 4;</code>
+       * <code>repeated string removeDebugRunnings = 15;</code>
        */
-      public Builder setTimestamp(long value) {
-        
-        timestamp_ = value;
+      public int getRemoveDebugRunningsCount() {
+        return removeDebugRunnings_.size();
+      }
+      /**
+       * <code>repeated string removeDebugRunnings = 15;</code>
+       */
+      public java.lang.String getRemoveDebugRunnings(int index) {
+        return removeDebugRunnings_.get(index);
+      }
+      /**
+       * <code>repeated string removeDebugRunnings = 15;</code>
+       */
+      public com.google.protobuf.ByteString
+          getRemoveDebugRunningsBytes(int index) {
+        return removeDebugRunnings_.getByteString(index);
+      }
+      /**
+       * <code>repeated string removeDebugRunnings = 15;</code>
+       */
+      public Builder setRemoveDebugRunnings(
+          int index, java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureRemoveDebugRunningsIsMutable();
+        removeDebugRunnings_.set(index, value);
         onChanged();
         return this;
       }
       /**
-       * <pre>
-       *时间戳
-       * </pre>
-       *
-       * <code>int64 timestamp = 4;</code>
+       * <code>repeated string removeDebugRunnings = 15;</code>
        */
-      public Builder clearTimestamp() {
-        
-        timestamp_ = 0L;
+      public Builder addRemoveDebugRunnings(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureRemoveDebugRunningsIsMutable();
+        removeDebugRunnings_.add(value);
         onChanged();
         return this;
       }
-
-      private float memRate_ ;
       /**
-       * <pre>
-       *内存占用比例
-       * </pre>
-       *
-       * <code>float mem_rate = 5;</code>
+       * <code>repeated string removeDebugRunnings = 15;</code>
        */
-      public float getMemRate() {
-        return memRate_;
+      public Builder addAllRemoveDebugRunnings(
+          java.lang.Iterable<java.lang.String> values) {
+        ensureRemoveDebugRunningsIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, removeDebugRunnings_);
+        onChanged();
+        return this;
       }
       /**
-       * <pre>
-       *内存占用比例
-       * </pre>
-       *
-       * <code>float mem_rate = 5;</code>
+       * <code>repeated string removeDebugRunnings = 15;</code>
        */
-      public Builder setMemRate(float value) {
-        
-        memRate_ = value;
+      public Builder clearRemoveDebugRunnings() {
+        removeDebugRunnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00008000);
         onChanged();
         return this;
       }
       /**
-       * <pre>
-       *内存占用比例
-       * </pre>
-       *
-       * <code>float mem_rate = 5;</code>
+       * <code>repeated string removeDebugRunnings = 15;</code>
        */
-      public Builder clearMemRate() {
-        
-        memRate_ = 0F;
+      public Builder addRemoveDebugRunningsBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        ensureRemoveDebugRunningsIsMutable();
+        removeDebugRunnings_.add(value);
         onChanged();
         return this;
       }
 
-      private Object host_ = "";
+      private com.google.protobuf.LazyStringList addManualRunnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      private void ensureAddManualRunningsIsMutable() {
+        if (!((bitField0_ & 0x00010000) == 0x00010000)) {
+          addManualRunnings_ = new com.google.protobuf.LazyStringArrayList(addManualRunnings_);
+          bitField0_ |= 0x00010000;
+         }
+      }
       /**
        * <pre>
-       *发送心跳的主机
+       *上次心跳之后新增/结束的手动执行job
        * </pre>
        *
-       * <code>string host = 6;</code>
+       * <code>repeated string addManualRunnings = 16;</code>
        */
-      public String getHost() {
-        Object ref = host_;
-        if (!(ref instanceof String)) {
-          com.google.protobuf.ByteString bs =
-              (com.google.protobuf.ByteString) ref;
-          String s = bs.toStringUtf8();
-          host_ = s;
-          return s;
-        } else {
-          return (String) ref;
-        }
+      public com.google.protobuf.ProtocolStringList
+          getAddManualRunningsList() {
+        return addManualRunnings_.getUnmodifiableView();
       }
       /**
        * <pre>
-       *发送心跳的主机
+       *上次心跳之后新增/结束的手动执行job
        * </pre>
        *
-       * <code>string host = 6;</code>
+       * <code>repeated string addManualRunnings = 16;</code>
        */
-      public com.google.protobuf.ByteString
-          getHostBytes() {
-        Object ref = host_;
-        if (ref instanceof String) {
-          com.google.protobuf.ByteString b = 
-              com.google.protobuf.ByteString.copyFromUtf8(
-                  (String) ref);
-          host_ = b;
-          return b;
-        } else {
-          return (com.google.protobuf.ByteString) ref;
-        }
+      public int getAddManualRunningsCount() {
+        return addManualRunnings_.size();
       }
       /**
        * <pre>
-       *发送心跳的主机
+       *上次心跳之后新增/结束的手动执行job
        * </pre>
        *
-       * <code>string host = 6;</code>
+       * <code>repeated string addManualRunnings = 16;</code>
        */
-      public Builder setHost(
-          String value) {
-        if (value == null) {
-    throw new NullPointerException();
-  }
-  
-        host_ = value;
-        onChanged();
-        return this;
+      public java.lang.String getAddManualRunnings(int index) {
+        return addManualRunnings_.get(index);
       }
       /**
        * <pre>
-       *发送心跳的主机
+       *上次心跳之后新增/结束的手动执行job
        * </pre>
        *
-       * <code>string host = 6;</code>
+       * <code>repeated string addManualRunnings = 16;</code>
        */
-      public Builder clearHost() {
-        
-        host_ = getDefaultInstance().getHost();
-        onChanged();
-        return this;
+      public com.google.protobuf.ByteString
+          getAddManualRunningsBytes(int index) {
+        return addManualRunnings_.getByteString(index);
       }
       /**
        * <pre>
-       *发送心跳的主机
+       *上次心跳之后新增/结束的手动执行job
        * </pre>
        *
-       * <code>string host = 6;</code>
+       * <code>repeated string addManualRunnings = 16;</code>
        */
-      public Builder setHostBytes(
-          com.google.protobuf.ByteString value) {
+      public Builder setAddManualRunnings(
+          int index, java.lang.String value) {
         if (value == null) {
     throw new NullPointerException();
   }
-  checkByteStringIsUtf8(value);
-        
-        host_ = value;
+  ensureAddManualRunningsIsMutable();
+        addManualRunnings_.set(index, value);
         onChanged();
         return this;
       }
-
-      private float cpuLoadPerCore_ ;
       /**
        * <pre>
-       *每个核心的cpu负载
+       *上次心跳之后新增/结束的手动执行job
        * </pre>
        *
-       * <code>float cpu_load_per_core = 7;</code>
+       * <code>repeated string addManualRunnings = 16;</code>
        */
-      public float getCpuLoadPerCore() {
-        return cpuLoadPerCore_;
+      public Builder addAddManualRunnings(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureAddManualRunningsIsMutable();
+        addManualRunnings_.add(value);
+        onChanged();
+        return this;
       }
       /**
        * <pre>
-       *每个核心的cpu负载
+       *上次心跳之后新增/结束的手动执行job
        * </pre>
        *
-       * <code>float cpu_load_per_core = 7;</code>
+       * <code>repeated string addManualRunnings = 16;</code>
        */
-      public Builder setCpuLoadPerCore(float value) {
-        
-        cpuLoadPerCore_ = value;
+      public Builder addAllAddManualRunnings(
+          java.lang.Iterable<java.lang.String> values) {
+        ensureAddManualRunningsIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, addManualRunnings_);
         onChanged();
         return this;
       }
       /**
        * <pre>
-       *每个核心的cpu负载
+       *上次心跳之后新增/结束的手动执行job
        * </pre>
        *
-       * <code>float cpu_load_per_core = 7;</code>
+       * <code>repeated string addManualRunnings = 16;</code>
        */
-      public Builder clearCpuLoadPerCore() {
-        
-        cpuLoadPerCore_ = 0F;
+      public Builder clearAddManualRunnings() {
+        addManualRunnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00010000);
         onChanged();
         return this;
       }
-
-      private float memTotal_ ;
       /**
        * <pre>
-       *总内存大小，默认4096M
+       *上次心跳之后新增/结束的手动执行job
        * </pre>
        *
-       * <code>float mem_total = 4096;</code>
+       * <code>repeated string addManualRunnings = 16;</code>
        */
-      public float getMemTotal() {
-        return memTotal_;
+      public Builder addAddManualRunningsBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        ensureAddManualRunningsIsMutable();
+        addManualRunnings_.add(value);
+        onChanged();
+        return this;
+      }
+
+      private com.google.protobuf.LazyStringList removeManualRunnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      private void ensureRemoveManualRunningsIsMutable() {
+        if (!((bitField0_ & 0x00020000) == 0x00020000)) {
+          removeManualRunnings_ = new com.google.protobuf.LazyStringArrayList(removeManualRunnings_);
+          bitField0_ |= 0x00020000;
+         }
       }
       /**
-       * <pre>
-       *总内存大小，默认4096M
-       * </pre>
-       *
-       * <code>float mem_total = 4096;</code>
+       * <code>repeated string removeManualRunnings = 17;</code>
        */
-      public Builder setMemTotal(float value) {
-        
-        memTotal_ = value;
+      public com.google.protobuf.ProtocolStringList
+          getRemoveManualRunningsList() {
+        return removeManualRunnings_.getUnmodifiableView();
+      }
+      /**
+       * <code>repeated string removeManualRunnings = 17;</code>
+       */
+      public int getRemoveManualRunningsCount() {
+        return removeManualRunnings_.size();
+      }
+      /**
+       * <code>repeated string removeManualRunnings = 17;</code>
+       */
+      public java.lang.String getRemoveManualRunnings(int index) {
+        return removeManualRunnings_.get(index);
+      }
+      /**
+       * <code>repeated string removeManualRunnings = 17;</code>
+       */
+      public com.google.protobuf.ByteString
+          getRemoveManualRunningsBytes(int index) {
+        return removeManualRunnings_.getByteString(index);
+      }
+      /**
+       * <code>repeated string removeManualRunnings = 17;</code>
+       */
+      public Builder setRemoveManualRunnings(
+          int index, java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureRemoveManualRunningsIsMutable();
+        removeManualRunnings_.set(index, value);
         onChanged();
         return this;
       }
       /**
-       * <pre>
-       *总内存大小，默认4096M
-       * </pre>
-       *
-       * <code>float mem_total = 4096;</code>
+       * <code>repeated string removeManualRunnings = 17;</code>
        */
-      public Builder clearMemTotal() {
-        
-        memTotal_ = 0F;
+      public Builder addRemoveManualRunnings(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureRemoveManualRunningsIsMutable();
+        removeManualRunnings_.add(value);
         onChanged();
         return this;
       }
-
-      private int cores_ ;
       /**
-       * <code>int32 cores = 8;</code>
+       * <code>repeated string removeManualRunnings = 17;</code>
        */
-      public int getCores() {
-        return cores_;
+      public Builder addAllRemoveManualRunnings(
+          java.lang.Iterable<java.lang.String> values) {
+        ensureRemoveManualRunningsIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, removeManualRunnings_);
+        onChanged();
+        return this;
       }
       /**
-       * <code>int32 cores = 8;</code>
+       * <code>repeated string removeManualRunnings = 17;</code>
        */
-      public Builder setCores(int value) {
-        
-        cores_ = value;
+      public Builder clearRemoveManualRunnings() {
+        removeManualRunnings_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00020000);
         onChanged();
         return this;
       }
       /**
-       * <code>int32 cores = 8;</code>
+       * <code>repeated string removeManualRunnings = 17;</code>
        */
-      public Builder clearCores() {
-        
-        cores_ = 0;
+      public Builder addRemoveManualRunningsBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        ensureRemoveManualRunningsIsMutable();
+        removeManualRunnings_.add(value);
         onChanged();
         return this;
       }
@@ -2418,12 +4007,12 @@ public final class RpcHeartBeatMessage {
     }
 
     // @@protoc_insertion_point(class_scope:HeartBeatMessage)
-    private static final HeartBeatMessage DEFAULT_INSTANCE;
+    private static final com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage DEFAULT_INSTANCE;
     static {
-      DEFAULT_INSTANCE = new HeartBeatMessage();
+      DEFAULT_INSTANCE = new com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage();
     }
 
-    public static HeartBeatMessage getDefaultInstance() {
+    public static com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage getDefaultInstance() {
       return DEFAULT_INSTANCE;
     }
 
@@ -2441,12 +4030,12 @@ public final class RpcHeartBeatMessage {
       return PARSER;
     }
 
-    @Override
+    @java.lang.Override
     public com.google.protobuf.Parser<HeartBeatMessage> getParserForType() {
       return PARSER;
     }
 
-    public HeartBeatMessage getDefaultInstanceForType() {
+    public com.dfire.protocol.RpcHeartBeatMessage.HeartBeatMessage getDefaultInstanceForType() {
       return DEFAULT_INSTANCE;
     }
 
@@ -2475,18 +4064,23 @@ public final class RpcHeartBeatMessage {
   private static  com.google.protobuf.Descriptors.FileDescriptor
       descriptor;
   static {
-    String[] descriptorData = {
-      "\n\007x.proto\"\221\001\n\027AllHeartBeatInfoMessage\0224\n" +
-      "\006values\030\001 \003(\0132$.AllHeartBeatInfoMessage." +
-      "ValuesEntry\032@\n\013ValuesEntry\022\013\n\003key\030\001 \001(\t\022" +
-      " \n\005value\030\002 \001(\0132\021.HeartBeatMessage:\0028\001\"\304\001" +
-      "\n\020HeartBeatMessage\022\020\n\010runnings\030\001 \003(\t\022\025\n\r" +
-      "debugRunnings\030\002 \003(\t\022\026\n\016manualRunnings\030\003 " +
-      "\003(\t\022\021\n\ttimestamp\030\004 \001(\003\022\020\n\010mem_rate\030\005 \001(\002" +
-      "\022\014\n\004host\030\006 \001(\t\022\031\n\021cpu_load_per_core\030\007 \001(" +
-      "\002\022\022\n\tmem_total\030\200  \001(\002\022\r\n\005cores\030\010 \001(\005B+\n\022" +
-      "com.dfire.protocolB\023RpcHeartBeatMessageH" +
-      "\001b\006proto3"
+    java.lang.String[] descriptorData = {
+      "\n\030heart_beat_message.proto\"\221\001\n\027AllHeartB" +
+      "eatInfoMessage\0224\n\006values\030\001 \003(\0132$.AllHear" +
+      "tBeatInfoMessage.ValuesEntry\032@\n\013ValuesEn" +
+      "try\022\013\n\003key\030\001 \001(\t\022 \n\005value\030\002 \001(\0132\021.HeartB" +
+      "eatMessage:\0028\001\"\215\003\n\020HeartBeatMessage\022\020\n\010r" +
+      "unnings\030\001 \003(\t\022\025\n\rdebugRunnings\030\002 \003(\t\022\026\n\016" +
+      "manualRunnings\030\003 \003(\t\022\021\n\ttimestamp\030\004 \001(\003\022" +
+      "\020\n\010mem_rate\030\005 \001(\002\022\014\n\004host\030\006 \001(\t\022\031\n\021cpu_l" +
+      "oad_per_core\030\007 \001(\002\022\022\n\tmem_total\030\200  \001(\002\022\r" +
+      "\n\005cores\030\010 \001(\005\022\017\n\007version\030\t \001(\005\022\014\n\004full\030\n" +
+      " \001(\010\022\013\n\003seq\030\013 \001(\003\022\023\n\013addRunnings\030\014 \003(\t\022\026" +
+      "\n\016removeRunnings\030\r \003(\t\022\030\n\020addDebugRunnin" +
+      "gs\030\016 \003(\t\022\033\n\023removeDebugRunnings\030\017 \003(\t\022\031\n" +
+      "\021addManualRunnings\030\020 \003(\t\022\034\n\024removeManual" +
+      "Runnings\030\021 \003(\tB+\n\022com.dfire.protocolB\023Rp" +
+      "cHeartBeatMessageH\001b\006proto3"
     };
     com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
         new com.google.protobuf.Descriptors.FileDescriptor.    InternalDescriptorAssigner() {
@@ -2505,19 +4099,19 @@ public final class RpcHeartBeatMessage {
     internal_static_AllHeartBeatInfoMessage_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_AllHeartBeatInfoMessage_descriptor,
-        new String[] { "Values", });
+        new java.lang.String[] { "Values", });
     internal_static_AllHeartBeatInfoMessage_ValuesEntry_descriptor =
       internal_static_AllHeartBeatInfoMessage_descriptor.getNestedTypes().get(0);
     internal_static_AllHeartBeatInfoMessage_ValuesEntry_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_AllHeartBeatInfoMessage_ValuesEntry_descriptor,
-        new String[] { "Key", "Value", });
+        new java.lang.String[] { "Key", "Value", });
     internal_static_HeartBeatMessage_descriptor =
       getDescriptor().getMessageTypes().get(1);
     internal_static_HeartBeatMessage_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_HeartBeatMessage_descriptor,
-        new String[] { "Runnings", "DebugRunnings", "ManualRunnings", "Timestamp", "MemRate", "Host", "CpuLoadPerCore", "MemTotal", "Cores", });
+        new java.lang.String[] { "Runnings", "DebugRunnings", "ManualRunnings", "Timestamp", "MemRate", "Host", "CpuLoadPerCore", "MemTotal", "Cores", "Version", "Full", "Seq", "AddRunnings", "RemoveRunnings", "AddDebugRunnings", "RemoveDebugRunnings", "AddManualRunnings", "RemoveManualRunnings", });
   }
 
   // @@protoc_insertion_point(outer_class_scope)
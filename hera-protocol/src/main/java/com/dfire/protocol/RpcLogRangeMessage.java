@@ -0,0 +1,1935 @@
+// Generated by the protocol buffer compiler.  DO NOT EDIT!
+// source: log_range_message.proto
+
+package com.dfire.protocol;
+
+public final class RpcLogRangeMessage {
+  private RpcLogRangeMessage() {}
+  public static void registerAllExtensions(
+      com.google.protobuf.ExtensionRegistryLite registry) {
+  }
+
+  public static void registerAllExtensions(
+      com.google.protobuf.ExtensionRegistry registry) {
+    registerAllExtensions(
+        (com.google.protobuf.ExtensionRegistryLite) registry);
+  }
+  public interface LogRangeRequestOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:LogRangeRequest)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <pre>
+     *action/debug
+     * </pre>
+     *
+     * <code>string type = 1;</code>
+     */
+    java.lang.String getType();
+    /**
+     * <pre>
+     *action/debug
+     * </pre>
+     *
+     * <code>string type = 1;</code>
+     */
+    com.google.protobuf.ByteString
+        getTypeBytes();
+
+    /**
+     * <pre>
+     *type=action时为historyId type=debug时为debugId
+     * </pre>
+     *
+     * <code>string id = 2;</code>
+     */
+    java.lang.String getId();
+    /**
+     * <pre>
+     *type=action时为historyId type=debug时为debugId
+     * </pre>
+     *
+     * <code>string id = 2;</code>
+     */
+    com.google.protobuf.ByteString
+        getIdBytes();
+
+    /**
+     * <pre>
+     *开始读取的字节位置，小于0时读取末尾的maxBytes字节
+     * </pre>
+     *
+     * <code>sint64 offset = 3;</code>
+     */
+    long getOffset();
+
+    /**
+     * <code>int32 maxBytes = 4;</code>
+     */
+    int getMaxBytes();
+
+    /**
+     * <pre>
+     *执行任务的worker，web-&gt;master时使用
+     * </pre>
+     *
+     * <code>string host = 5;</code>
+     */
+    java.lang.String getHost();
+    /**
+     * <pre>
+     *执行任务的worker，web-&gt;master时使用
+     * </pre>
+     *
+     * <code>string host = 5;</code>
+     */
+    com.google.protobuf.ByteString
+        getHostBytes();
+  }
+  /**
+   * Protobuf type {@code LogRangeRequest}
+   */
+  public  static final class LogRangeRequest extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:LogRangeRequest)
+      LogRangeRequestOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use LogRangeRequest.newBuilder() to construct.
+    private LogRangeRequest(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private LogRangeRequest() {
+      type_ = "";
+      id_ = "";
+      offset_ = 0L;
+      maxBytes_ = 0;
+      host_ = "";
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return this.unknownFields;
+    }
+    private LogRangeRequest(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      if (extensionRegistry == null) {
+        throw new java.lang.NullPointerException();
+      }
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownFieldProto3(
+                  input, unknownFields, extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 10: {
+              java.lang.String s = input.readStringRequireUtf8();
+
+              type_ = s;
+              break;
+            }
+            case 18: {
+              java.lang.String s = input.readStringRequireUtf8();
+
+              id_ = s;
+              break;
+            }
+            case 24: {
+
+              offset_ = input.readSInt64();
+              break;
+            }
+            case 32: {
+
+              maxBytes_ = input.readInt32();
+              break;
+            }
+            case 42: {
+              java.lang.String s = input.readStringRequireUtf8();
+
+              host_ = s;
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.dfire.protocol.RpcLogRangeMessage.internal_static_LogRangeRequest_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.dfire.protocol.RpcLogRangeMessage.internal_static_LogRangeRequest_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest.class, com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest.Builder.class);
+    }
+
+    public static final int TYPE_FIELD_NUMBER = 1;
+    private volatile java.lang.Object type_;
+    /**
+     * <pre>
+     *action/debug
+     * </pre>
+     *
+     * <code>string type = 1;</code>
+     */
+    public java.lang.String getType() {
+      java.lang.Object ref = type_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        type_ = s;
+        return s;
+      }
+    }
+    /**
+     * <pre>
+     *action/debug
+     * </pre>
+     *
+     * <code>string type = 1;</code>
+     */
+    public com.google.protobuf.ByteString
+        getTypeBytes() {
+      java.lang.Object ref = type_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        type_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int ID_FIELD_NUMBER = 2;
+    private volatile java.lang.Object id_;
+    /**
+     * <pre>
+     *type=action时为historyId type=debug时为debugId
+     * </pre>
+     *
+     * <code>string id = 2;</code>
+     */
+    public java.lang.String getId() {
+      java.lang.Object ref = id_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        id_ = s;
+        return s;
+      }
+    }
+    /**
+     * <pre>
+     *type=action时为historyId type=debug时为debugId
+     * </pre>
+     *
+     * <code>string id = 2;</code>
+     */
+    public com.google.protobuf.ByteString
+        getIdBytes() {
+      java.lang.Object ref = id_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        id_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int OFFSET_FIELD_NUMBER = 3;
+    private long offset_;
+    /**
+     * <pre>
+     *开始读取的字节位置，小于0时读取末尾的maxBytes字节
+     * </pre>
+     *
+     * <code>sint64 offset = 3;</code>
+     */
+    public long getOffset() {
+      return offset_;
+    }
+
+    public static final int MAXBYTES_FIELD_NUMBER = 4;
+    private int maxBytes_;
+    /**
+     * <code>int32 maxBytes = 4;</code>
+     */
+    public int getMaxBytes() {
+      return maxBytes_;
+    }
+
+    public static final int HOST_FIELD_NUMBER = 5;
+    private volatile java.lang.Object host_;
+    /**
+     * <pre>
+     *执行任务的worker，web-&gt;master时使用
+     * </pre>
+     *
+     * <code>string host = 5;</code>
+     */
+    public java.lang.String getHost() {
+      java.lang.Object ref = host_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        host_ = s;
+        return s;
+      }
+    }
+    /**
+     * <pre>
+     *执行任务的worker，web-&gt;master时使用
+     * </pre>
+     *
+     * <code>string host = 5;</code>
+     */
+    public com.google.protobuf.ByteString
+        getHostBytes() {
+      java.lang.Object ref = host_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        host_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (!getTypeBytes().isEmpty()) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 1, type_);
+      }
+      if (!getIdBytes().isEmpty()) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 2, id_);
+      }
+      if (offset_ != 0L) {
+        output.writeSInt64(3, offset_);
+      }
+      if (maxBytes_ != 0) {
+        output.writeInt32(4, maxBytes_);
+      }
+      if (!getHostBytes().isEmpty()) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 5, host_);
+      }
+      unknownFields.writeTo(output);
+    }
+
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (!getTypeBytes().isEmpty()) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(1, type_);
+      }
+      if (!getIdBytes().isEmpty()) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(2, id_);
+      }
+      if (offset_ != 0L) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeSInt64Size(3, offset_);
+      }
+      if (maxBytes_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(4, maxBytes_);
+      }
+      if (!getHostBytes().isEmpty()) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(5, host_);
+      }
+      size += unknownFields.getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest)) {
+        return super.equals(obj);
+      }
+      com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest other = (com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest) obj;
+
+      boolean result = true;
+      result = result && getType()
+          .equals(other.getType());
+      result = result && getId()
+          .equals(other.getId());
+      result = result && (getOffset()
+          == other.getOffset());
+      result = result && (getMaxBytes()
+          == other.getMaxBytes());
+      result = result && getHost()
+          .equals(other.getHost());
+      result = result && unknownFields.equals(other.unknownFields);
+      return result;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      hash = (37 * hash) + TYPE_FIELD_NUMBER;
+      hash = (53 * hash) + getType().hashCode();
+      hash = (37 * hash) + ID_FIELD_NUMBER;
+      hash = (53 * hash) + getId().hashCode();
+      hash = (37 * hash) + OFFSET_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+          getOffset());
+      hash = (37 * hash) + MAXBYTES_FIELD_NUMBER;
+      hash = (53 * hash) + getMaxBytes();
+      hash = (37 * hash) + HOST_FIELD_NUMBER;
+      hash = (53 * hash) + getHost().hashCode();
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code LogRangeRequest}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:LogRangeRequest)
+        com.dfire.protocol.RpcLogRangeMessage.LogRangeRequestOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.dfire.protocol.RpcLogRangeMessage.internal_static_LogRangeRequest_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.dfire.protocol.RpcLogRangeMessage.internal_static_LogRangeRequest_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest.class, com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest.Builder.class);
+      }
+
+      // Construct using com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+        }
+      }
+      public Builder clear() {
+        super.clear();
+        type_ = "";
+
+        id_ = "";
+
+        offset_ = 0L;
+
+        maxBytes_ = 0;
+
+        host_ = "";
+
+        return this;
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.dfire.protocol.RpcLogRangeMessage.internal_static_LogRangeRequest_descriptor;
+      }
+
+      public com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest getDefaultInstanceForType() {
+        return com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest.getDefaultInstance();
+      }
+
+      public com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest build() {
+        com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest buildPartial() {
+        com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest result = new com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest(this);
+        result.type_ = type_;
+        result.id_ = id_;
+        result.offset_ = offset_;
+        result.maxBytes_ = maxBytes_;
+        result.host_ = host_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder clone() {
+        return (Builder) super.clone();
+      }
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return (Builder) super.setField(field, value);
+      }
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return (Builder) super.clearField(field);
+      }
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return (Builder) super.clearOneof(oneof);
+      }
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, java.lang.Object value) {
+        return (Builder) super.setRepeatedField(field, index, value);
+      }
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return (Builder) super.addRepeatedField(field, value);
+      }
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest) {
+          return mergeFrom((com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest other) {
+        if (other == com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest.getDefaultInstance()) return this;
+        if (!other.getType().isEmpty()) {
+          type_ = other.type_;
+          onChanged();
+        }
+        if (!other.getId().isEmpty()) {
+          id_ = other.id_;
+          onChanged();
+        }
+        if (other.getOffset() != 0L) {
+          setOffset(other.getOffset());
+        }
+        if (other.getMaxBytes() != 0) {
+          setMaxBytes(other.getMaxBytes());
+        }
+        if (!other.getHost().isEmpty()) {
+          host_ = other.host_;
+          onChanged();
+        }
+        this.mergeUnknownFields(other.unknownFields);
+        onChanged();
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+
+      private java.lang.Object type_ = "";
+      /**
+       * <pre>
+       *action/debug
+       * </pre>
+       *
+       * <code>string type = 1;</code>
+       */
+      public java.lang.String getType() {
+        java.lang.Object ref = type_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          type_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <pre>
+       *action/debug
+       * </pre>
+       *
+       * <code>string type = 1;</code>
+       */
+      public com.google.protobuf.ByteString
+          getTypeBytes() {
+        java.lang.Object ref = type_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          type_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <pre>
+       *action/debug
+       * </pre>
+       *
+       * <code>string type = 1;</code>
+       */
+      public Builder setType(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  
+        type_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       *action/debug
+       * </pre>
+       *
+       * <code>string type = 1;</code>
+       */
+      public Builder clearType() {
+        
+        type_ = getDefaultInstance().getType();
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       *action/debug
+       * </pre>
+       *
+       * <code>string type = 1;</code>
+       */
+      public Builder setTypeBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        
+        type_ = value;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object id_ = "";
+      /**
+       * <pre>
+       *type=action时为historyId type=debug时为debugId
+       * </pre>
+       *
+       * <code>string id = 2;</code>
+       */
+      public java.lang.String getId() {
+        java.lang.Object ref = id_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          id_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <pre>
+       *type=action时为historyId type=debug时为debugId
+       * </pre>
+       *
+       * <code>string id = 2;</code>
+       */
+      public com.google.protobuf.ByteString
+          getIdBytes() {
+        java.lang.Object ref = id_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          id_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <pre>
+       *type=action时为historyId type=debug时为debugId
+       * </pre>
+       *
+       * <code>string id = 2;</code>
+       */
+      public Builder setId(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  
+        id_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       *type=action时为historyId type=debug时为debugId
+       * </pre>
+       *
+       * <code>string id = 2;</code>
+       */
+      public Builder clearId() {
+        
+        id_ = getDefaultInstance().getId();
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       *type=action时为historyId type=debug时为debugId
+       * </pre>
+       *
+       * <code>string id = 2;</code>
+       */
+      public Builder setIdBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        
+        id_ = value;
+        onChanged();
+        return this;
+      }
+
+      private long offset_ ;
+      /**
+       * <pre>
+       *开始读取的字节位置，小于0时读取末尾的maxBytes字节
+       * </pre>
+       *
+       * <code>sint64 offset = 3;</code>
+       */
+      public long getOffset() {
+        return offset_;
+      }
+      /**
+       * <pre>
+       *开始读取的字节位置，小于0时读取末尾的maxBytes字节
+       * </pre>
+       *
+       * <code>sint64 offset = 3;</code>
+       */
+      public Builder setOffset(long value) {
+        
+        offset_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       *开始读取的字节位置，小于0时读取末尾的maxBytes字节
+       * </pre>
+       *
+       * <code>sint64 offset = 3;</code>
+       */
+      public Builder clearOffset() {
+        
+        offset_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      private int maxBytes_ ;
+      /**
+       * <code>int32 maxBytes = 4;</code>
+       */
+      public int getMaxBytes() {
+        return maxBytes_;
+      }
+      /**
+       * <code>int32 maxBytes = 4;</code>
+       */
+      public Builder setMaxBytes(int value) {
+        
+        maxBytes_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>int32 maxBytes = 4;</code>
+       */
+      public Builder clearMaxBytes() {
+        
+        maxBytes_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object host_ = "";
+      /**
+       * <pre>
+       *执行任务的worker，web-&gt;master时使用
+       * </pre>
+       *
+       * <code>string host = 5;</code>
+       */
+      public java.lang.String getHost() {
+        java.lang.Object ref = host_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          host_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <pre>
+       *执行任务的worker，web-&gt;master时使用
+       * </pre>
+       *
+       * <code>string host = 5;</code>
+       */
+      public com.google.protobuf.ByteString
+          getHostBytes() {
+        java.lang.Object ref = host_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          host_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <pre>
+       *执行任务的worker，web-&gt;master时使用
+       * </pre>
+       *
+       * <code>string host = 5;</code>
+       */
+      public Builder setHost(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  
+        host_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       *执行任务的worker，web-&gt;master时使用
+       * </pre>
+       *
+       * <code>string host = 5;</code>
+       */
+      public Builder clearHost() {
+        
+        host_ = getDefaultInstance().getHost();
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       *执行任务的worker，web-&gt;master时使用
+       * </pre>
+       *
+       * <code>string host = 5;</code>
+       */
+      public Builder setHostBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        
+        host_ = value;
+        onChanged();
+        return this;
+      }
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFieldsProto3(unknownFields);
+      }
+
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:LogRangeRequest)
+    }
+
+    // @@protoc_insertion_point(class_scope:LogRangeRequest)
+    private static final com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest();
+    }
+
+    public static com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<LogRangeRequest>
+        PARSER = new com.google.protobuf.AbstractParser<LogRangeRequest>() {
+      public LogRangeRequest parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new LogRangeRequest(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<LogRangeRequest> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<LogRangeRequest> getParserForType() {
+      return PARSER;
+    }
+
+    public com.dfire.protocol.RpcLogRangeMessage.LogRangeRequest getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface LogRangeResponseOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:LogRangeResponse)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <pre>
+     *worker上是否有该日志
+     * </pre>
+     *
+     * <code>bool exists = 1;</code>
+     */
+    boolean getExists();
+
+    /**
+     * <pre>
+     *按行对齐的日志内容
+     * </pre>
+     *
+     * <code>bytes content = 2;</code>
+     */
+    com.google.protobuf.ByteString getContent();
+
+    /**
+     * <pre>
+     *content的开始位置
+     * </pre>
+     *
+     * <code>int64 offset = 3;</code>
+     */
+    long getOffset();
+
+    /**
+     * <pre>
+     *下次读取的开始位置
+     * </pre>
+     *
+     * <code>int64 nextOffset = 4;</code>
+     */
+    long getNextOffset();
+
+    /**
+     * <pre>
+     *当前日志总长度
+     * </pre>
+     *
+     * <code>int64 size = 5;</code>
+     */
+    long getSize();
+  }
+  /**
+   * Protobuf type {@code LogRangeResponse}
+   */
+  public  static final class LogRangeResponse extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:LogRangeResponse)
+      LogRangeResponseOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use LogRangeResponse.newBuilder() to construct.
+    private LogRangeResponse(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private LogRangeResponse() {
+      exists_ = false;
+      content_ = com.google.protobuf.ByteString.EMPTY;
+      offset_ = 0L;
+      nextOffset_ = 0L;
+      size_ = 0L;
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return this.unknownFields;
+    }
+    private LogRangeResponse(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      if (extensionRegistry == null) {
+        throw new java.lang.NullPointerException();
+      }
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownFieldProto3(
+                  input, unknownFields, extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 8: {
+
+              exists_ = input.readBool();
+              break;
+            }
+            case 18: {
+
+              content_ = input.readBytes();
+              break;
+            }
+            case 24: {
+
+              offset_ = input.readInt64();
+              break;
+            }
+            case 32: {
+
+              nextOffset_ = input.readInt64();
+              break;
+            }
+            case 40: {
+
+              size_ = input.readInt64();
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.dfire.protocol.RpcLogRangeMessage.internal_static_LogRangeResponse_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.dfire.protocol.RpcLogRangeMessage.internal_static_LogRangeResponse_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse.class, com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse.Builder.class);
+    }
+
+    public static final int EXISTS_FIELD_NUMBER = 1;
+    private boolean exists_;
+    /**
+     * <pre>
+     *worker上是否有该日志
+     * </pre>
+     *
+     * <code>bool exists = 1;</code>
+     */
+    public boolean getExists() {
+      return exists_;
+    }
+
+    public static final int CONTENT_FIELD_NUMBER = 2;
+    private com.google.protobuf.ByteString content_;
+    /**
+     * <pre>
+     *按行对齐的日志内容
+     * </pre>
+     *
+     * <code>bytes content = 2;</code>
+     */
+    public com.google.protobuf.ByteString getContent() {
+      return content_;
+    }
+
+    public static final int OFFSET_FIELD_NUMBER = 3;
+    private long offset_;
+    /**
+     * <pre>
+     *content的开始位置
+     * </pre>
+     *
+     * <code>int64 offset = 3;</code>
+     */
+    public long getOffset() {
+      return offset_;
+    }
+
+    public static final int NEXTOFFSET_FIELD_NUMBER = 4;
+    private long nextOffset_;
+    /**
+     * <pre>
+     *下次读取的开始位置
+     * </pre>
+     *
+     * <code>int64 nextOffset = 4;</code>
+     */
+    public long getNextOffset() {
+      return nextOffset_;
+    }
+
+    public static final int SIZE_FIELD_NUMBER = 5;
+    private long size_;
+    /**
+     * <pre>
+     *当前日志总长度
+     * </pre>
+     *
+     * <code>int64 size = 5;</code>
+     */
+    public long getSize() {
+      return size_;
+    }
+
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (exists_ != false) {
+        output.writeBool(1, exists_);
+      }
+      if (!content_.isEmpty()) {
+        output.writeBytes(2, content_);
+      }
+      if (offset_ != 0L) {
+        output.writeInt64(3, offset_);
+      }
+      if (nextOffset_ != 0L) {
+        output.writeInt64(4, nextOffset_);
+      }
+      if (size_ != 0L) {
+        output.writeInt64(5, size_);
+      }
+      unknownFields.writeTo(output);
+    }
+
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (exists_ != false) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBoolSize(1, exists_);
+      }
+      if (!content_.isEmpty()) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(2, content_);
+      }
+      if (offset_ != 0L) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(3, offset_);
+      }
+      if (nextOffset_ != 0L) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(4, nextOffset_);
+      }
+      if (size_ != 0L) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(5, size_);
+      }
+      size += unknownFields.getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse)) {
+        return super.equals(obj);
+      }
+      com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse other = (com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse) obj;
+
+      boolean result = true;
+      result = result && (getExists()
+          == other.getExists());
+      result = result && getContent()
+          .equals(other.getContent());
+      result = result && (getOffset()
+          == other.getOffset());
+      result = result && (getNextOffset()
+          == other.getNextOffset());
+      result = result && (getSize()
+          == other.getSize());
+      result = result && unknownFields.equals(other.unknownFields);
+      return result;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      hash = (37 * hash) + EXISTS_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashBoolean(
+          getExists());
+      hash = (37 * hash) + CONTENT_FIELD_NUMBER;
+      hash = (53 * hash) + getContent().hashCode();
+      hash = (37 * hash) + OFFSET_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+          getOffset());
+      hash = (37 * hash) + NEXTOFFSET_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+          getNextOffset());
+      hash = (37 * hash) + SIZE_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+          getSize());
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code LogRangeResponse}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:LogRangeResponse)
+        com.dfire.protocol.RpcLogRangeMessage.LogRangeResponseOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.dfire.protocol.RpcLogRangeMessage.internal_static_LogRangeResponse_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.dfire.protocol.RpcLogRangeMessage.internal_static_LogRangeResponse_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse.class, com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse.Builder.class);
+      }
+
+      // Construct using com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+        }
+      }
+      public Builder clear() {
+        super.clear();
+        exists_ = false;
+
+        content_ = com.google.protobuf.ByteString.EMPTY;
+
+        offset_ = 0L;
+
+        nextOffset_ = 0L;
+
+        size_ = 0L;
+
+        return this;
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.dfire.protocol.RpcLogRangeMessage.internal_static_LogRangeResponse_descriptor;
+      }
+
+      public com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse getDefaultInstanceForType() {
+        return com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse.getDefaultInstance();
+      }
+
+      public com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse build() {
+        com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse buildPartial() {
+        com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse result = new com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse(this);
+        result.exists_ = exists_;
+        result.content_ = content_;
+        result.offset_ = offset_;
+        result.nextOffset_ = nextOffset_;
+        result.size_ = size_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder clone() {
+        return (Builder) super.clone();
+      }
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return (Builder) super.setField(field, value);
+      }
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return (Builder) super.clearField(field);
+      }
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return (Builder) super.clearOneof(oneof);
+      }
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, java.lang.Object value) {
+        return (Builder) super.setRepeatedField(field, index, value);
+      }
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return (Builder) super.addRepeatedField(field, value);
+      }
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse) {
+          return mergeFrom((com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse other) {
+        if (other == com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse.getDefaultInstance()) return this;
+        if (other.getExists() != false) {
+          setExists(other.getExists());
+        }
+        if (other.getContent() != com.google.protobuf.ByteString.EMPTY) {
+          setContent(other.getContent());
+        }
+        if (other.getOffset() != 0L) {
+          setOffset(other.getOffset());
+        }
+        if (other.getNextOffset() != 0L) {
+          setNextOffset(other.getNextOffset());
+        }
+        if (other.getSize() != 0L) {
+          setSize(other.getSize());
+        }
+        this.mergeUnknownFields(other.unknownFields);
+        onChanged();
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+
+      private boolean exists_ ;
+      /**
+       * <pre>
+       *worker上是否有该日志
+       * </pre>
+       *
+       * <code>bool exists = 1;</code>
+       */
+      public boolean getExists() {
+        return exists_;
+      }
+      /**
+       * <pre>
+       *worker上是否有该日志
+       * </pre>
+       *
+       * <code>bool exists = 1;</code>
+       */
+      public Builder setExists(boolean value) {
+        
+        exists_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       *worker上是否有该日志
+       * </pre>
+       *
+       * <code>bool exists = 1;</code>
+       */
+      public Builder clearExists() {
+        
+        exists_ = false;
+        onChanged();
+        return this;
+      }
+
+      private com.google.protobuf.ByteString content_ = com.google.protobuf.ByteString.EMPTY;
+      /**
+       * <pre>
+       *按行对齐的日志内容
+       * </pre>
+       *
+       * <code>bytes content = 2;</code>
+       */
+      public com.google.protobuf.ByteString getContent() {
+        return content_;
+      }
+      /**
+       * <pre>
+       *按行对齐的日志内容
+       * </pre>
+       *
+       * <code>bytes content = 2;</code>
+       */
+      public Builder setContent(com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  
+        content_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       *按行对齐的日志内容
+       * </pre>
+       *
+       * <code>bytes content = 2;</code>
+       */
+      public Builder clearContent() {
+        
+        content_ = getDefaultInstance().getContent();
+        onChanged();
+        return this;
+      }
+
+      private long offset_ ;
+      /**
+       * <pre>
+       *content的开始位置
+       * </pre>
+       *
+       * <code>int64 offset = 3;</code>
+       */
+      public long getOffset() {
+        return offset_;
+      }
+      /**
+       * <pre>
+       *content的开始位置
+       * </pre>
+       *
+       * <code>int64 offset = 3;</code>
+       */
+      public Builder setOffset(long value) {
+        
+        offset_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       *content的开始位置
+       * </pre>
+       *
+       * <code>int64 offset = 3;</code>
+       */
+      public Builder clearOffset() {
+        
+        offset_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      private long nextOffset_ ;
+      /**
+       * <pre>
+       *下次读取的开始位置
+       * </pre>
+       *
+       * <code>int64 nextOffset = 4;</code>
+       */
+      public long getNextOffset() {
+        return nextOffset_;
+      }
+      /**
+       * <pre>
+       *下次读取的开始位置
+       * </pre>
+       *
+       * <code>int64 nextOffset = 4;</code>
+       */
+      public Builder setNextOffset(long value) {
+        
+        nextOffset_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       *下次读取的开始位置
+       * </pre>
+       *
+       * <code>int64 nextOffset = 4;</code>
+       */
+      public Builder clearNextOffset() {
+        
+        nextOffset_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      private long size_ ;
+      /**
+       * <pre>
+       *当前日志总长度
+       * </pre>
+       *
+       * <code>int64 size = 5;</code>
+       */
+      public long getSize() {
+        return size_;
+      }
+      /**
+       * <pre>
+       *当前日志总长度
+       * </pre>
+       *
+       * <code>int64 size = 5;</code>
+       */
+      public Builder setSize(long value) {
+        
+        size_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       *当前日志总长度
+       * </pre>
+       *
+       * <code>int64 size = 5;</code>
+       */
+      public Builder clearSize() {
+        
+        size_ = 0L;
+        onChanged();
+        return this;
+      }
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFieldsProto3(unknownFields);
+      }
+
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:LogRangeResponse)
+    }
+
+    // @@protoc_insertion_point(class_scope:LogRangeResponse)
+    private static final com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse();
+    }
+
+    public static com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<LogRangeResponse>
+        PARSER = new com.google.protobuf.AbstractParser<LogRangeResponse>() {
+      public LogRangeResponse parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new LogRangeResponse(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<LogRangeResponse> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<LogRangeResponse> getParserForType() {
+      return PARSER;
+    }
+
+    public com.dfire.protocol.RpcLogRangeMessage.LogRangeResponse getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_LogRangeRequest_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_LogRangeRequest_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_LogRangeResponse_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_LogRangeResponse_fieldAccessorTable;
+
+  public static com.google.protobuf.Descriptors.FileDescriptor
+      getDescriptor() {
+    return descriptor;
+  }
+  private static  com.google.protobuf.Descriptors.FileDescriptor
+      descriptor;
+  static {
+    java.lang.String[] descriptorData = {
+      "\n\027log_range_message.proto\"[\n\017LogRangeReq" +
+      "uest\022\014\n\004type\030\001 \001(\t\022\n\n\002id\030\002 \001(\t\022\016\n\006offset" +
+      "\030\003 \001(\022\022\020\n\010maxBytes\030\004 \001(\005\022\014\n\004host\030\005 \001(\t\"e" +
+      "\n\020LogRangeResponse\022\016\n\006exists\030\001 \001(\010\022\017\n\007co" +
+      "ntent\030\002 \001(\014\022\016\n\006offset\030\003 \001(\003\022\022\n\nnextOffse" +
+      "t\030\004 \001(\003\022\014\n\004size\030\005 \001(\003B*\n\022com.dfire.proto" +
+      "colB\022RpcLogRangeMessageH\001b\006proto3"
+    };
+    com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
+        new com.google.protobuf.Descriptors.FileDescriptor.    InternalDescriptorAssigner() {
+          public com.google.protobuf.ExtensionRegistry assignDescriptors(
+              com.google.protobuf.Descriptors.FileDescriptor root) {
+            descriptor = root;
+            return null;
+          }
+        };
+    com.google.protobuf.Descriptors.FileDescriptor
+      .internalBuildGeneratedFileFrom(descriptorData,
+        new com.google.protobuf.Descriptors.FileDescriptor[] {
+        }, assigner);
+    internal_static_LogRangeRequest_descriptor =
+      getDescriptor().getMessageTypes().get(0);
+    internal_static_LogRangeRequest_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_LogRangeRequest_descriptor,
+        new java.lang.String[] { "Type", "Id", "Offset", "MaxBytes", "Host", });
+    internal_static_LogRangeResponse_descriptor =
+      getDescriptor().getMessageTypes().get(1);
+    internal_static_LogRangeResponse_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_LogRangeResponse_descriptor,
+        new java.lang.String[] { "Exists", "Content", "Offset", "NextOffset", "Size", });
+  }
+
+  // @@protoc_insertion_point(outer_class_scope)
+}
@@ -1,5 +1,5 @@
 // Generated by the protocol buffer compiler.  DO NOT EDIT!
-// source: x.proto
+// source: operate.proto
 
 package com.dfire.protocol;
 
@@ -75,6 +75,14 @@ public final class RpcOperate {
      * <code>SetWorkInfo = 6;</code>
      */
     SetWorkInfo(6),
+    /**
+     * <pre>
+     *读取本地日志 server-&gt;worker
+     * </pre>
+     *
+     * <code>FetchLog = 7;</code>
+     */
+    FetchLog(7),
     UNRECOGNIZED(-1),
     ;
 
@@ -134,11 +142,19 @@ public final class RpcOperate {
      * <code>SetWorkInfo = 6;</code>
      */
     public static final int SetWorkInfo_VALUE = 6;
+    /**
+     * <pre>
+     *读取本地日志 server-&gt;worker
+     * </pre>
+     *
+     * <code>FetchLog = 7;</code>
+     */
+    public static final int FetchLog_VALUE = 7;
 
 
     public final int getNumber() {
       if (this == UNRECOGNIZED) {
-        throw new IllegalArgumentException(
+        throw new java.lang.IllegalArgumentException(
             "Can't get the number of an unknown enum value.");
       }
       return value;
@@ -147,7 +163,7 @@ public final class RpcOperate {
     /**
      * @deprecated Use {@link #forNumber(int)} instead.
      */
-    @Deprecated
+    @java.lang.Deprecated
     public static Operate valueOf(int value) {
       return forNumber(value);
     }
@@ -161,6 +177,7 @@ public final class RpcOperate {
         case 4: return Manual;
         case 5: return GetWorkInfo;
         case 6: return SetWorkInfo;
+        case 7: return FetchLog;
         default: return null;
       }
     }
@@ -187,7 +204,7 @@ public final class RpcOperate {
     }
     public static final com.google.protobuf.Descriptors.EnumDescriptor
         getDescriptor() {
-      return RpcOperate.getDescriptor().getEnumTypes().get(0);
+      return com.dfire.protocol.RpcOperate.getDescriptor().getEnumTypes().get(0);
     }
 
     private static final Operate[] VALUES = values();
@@ -195,7 +212,7 @@ public final class RpcOperate {
     public static Operate valueOf(
         com.google.protobuf.Descriptors.EnumValueDescriptor desc) {
       if (desc.getType() != getDescriptor()) {
-        throw new IllegalArgumentException(
+        throw new java.lang.IllegalArgumentException(
           "EnumValueDescriptor is not for this type.");
       }
       if (desc.getIndex() == -1) {
@@ -221,12 +238,12 @@ public final class RpcOperate {
   private static  com.google.protobuf.Descriptors.FileDescriptor
       descriptor;
   static {
-    String[] descriptorData = {
-      "\n\007x.proto*k\n\007Operate\022\r\n\tHeartBeat\020\000\022\014\n\010S" +
-      "chedule\020\001\022\n\n\006Cancel\020\002\022\t\n\005Debug\020\003\022\n\n\006Manu" +
-      "al\020\004\022\017\n\013GetWorkInfo\020\005\022\017\n\013SetWorkInfo\020\006B\"" +
-      "\n\022com.dfire.protocolB\nRpcOperateH\001b\006prot" +
-      "o3"
+    java.lang.String[] descriptorData = {
+      "\n\roperate.proto*y\n\007Operate\022\r\n\tHeartBeat\020" +
+      "\000\022\014\n\010Schedule\020\001\022\n\n\006Cancel\020\002\022\t\n\005Debug\020\003\022\n" +
+      "\n\006Manual\020\004\022\017\n\013GetWorkInfo\020\005\022\017\n\013SetWorkIn" +
+      "fo\020\006\022\014\n\010FetchLog\020\007B\"\n\022com.dfire.protocol" +
+      "B\nRpcOperateH\001b\006proto3"
     };
     com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
         new com.google.protobuf.Descriptors.FileDescriptor.    InternalDescriptorAssigner() {
@@ -35,6 +35,68 @@ public final class RpcSocketMessage {
      * <code>bytes body = 2;</code>
      */
     com.google.protobuf.ByteString getBody();
+
+    /**
+     * <pre>
+     *kind为BATCH时合并的消息
+     * </pre>
+     *
+     * <code>repeated .SocketMessage messages = 3;</code>
+     */
+    java.util.List<com.dfire.protocol.RpcSocketMessage.SocketMessage> 
+        getMessagesList();
+    /**
+     * <pre>
+     *kind为BATCH时合并的消息
+     * </pre>
+     *
+     * <code>repeated .SocketMessage messages = 3;</code>
+     */
+    com.dfire.protocol.RpcSocketMessage.SocketMessage getMessages(int index);
+    /**
+     * <pre>
+     *kind为BATCH时合并的消息
+     * </pre>
+     *
+     * <code>repeated .SocketMessage messages = 3;</code>
+     */
+    int getMessagesCount();
+    /**
+     * <pre>
+     *kind为BATCH时合并的消息
+     * </pre>
+     *
+     * <code>repeated .SocketMessage messages = 3;</code>
+     */
+    java.util.List<? extends com.dfire.protocol.RpcSocketMessage.SocketMessageOrBuilder> 
+        getMessagesOrBuilderList();
+    /**
+     * <pre>
+     *kind为BATCH时合并的消息
+     * </pre>
+     *
+     * <code>repeated .SocketMessage messages = 3;</code>
+     */
+    com.dfire.protocol.RpcSocketMessage.SocketMessageOrBuilder getMessagesOrBuilder(
+        int index);
+
+    /**
+     * <pre>
+     *body是否经过deflate压缩
+     * </pre>
+     *
+     * <code>bool compressed = 4;</code>
+     */
+    boolean getCompressed();
+
+    /**
+     * <pre>
+     *发送方支持的帧特性，按位表示：1 批量帧，2 压缩。旧版本不识别该字段，不会开启
+     * </pre>
+     *
+     * <code>int32 features = 5;</code>
+     */
+    int getFeatures();
   }
   /**
    * <pre>
@@ -55,6 +117,9 @@ public final class RpcSocketMessage {
     private SocketMessage() {
       kind_ = 0;
       body_ = com.google.protobuf.ByteString.EMPTY;
+      messages_ = java.util.Collections.emptyList();
+      compressed_ = false;
+      features_ = 0;
     }
 
     @java.lang.Override
@@ -81,6 +146,13 @@ public final class RpcSocketMessage {
             case 0:
               done = true;
               break;
+            default: {
+              if (!parseUnknownFieldProto3(
+                  input, unknownFields, extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
             case 8: {
               int rawValue = input.readEnum();
 
@@ -92,11 +164,23 @@ public final class RpcSocketMessage {
               body_ = input.readBytes();
               break;
             }
-            default: {
-              if (!parseUnknownFieldProto3(
-                  input, unknownFields, extensionRegistry, tag)) {
-                done = true;
+            case 26: {
+              if (!((mutable_bitField0_ & 0x00000004) == 0x00000004)) {
+                messages_ = new java.util.ArrayList<com.dfire.protocol.RpcSocketMessage.SocketMessage>();
+                mutable_bitField0_ |= 0x00000004;
               }
+              messages_.add(
+                  input.readMessage(com.dfire.protocol.RpcSocketMessage.SocketMessage.parser(), extensionRegistry));
+              break;
+            }
+            case 32: {
+
+              compressed_ = input.readBool();
+              break;
+            }
+            case 40: {
+
+              features_ = input.readInt32();
               break;
             }
           }
@@ -107,6 +191,9 @@ public final class RpcSocketMessage {
         throw new com.google.protobuf.InvalidProtocolBufferException(
             e).setUnfinishedMessage(this);
       } finally {
+        if (((mutable_bitField0_ & 0x00000004) == 0x00000004)) {
+          messages_ = java.util.Collections.unmodifiableList(messages_);
+        }
         this.unknownFields = unknownFields.build();
         makeExtensionsImmutable();
       }
@@ -116,7 +203,6 @@ public final class RpcSocketMessage {
       return com.dfire.protocol.RpcSocketMessage.internal_static_SocketMessage_descriptor;
     }
 
-    @java.lang.Override
     protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
         internalGetFieldAccessorTable() {
       return com.dfire.protocol.RpcSocketMessage.internal_static_SocketMessage_fieldAccessorTable
@@ -149,6 +235,14 @@ public final class RpcSocketMessage {
        * <code>WEB_RESPONSE = 3;</code>
        */
       WEB_RESPONSE(3),
+      /**
+       * <pre>
+       *多条消息合并的批量帧，双方协商支持后才会发送
+       * </pre>
+       *
+       * <code>BATCH = 4;</code>
+       */
+      BATCH(4),
       UNRECOGNIZED(-1),
       ;
 
@@ -168,6 +262,14 @@ public final class RpcSocketMessage {
        * <code>WEB_RESPONSE = 3;</code>
        */
       public static final int WEB_RESPONSE_VALUE = 3;
+      /**
+       * <pre>
+       *多条消息合并的批量帧，双方协商支持后才会发送
+       * </pre>
+       *
+       * <code>BATCH = 4;</code>
+       */
+      public static final int BATCH_VALUE = 4;
 
 
       public final int getNumber() {
@@ -192,6 +294,7 @@ public final class RpcSocketMessage {
           case 1: return RESPONSE;
           case 2: return WEB_REQUEST;
           case 3: return WEB_RESPONSE;
+          case 4: return BATCH;
           default: return null;
         }
       }
@@ -244,6 +347,7 @@ public final class RpcSocketMessage {
       // @@protoc_insertion_point(enum_scope:SocketMessage.Kind)
     }
 
+    private int bitField0_;
     public static final int KIND_FIELD_NUMBER = 1;
     private int kind_;
     /**
@@ -256,7 +360,6 @@ public final class RpcSocketMessage {
      * <code>.SocketMessage.Kind kind = 1;</code>
      */
     public com.dfire.protocol.RpcSocketMessage.SocketMessage.Kind getKind() {
-      @SuppressWarnings("deprecation")
       com.dfire.protocol.RpcSocketMessage.SocketMessage.Kind result = com.dfire.protocol.RpcSocketMessage.SocketMessage.Kind.valueOf(kind_);
       return result == null ? com.dfire.protocol.RpcSocketMessage.SocketMessage.Kind.UNRECOGNIZED : result;
     }
@@ -274,8 +377,88 @@ public final class RpcSocketMessage {
       return body_;
     }
 
+    public static final int MESSAGES_FIELD_NUMBER = 3;
+    private java.util.List<com.dfire.protocol.RpcSocketMessage.SocketMessage> messages_;
+    /**
+     * <pre>
+     *kind为BATCH时合并的消息
+     * </pre>
+     *
+     * <code>repeated .SocketMessage messages = 3;</code>
+     */
+    public java.util.List<com.dfire.protocol.RpcSocketMessage.SocketMessage> getMessagesList() {
+      return messages_;
+    }
+    /**
+     * <pre>
+     *kind为BATCH时合并的消息
+     * </pre>
+     *
+     * <code>repeated .SocketMessage messages = 3;</code>
+     */
+    public java.util.List<? extends com.dfire.protocol.RpcSocketMessage.SocketMessageOrBuilder> 
+        getMessagesOrBuilderList() {
+      return messages_;
+    }
+    /**
+     * <pre>
+     *kind为BATCH时合并的消息
+     * </pre>
+     *
+     * <code>repeated .SocketMessage messages = 3;</code>
+     */
+    public int getMessagesCount() {
+      return messages_.size();
+    }
+    /**
+     * <pre>
+     *kind为BATCH时合并的消息
+     * </pre>
+     *
+     * <code>repeated .SocketMessage messages = 3;</code>
+     */
+    public com.dfire.protocol.RpcSocketMessage.SocketMessage getMessages(int index) {
+      return messages_.get(index);
+    }
+    /**
+     * <pre>
+     *kind为BATCH时合并的消息
+     * </pre>
+     *
+     * <code>repeated .SocketMessage messages = 3;</code>
+     */
+    public com.dfire.protocol.RpcSocketMessage.SocketMessageOrBuilder getMessagesOrBuilder(
+        int index) {
+      return messages_.get(index);
+    }
+
+    public static final int COMPRESSED_FIELD_NUMBER = 4;
+    private boolean compressed_;
+    /**
+     * <pre>
+     *body是否经过deflate压缩
+     * </pre>
+     *
+     * <code>bool compressed = 4;</code>
+     */
+    public boolean getCompressed() {
+      return compressed_;
+    }
+
+    public static final int FEATURES_FIELD_NUMBER = 5;
+    private int features_;
+    /**
+     * <pre>
+     *发送方支持的帧特性，按位表示：1 批量帧，2 压缩。旧版本不识别该字段，不会开启
+     * </pre>
+     *
+     * <code>int32 features = 5;</code>
+     */
+    public int getFeatures() {
+      return features_;
+    }
+
     private byte memoizedIsInitialized = -1;
-    @java.lang.Override
     public final boolean isInitialized() {
       byte isInitialized = memoizedIsInitialized;
       if (isInitialized == 1) return true;
@@ -285,7 +468,6 @@ public final class RpcSocketMessage {
       return true;
     }
 
-    @java.lang.Override
     public void writeTo(com.google.protobuf.CodedOutputStream output)
                         throws java.io.IOException {
       if (kind_ != com.dfire.protocol.RpcSocketMessage.SocketMessage.Kind.REQUEST.getNumber()) {
@@ -294,10 +476,18 @@ public final class RpcSocketMessage {
       if (!body_.isEmpty()) {
         output.writeBytes(2, body_);
       }
+      for (int i = 0; i < messages_.size(); i++) {
+        output.writeMessage(3, messages_.get(i));
+      }
+      if (compressed_ != false) {
+        output.writeBool(4, compressed_);
+      }
+      if (features_ != 0) {
+        output.writeInt32(5, features_);
+      }
       unknownFields.writeTo(output);
     }
 
-    @java.lang.Override
     public int getSerializedSize() {
       int size = memoizedSize;
       if (size != -1) return size;
@@ -311,6 +501,18 @@ public final class RpcSocketMessage {
         size += com.google.protobuf.CodedOutputStream
           .computeBytesSize(2, body_);
       }
+      for (int i = 0; i < messages_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(3, messages_.get(i));
+      }
+      if (compressed_ != false) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBoolSize(4, compressed_);
+      }
+      if (features_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(5, features_);
+      }
       size += unknownFields.getSerializedSize();
       memoizedSize = size;
       return size;
@@ -330,6 +532,12 @@ public final class RpcSocketMessage {
       result = result && kind_ == other.kind_;
       result = result && getBody()
           .equals(other.getBody());
+      result = result && getMessagesList()
+          .equals(other.getMessagesList());
+      result = result && (getCompressed()
+          == other.getCompressed());
+      result = result && (getFeatures()
+          == other.getFeatures());
       result = result && unknownFields.equals(other.unknownFields);
       return result;
     }
@@ -345,6 +553,15 @@ public final class RpcSocketMessage {
       hash = (53 * hash) + kind_;
       hash = (37 * hash) + BODY_FIELD_NUMBER;
       hash = (53 * hash) + getBody().hashCode();
+      if (getMessagesCount() > 0) {
+        hash = (37 * hash) + MESSAGES_FIELD_NUMBER;
+        hash = (53 * hash) + getMessagesList().hashCode();
+      }
+      hash = (37 * hash) + COMPRESSED_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashBoolean(
+          getCompressed());
+      hash = (37 * hash) + FEATURES_FIELD_NUMBER;
+      hash = (53 * hash) + getFeatures();
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -420,7 +637,6 @@ public final class RpcSocketMessage {
           .parseWithIOException(PARSER, input, extensionRegistry);
     }
 
-    @java.lang.Override
     public Builder newBuilderForType() { return newBuilder(); }
     public static Builder newBuilder() {
       return DEFAULT_INSTANCE.toBuilder();
@@ -428,7 +644,6 @@ public final class RpcSocketMessage {
     public static Builder newBuilder(com.dfire.protocol.RpcSocketMessage.SocketMessage prototype) {
       return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
     }
-    @java.lang.Override
     public Builder toBuilder() {
       return this == DEFAULT_INSTANCE
           ? new Builder() : new Builder().mergeFrom(this);
@@ -456,7 +671,6 @@ public final class RpcSocketMessage {
         return com.dfire.protocol.RpcSocketMessage.internal_static_SocketMessage_descriptor;
       }
 
-      @java.lang.Override
       protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
           internalGetFieldAccessorTable() {
         return com.dfire.protocol.RpcSocketMessage.internal_static_SocketMessage_fieldAccessorTable
@@ -477,30 +691,37 @@ public final class RpcSocketMessage {
       private void maybeForceBuilderInitialization() {
         if (com.google.protobuf.GeneratedMessageV3
                 .alwaysUseFieldBuilders) {
+          getMessagesFieldBuilder();
         }
       }
-      @java.lang.Override
       public Builder clear() {
         super.clear();
         kind_ = 0;
 
         body_ = com.google.protobuf.ByteString.EMPTY;
 
+        if (messagesBuilder_ == null) {
+          messages_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000004);
+        } else {
+          messagesBuilder_.clear();
+        }
+        compressed_ = false;
+
+        features_ = 0;
+
         return this;
       }
 
-      @java.lang.Override
       public com.google.protobuf.Descriptors.Descriptor
           getDescriptorForType() {
         return com.dfire.protocol.RpcSocketMessage.internal_static_SocketMessage_descriptor;
       }
 
-      @java.lang.Override
       public com.dfire.protocol.RpcSocketMessage.SocketMessage getDefaultInstanceForType() {
         return com.dfire.protocol.RpcSocketMessage.SocketMessage.getDefaultInstance();
       }
 
-      @java.lang.Override
       public com.dfire.protocol.RpcSocketMessage.SocketMessage build() {
         com.dfire.protocol.RpcSocketMessage.SocketMessage result = buildPartial();
         if (!result.isInitialized()) {
@@ -509,48 +730,54 @@ public final class RpcSocketMessage {
         return result;
       }
 
-      @java.lang.Override
       public com.dfire.protocol.RpcSocketMessage.SocketMessage buildPartial() {
         com.dfire.protocol.RpcSocketMessage.SocketMessage result = new com.dfire.protocol.RpcSocketMessage.SocketMessage(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
         result.kind_ = kind_;
         result.body_ = body_;
+        if (messagesBuilder_ == null) {
+          if (((bitField0_ & 0x00000004) == 0x00000004)) {
+            messages_ = java.util.Collections.unmodifiableList(messages_);
+            bitField0_ = (bitField0_ & ~0x00000004);
+          }
+          result.messages_ = messages_;
+        } else {
+          result.messages_ = messagesBuilder_.build();
+        }
+        result.compressed_ = compressed_;
+        result.features_ = features_;
+        result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
       }
 
-      @java.lang.Override
       public Builder clone() {
         return (Builder) super.clone();
       }
-      @java.lang.Override
       public Builder setField(
           com.google.protobuf.Descriptors.FieldDescriptor field,
           java.lang.Object value) {
         return (Builder) super.setField(field, value);
       }
-      @java.lang.Override
       public Builder clearField(
           com.google.protobuf.Descriptors.FieldDescriptor field) {
         return (Builder) super.clearField(field);
       }
-      @java.lang.Override
       public Builder clearOneof(
           com.google.protobuf.Descriptors.OneofDescriptor oneof) {
         return (Builder) super.clearOneof(oneof);
       }
-      @java.lang.Override
       public Builder setRepeatedField(
           com.google.protobuf.Descriptors.FieldDescriptor field,
           int index, java.lang.Object value) {
         return (Builder) super.setRepeatedField(field, index, value);
       }
-      @java.lang.Override
       public Builder addRepeatedField(
           com.google.protobuf.Descriptors.FieldDescriptor field,
           java.lang.Object value) {
         return (Builder) super.addRepeatedField(field, value);
       }
-      @java.lang.Override
       public Builder mergeFrom(com.google.protobuf.Message other) {
         if (other instanceof com.dfire.protocol.RpcSocketMessage.SocketMessage) {
           return mergeFrom((com.dfire.protocol.RpcSocketMessage.SocketMessage)other);
@@ -568,17 +795,47 @@ public final class RpcSocketMessage {
         if (other.getBody() != com.google.protobuf.ByteString.EMPTY) {
           setBody(other.getBody());
         }
+        if (messagesBuilder_ == null) {
+          if (!other.messages_.isEmpty()) {
+            if (messages_.isEmpty()) {
+              messages_ = other.messages_;
+              bitField0_ = (bitField0_ & ~0x00000004);
+            } else {
+              ensureMessagesIsMutable();
+              messages_.addAll(other.messages_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.messages_.isEmpty()) {
+            if (messagesBuilder_.isEmpty()) {
+              messagesBuilder_.dispose();
+              messagesBuilder_ = null;
+              messages_ = other.messages_;
+              bitField0_ = (bitField0_ & ~0x00000004);
+              messagesBuilder_ = 
+                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders ?
+                   getMessagesFieldBuilder() : null;
+            } else {
+              messagesBuilder_.addAllMessages(other.messages_);
+            }
+          }
+        }
+        if (other.getCompressed() != false) {
+          setCompressed(other.getCompressed());
+        }
+        if (other.getFeatures() != 0) {
+          setFeatures(other.getFeatures());
+        }
         this.mergeUnknownFields(other.unknownFields);
         onChanged();
         return this;
       }
 
-      @java.lang.Override
       public final boolean isInitialized() {
         return true;
       }
 
-      @java.lang.Override
       public Builder mergeFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
@@ -596,6 +853,7 @@ public final class RpcSocketMessage {
         }
         return this;
       }
+      private int bitField0_;
 
       private int kind_ = 0;
       /**
@@ -616,7 +874,6 @@ public final class RpcSocketMessage {
        * <code>.SocketMessage.Kind kind = 1;</code>
        */
       public com.dfire.protocol.RpcSocketMessage.SocketMessage.Kind getKind() {
-        @SuppressWarnings("deprecation")
         com.dfire.protocol.RpcSocketMessage.SocketMessage.Kind result = com.dfire.protocol.RpcSocketMessage.SocketMessage.Kind.valueOf(kind_);
         return result == null ? com.dfire.protocol.RpcSocketMessage.SocketMessage.Kind.UNRECOGNIZED : result;
       }
@@ -682,13 +939,399 @@ public final class RpcSocketMessage {
         onChanged();
         return this;
       }
-      @java.lang.Override
+
+      private java.util.List<com.dfire.protocol.RpcSocketMessage.SocketMessage> messages_ =
+        java.util.Collections.emptyList();
+      private void ensureMessagesIsMutable() {
+        if (!((bitField0_ & 0x00000004) == 0x00000004)) {
+          messages_ = new java.util.ArrayList<com.dfire.protocol.RpcSocketMessage.SocketMessage>(messages_);
+          bitField0_ |= 0x00000004;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          com.dfire.protocol.RpcSocketMessage.SocketMessage, com.dfire.protocol.RpcSocketMessage.SocketMessage.Builder, com.dfire.protocol.RpcSocketMessage.SocketMessageOrBuilder> messagesBuilder_;
+
+      /**
+       * <pre>
+       *kind为BATCH时合并的消息
+       * </pre>
+       *
+       * <code>repeated .SocketMessage messages = 3;</code>
+       */
+      public java.util.List<com.dfire.protocol.RpcSocketMessage.SocketMessage> getMessagesList() {
+        if (messagesBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(messages_);
+        } else {
+          return messagesBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <pre>
+       *kind为BATCH时合并的消息
+       * </pre>
+       *
+       * <code>repeated .SocketMessage messages = 3;</code>
+       */
+      public int getMessagesCount() {
+        if (messagesBuilder_ == null) {
+          return messages_.size();
+        } else {
+          return messagesBuilder_.getCount();
+        }
+      }
+      /**
+       * <pre>
+       *kind为BATCH时合并的消息
+       * </pre>
+       *
+       * <code>repeated .SocketMessage messages = 3;</code>
+       */
+      public com.dfire.protocol.RpcSocketMessage.SocketMessage getMessages(int index) {
+        if (messagesBuilder_ == null) {
+          return messages_.get(index);
+        } else {
+          return messagesBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <pre>
+       *kind为BATCH时合并的消息
+       * </pre>
+       *
+       * <code>repeated .SocketMessage messages = 3;</code>
+       */
+      public Builder setMessages(
+          int index, com.dfire.protocol.RpcSocketMessage.SocketMessage value) {
+        if (messagesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureMessagesIsMutable();
+          messages_.set(index, value);
+          onChanged();
+        } else {
+          messagesBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       *kind为BATCH时合并的消息
+       * </pre>
+       *
+       * <code>repeated .SocketMessage messages = 3;</code>
+       */
+      public Builder setMessages(
+          int index, com.dfire.protocol.RpcSocketMessage.SocketMessage.Builder builderForValue) {
+        if (messagesBuilder_ == null) {
+          ensureMessagesIsMutable();
+          messages_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          messagesBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       *kind为BATCH时合并的消息
+       * </pre>
+       *
+       * <code>repeated .SocketMessage messages = 3;</code>
+       */
+      public Builder addMessages(com.dfire.protocol.RpcSocketMessage.SocketMessage value) {
+        if (messagesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureMessagesIsMutable();
+          messages_.add(value);
+          onChanged();
+        } else {
+          messagesBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       *kind为BATCH时合并的消息
+       * </pre>
+       *
+       * <code>repeated .SocketMessage messages = 3;</code>
+       */
+      public Builder addMessages(
+          int index, com.dfire.protocol.RpcSocketMessage.SocketMessage value) {
+        if (messagesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureMessagesIsMutable();
+          messages_.add(index, value);
+          onChanged();
+        } else {
+          messagesBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       *kind为BATCH时合并的消息
+       * </pre>
+       *
+       * <code>repeated .SocketMessage messages = 3;</code>
+       */
+      public Builder addMessages(
+          com.dfire.protocol.RpcSocketMessage.SocketMessage.Builder builderForValue) {
+        if (messagesBuilder_ == null) {
+          ensureMessagesIsMutable();
+          messages_.add(builderForValue.build());
+          onChanged();
+        } else {
+          messagesBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       *kind为BATCH时合并的消息
+       * </pre>
+       *
+       * <code>repeated .SocketMessage messages = 3;</code>
+       */
+      public Builder addMessages(
+          int index, com.dfire.protocol.RpcSocketMessage.SocketMessage.Builder builderForValue) {
+        if (messagesBuilder_ == null) {
+          ensureMessagesIsMutable();
+          messages_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          messagesBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       *kind为BATCH时合并的消息
+       * </pre>
+       *
+       * <code>repeated .SocketMessage messages = 3;</code>
+       */
+      public Builder addAllMessages(
+          java.lang.Iterable<? extends com.dfire.protocol.RpcSocketMessage.SocketMessage> values) {
+        if (messagesBuilder_ == null) {
+          ensureMessagesIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, messages_);
+          onChanged();
+        } else {
+          messagesBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       *kind为BATCH时合并的消息
+       * </pre>
+       *
+       * <code>repeated .SocketMessage messages = 3;</code>
+       */
+      public Builder clearMessages() {
+        if (messagesBuilder_ == null) {
+          messages_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000004);
+          onChanged();
+        } else {
+          messagesBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       *kind为BATCH时合并的消息
+       * </pre>
+       *
+       * <code>repeated .SocketMessage messages = 3;</code>
+       */
+      public Builder removeMessages(int index) {
+        if (messagesBuilder_ == null) {
+          ensureMessagesIsMutable();
+          messages_.remove(index);
+          onChanged();
+        } else {
+          messagesBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       *kind为BATCH时合并的消息
+       * </pre>
+       *
+       * <code>repeated .SocketMessage messages = 3;</code>
+       */
+      public com.dfire.protocol.RpcSocketMessage.SocketMessage.Builder getMessagesBuilder(
+          int index) {
+        return getMessagesFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <pre>
+       *kind为BATCH时合并的消息
+       * </pre>
+       *
+       * <code>repeated .SocketMessage messages = 3;</code>
+       */
+      public com.dfire.protocol.RpcSocketMessage.SocketMessageOrBuilder getMessagesOrBuilder(
+          int index) {
+        if (messagesBuilder_ == null) {
+          return messages_.get(index);  } else {
+          return messagesBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <pre>
+       *kind为BATCH时合并的消息
+       * </pre>
+       *
+       * <code>repeated .SocketMessage messages = 3;</code>
+       */
+      public java.util.List<? extends com.dfire.protocol.RpcSocketMessage.SocketMessageOrBuilder> 
+           getMessagesOrBuilderList() {
+        if (messagesBuilder_ != null) {
+          return messagesBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(messages_);
+        }
+      }
+      /**
+       * <pre>
+       *kind为BATCH时合并的消息
+       * </pre>
+       *
+       * <code>repeated .SocketMessage messages = 3;</code>
+       */
+      public com.dfire.protocol.RpcSocketMessage.SocketMessage.Builder addMessagesBuilder() {
+        return getMessagesFieldBuilder().addBuilder(
+            com.dfire.protocol.RpcSocketMessage.SocketMessage.getDefaultInstance());
+      }
+      /**
+       * <pre>
+       *kind为BATCH时合并的消息
+       * </pre>
+       *
+       * <code>repeated .SocketMessage messages = 3;</code>
+       */
+      public com.dfire.protocol.RpcSocketMessage.SocketMessage.Builder addMessagesBuilder(
+          int index) {
+        return getMessagesFieldBuilder().addBuilder(
+            index, com.dfire.protocol.RpcSocketMessage.SocketMessage.getDefaultInstance());
+      }
+      /**
+       * <pre>
+       *kind为BATCH时合并的消息
+       * </pre>
+       *
+       * <code>repeated .SocketMessage messages = 3;</code>
+       */
+      public java.util.List<com.dfire.protocol.RpcSocketMessage.SocketMessage.Builder> 
+           getMessagesBuilderList() {
+        return getMessagesFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          com.dfire.protocol.RpcSocketMessage.SocketMessage, com.dfire.protocol.RpcSocketMessage.SocketMessage.Builder, com.dfire.protocol.RpcSocketMessage.SocketMessageOrBuilder> 
+          getMessagesFieldBuilder() {
+        if (messagesBuilder_ == null) {
+          messagesBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<
+              com.dfire.protocol.RpcSocketMessage.SocketMessage, com.dfire.protocol.RpcSocketMessage.SocketMessage.Builder, com.dfire.protocol.RpcSocketMessage.SocketMessageOrBuilder>(
+                  messages_,
+                  ((bitField0_ & 0x00000004) == 0x00000004),
+                  getParentForChildren(),
+                  isClean());
+          messages_ = null;
+        }
+        return messagesBuilder_;
+      }
+
+      private boolean compressed_ ;
+      /**
+       * <pre>
+       *body是否经过deflate压缩
+       * </pre>
+       *
+       * <code>bool compressed = 4;</code>
+       */
+      public boolean getCompressed() {
+        return compressed_;
+      }
+      /**
+       * <pre>
+       *body是否经过deflate压缩
+       * </pre>
+       *
+       * <code>bool compressed = 4;</code>
+       */
+      public Builder setCompressed(boolean value) {
+        
+        compressed_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       *body是否经过deflate压缩
+       * </pre>
+       *
+       * <code>bool compressed = 4;</code>
+       */
+      public Builder clearCompressed() {
+        
+        compressed_ = false;
+        onChanged();
+        return this;
+      }
+
+      private int features_ ;
+      /**
+       * <pre>
+       *发送方支持的帧特性，按位表示：1 批量帧，2 压缩。旧版本不识别该字段，不会开启
+       * </pre>
+       *
+       * <code>int32 features = 5;</code>
+       */
+      public int getFeatures() {
+        return features_;
+      }
+      /**
+       * <pre>
+       *发送方支持的帧特性，按位表示：1 批量帧，2 压缩。旧版本不识别该字段，不会开启
+       * </pre>
+       *
+       * <code>int32 features = 5;</code>
+       */
+      public Builder setFeatures(int value) {
+        
+        features_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       *发送方支持的帧特性，按位表示：1 批量帧，2 压缩。旧版本不识别该字段，不会开启
+       * </pre>
+       *
+       * <code>int32 features = 5;</code>
+       */
+      public Builder clearFeatures() {
+        
+        features_ = 0;
+        onChanged();
+        return this;
+      }
       public final Builder setUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
         return super.setUnknownFieldsProto3(unknownFields);
       }
 
-      @java.lang.Override
       public final Builder mergeUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
         return super.mergeUnknownFields(unknownFields);
@@ -710,7 +1353,6 @@ public final class RpcSocketMessage {
 
     private static final com.google.protobuf.Parser<SocketMessage>
         PARSER = new com.google.protobuf.AbstractParser<SocketMessage>() {
-      @java.lang.Override
       public SocketMessage parsePartialFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
@@ -728,7 +1370,6 @@ public final class RpcSocketMessage {
       return PARSER;
     }
 
-    @java.lang.Override
     public com.dfire.protocol.RpcSocketMessage.SocketMessage getDefaultInstanceForType() {
       return DEFAULT_INSTANCE;
     }
@@ -749,12 +1390,14 @@ public final class RpcSocketMessage {
       descriptor;
   static {
     java.lang.String[] descriptorData = {
-      "\n\024socket_message.proto\"\206\001\n\rSocketMessage" +
+      "\n\024socket_message.proto\"\331\001\n\rSocketMessage" +
       "\022!\n\004kind\030\001 \001(\0162\023.SocketMessage.Kind\022\014\n\004b" +
-      "ody\030\002 \001(\014\"D\n\004Kind\022\013\n\007REQUEST\020\000\022\014\n\010RESPON" +
-      "SE\020\001\022\017\n\013WEB_REQUEST\020\002\022\020\n\014WEB_RESPONSE\020\003B" +
-      "(\n\022com.dfire.protocolB\020RpcSocketMessageH" +
-      "\001b\006proto3"
+      "ody\030\002 \001(\014\022 \n\010messages\030\003 \003(\0132\016.SocketMess" +
+      "age\022\022\n\ncompressed\030\004 \001(\010\022\020\n\010features\030\005 \001(" +
+      "\005\"O\n\004Kind\022\013\n\007REQUEST\020\000\022\014\n\010RESPONSE\020\001\022\017\n\013" +
+      "WEB_REQUEST\020\002\022\020\n\014WEB_RESPONSE\020\003\022\t\n\005BATCH" +
+      "\020\004B(\n\022com.dfire.protocolB\020RpcSocketMessa" +
+      "geH\001b\006proto3"
     };
     com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
         new com.google.protobuf.Descriptors.FileDescriptor.    InternalDescriptorAssigner() {
@@ -773,7 +1416,7 @@ public final class RpcSocketMessage {
     internal_static_SocketMessage_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_SocketMessage_descriptor,
-        new java.lang.String[] { "Kind", "Body", });
+        new java.lang.String[] { "Kind", "Body", "Messages", "Compressed", "Features", });
   }
 
   // @@protoc_insertion_point(outer_class_scope)
@@ -1,5 +1,5 @@
 // Generated by the protocol buffer compiler.  DO NOT EDIT!
-// source: x.proto
+// source: web_operate.proto
 
 package com.dfire.protocol;
 
@@ -75,6 +75,14 @@ public final class RpcWebOperate {
      * <code>GetAllWorkInfo = 6;</code>
      */
     GetAllWorkInfo(6),
+    /**
+     * <pre>
+     *按字节范围读取worker本地的运行日志
+     * </pre>
+     *
+     * <code>FetchLog = 7;</code>
+     */
+    FetchLog(7),
     UNRECOGNIZED(-1),
     ;
 
@@ -134,11 +142,19 @@ public final class RpcWebOperate {
      * <code>GetAllWorkInfo = 6;</code>
      */
     public static final int GetAllWorkInfo_VALUE = 6;
+    /**
+     * <pre>
+     *按字节范围读取worker本地的运行日志
+     * </pre>
+     *
+     * <code>FetchLog = 7;</code>
+     */
+    public static final int FetchLog_VALUE = 7;
 
 
     public final int getNumber() {
       if (this == UNRECOGNIZED) {
-        throw new IllegalArgumentException(
+        throw new java.lang.IllegalArgumentException(
             "Can't get the number of an unknown enum value.");
       }
       return value;
@@ -147,7 +163,7 @@ public final class RpcWebOperate {
     /**
      * @deprecated Use {@link #forNumber(int)} instead.
      */
-    @Deprecated
+    @java.lang.Deprecated
     public static WebOperate valueOf(int value) {
       return forNumber(value);
     }
@@ -161,6 +177,7 @@ public final class RpcWebOperate {
         case 4: return GenerateAction;
         case 5: return GetAllHeartBeatInfo;
         case 6: return GetAllWorkInfo;
+        case 7: return FetchLog;
         default: return null;
       }
     }
@@ -187,7 +204,7 @@ public final class RpcWebOperate {
     }
     public static final com.google.protobuf.Descriptors.EnumDescriptor
         getDescriptor() {
-      return RpcWebOperate.getDescriptor().getEnumTypes().get(0);
+      return com.dfire.protocol.RpcWebOperate.getDescriptor().getEnumTypes().get(0);
     }
 
     private static final WebOperate[] VALUES = values();
@@ -195,7 +212,7 @@ public final class RpcWebOperate {
     public static WebOperate valueOf(
         com.google.protobuf.Descriptors.EnumValueDescriptor desc) {
       if (desc.getType() != getDescriptor()) {
-        throw new IllegalArgumentException(
+        throw new java.lang.IllegalArgumentException(
           "EnumValueDescriptor is not for this type.");
       }
       if (desc.getIndex() == -1) {
@@ -221,12 +238,13 @@ public final class RpcWebOperate {
   private static  com.google.protobuf.Descriptors.FileDescriptor
       descriptor;
   static {
-    String[] descriptorData = {
-      "\n\007x.proto*\215\001\n\nWebOperate\022\r\n\tUpdateJob\020\000\022" +
-      "\016\n\nExecuteJob\020\001\022\r\n\tCancelJob\020\002\022\020\n\014Execut" +
-      "eDebug\020\003\022\022\n\016GenerateAction\020\004\022\027\n\023GetAllHe" +
-      "artBeatInfo\020\005\022\022\n\016GetAllWorkInfo\020\006B%\n\022com" +
-      ".dfire.protocolB\rRpcWebOperateH\001b\006proto3"
+    java.lang.String[] descriptorData = {
+      "\n\021web_operate.proto*\233\001\n\nWebOperate\022\r\n\tUp" +
+      "dateJob\020\000\022\016\n\nExecuteJob\020\001\022\r\n\tCancelJob\020\002" +
+      "\022\020\n\014ExecuteDebug\020\003\022\022\n\016GenerateAction\020\004\022\027" +
+      "\n\023GetAllHeartBeatInfo\020\005\022\022\n\016GetAllWorkInf" +
+      "o\020\006\022\014\n\010FetchLog\020\007B%\n\022com.dfire.protocolB" +
+      "\rRpcWebOperateH\001b\006proto3"
     };
     com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
         new com.google.protobuf.Descriptors.FileDescriptor.    InternalDescriptorAssigner() {